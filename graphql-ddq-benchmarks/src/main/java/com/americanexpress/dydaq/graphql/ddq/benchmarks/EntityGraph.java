@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataReader;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataRegistry;
+import org.reflections.Reflections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * GraphQL requests benchmarked along with the query builders used for them.
+ * <p>
+ * HOSPITAL is the sample Hospital/Surgeon/DocSpeciality graph of graphql-ddq-example,WIDE selects 40 columns of a single entity
+ * ,DEEP selects a few columns of 6 nested graph levels and LARGE selects 520 fields of 13 graph levels.
+ */
+public enum EntityGraph {
+
+    HOSPITAL("{ hospital { name city contactNo surgeon { fullName contactNo docSpeciality { experience } } } }",
+            "hospital_tbl", "hospital_id"),
+    WIDE("{ wideEntity { column01 column02 column03 column04 column05 column06 column07 column08 column09 column10"
+            + " column11 column12 column13 column14 column15 column16 column17 column18 column19 column20"
+            + " column21 column22 column23 column24 column25 column26 column27 column28 column29 column30"
+            + " column31 column32 column33 column34 column35 column36 column37 column38 column39 column40 } }",
+            "wide_entity_tbl", "id"),
+    DEEP("{ wideEntity { column01 level1 { name level2 { name level3 { name level4 { name level5 { name amount } } } } } } }",
+            "wide_entity_tbl", "id"),
+    LARGE(getLargeRequest(), "large_entity_tbl", "id");
+
+    private static final String[] ENTITY_PACKAGES = new String[]{"com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto",
+            "com.americanexpress.dydaq.graphql.ddq.benchmarks.dto"};
+
+    private final String request;
+    private final String rootTable;
+    private final String rootKeyColumn;
+
+    EntityGraph(String request, String rootTable, String rootKeyColumn) {
+        this.request = request;
+        this.rootTable = rootTable;
+        this.rootKeyColumn = rootKeyColumn;
+    }
+
+    /**
+     * Reads the sample and synthetic entities and publishes their metadata
+     */
+    public static void publishMetadata() {
+        MetadataRegistry.publish(new EntityMetaDataReader(new GraphEntityMapGenerator())
+                .read(new Reflections((Object[]) ENTITY_PACKAGES))
+                .build());
+    }
+
+    /**
+     * Returns request selecting the 40 columns of LargeEntity and of each of its 12 children
+     */
+    private static String getLargeRequest() {
+        StringBuilder columns = new StringBuilder();
+        for (int column = 1; column <= 40; column++) {
+            columns.append(String.format(" column%02d", column));
+        }
+        StringBuilder request = new StringBuilder("{ largeEntity {").append(columns);
+        for (int child = 1; child <= 12; child++) {
+            request.append(String.format(" child%02d {", child)).append(columns).append(" }");
+        }
+        return request.append(" } }").toString();
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public SimpleQueryBuilder getSimpleQueryBuilder() {
+        return new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+                .addWhereCondition(rootKeyColumn, SqlCondition.equal)
+                .build();
+    }
+
+    /**
+     * Returns query builder joining every graph level requested,parents before children
+     */
+    public JoinQueryBuilder getJoinQueryBuilder(DynamicQueryGenerator dynamicQueryGenerator) {
+        List<String> graphKeys = new ArrayList<>(dynamicQueryGenerator.getGraphLevels());
+        graphKeys.remove(ServiceConstants.ROOT_GRAPH_LEVEL);
+        graphKeys.sort(Comparator.comparingInt((String graphKey) -> graphKey.split("_").length));
+
+        JoinQueryBuilder.Builder builder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey(ServiceConstants.ROOT_GRAPH_LEVEL);
+        for (String graphKey : graphKeys) {
+            builder.joinWithGraph(graphKey, SqlJoinType.INNER_JOIN);
+        }
+        return builder.addWhereCondition(ServiceConstants.ROOT_GRAPH_LEVEL, rootKeyColumn, SqlCondition.equal).build();
+    }
+
+    public NativeQueryBuilder getNativeQueryBuilder() {
+        return new NativeQueryBuilder
+                .SimpleBuilder()
+                .setGraphKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+                .setQueryTemplate(" from " + rootTable + " where " + rootKeyColumn + " = ?")
+                .build();
+    }
+
+}
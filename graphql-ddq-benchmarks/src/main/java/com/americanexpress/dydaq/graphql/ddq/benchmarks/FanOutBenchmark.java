@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.Hospital;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.ResolutionEnvToSimpleObjectConvertor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fetching hospitals with their surgeons and doc specialities by a join query(JOIN) and by a query per graph level(SPLIT)
+ * for increasing fan out,ie.. surgeons per hospital and doc specialities per surgeon.A join repeats the hospital and surgeon
+ * columns for every doc speciality,so split queries get cheaper than the join as fan out grows.
+ * Eg : java -jar graphql-ddq-benchmarks/target/benchmarks.jar FanOutBenchmark -p fanOut=20
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FanOutBenchmark {
+
+    private static final int HOSPITALS = 200;
+    private static final String INSERT_HOSPITAL = "insert into hospital_tbl(hospital_id, name) "
+            + "select x, concat('Hospital Name', x) from system_range(1, ?)";
+    private static final String INSERT_SURGEON = "insert into surgeon_tbl(surgeon_id, hospital_id, full_name) "
+            + "select x, (x - 1) / ? + 1, concat('Surgeon Name', x) from system_range(1, ?)";
+    private static final String INSERT_DOC_SPECIALITY = "insert into doc_speciality_tbl(id, surgeon_id, experience) "
+            + "select x, (x - 1) / ? + 1, mod(x, 30) from system_range(1, ?)";
+
+    @Param({"1", "5", "20"})
+    public int fanOut;
+
+    @Param({"JOIN", "SPLIT"})
+    public String queryStrategy;
+
+    private HikariDataSource dataSource;
+    private DynamicQueryExecutor dynamicQueryExecutor;
+    private DynamicQueryGenerator dynamicQueryGenerator;
+    private JoinQueryBuilder joinQueryBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EntityGraph.publishMetadata();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:fan-out-benchmark;DB_CLOSE_DELAY=-1;MODE=MYSQL");
+        new ResourceDatabasePopulator(new ClassPathResource("/e2e-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(INSERT_HOSPITAL, HOSPITALS);
+        jdbcTemplate.update(INSERT_SURGEON, fanOut, HOSPITALS * fanOut);
+        jdbcTemplate.update(INSERT_DOC_SPECIALITY, fanOut, HOSPITALS * fanOut * fanOut);
+
+        dynamicQueryExecutor = new DynamicQueryExecutor(jdbcTemplate);
+        dynamicQueryGenerator = ResolutionEnvToSimpleObjectConvertor.gqlRequestToSimpleGraphObject(
+                RequestCaptureResolver.capture("{ hospital { name surgeon { fullName docSpeciality { experience } } } }"));
+        joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                .addOrderByCondition(ServiceConstants.ROOT_GRAPH_LEVEL, "hospital_id")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Hospital> fetchHospitalGraph() {
+        return dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, QueryStrategy.valueOf(queryStrategy));
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.Hospital;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.Predicate;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.ResolutionEnvToSimpleObjectConvertor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of looking up hospitals by their ids for 100 to 100k ids,as a single in list of parameters(IN_LIST) and as lookup keys
+ * fetched in chunks of inline tables of values in parallel(LOOKUP_KEYS).
+ * <p>
+ * Hospitals are seeded in an in memory H2 database and every other id is looked up,so half of the ids are not found.
+ * Eg : java -jar graphql-ddq-benchmarks/target/benchmarks.jar LookupKeysBenchmark -p lookup=LOOKUP_KEYS
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupKeysBenchmark {
+
+    private static final int HOSPITALS = 200_000;
+    private static final String INSERT_HOSPITAL = "insert into hospital_tbl(hospital_id, name, no_of_employees, city, contact_no) "
+            + "select x, concat('Hospital Name', x), mod(x, 1000) + 1, concat('City', mod(x, 100)), lpad(x, 10, '8') from system_range(1, ?)";
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int keys;
+
+    @Param({"IN_LIST", "LOOKUP_KEYS"})
+    public String lookup;
+
+    private HikariDataSource dataSource;
+    private DynamicQueryExecutor dynamicQueryExecutor;
+    private DynamicQueryGenerator dynamicQueryGenerator;
+    private SimpleQueryBuilder simpleQueryBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EntityGraph.publishMetadata();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:lookup-benchmark;DB_CLOSE_DELAY=-1;MODE=MYSQL");
+        dataSource.setMaximumPoolSize(DynamicQueryExecutor.DEFAULT_LOOKUP_PARALLELISM + 1);
+        new ResourceDatabasePopulator(new ClassPathResource("/e2e-schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(INSERT_HOSPITAL, HOSPITALS);
+
+        dynamicQueryExecutor = new DynamicQueryExecutor(jdbcTemplate);
+        dynamicQueryGenerator = ResolutionEnvToSimpleObjectConvertor.gqlRequestToSimpleGraphObject(
+                RequestCaptureResolver.capture("{ hospital { name city } }"));
+        List<Integer> hospitalIds = new ArrayList<>();
+        for (int index = 0; index < keys; index++) {
+            hospitalIds.add(index * 2 + 1);
+        }
+        SimpleQueryBuilder.Builder builder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey(ServiceConstants.ROOT_GRAPH_LEVEL);
+        simpleQueryBuilder = (lookup.equals("IN_LIST") ? builder.addWhereCondition(Predicate.in("hospital_id", hospitalIds))
+                : builder.addLookupKeys("hospital_id", hospitalIds)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Hospital> lookupHospitals() {
+        return dynamicQueryExecutor.query(dynamicQueryGenerator, simpleQueryBuilder, Hospital.class);
+    }
+
+}
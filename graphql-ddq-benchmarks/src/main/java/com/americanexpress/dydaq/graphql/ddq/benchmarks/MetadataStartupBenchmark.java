@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataReader;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataIndex;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.reflections.Reflections;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time taken to create the metadata of the synthetic entities at startup,by scanning the entities using reflection(SCAN) and by
+ * reading the metadata index written at build time(INDEX).
+ * Eg : java -jar graphql-ddq-benchmarks/target/benchmarks.jar MetadataStartupBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataStartupBenchmark {
+
+    private static final String ENTITY_LOCATION = "com.americanexpress.dydaq.graphql.ddq.benchmarks.dto";
+
+    @Param({"SCAN", "INDEX"})
+    public String source;
+
+    private String index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringWriter writer = new StringWriter();
+        MetadataIndex.of(ENTITY_LOCATION, scanEntities()).write(writer);
+        index = writer.toString();
+    }
+
+    @Benchmark
+    public MetadataRegistry createMetadata() {
+        return (source.equals("SCAN") ? scanEntities() : MetadataIndex.read(new StringReader(index)).toRegistryBuilder().build());
+    }
+
+    private static MetadataRegistry scanEntities() {
+        return new EntityMetaDataReader(new GraphEntityMapGenerator()).read(new Reflections(ENTITY_LOCATION)).build();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.QueryShapeCache;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.ResolutionEnvToSimpleObjectConvertor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.SelectionSetCache;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the hot paths executed by a resolver for every GraphQL request ie.. conversion of the request into
+ * SimpleGraphObject and generation of the select,join and native queries.
+ * <p>
+ * Queries are generated with the query and selection set caches enabled,which is the default,and disabled to measure the
+ * conversion and generation themselves.
+ * Run using {@link BenchmarkRunner} to report allocations per operation along with the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryGenerationBenchmark {
+
+    @Param({"HOSPITAL", "WIDE", "DEEP", "LARGE"})
+    public EntityGraph entityGraph;
+
+    @Param({"true", "false"})
+    public boolean queryCache;
+
+    private ResolutionEnvironment resolutionEnvironment;
+    private DynamicQueryGenerator dynamicQueryGenerator;
+    private SimpleQueryBuilder simpleQueryBuilder;
+    private JoinQueryBuilder joinQueryBuilder;
+    private NativeQueryBuilder nativeQueryBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EntityGraph.publishMetadata();
+        QueryShapeCache.getInstance().setMaxSize(queryCache ? QueryShapeCache.DEFAULT_MAX_SIZE : 0);
+        SelectionSetCache.getInstance().setMaxSize(queryCache ? QueryShapeCache.DEFAULT_MAX_SIZE : 0);
+        resolutionEnvironment = RequestCaptureResolver.capture(entityGraph.getRequest());
+        dynamicQueryGenerator = ResolutionEnvToSimpleObjectConvertor.gqlRequestToSimpleGraphObject(resolutionEnvironment);
+        simpleQueryBuilder = entityGraph.getSimpleQueryBuilder();
+        joinQueryBuilder = entityGraph.getJoinQueryBuilder(dynamicQueryGenerator);
+        nativeQueryBuilder = entityGraph.getNativeQueryBuilder();
+    }
+
+    @Benchmark
+    public DynamicQueryGenerator gqlRequestToSimpleGraphObject() {
+        return ResolutionEnvToSimpleObjectConvertor.gqlRequestToSimpleGraphObject(resolutionEnvironment);
+    }
+
+    @Benchmark
+    public String getSelectQuery() {
+        return dynamicQueryGenerator.getSelectQuery(simpleQueryBuilder);
+    }
+
+    @Benchmark
+    public String getJoinQuery() {
+        return dynamicQueryGenerator.getJoinQuery(joinQueryBuilder);
+    }
+
+    @Benchmark
+    public String getNativeQuery() {
+        return dynamicQueryGenerator.getNativeQuery(nativeQueryBuilder);
+    }
+
+}
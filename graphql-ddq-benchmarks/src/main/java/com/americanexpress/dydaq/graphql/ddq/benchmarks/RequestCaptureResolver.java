@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks;
+
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.LargeEntity;
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.WideEntity;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.Hospital;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.metadata.strategy.query.DefaultOperationBuilder;
+
+/**
+ * Resolver which only keeps the {@link ResolutionEnvironment} injected by SPQR,so that conversion of a real GraphQL request
+ * can be benchmarked without executing the request for every operation
+ */
+public class RequestCaptureResolver {
+
+    private static final String[] BASE_PACKAGES = new String[]{"io.leangen",
+            "com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.base",
+            "com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.base"};
+
+    private ResolutionEnvironment resolutionEnvironment;
+
+    @GraphQLQuery
+    public Hospital hospital(@GraphQLEnvironment ResolutionEnvironment env) {
+        resolutionEnvironment = env;
+        return null;
+    }
+
+    @GraphQLQuery
+    public WideEntity wideEntity(@GraphQLEnvironment ResolutionEnvironment env) {
+        resolutionEnvironment = env;
+        return null;
+    }
+
+    @GraphQLQuery
+    public LargeEntity largeEntity(@GraphQLEnvironment ResolutionEnvironment env) {
+        resolutionEnvironment = env;
+        return null;
+    }
+
+    /**
+     * Executes the GraphQL request and returns the ResolutionEnvironment its resolver is called with
+     */
+    public static ResolutionEnvironment capture(String request) {
+        RequestCaptureResolver resolver = new RequestCaptureResolver();
+        GraphQLSchema schema = new GraphQLSchemaGenerator()
+                .withBasePackages(BASE_PACKAGES)
+                .withOperationBuilder(new DefaultOperationBuilder(DefaultOperationBuilder.TypeInference.LIMITED))
+                .withOperationsFromSingleton(resolver)
+                .generate();
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(request);
+        if (!result.getErrors().isEmpty() || resolver.resolutionEnvironment == null) {
+            throw new IllegalStateException("Request " + request + " could not be resolved : " + result.getErrors());
+        }
+        return resolver.resolutionEnvironment;
+    }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.dto;
+
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.base.DeepLevelBase;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.ChildEntity;
+
+import javax.persistence.Table;
+
+/**
+ * Level 5 of the synthetic deep entity graph,child of {@link DeepLevel4}
+ */
+@ChildEntity
+@Table(name = "deep_level_5_tbl")
+public class DeepLevel5 extends DeepLevelBase {
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.dto;
+
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.base.WideEntityBase;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.RootEntity;
+
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinColumns;
+import javax.persistence.Table;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Root of the synthetic large entity graph,it has the 40 columns of {@link WideEntityBase} and 12 references to {@link WideChild},
+ * so a request selecting all of them has 520 fields
+ */
+@RootEntity
+@Table(name = "large_entity_tbl")
+public class LargeEntity extends WideEntityBase {
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child01 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child02 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child03 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child04 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child05 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child06 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child07 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child08 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child09 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child10 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child11 = new LinkedList<>();
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<WideChild> child12 = new LinkedList<>();
+
+    public List<WideChild> getChild01() {
+        return child01;
+    }
+
+    public void setChild01(List<WideChild> child01) {
+        this.child01 = child01;
+    }
+
+    public List<WideChild> getChild02() {
+        return child02;
+    }
+
+    public void setChild02(List<WideChild> child02) {
+        this.child02 = child02;
+    }
+
+    public List<WideChild> getChild03() {
+        return child03;
+    }
+
+    public void setChild03(List<WideChild> child03) {
+        this.child03 = child03;
+    }
+
+    public List<WideChild> getChild04() {
+        return child04;
+    }
+
+    public void setChild04(List<WideChild> child04) {
+        this.child04 = child04;
+    }
+
+    public List<WideChild> getChild05() {
+        return child05;
+    }
+
+    public void setChild05(List<WideChild> child05) {
+        this.child05 = child05;
+    }
+
+    public List<WideChild> getChild06() {
+        return child06;
+    }
+
+    public void setChild06(List<WideChild> child06) {
+        this.child06 = child06;
+    }
+
+    public List<WideChild> getChild07() {
+        return child07;
+    }
+
+    public void setChild07(List<WideChild> child07) {
+        this.child07 = child07;
+    }
+
+    public List<WideChild> getChild08() {
+        return child08;
+    }
+
+    public void setChild08(List<WideChild> child08) {
+        this.child08 = child08;
+    }
+
+    public List<WideChild> getChild09() {
+        return child09;
+    }
+
+    public void setChild09(List<WideChild> child09) {
+        this.child09 = child09;
+    }
+
+    public List<WideChild> getChild10() {
+        return child10;
+    }
+
+    public void setChild10(List<WideChild> child10) {
+        this.child10 = child10;
+    }
+
+    public List<WideChild> getChild11() {
+        return child11;
+    }
+
+    public void setChild11(List<WideChild> child11) {
+        this.child11 = child11;
+    }
+
+    public List<WideChild> getChild12() {
+        return child12;
+    }
+
+    public void setChild12(List<WideChild> child12) {
+        this.child12 = child12;
+    }
+
+}
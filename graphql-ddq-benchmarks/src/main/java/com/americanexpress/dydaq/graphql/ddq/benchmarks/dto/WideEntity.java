@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.dto;
+
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.base.WideEntityBase;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.RootEntity;
+
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinColumns;
+import javax.persistence.Table;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Root of the synthetic entity graph,wide as it has 40 columns and deep as {@link DeepLevel1} to {@link DeepLevel5} are nested under it
+ */
+@RootEntity
+@Table(name = "wide_entity_tbl")
+public class WideEntity extends WideEntityBase {
+
+    @JoinColumns(@JoinColumn(name = "id", referencedColumnName = "parent_id"))
+    private List<DeepLevel1> level1 = new LinkedList<>();
+
+    public List<DeepLevel1> getLevel1() {
+        return level1;
+    }
+
+    public void setLevel1(List<DeepLevel1> level1) {
+        this.level1 = level1;
+    }
+
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.dto.base;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.DynamicJoinColumn;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+/**
+ * Columns of the synthetic wide entity,40 scalar columns are selected when every field is requested
+ */
+@MappedSuperclass
+public class WideEntityBase {
+
+    @Id
+    @DynamicJoinColumn
+    @Column(name = "id", nullable = false)
+    private Integer id;
+    @Column(name = "column_01", nullable = true)
+    private String column01;
+    @Column(name = "column_02", nullable = true)
+    private Integer column02;
+    @Column(name = "column_03", nullable = true)
+    private String column03;
+    @Column(name = "column_04", nullable = true)
+    private Integer column04;
+    @Column(name = "column_05", nullable = true)
+    private String column05;
+    @Column(name = "column_06", nullable = true)
+    private Integer column06;
+    @Column(name = "column_07", nullable = true)
+    private String column07;
+    @Column(name = "column_08", nullable = true)
+    private Integer column08;
+    @Column(name = "column_09", nullable = true)
+    private String column09;
+    @Column(name = "column_10", nullable = true)
+    private Integer column10;
+    @Column(name = "column_11", nullable = true)
+    private String column11;
+    @Column(name = "column_12", nullable = true)
+    private Integer column12;
+    @Column(name = "column_13", nullable = true)
+    private String column13;
+    @Column(name = "column_14", nullable = true)
+    private Integer column14;
+    @Column(name = "column_15", nullable = true)
+    private String column15;
+    @Column(name = "column_16", nullable = true)
+    private Integer column16;
+    @Column(name = "column_17", nullable = true)
+    private String column17;
+    @Column(name = "column_18", nullable = true)
+    private Integer column18;
+    @Column(name = "column_19", nullable = true)
+    private String column19;
+    @Column(name = "column_20", nullable = true)
+    private Integer column20;
+    @Column(name = "column_21", nullable = true)
+    private String column21;
+    @Column(name = "column_22", nullable = true)
+    private Integer column22;
+    @Column(name = "column_23", nullable = true)
+    private String column23;
+    @Column(name = "column_24", nullable = true)
+    private Integer column24;
+    @Column(name = "column_25", nullable = true)
+    private String column25;
+    @Column(name = "column_26", nullable = true)
+    private Integer column26;
+    @Column(name = "column_27", nullable = true)
+    private String column27;
+    @Column(name = "column_28", nullable = true)
+    private Integer column28;
+    @Column(name = "column_29", nullable = true)
+    private String column29;
+    @Column(name = "column_30", nullable = true)
+    private Integer column30;
+    @Column(name = "column_31", nullable = true)
+    private String column31;
+    @Column(name = "column_32", nullable = true)
+    private Integer column32;
+    @Column(name = "column_33", nullable = true)
+    private String column33;
+    @Column(name = "column_34", nullable = true)
+    private Integer column34;
+    @Column(name = "column_35", nullable = true)
+    private String column35;
+    @Column(name = "column_36", nullable = true)
+    private Integer column36;
+    @Column(name = "column_37", nullable = true)
+    private String column37;
+    @Column(name = "column_38", nullable = true)
+    private Integer column38;
+    @Column(name = "column_39", nullable = true)
+    private String column39;
+    @Column(name = "column_40", nullable = true)
+    private Integer column40;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getColumn01() {
+        return column01;
+    }
+
+    public void setColumn01(String column01) {
+        this.column01 = column01;
+    }
+
+    public Integer getColumn02() {
+        return column02;
+    }
+
+    public void setColumn02(Integer column02) {
+        this.column02 = column02;
+    }
+
+    public String getColumn03() {
+        return column03;
+    }
+
+    public void setColumn03(String column03) {
+        this.column03 = column03;
+    }
+
+    public Integer getColumn04() {
+        return column04;
+    }
+
+    public void setColumn04(Integer column04) {
+        this.column04 = column04;
+    }
+
+    public String getColumn05() {
+        return column05;
+    }
+
+    public void setColumn05(String column05) {
+        this.column05 = column05;
+    }
+
+    public Integer getColumn06() {
+        return column06;
+    }
+
+    public void setColumn06(Integer column06) {
+        this.column06 = column06;
+    }
+
+    public String getColumn07() {
+        return column07;
+    }
+
+    public void setColumn07(String column07) {
+        this.column07 = column07;
+    }
+
+    public Integer getColumn08() {
+        return column08;
+    }
+
+    public void setColumn08(Integer column08) {
+        this.column08 = column08;
+    }
+
+    public String getColumn09() {
+        return column09;
+    }
+
+    public void setColumn09(String column09) {
+        this.column09 = column09;
+    }
+
+    public Integer getColumn10() {
+        return column10;
+    }
+
+    public void setColumn10(Integer column10) {
+        this.column10 = column10;
+    }
+
+    public String getColumn11() {
+        return column11;
+    }
+
+    public void setColumn11(String column11) {
+        this.column11 = column11;
+    }
+
+    public Integer getColumn12() {
+        return column12;
+    }
+
+    public void setColumn12(Integer column12) {
+        this.column12 = column12;
+    }
+
+    public String getColumn13() {
+        return column13;
+    }
+
+    public void setColumn13(String column13) {
+        this.column13 = column13;
+    }
+
+    public Integer getColumn14() {
+        return column14;
+    }
+
+    public void setColumn14(Integer column14) {
+        this.column14 = column14;
+    }
+
+    public String getColumn15() {
+        return column15;
+    }
+
+    public void setColumn15(String column15) {
+        this.column15 = column15;
+    }
+
+    public Integer getColumn16() {
+        return column16;
+    }
+
+    public void setColumn16(Integer column16) {
+        this.column16 = column16;
+    }
+
+    public String getColumn17() {
+        return column17;
+    }
+
+    public void setColumn17(String column17) {
+        this.column17 = column17;
+    }
+
+    public Integer getColumn18() {
+        return column18;
+    }
+
+    public void setColumn18(Integer column18) {
+        this.column18 = column18;
+    }
+
+    public String getColumn19() {
+        return column19;
+    }
+
+    public void setColumn19(String column19) {
+        this.column19 = column19;
+    }
+
+    public Integer getColumn20() {
+        return column20;
+    }
+
+    public void setColumn20(Integer column20) {
+        this.column20 = column20;
+    }
+
+    public String getColumn21() {
+        return column21;
+    }
+
+    public void setColumn21(String column21) {
+        this.column21 = column21;
+    }
+
+    public Integer getColumn22() {
+        return column22;
+    }
+
+    public void setColumn22(Integer column22) {
+        this.column22 = column22;
+    }
+
+    public String getColumn23() {
+        return column23;
+    }
+
+    public void setColumn23(String column23) {
+        this.column23 = column23;
+    }
+
+    public Integer getColumn24() {
+        return column24;
+    }
+
+    public void setColumn24(Integer column24) {
+        this.column24 = column24;
+    }
+
+    public String getColumn25() {
+        return column25;
+    }
+
+    public void setColumn25(String column25) {
+        this.column25 = column25;
+    }
+
+    public Integer getColumn26() {
+        return column26;
+    }
+
+    public void setColumn26(Integer column26) {
+        this.column26 = column26;
+    }
+
+    public String getColumn27() {
+        return column27;
+    }
+
+    public void setColumn27(String column27) {
+        this.column27 = column27;
+    }
+
+    public Integer getColumn28() {
+        return column28;
+    }
+
+    public void setColumn28(Integer column28) {
+        this.column28 = column28;
+    }
+
+    public String getColumn29() {
+        return column29;
+    }
+
+    public void setColumn29(String column29) {
+        this.column29 = column29;
+    }
+
+    public Integer getColumn30() {
+        return column30;
+    }
+
+    public void setColumn30(Integer column30) {
+        this.column30 = column30;
+    }
+
+    public String getColumn31() {
+        return column31;
+    }
+
+    public void setColumn31(String column31) {
+        this.column31 = column31;
+    }
+
+    public Integer getColumn32() {
+        return column32;
+    }
+
+    public void setColumn32(Integer column32) {
+        this.column32 = column32;
+    }
+
+    public String getColumn33() {
+        return column33;
+    }
+
+    public void setColumn33(String column33) {
+        this.column33 = column33;
+    }
+
+    public Integer getColumn34() {
+        return column34;
+    }
+
+    public void setColumn34(Integer column34) {
+        this.column34 = column34;
+    }
+
+    public String getColumn35() {
+        return column35;
+    }
+
+    public void setColumn35(String column35) {
+        this.column35 = column35;
+    }
+
+    public Integer getColumn36() {
+        return column36;
+    }
+
+    public void setColumn36(Integer column36) {
+        this.column36 = column36;
+    }
+
+    public String getColumn37() {
+        return column37;
+    }
+
+    public void setColumn37(String column37) {
+        this.column37 = column37;
+    }
+
+    public Integer getColumn38() {
+        return column38;
+    }
+
+    public void setColumn38(Integer column38) {
+        this.column38 = column38;
+    }
+
+    public String getColumn39() {
+        return column39;
+    }
+
+    public void setColumn39(String column39) {
+        this.column39 = column39;
+    }
+
+    public Integer getColumn40() {
+        return column40;
+    }
+
+    public void setColumn40(Integer column40) {
+        this.column40 = column40;
+    }
+
+}
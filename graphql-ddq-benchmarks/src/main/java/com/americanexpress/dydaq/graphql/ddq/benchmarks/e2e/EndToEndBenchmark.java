@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa.JpaQueryResolver;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.resolver.JoinQueryResolver;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.resolver.SimpleQueryResolver;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.metadata.strategy.query.DefaultOperationBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Executes the GraphQL requests of every {@link Scenario} on the DyDaQ resolvers of graphql-ddq-example and on
+ * {@link JpaQueryResolver},after verifying both return the same data.
+ * <p>
+ * Every path is warmed up and then measured for latency,allocations and peak heap.Rows and bytes read from the database
+ * are measured in a separate run,as monitoring the result sets adds to the latency.All the runs of a path use the same
+ * seed so both paths execute the same requests.
+ */
+@Component
+public class EndToEndBenchmark {
+
+    private static final Logger LOGGER = LogManager.getLogger(EndToEndBenchmark.class);
+
+    private static final String[] DYDAQ_BASE_PACKAGES = new String[]{"io.leangen",
+            "com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.base"};
+    private static final String[] JPA_BASE_PACKAGES = new String[]{"io.leangen",
+            "com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa"};
+
+    @Autowired
+    private JoinQueryResolver joinQueryResolver;
+
+    @Autowired
+    private SimpleQueryResolver simpleQueryResolver;
+
+    @Autowired
+    private JpaQueryResolver jpaQueryResolver;
+
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+
+    @Autowired
+    private JdbcTrafficMonitor trafficMonitor;
+
+    private int warmupIterations = 200;
+    private int iterations = 1000;
+    private int trafficIterations = 100;
+    private long seed = 42;
+
+    /**
+     * Generates the data if needed and measures every scenario on DyDaQ and JPA
+     *
+     * @return results with DyDaQ result of a scenario followed by its JPA result
+     */
+    public List<ScenarioResult> run() {
+        dataGenerator.generate();
+        GraphQL dydaq = createGraphQL(DYDAQ_BASE_PACKAGES, joinQueryResolver, simpleQueryResolver);
+        GraphQL jpa = createGraphQL(JPA_BASE_PACKAGES, jpaQueryResolver);
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            verifySameData(scenario, dydaq, jpa);
+            results.add(measure(scenario, "DyDaQ", dydaq));
+            results.add(measure(scenario, "JPA", jpa));
+        }
+        return results;
+    }
+
+    private GraphQL createGraphQL(String[] basePackages, Object... resolvers) {
+        GraphQLSchemaGenerator schemaGenerator = new GraphQLSchemaGenerator()
+                .withBasePackages(basePackages)
+                .withOperationBuilder(new DefaultOperationBuilder(DefaultOperationBuilder.TypeInference.LIMITED));
+        for (Object resolver : resolvers) {
+            schemaGenerator.withOperationsFromSingleton(resolver);
+        }
+        return GraphQL.newGraphQL(schemaGenerator.generate()).build();
+    }
+
+    /**
+     * Fails if the first request of the scenario returns different data on both paths,ignoring the order of lists as
+     * JPA returns the associations in a Set
+     */
+    private void verifySameData(Scenario scenario, GraphQL dydaq, GraphQL jpa) {
+        String request = scenario.getRequest(new Random(seed), dataGenerator.getHospitals());
+        Object dydaqData = normalize(execute(dydaq, request).getData());
+        Object jpaData = normalize(execute(jpa, request).getData());
+        if (!dydaqData.equals(jpaData)) {
+            throw new IllegalStateException("DyDaQ and JPA returned different data for " + request + " : " + dydaqData + " , " + jpaData);
+        }
+    }
+
+    private ScenarioResult measure(Scenario scenario, String path, GraphQL graphQL) {
+        LOGGER.info("Measuring {} on {}", scenario, path);
+        for (String request : getRequests(scenario, warmupIterations)) {
+            execute(graphQL, request);
+        }
+
+        trafficMonitor.start();
+        for (String request : getRequests(scenario, trafficIterations)) {
+            execute(graphQL, request);
+        }
+        JdbcTrafficMonitor.Traffic traffic = trafficMonitor.stop();
+
+        List<String> requests = getRequests(scenario, iterations);
+        long[] latencyNanos = new long[iterations];
+        System.gc();
+        resetPeakHeapUsage();
+        long allocatedBytes = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long operationStart = System.nanoTime();
+            execute(graphQL, requests.get(i));
+            latencyNanos[i] = System.nanoTime() - operationStart;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedBytesPerOperation = allocatedBytes < 0 ? -1 : (getAllocatedBytes() - allocatedBytes) / iterations;
+
+        return new ScenarioResult(scenario, path, latencyNanos, elapsedNanos, traffic.getRows() / (double) trafficIterations,
+                traffic.getBytes() / (double) trafficIterations, allocatedBytesPerOperation, getPeakHeapUsage());
+    }
+
+    private List<String> getRequests(Scenario scenario, int count) {
+        Random random = new Random(seed);
+        List<String> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(scenario.getRequest(random, dataGenerator.getHospitals()));
+        }
+        return requests;
+    }
+
+    private ExecutionResult execute(GraphQL graphQL, String request) {
+        ExecutionResult result = graphQL.execute(request);
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Request " + request + " failed : " + result.getErrors());
+        }
+        return result;
+    }
+
+    /**
+     * Converts lists to lists sorted by the string value of their elements
+     */
+    private static Object normalize(Object data) {
+        if (data instanceof Map) {
+            Map<Object, Object> normalized = new TreeMap<>();
+            ((Map<?, ?>) data).forEach((key, value) -> normalized.put(key, normalize(value)));
+            return normalized;
+        } else if (data instanceof Collection) {
+            List<Object> normalized = new ArrayList<>();
+            ((Collection<?>) data).forEach(value -> normalized.add(normalize(value)));
+            normalized.sort(Comparator.comparing(String::valueOf));
+            return normalized;
+        }
+        return data;
+    }
+
+    /**
+     * @return bytes allocated by the current thread,-1 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                memoryPool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peakHeapUsage = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                peakHeapUsage += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        return peakHeapUsage;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    @Value("${benchmark.warmup-iterations:200}")
+    public void setWarmupIterations(int warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Value("${benchmark.iterations:1000}")
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getTrafficIterations() {
+        return trafficIterations;
+    }
+
+    @Value("${benchmark.traffic-iterations:100}")
+    public void setTrafficIterations(int trafficIterations) {
+        this.trafficIterations = trafficIterations;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Value("${benchmark.seed:42}")
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+}
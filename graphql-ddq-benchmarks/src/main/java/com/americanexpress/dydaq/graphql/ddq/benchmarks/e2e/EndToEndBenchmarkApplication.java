@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.EnableDynamicQuery;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.resolver.JoinQueryResolver;
+import io.leangen.graphql.spqr.spring.autoconfigure.SpqrAutoConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the end to end benchmark of DyDaQ vs JPA and prints the results.Configuration is read from e2e-benchmark.yml and can
+ * be overridden by arguments,eg --benchmark.data.hospitals=1000000
+ * <p>
+ * Resolvers of graphql-ddq-example are scanned from its resolver package only,as the example data source would replace the
+ * generated data.Schemas are created by {@link EndToEndBenchmark},so SPQR auto configuration is excluded.
+ */
+@SpringBootApplication(scanBasePackageClasses = {EndToEndBenchmarkApplication.class, JoinQueryResolver.class},
+        exclude = SpqrAutoConfiguration.class)
+@EnableDynamicQuery
+public class EndToEndBenchmarkApplication {
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EndToEndBenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.name=e2e-benchmark")
+                .run(args)) {
+            System.out.println(ScenarioResult.HEADER);
+            for (ScenarioResult result : context.getBean(EndToEndBenchmark.class).run()) {
+                System.out.println(result);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the rows and bytes read by the application from the result sets of the DataSource.As embedded H2 does not send
+ * rows over network,bytes are the estimated size of the column values read : UTF-8 length of strings and width of the
+ * numbers.
+ * <p>
+ * Connections are wrapped only between {@link #start()} and {@link #stop()},so the latency measured outside of them does
+ * not include the cost of monitoring.
+ */
+@Component
+public class JdbcTrafficMonitor implements BeanPostProcessor {
+
+    private volatile boolean enabled;
+    private long rows;
+    private long bytes;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class, Closeable.class},
+                    new MonitoringHandler(bean));
+        }
+        return bean;
+    }
+
+    /**
+     * Resets the counters and starts counting rows and bytes read from the connections opened afterwards
+     */
+    public synchronized void start() {
+        rows = 0;
+        bytes = 0;
+        enabled = true;
+    }
+
+    /**
+     * Stops counting
+     *
+     * @return rows and bytes read since {@link #start()}
+     */
+    public synchronized Traffic stop() {
+        enabled = false;
+        return new Traffic(rows, bytes);
+    }
+
+    private synchronized void countRow(ResultSet resultSet, int columnCount) throws SQLException {
+        rows++;
+        for (int column = 1; column <= columnCount; column++) {
+            bytes += getSize(resultSet.getObject(column));
+        }
+    }
+
+    private static long getSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8).length;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof Byte || value instanceof Boolean) {
+            return 1;
+        } else if (value instanceof Short) {
+            return 2;
+        } else if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+        } else if (value instanceof Number || value instanceof java.util.Date) {
+            return 8;
+        }
+        return value.toString().length();
+    }
+
+    /**
+     * Wraps the connections,statements and result sets returned by the object it delegates to
+     */
+    private class MonitoringHandler implements InvocationHandler {
+
+        private final Object delegate;
+        private int columnCount = -1;
+
+        MonitoringHandler(Object delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close") && method.getDeclaringClass().equals(Closeable.class)) {
+                if (delegate instanceof AutoCloseable) {
+                    ((AutoCloseable) delegate).close();
+                }
+                return null;
+            }
+            Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (delegate instanceof ResultSet) {
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    if (columnCount < 0) {
+                        columnCount = ((ResultSet) delegate).getMetaData().getColumnCount();
+                    }
+                    countRow((ResultSet) delegate, columnCount);
+                }
+                return result;
+            }
+            if (method.getReturnType().isInterface()
+                    && ((result instanceof Connection && enabled) || result instanceof Statement || result instanceof ResultSet)) {
+                //return type of the method is used,so a PreparedStatement is not wrapped as a Statement
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{method.getReturnType()},
+                        new MonitoringHandler(result));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Rows and bytes read while monitoring
+     */
+    public static final class Traffic {
+
+        private final long rows;
+        private final long bytes;
+
+        Traffic(long rows, long bytes) {
+            this.rows = rows;
+            this.bytes = bytes;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+}
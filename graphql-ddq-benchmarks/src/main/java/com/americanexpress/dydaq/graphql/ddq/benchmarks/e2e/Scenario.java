@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import java.util.Random;
+
+/**
+ * GraphQL requests executed by the end to end benchmark on both DyDaQ and JPA resolvers.
+ * <p>
+ * HOSPITAL_GRAPH fetches a hospital with its surgeons and their doc specialities,HOSPITAL_BY_IDS fetches few columns of two
+ * hospitals and SURGEON_PAGE fetches a page of surgeons.Hospital ids are picked randomly from the generated hospitals.
+ */
+public enum Scenario {
+
+    HOSPITAL_GRAPH("{ fetchHospitalWithSurgeonSpeciality(HospitalId: %d) { name surgeon { fullName docSpeciality { experience } } } }", 1),
+    HOSPITAL_BY_IDS("{ listHospitalById(HospitalList: [%d, %d]) { name city } }", 2),
+    SURGEON_PAGE("{ listSurgeonWithLimit(Limit: 500) { fullName contactNo } }", 0);
+
+    private final String request;
+    private final int hospitalIdCount;
+
+    Scenario(String request, int hospitalIdCount) {
+        this.request = request;
+        this.hospitalIdCount = hospitalIdCount;
+    }
+
+    /**
+     * @param random    used to pick the hospital ids
+     * @param hospitals number of hospitals generated,ids start from 1
+     * @return GraphQL request of the scenario
+     */
+    public String getRequest(Random random, int hospitals) {
+        Object[] hospitalIds = new Object[hospitalIdCount];
+        for (int i = 0; i < hospitalIdCount; i++) {
+            hospitalIds[i] = random.nextInt(hospitals) + 1;
+        }
+        return String.format(request, hospitalIds);
+    }
+
+}
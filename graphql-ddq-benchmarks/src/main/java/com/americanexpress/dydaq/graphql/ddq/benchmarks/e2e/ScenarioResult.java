@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurements of a scenario executed on either DyDaQ or JPA resolvers
+ */
+public class ScenarioResult {
+
+    public static final String HEADER = String.format("%-16s %-6s %10s %9s %9s %9s %9s %10s %12s %12s %12s %14s",
+            "Scenario", "Path", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "rows/op", "rows/s", "bytes/op",
+            "alloc/op", "peak heap MB");
+
+    private final Scenario scenario;
+    private final String path;
+    private final long[] latencyNanos;
+    private final long elapsedNanos;
+    private final double rowsPerOperation;
+    private final double bytesPerOperation;
+    private final long allocatedBytesPerOperation;
+    private final long peakHeapBytes;
+
+    /**
+     * @param latencyNanos               latency of every operation measured
+     * @param elapsedNanos               time taken by all the operations measured
+     * @param rowsPerOperation           rows read from the database per operation
+     * @param bytesPerOperation          estimated bytes read from the database per operation
+     * @param allocatedBytesPerOperation heap allocated per operation,-1 if not supported by the JVM
+     * @param peakHeapBytes              peak heap used while measuring
+     */
+    public ScenarioResult(Scenario scenario, String path, long[] latencyNanos, long elapsedNanos, double rowsPerOperation,
+                          double bytesPerOperation, long allocatedBytesPerOperation, long peakHeapBytes) {
+        this.scenario = scenario;
+        this.path = path;
+        this.latencyNanos = latencyNanos.clone();
+        Arrays.sort(this.latencyNanos);
+        this.elapsedNanos = elapsedNanos;
+        this.rowsPerOperation = rowsPerOperation;
+        this.bytesPerOperation = bytesPerOperation;
+        this.allocatedBytesPerOperation = allocatedBytesPerOperation;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public double getOperationsPerSecond() {
+        return latencyNanos.length / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency in milliseconds below which the percentile of operations completed
+     */
+    public double getLatencyMillis(double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * latencyNanos.length) - 1;
+        return latencyNanos[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getRowsPerOperation() {
+        return rowsPerOperation;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerOperation * getOperationsPerSecond();
+    }
+
+    public double getBytesPerOperation() {
+        return bytesPerOperation;
+    }
+
+    public long getAllocatedBytesPerOperation() {
+        return allocatedBytesPerOperation;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s %-6s %10.1f %9.3f %9.3f %9.3f %9.3f %10.1f %12.0f %12.0f %12d %14.1f",
+                scenario, path, getOperationsPerSecond(), getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99),
+                getLatencyMillis(100), rowsPerOperation, getRowsPerSecond(), bytesPerOperation, allocatedBytesPerOperation,
+                peakHeapBytes / (1024.0 * 1024.0));
+    }
+
+}
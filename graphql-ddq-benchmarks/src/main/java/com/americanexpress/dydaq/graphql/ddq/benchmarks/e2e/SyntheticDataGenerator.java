@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds the hospital,surgeon,doc speciality and speciality tables of graphql-ddq-example with synthetic rows.Rows are
+ * generated inside H2 using SYSTEM_RANGE in batches,so tens of millions of rows can be generated without holding them in
+ * memory.Every hospital has the same number of surgeons and every surgeon the same number of doc specialities.
+ * <p>
+ * Data is generated only when the row counts of the tables differ from the configured ones,so a file database can be
+ * reused across runs.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger(SyntheticDataGenerator.class);
+
+    private static final long BATCH_ROWS = 100_000L;
+
+    private static final String INSERT_SPECIALITY = "insert into speciality_tbl(speciality_id, speciality) "
+            + "select x, concat('Speciality', x) from system_range(?, ?)";
+    private static final String INSERT_HOSPITAL = "insert into hospital_tbl(hospital_id, name, no_of_employees, city, contact_no) "
+            + "select x, concat('Hospital Name', x), mod(x, 1000) + 1, concat('City', mod(x, 100)), lpad(x, 10, '8') from system_range(?, ?)";
+    private static final String INSERT_SURGEON = "insert into surgeon_tbl(surgeon_id, hospital_id, full_name, dept_id, contact_no) "
+            + "select x, (x - 1) / ? + 1, concat('Human Name', x), mod(x, 20) + 901, lpad(x, 10, '9') from system_range(?, ?)";
+    private static final String INSERT_DOC_SPECIALITY = "insert into doc_speciality_tbl(id, surgeon_id, speciality_id, experience) "
+            + "select x, (x - 1) / ? + 1, mod(x - 1, ?) + 1, mod(x, 40) from system_range(?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int hospitals = 10_000;
+    private int surgeonsPerHospital = 10;
+    private int specialitiesPerSurgeon = 5;
+    private int specialities = 100;
+
+    /**
+     * Drops and creates the tables and generates the rows,unless the tables already have the configured row counts
+     */
+    public void generate() {
+        long surgeons = (long) hospitals * surgeonsPerHospital;
+        long docSpecialities = surgeons * specialitiesPerSurgeon;
+        if (getRowCount("speciality_tbl") == specialities && getRowCount("hospital_tbl") == hospitals
+                && getRowCount("surgeon_tbl") == surgeons && getRowCount("doc_speciality_tbl") == docSpecialities) {
+            LOGGER.info("Reusing {} hospitals,{} surgeons and {} doc specialities", hospitals, surgeons, docSpecialities);
+            return;
+        }
+
+        long start = System.nanoTime();
+        new ResourceDatabasePopulator(new ClassPathResource("/e2e-schema.sql")).execute(jdbcTemplate.getDataSource());
+        insert(INSERT_SPECIALITY, specialities);
+        insert(INSERT_HOSPITAL, hospitals);
+        insert(INSERT_SURGEON, surgeons, surgeonsPerHospital);
+        insert(INSERT_DOC_SPECIALITY, docSpecialities, specialitiesPerSurgeon, specialities);
+        //indexes are created after inserting the rows as it is faster than updating them for every batch
+        jdbcTemplate.execute("create index surgeon_hospital_idx on surgeon_tbl(hospital_id)");
+        jdbcTemplate.execute("create index doc_speciality_surgeon_idx on doc_speciality_tbl(surgeon_id)");
+        LOGGER.info("Generated {} hospitals,{} surgeons and {} doc specialities in {} s", hospitals, surgeons, docSpecialities,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Inserts rows with ids 1 to rowCount,BATCH_ROWS rows per statement
+     *
+     * @param insertQuery having the parameters passed followed by the range of ids
+     */
+    private void insert(String insertQuery, long rowCount, Object... parameters) {
+        Object[] args = new Object[parameters.length + 2];
+        System.arraycopy(parameters, 0, args, 0, parameters.length);
+        for (long from = 1; from <= rowCount; from += BATCH_ROWS) {
+            args[parameters.length] = from;
+            args[parameters.length + 1] = Math.min(rowCount, from + BATCH_ROWS - 1);
+            jdbcTemplate.update(insertQuery, args);
+        }
+    }
+
+    private long getRowCount(String table) {
+        try {
+            return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        } catch (DataAccessException e) {
+            return -1;
+        }
+    }
+
+    public int getHospitals() {
+        return hospitals;
+    }
+
+    @Value("${benchmark.data.hospitals:10000}")
+    public void setHospitals(int hospitals) {
+        this.hospitals = hospitals;
+    }
+
+    public int getSurgeonsPerHospital() {
+        return surgeonsPerHospital;
+    }
+
+    @Value("${benchmark.data.surgeons-per-hospital:10}")
+    public void setSurgeonsPerHospital(int surgeonsPerHospital) {
+        this.surgeonsPerHospital = surgeonsPerHospital;
+    }
+
+    public int getSpecialitiesPerSurgeon() {
+        return specialitiesPerSurgeon;
+    }
+
+    @Value("${benchmark.data.specialities-per-surgeon:5}")
+    public void setSpecialitiesPerSurgeon(int specialitiesPerSurgeon) {
+        this.specialitiesPerSurgeon = specialitiesPerSurgeon;
+    }
+
+    public int getSpecialities() {
+        return specialities;
+    }
+
+    @Value("${benchmark.data.specialities:100}")
+    public void setSpecialities(int specialities) {
+        this.specialities = specialities;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * JPA mapping of doc_speciality_tbl having the same GraphQL fields as the DocSpeciality entity of graphql-ddq-example.
+ */
+@Entity
+@Table(name = "doc_speciality_tbl")
+public class DocSpecialityEntity {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+    @Column(name = "surgeon_id")
+    private Integer surgeonId;
+    @Column(name = "speciality_id")
+    private Integer specialityId;
+    @Column(name = "experience")
+    private String experience;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getSurgeonId() {
+        return surgeonId;
+    }
+
+    public void setSurgeonId(Integer surgeonId) {
+        this.surgeonId = surgeonId;
+    }
+
+    public Integer getSpecialityId() {
+        return specialityId;
+    }
+
+    public void setSpecialityId(Integer specialityId) {
+        this.specialityId = specialityId;
+    }
+
+    public String getExperience() {
+        return experience;
+    }
+
+    public void setExperience(String experience) {
+        this.experience = experience;
+    }
+
+}
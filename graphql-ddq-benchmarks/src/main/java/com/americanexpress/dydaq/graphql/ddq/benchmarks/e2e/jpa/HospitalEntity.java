@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa;
+
+import javax.persistence.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JPA mapping of hospital_tbl having the same GraphQL fields as the Hospital entity of graphql-ddq-example.
+ */
+@Entity
+@Table(name = "hospital_tbl")
+public class HospitalEntity {
+
+    @Id
+    @Column(name = "hospital_id")
+    private Integer hospitalId;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "no_of_employees")
+    private Integer noOfEmployees;
+    @Column(name = "city")
+    private String city;
+    @Column(name = "contact_no")
+    private String contactNo;
+
+    /**
+     * Set is used as Hibernate can not fetch more than one List of an entity graph in a single query
+     */
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hospital_id", insertable = false, updatable = false)
+    private Set<SurgeonEntity> surgeon = new LinkedHashSet<>();
+
+    public Integer getHospitalId() {
+        return hospitalId;
+    }
+
+    public void setHospitalId(Integer hospitalId) {
+        this.hospitalId = hospitalId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getNoOfEmployees() {
+        return noOfEmployees;
+    }
+
+    public void setNoOfEmployees(Integer noOfEmployees) {
+        this.noOfEmployees = noOfEmployees;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getContactNo() {
+        return contactNo;
+    }
+
+    public void setContactNo(String contactNo) {
+        this.contactNo = contactNo;
+    }
+
+    public Set<SurgeonEntity> getSurgeon() {
+        return surgeon;
+    }
+
+    public void setSurgeon(Set<SurgeonEntity> surgeon) {
+        this.surgeon = surgeon;
+    }
+
+}
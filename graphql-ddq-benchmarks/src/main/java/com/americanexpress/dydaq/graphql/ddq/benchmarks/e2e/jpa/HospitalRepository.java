@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface HospitalRepository extends JpaRepository<HospitalEntity, Integer> {
+
+    /**
+     * Fetches the hospital along with its surgeons and their doc specialities in a single join query
+     */
+    @EntityGraph(attributePaths = {"surgeon", "surgeon.docSpeciality"})
+    Optional<HospitalEntity> findWithSurgeonSpecialityByHospitalId(Integer hospitalId);
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa;
+
+import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA implementation of the resolvers of graphql-ddq-example used by the end to end benchmark.Queries have the
+ * same name,arguments and fields as the DyDaQ resolvers so the same GraphQL request can be executed on both,the only
+ * difference being JPA selecting all the columns of the entities.
+ */
+@Component
+public class JpaQueryResolver {
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private SurgeonRepository surgeonRepository;
+
+    @GraphQLQuery
+    public HospitalEntity fetchHospitalWithSurgeonSpeciality(@GraphQLArgument(name = "HospitalId") int hospitalId) {
+        return hospitalRepository.findWithSurgeonSpecialityByHospitalId(hospitalId).orElse(null);
+    }
+
+    @GraphQLQuery
+    public List<HospitalEntity> listHospitalById(@GraphQLArgument(name = "HospitalList") List<Integer> hospitalList) {
+        return hospitalRepository.findAllById(hospitalList);
+    }
+
+    @GraphQLQuery
+    public List<SurgeonEntity> listSurgeonWithLimit(@GraphQLArgument(name = "Limit") int limit) {
+        return surgeonRepository.findAllBy(PageRequest.of(0, limit));
+    }
+
+}
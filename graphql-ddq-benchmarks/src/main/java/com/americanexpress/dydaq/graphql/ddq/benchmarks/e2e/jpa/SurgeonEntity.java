@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.benchmarks.e2e.jpa;
+
+import javax.persistence.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JPA mapping of surgeon_tbl having the same GraphQL fields as the Surgeon entity of graphql-ddq-example.
+ */
+@Entity
+@Table(name = "surgeon_tbl")
+public class SurgeonEntity {
+
+    @Id
+    @Column(name = "surgeon_id")
+    private Integer surgeonId;
+    @Column(name = "hospital_id")
+    private Integer hospitalId;
+    @Column(name = "full_name")
+    private String fullName;
+    @Column(name = "dept_id")
+    private Integer deptId;
+    @Column(name = "contact_no")
+    private String contactNo;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "surgeon_id", insertable = false, updatable = false)
+    private Set<DocSpecialityEntity> docSpeciality = new LinkedHashSet<>();
+
+    public Integer getSurgeonId() {
+        return surgeonId;
+    }
+
+    public void setSurgeonId(Integer surgeonId) {
+        this.surgeonId = surgeonId;
+    }
+
+    public Integer getHospitalId() {
+        return hospitalId;
+    }
+
+    public void setHospitalId(Integer hospitalId) {
+        this.hospitalId = hospitalId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public void setDeptId(Integer deptId) {
+        this.deptId = deptId;
+    }
+
+    public String getContactNo() {
+        return contactNo;
+    }
+
+    public void setContactNo(String contactNo) {
+        this.contactNo = contactNo;
+    }
+
+    public Set<DocSpecialityEntity> getDocSpeciality() {
+        return docSpeciality;
+    }
+
+    public void setDocSpeciality(Set<DocSpecialityEntity> docSpeciality) {
+        this.docSpeciality = docSpeciality;
+    }
+
+}
@@ -0,0 +1,32 @@
+Drop table if exists hospital_tbl;
+Drop table if exists surgeon_tbl;
+Drop table if exists doc_speciality_tbl;
+Drop table if exists speciality_tbl;
+CREATE TABLE IF NOT EXISTS hospital_tbl
+(
+    hospital_id     INT PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    no_of_employees int,
+    city            VARCHAR(50),
+    contact_no      varchar(15)
+);
+CREATE TABLE IF NOT EXISTS surgeon_tbl
+(
+    surgeon_id  INT PRIMARY KEY,
+    hospital_id int,
+    full_name   VARCHAR(255) NOT NULL,
+    dept_id     int,
+    contact_no  varchar(15)
+);
+CREATE TABLE IF NOT EXISTS doc_speciality_tbl
+(
+    id            INT PRIMARY KEY,
+    surgeon_id    INT,
+    speciality_id INT,
+    experience    int
+);
+CREATE TABLE IF NOT EXISTS speciality_tbl
+(
+    speciality_id INT PRIMARY KEY,
+    speciality    VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.QueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.Try;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Plans the queries of the root fields of a GraphQL document together,instead of every root resolver querying on its own.
+ * <p>
+ * Root resolvers hand their query builder to the planner,which queues it in the DataLoader of the request.graphql-java dispatches
+ * the DataLoaders once all the root fields are fetched,so the planner sees the queries of every root field before any of them runs.
+ * Queries of the same root entity,query builder shape,values,params and graph levels are merged into one query selecting the
+ * fields requested by all of them,eg.. two aliases of a field selecting different fields.The merged queries are run concurrently by
+ * ${sidh.document-plan.parallelism} threads and every resolver gets the entities of its query.
+ * <pre>
+ *     &#64;GraphQLQuery
+ *     public CompletableFuture&lt;List&lt;Hospital&gt;&gt; listHospitals(&#64;GraphQLEnvironment ResolutionEnvironment env) {
+ *         return documentQueryPlanner.query(env, simpleQueryBuilder, Hospital.class);
+ *     }
+ * </pre>
+ * Queries of a document having more than one merged query run on their own connections,so they are not part of the transaction of
+ * the caller.The query is run when it is passed if the DataLoader is not registered for the request,see {@link DyDaQDataLoaderRegistryFactory}.
+ */
+@Component
+public class DocumentQueryPlanner implements BatchLoader<DocumentQueryPlanner.PlannedQuery, Object>, DisposableBean {
+
+    public static final String DATA_LOADER_NAME = "DyDaQ.documentQueryPlanner";
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final Logger LOGGER = LogManager.getLogger(DocumentQueryPlanner.class);
+
+    private final DynamicQueryExecutor dynamicQueryExecutor;
+    private final QueryThreadPool threadPool = new QueryThreadPool("dydaq-plan-", DEFAULT_PARALLELISM);
+
+    public DocumentQueryPlanner(DynamicQueryExecutor dynamicQueryExecutor) {
+        this.dynamicQueryExecutor = dynamicQueryExecutor;
+    }
+
+    public int getParallelism() {
+        return threadPool.getParallelism();
+    }
+
+    /**
+     * Sets number of merged queries of a document run concurrently by the thread pool of the planner
+     */
+    @Value("${sidh.document-plan.parallelism:" + DEFAULT_PARALLELISM + "}")
+    public void setParallelism(int parallelism) {
+        threadPool.setParallelism(parallelism);
+    }
+
+    /**
+     * Sets executor running the merged queries of a document instead of the thread pool of ${sidh.document-plan.parallelism} threads
+     */
+    public void setExecutor(Executor executor) {
+        threadPool.setExecutor(executor);
+    }
+
+    /**
+     * Shuts down the thread pool of the planner when the application context is closed
+     */
+    @Override
+    public void destroy() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Creates DataLoader of a request.Queries are planned for the document they are part of,so they are not cached.
+     */
+    public DataLoader<PlannedQuery, Object> newDataLoader() {
+        return DataLoader.newDataLoader(this, DataLoaderOptions.newOptions().setCachingEnabled(false));
+    }
+
+    /**
+     * Plans the join query of a root field,see {@link DynamicQueryExecutor#query(DynamicQueryGenerator, JoinQueryBuilder, Class, Object...)}
+     *
+     * @param env injected by SPQR into the root resolver using @GraphQLEnvironment ResolutionEnvironment env
+     * @return root entities,completed when the DataLoaders of the request are dispatched
+     */
+    public <T> CompletableFuture<List<T>> query(ResolutionEnvironment env, JoinQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        return plan(env, new PlannedQuery(DynamicQueryGenerator.getInstance(env), queryBuilder, rootType, null, params));
+    }
+
+    /**
+     * Plans the join query of a root field fetched using the strategy passed,see
+     * {@link DynamicQueryExecutor#query(DynamicQueryGenerator, JoinQueryBuilder, Class, QueryStrategy, Object...)}
+     *
+     * @param env injected by SPQR into the root resolver using @GraphQLEnvironment ResolutionEnvironment env
+     * @return root entities,completed when the DataLoaders of the request are dispatched
+     */
+    public <T> CompletableFuture<List<T>> query(ResolutionEnvironment env, JoinQueryBuilder queryBuilder, Class<T> rootType,
+                                                QueryStrategy queryStrategy, Object... params) {
+        return plan(env, new PlannedQuery(DynamicQueryGenerator.getInstance(env), queryBuilder, rootType, queryStrategy, params));
+    }
+
+    /**
+     * Plans the select query of a root field,see {@link DynamicQueryExecutor#query(DynamicQueryGenerator, SimpleQueryBuilder, Class, Object...)}
+     *
+     * @param env injected by SPQR into the root resolver using @GraphQLEnvironment ResolutionEnvironment env
+     * @return entities,completed when the DataLoaders of the request are dispatched
+     */
+    public <T> CompletableFuture<List<T>> query(ResolutionEnvironment env, SimpleQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        return plan(env, new PlannedQuery(DynamicQueryGenerator.getInstance(env), queryBuilder, rootType, null, params));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<List<T>> plan(ResolutionEnvironment env, PlannedQuery plannedQuery) {
+        DataLoader<PlannedQuery, Object> dataLoader = env.dataFetchingEnvironment.getDataLoader(DATA_LOADER_NAME);
+        if (dataLoader == null) {
+            return CompletableFuture.completedFuture((List<T>) plannedQuery.execute(dynamicQueryExecutor, plannedQuery.dynamicQueryGenerator));
+        }
+        return dataLoader.load(plannedQuery).thenApply(entities -> (List<T>) entities);
+    }
+
+    /**
+     * Merges the queries of a document and runs them,entities of every query are returned as a Try so that a failing query fails
+     * only the fields of its own
+     */
+    @Override
+    public CompletionStage<List<Object>> load(List<PlannedQuery> plannedQueries) {
+        Map<List<Object>, List<PlannedQuery>> mergedQueries = new LinkedHashMap<>();
+        for (PlannedQuery plannedQuery : plannedQueries) {
+            mergedQueries.computeIfAbsent(plannedQuery.planKey, planKey -> new ArrayList<>()).add(plannedQuery);
+        }
+        LOGGER.debug("Planned {} root field queries of the document as {} queries", plannedQueries.size(), mergedQueries.size());
+
+        Map<List<Object>, CompletableFuture<Try<List<?>>>> results = new HashMap<>();
+        if (mergedQueries.size() == 1) {
+            List<PlannedQuery> queries = mergedQueries.values().iterator().next();
+            results.put(queries.get(0).planKey, CompletableFuture.completedFuture(Try.tryCall(() -> execute(queries))));
+        } else {
+            Executor planExecutor = threadPool.getExecutor();
+            mergedQueries.forEach((planKey, queries) ->
+                    results.put(planKey, CompletableFuture.supplyAsync(() -> Try.tryCall(() -> execute(queries)), planExecutor)));
+        }
+        return CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0])).thenApply(done -> {
+            List<Object> entities = new ArrayList<>(plannedQueries.size());
+            for (PlannedQuery plannedQuery : plannedQueries) {
+                entities.add(results.get(plannedQuery.planKey).join());
+            }
+            return entities;
+        });
+    }
+
+    /**
+     * Runs the queries of the same plan key as one query selecting the fields of all of them
+     */
+    private List<?> execute(List<PlannedQuery> queries) {
+        PlannedQuery plannedQuery = queries.get(0);
+        SimpleGraphObject simpleGraphObject = plannedQuery.dynamicQueryGenerator.getSimpleGraphObject();
+        for (PlannedQuery mergedQuery : queries.subList(1, queries.size())) {
+            simpleGraphObject = simpleGraphObject.withFields(mergedQuery.dynamicQueryGenerator.getSimpleGraphObject().getGqlGraphReqFieldMap());
+        }
+        DynamicQueryGenerator dynamicQueryGenerator = (simpleGraphObject == plannedQuery.dynamicQueryGenerator.getSimpleGraphObject()
+                ? plannedQuery.dynamicQueryGenerator : new DynamicQueryGenerator(simpleGraphObject));
+        return plannedQuery.execute(dynamicQueryExecutor, dynamicQueryGenerator);
+    }
+
+    /**
+     * Query of a root field along with the key of the queries it can be merged with.Queries can be merged when only the fields
+     * selected from their graph levels differ.
+     */
+    static final class PlannedQuery {
+        private final DynamicQueryGenerator dynamicQueryGenerator;
+        private final QueryBuilder queryBuilder;
+        private final Class<?> rootType;
+        private final QueryStrategy queryStrategy;
+        private final Object[] params;
+        private final List<Object> planKey;
+
+        private PlannedQuery(DynamicQueryGenerator dynamicQueryGenerator, QueryBuilder queryBuilder, Class<?> rootType,
+                             QueryStrategy queryStrategy, Object[] params) {
+            this.dynamicQueryGenerator = dynamicQueryGenerator;
+            this.queryBuilder = queryBuilder;
+            this.rootType = rootType;
+            this.queryStrategy = queryStrategy;
+            this.params = params;
+            SimpleGraphObject simpleGraphObject = dynamicQueryGenerator.getSimpleGraphObject();
+            this.planKey = Arrays.asList(rootType, queryStrategy, queryBuilder.getShapeKey(), queryBuilder.getBindValues(),
+                    queryBuilder.getLookupKeys(), queryBuilder.getKeysetValues(), Arrays.asList(params), simpleGraphObject.getRootEntity(),
+                    simpleGraphObject.getRootKey(), simpleGraphObject.getGqlGraphReqFieldMap().keySet());
+        }
+
+        private List<?> execute(DynamicQueryExecutor dynamicQueryExecutor, DynamicQueryGenerator dynamicQueryGenerator) {
+            if (queryBuilder instanceof SimpleQueryBuilder) {
+                return dynamicQueryExecutor.query(dynamicQueryGenerator, (SimpleQueryBuilder) queryBuilder, rootType, params);
+            } else if (queryStrategy == null) {
+                return dynamicQueryExecutor.query(dynamicQueryGenerator, (JoinQueryBuilder) queryBuilder, rootType, params);
+            }
+            return dynamicQueryExecutor.query(dynamicQueryGenerator, (JoinQueryBuilder) queryBuilder, rootType, queryStrategy, params);
+        }
+    }
+
+}
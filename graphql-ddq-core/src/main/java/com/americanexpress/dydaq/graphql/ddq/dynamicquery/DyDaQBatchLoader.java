@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.Predicate;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataRegistry;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.MappedBatchLoaderWithContext;
+import org.springframework.data.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Batch loader of graphql-java DataLoader fetching a child graph level of a root entity for all the parents resolved in the same
+ * execution tick,instead of a query per parent by nested resolvers.
+ * <p>
+ * Keys are the values of the join columns of the parents along with the fields requested under the resolver,so a parent loaded twice
+ * with different selections eg.. by aliased fields gets the fields of both.The fields requested by every key of a batch are merged
+ * and the graph level is fetched along with the graph levels requested under it by {@link QueryStrategy#SPLIT},ie.. one query per
+ * graph level selecting the fields requested and the join columns.Keys of a batch are fetched by an in list,batches larger than
+ * ${sidh.lookup.chunk-size} are looked up as lookup keys of the query builder,so they are fetched in chunks,see {@link DynamicQueryExecutor}.Entities are returned per key in the order they are fetched,
+ * resolver of a reference which is not a List can return the first entity of its key.
+ * <pre>
+ *     &#64;Bean
+ *     public DyDaQBatchLoader&lt;Surgeon&gt; hospitalSurgeonLoader(DynamicQueryExecutor dynamicQueryExecutor) {
+ *         return new DyDaQBatchLoader&lt;&gt;(dynamicQueryExecutor, Hospital.class, "surgeon", Surgeon.class);
+ *     }
+ *
+ *     &#64;GraphQLQuery(name = "surgeon")
+ *     public CompletableFuture&lt;List&lt;Surgeon&gt;&gt; getSurgeon(&#64;GraphQLContext Hospital hospital, &#64;GraphQLEnvironment ResolutionEnvironment env) {
+ *         return hospitalSurgeonLoader.load(env, hospital);
+ *     }
+ * </pre>
+ * DataLoaders are created for every request by {@link DyDaQDataLoaderRegistryFactory}.
+ *
+ * @param <T> entity class of the graph level
+ */
+public class DyDaQBatchLoader<T> implements MappedBatchLoaderWithContext<Object, List<T>> {
+
+    private final DynamicQueryExecutor dynamicQueryExecutor;
+    private final String rootEntity;
+    private final String graphKey;
+    private final Class<T> entityType;
+
+    /**
+     * @param dynamicQueryExecutor executes the queries of the batches
+     * @param rootEntityType       entity annotated with @RootEntity whose graph has the graph level
+     * @param graphKey             graph level fetched by the loader eg.. surgeon or surgeon_docSpeciality of Hospital
+     * @param entityType           entity class of the graph level
+     */
+    public DyDaQBatchLoader(DynamicQueryExecutor dynamicQueryExecutor, Class<?> rootEntityType, String graphKey, Class<T> entityType) {
+        this.dynamicQueryExecutor = dynamicQueryExecutor;
+        this.rootEntity = rootEntityType.getSimpleName();
+        this.graphKey = graphKey;
+        this.entityType = entityType;
+    }
+
+    /**
+     * Returns name of the DataLoader in the DataLoaderRegistry ie.. {rootEntity}.{graphKey}
+     */
+    public String getName() {
+        return rootEntity + "." + graphKey;
+    }
+
+    /**
+     * Creates DataLoader of a request.Entities of a key depend on the fields requested along with it,so they are not cached.
+     */
+    public DataLoader<Object, List<T>> newDataLoader() {
+        return DataLoader.newMappedDataLoader(this, DataLoaderOptions.newOptions().setCachingEnabled(false));
+    }
+
+    /**
+     * Loads the entities of the graph level joined with the parent using the DataLoader registered for the request
+     *
+     * @param env    injected by SPQR into the resolver of the field using @GraphQLEnvironment ResolutionEnvironment env
+     * @param parent entity of the parent graph level injected using @GraphQLContext
+     * @return entities of the parent,completed when the DataLoaders of the request are dispatched
+     */
+    public CompletableFuture<List<T>> load(ResolutionEnvironment env, Object parent) {
+        DataLoader<Object, List<T>> dataLoader = env.dataFetchingEnvironment.getDataLoader(getName());
+        if (dataLoader == null) {
+            throw new DynamicQueryException(String.format(ErrorConstants.DATA_LOADER_NOT_REGISTERED, getName()));
+        }
+        Object key = dynamicQueryExecutor.getJoinKey(parent, getJoinLevel().parentJoinFields);
+        if (key == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return dataLoader.load(new BatchKey(key, DynamicQueryGenerator.getInstance(env).getSimpleGraphObject()));
+    }
+
+    /**
+     * Fetches the entities of all the keys of a batch.Selections of the resolvers are part of the keys instead of the key contexts,as
+     * the key contexts are a Map keeping one selection per key.
+     */
+    @Override
+    public CompletionStage<Map<Object, List<T>>> load(Set<Object> keys, BatchLoaderEnvironment environment) {
+        CompletableFuture<Map<Object, List<T>>> entities = new CompletableFuture<>();
+        try {
+            entities.complete(loadEntities(keys));
+        } catch (RuntimeException e) {
+            entities.completeExceptionally(e);
+        }
+        return entities;
+    }
+
+    private Map<Object, List<T>> loadEntities(Set<Object> keys) {
+        JoinLevel joinLevel = getJoinLevel();
+        Map<Object, List<T>> keyEntityMap = new HashMap<>();
+        Map<Object, List<T>> joinKeyEntityMap = new HashMap<>();
+        Set<Object> joinKeys = new LinkedHashSet<>();
+        List<SimpleGraphObject> selections = new ArrayList<>();
+        for (Object key : keys) {
+            BatchKey batchKey = (BatchKey) key;
+            keyEntityMap.put(key, joinKeyEntityMap.computeIfAbsent(dynamicQueryExecutor.toJoinKey(toJoinValues(batchKey.joinKey)),
+                    joinKey -> new ArrayList<>()));
+            joinKeys.add(batchKey.joinKey);
+            selections.add(batchKey.selection);
+        }
+
+        SimpleGraphObject simpleGraphObject = getSimpleGraphObject(joinLevel, selections);
+        JoinQueryBuilder.Builder builder = new JoinQueryBuilder.Builder().setRootKey(graphKey);
+        List<String> childGraphKeys = new ArrayList<>(simpleGraphObject.getGqlGraphReqFieldMap().keySet());
+        childGraphKeys.remove(graphKey);
+        childGraphKeys.sort(Comparator.comparingInt((String childGraphKey) -> childGraphKey.split("_").length));
+        childGraphKeys.forEach(childGraphKey -> builder.joinWithGraph(childGraphKey, SqlJoinType.LEFT_OUTER_JOIN));
+        if (joinLevel.joinColumns.size() == 1) {
+            List<Object> lookupKeys = new ArrayList<>(joinKeys.size());
+            joinKeys.forEach(key -> lookupKeys.add(toJoinValues(key).get(0)));
+            String joinColumn = graphKey + "." + joinLevel.joinColumns.get(0);
+            if (lookupKeys.size() > dynamicQueryExecutor.getLookupChunkSize()) {
+                builder.addLookupKeys(joinColumn, lookupKeys);
+            } else {
+                builder.addWhereCondition(Predicate.in(joinColumn, lookupKeys));
+            }
+        } else {
+            Predicate[] keyPredicates = new Predicate[joinKeys.size()];
+            int index = 0;
+            for (Object key : joinKeys) {
+                List<Object> joinValues = toJoinValues(key);
+                Predicate[] columnPredicates = new Predicate[joinLevel.joinColumns.size()];
+                for (int colIndex = 0; colIndex < columnPredicates.length; colIndex++) {
+                    columnPredicates[colIndex] = Predicate.compare(graphKey + "." + joinLevel.joinColumns.get(colIndex), SqlCondition.equal, joinValues.get(colIndex));
+                }
+                keyPredicates[index++] = Predicate.and(columnPredicates);
+            }
+            builder.addWhereCondition(Predicate.or(keyPredicates));
+        }
+        JoinQueryBuilder queryBuilder = builder.build();
+
+        for (T entity : dynamicQueryExecutor.query(new DynamicQueryGenerator(simpleGraphObject), queryBuilder, entityType, QueryStrategy.SPLIT)) {
+            List<T> keyEntities = joinKeyEntityMap.get(dynamicQueryExecutor.getJoinKey(entity, joinLevel.childJoinFields));
+            if (keyEntities != null) {
+                keyEntities.add(entity);
+            }
+        }
+        return keyEntityMap;
+    }
+
+    /**
+     * Returns SimpleGraphObject of the root entity having the fields requested by the resolvers under the graph level of the loader,
+     * along with the fields holding the join columns
+     */
+    private SimpleGraphObject getSimpleGraphObject(JoinLevel joinLevel, List<SimpleGraphObject> selections) {
+        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>();
+        gqlGraphReqFieldMap.put(graphKey, new LinkedHashSet<>(joinLevel.childJoinFields));
+        //resolvers of a request share the interned SimpleGraphObject of their selection,so every distinct one is merged once
+        Set<SimpleGraphObject> requests = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SimpleGraphObject request : selections) {
+            if (requests.add(request)) {
+                request.getGqlGraphReqFieldMap().forEach((requestGraphKey, fields) -> {
+                    String levelGraphKey = (requestGraphKey.equals(request.getRootKey()) ? graphKey : graphKey + "_" + requestGraphKey);
+                    if (joinLevel.graphEntityMap.containsKey(levelGraphKey)) {
+                        gqlGraphReqFieldMap.computeIfAbsent(levelGraphKey, key -> new LinkedHashSet<>()).addAll(fields);
+                    }
+                });
+            }
+        }
+        return new SimpleGraphObject.Builder()
+                .setRootKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+                .setRootEntity(rootEntity)
+                .setGqlGraphEntityMap(joinLevel.graphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build();
+    }
+
+    /**
+     * Reads the join columns of the graph level from the metadata in use,as metadata can be reloaded after the loader is created
+     */
+    private JoinLevel getJoinLevel() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+        Map<String, String> graphEntityMap = metadataRegistry.getGraphEntityMap(rootEntity);
+        if (graphEntityMap == null || !graphEntityMap.containsKey(graphKey) || graphKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL)) {
+            throw new DynamicQueryException(String.format(ErrorConstants.BATCH_LOADER_GRAPH_KEY_NOT_FOUND, graphKey, rootEntity));
+        }
+        String parentGraphKey = (graphKey.contains("_") ? graphKey.substring(0, graphKey.lastIndexOf('_')) : ServiceConstants.ROOT_GRAPH_LEVEL);
+        String referenceName = graphKey.substring(graphKey.lastIndexOf('_') + 1);
+        String parentEntity = graphEntityMap.get(parentGraphKey);
+        String entityName = graphEntityMap.get(graphKey);
+        Map<String, List<Pair<String, String>>> graphJoinColMap = metadataRegistry.getGraphJoinColumns(parentEntity);
+        if (graphJoinColMap == null || graphJoinColMap.get(referenceName) == null) {
+            throw new DynamicQueryException(String.format(ErrorConstants.ASSOCIATION_NOT_DEFINED, parentEntity, entityName, referenceName));
+        }
+        JoinLevel joinLevel = new JoinLevel(graphEntityMap);
+        for (Pair<String, String> joinCols : graphJoinColMap.get(referenceName)) {
+            joinLevel.parentJoinFields.add(metadataRegistry.getColumnFieldMap(parentEntity).get(joinCols.getFirst()));
+            joinLevel.childJoinFields.add(metadataRegistry.getColumnFieldMap(entityName).get(joinCols.getSecond()));
+            joinLevel.joinColumns.add(joinCols.getSecond());
+        }
+        return joinLevel;
+    }
+
+    /**
+     * Returns values of the join columns of the key,a key of more than one join column is a List of the values
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> toJoinValues(Object key) {
+        return (key instanceof List ? (List<Object>) key : Collections.singletonList(key));
+    }
+
+    /**
+     * Key of the DataLoader,values of the join columns of the parent along with the selection of the resolver
+     */
+    private static final class BatchKey {
+        private final Object joinKey;
+        private final SimpleGraphObject selection;
+
+        private BatchKey(Object joinKey, SimpleGraphObject selection) {
+            this.joinKey = joinKey;
+            this.selection = selection;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return joinKey.equals(that.joinKey) && selection.equals(that.selection);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(joinKey, selection);
+        }
+    }
+
+    private static final class JoinLevel {
+        private final Map<String, String> graphEntityMap;
+        private final List<String> parentJoinFields = new ArrayList<>();
+        private final List<String> childJoinFields = new ArrayList<>();
+        private final List<String> joinColumns = new ArrayList<>();
+
+        private JoinLevel(Map<String, String> graphEntityMap) {
+            this.graphEntityMap = graphEntityMap;
+        }
+    }
+
+}
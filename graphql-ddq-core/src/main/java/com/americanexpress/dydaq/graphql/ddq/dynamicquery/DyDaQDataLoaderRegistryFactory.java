@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the DataLoaderRegistry of every GraphQL request executed by SPQR,having a DataLoader of every {@link DyDaQBatchLoader}
+ * registered by its name and the DataLoader of the {@link DocumentQueryPlanner} if it is passed.SPQR takes a single
+ * DataLoaderRegistryFactory,so it is not created by @EnableDynamicQuery and needs to be added as a bean :
+ * <pre>
+ *     &#64;Bean
+ *     public DataLoaderRegistryFactory dataLoaderRegistryFactory(List&lt;DyDaQBatchLoader&lt;?&gt;&gt; batchLoaders, DocumentQueryPlanner documentQueryPlanner) {
+ *         return new DyDaQDataLoaderRegistryFactory(batchLoaders, documentQueryPlanner);
+ *     }
+ * </pre>
+ * Applications having their own DataLoaders can add them to the registry returned by {@link #createDataLoaderRegistry()}.
+ */
+public class DyDaQDataLoaderRegistryFactory implements DataLoaderRegistryFactory {
+
+    private final List<DyDaQBatchLoader<?>> batchLoaders;
+    private final DocumentQueryPlanner documentQueryPlanner;
+
+    public DyDaQDataLoaderRegistryFactory(List<DyDaQBatchLoader<?>> batchLoaders) {
+        this(batchLoaders, null);
+    }
+
+    /**
+     * @param batchLoaders         loaders of the child graph levels resolved by nested resolvers
+     * @param documentQueryPlanner plans the queries of the root fields of the document,null if root resolvers query on their own
+     */
+    public DyDaQDataLoaderRegistryFactory(List<DyDaQBatchLoader<?>> batchLoaders, DocumentQueryPlanner documentQueryPlanner) {
+        this.batchLoaders = new ArrayList<>(batchLoaders);
+        this.documentQueryPlanner = documentQueryPlanner;
+    }
+
+    @Override
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        for (DyDaQBatchLoader<?> batchLoader : batchLoaders) {
+            dataLoaderRegistry.register(batchLoader.getName(), batchLoader.newDataLoader());
+        }
+        if (documentQueryPlanner != null) {
+            dataLoaderRegistry.register(DocumentQueryPlanner.DATA_LOADER_NAME, documentQueryPlanner.newDataLoader());
+        }
+        return dataLoaderRegistry;
+    }
+
+}
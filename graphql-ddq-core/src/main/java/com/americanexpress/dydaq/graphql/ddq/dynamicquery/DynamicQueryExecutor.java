@@ -0,0 +1,1055 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetConnection;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetCursor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetPage;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.QueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan.SplitQueryLevel;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.FanOutStatistics;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.InListExpansion;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.JsonGraphDecoder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataRegistry;
+import graphql.relay.ConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.simpleflatmapper.jdbc.JdbcMapper;
+import org.simpleflatmapper.jdbc.JdbcMapperFactory;
+import org.simpleflatmapper.jdbc.spring.JdbcTemplateMapperFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Executes the queries generated by {@link DynamicQueryGenerator} and maps the rows into the entities using SimpleFlatMapper.
+ * <p>
+ * Key columns of SimpleFlatMapper are derived from the primary keys of the entities of every graph level selected in the query,
+ * so resolvers do not need to list them by hand.The ResultSetExtractor created for a root entity type and a generated query
+ * is cached,mapper of a query shape is created only once and is shared by all the resolvers.
+ * <pre>
+ *     DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getInstance(env);
+ *     List&lt;Hospital&gt; hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, hospitalId);
+ * </pre>
+ * Graph levels of a {@link JoinQueryBuilder} can also be fetched level by level using {@link QueryStrategy#SPLIT},every child graph
+ * level is then fetched by one query for all its parents instead of repeating the parent columns for every child row of a join.
+ * {@link QueryStrategy#AUTO} chooses between both for every request using the rows fetched so far by its queries,see {@link FanOutStatistics}.
+ * {@link QueryStrategy#JSON} fetches every root entity as a single row of JSON having its child graph levels nested.
+ * <p>
+ * Large results can be streamed from an open cursor using the stream methods instead of being loaded into a List.
+ * Query builders paged on keys are fetched a page at a time using the queryPage methods,which return the cursor of the next page.
+ * Relay style connections are resolved on keyset pages using the queryConnection methods.
+ * <p>
+ * Values of the lookup keys and of the predicates of the query builders are set before the params passed,so params are only the
+ * values of the conditions added without values.Query builders having more lookup keys than
+ * ${sidh.lookup.chunk-size} are fetched by a query per chunk of the keys,run in parallel
+ * by ${sidh.lookup.parallelism} threads,and the root entities of the chunks are merged in the order of the chunks,so they can
+ * not have order by,group by,having or aggregate select columns and can not be streamed.Chunks run on their own connections,so
+ * they are not part of the transaction of the caller unless parallelism is 1.
+ */
+@Component
+public class DynamicQueryExecutor implements DisposableBean {
+
+    public static final int DEFAULT_MAX_EXTRACTORS = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_LOOKUP_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_LOOKUP_PARALLELISM = 4;
+
+    private static final Logger LOGGER = LogManager.getLogger(DynamicQueryExecutor.class);
+
+    //generated queries are few as they are cached by shape,caches are only bounded to guard against unbounded native query templates
+    private final Map<ExtractorKey, ResultSetExtractor<?>> extractorCache = Collections.synchronizedMap(new LruMap<>(DEFAULT_MAX_EXTRACTORS));
+    private final Map<ExtractorKey, JdbcMapper<?>> mapperCache = Collections.synchronizedMap(new LruMap<>(DEFAULT_MAX_EXTRACTORS));
+    private final Map<Class<?>, Map<String, Field>> entityFieldCache = new ConcurrentHashMap<>();
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private volatile int fetchSize = DEFAULT_FETCH_SIZE;
+    private volatile int lookupChunkSize = DEFAULT_LOOKUP_CHUNK_SIZE;
+    private final QueryThreadPool lookupThreadPool = new QueryThreadPool("dydaq-lookup-", DEFAULT_LOOKUP_PARALLELISM);
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    public DynamicQueryExecutor() {
+    }
+
+    public DynamicQueryExecutor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Generates the join query and returns the root entities with their child graph levels set
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link JoinQueryBuilder}
+     * @param rootType              entity class of the root graph level of the query
+     * @param params                values of the query parameters(?) without values in the query builder,in the order they appear in the query
+     */
+    public <T> List<T> query(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        if (isLookupChunked(queryBuilder)) {
+            return queryLookupChunks(queryBuilder, queryBuilder::withLookupKeys,
+                    chunk -> query(dynamicQueryGenerator, chunk, rootType, params));
+        }
+        String sql = dynamicQueryGenerator.getJoinQuery(queryBuilder);
+        return query(sql, rootType, () -> dynamicQueryGenerator.getKeyColumns(queryBuilder), withBuilderParams(queryBuilder, params));
+    }
+
+    /**
+     * Fetches the graph levels of the join query builder using the strategy passed and returns the root entities with their child graph levels set
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link JoinQueryBuilder}
+     * @param rootType              entity class of the root graph level of the query
+     * @param queryStrategy         {@link QueryStrategy#SPLIT} and {@link QueryStrategy#JSON} fall back to {@link QueryStrategy#JOIN} if the query builder can not be split,
+     *                              {@link QueryStrategy#AUTO} uses the strategy returned by {@link DynamicQueryGenerator#getQueryStrategy(JoinQueryBuilder)}
+     *                              and records the rows fetched into {@link FanOutStatistics}
+     * @param params                values of the query parameters(?) without values in the query builder,in the order they appear in the query
+     */
+    public <T> List<T> query(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType,
+                             QueryStrategy queryStrategy, Object... params) {
+        if (isLookupChunked(queryBuilder)) {
+            QueryStrategy chunkStrategy = queryStrategy;
+            return queryLookupChunks(queryBuilder, queryBuilder::withLookupKeys,
+                    chunk -> query(dynamicQueryGenerator, chunk, rootType, chunkStrategy, params));
+        }
+        //rows fetched are recorded only to plan the strategy of the next requests,a forced strategy does not use them
+        boolean recordFanOut = (queryStrategy == QueryStrategy.AUTO && FanOutStatistics.getInstance().isEnabled());
+        if (queryStrategy == QueryStrategy.AUTO) {
+            queryStrategy = dynamicQueryGenerator.getQueryStrategy(queryBuilder);
+        }
+        if (queryStrategy == QueryStrategy.SPLIT) {
+            List<SplitQueryLevel> splitQueries = dynamicQueryGenerator.getSplitQueries(queryBuilder);
+            if (!splitQueries.isEmpty()) {
+                return querySplit(splitQueries, rootType, recordFanOut, withBuilderParams(queryBuilder, params));
+            }
+            LOGGER.debug("Conditions of join query builder with root {} need a join query,graph levels are not split", queryBuilder.getRootObject());
+        }
+        if (queryStrategy == QueryStrategy.JSON) {
+            String sql = dynamicQueryGenerator.getJsonQuery(queryBuilder);
+            if (!sql.isEmpty()) {
+                return queryJson(sql, rootType, withBuilderParams(queryBuilder, params));
+            }
+            LOGGER.debug("Conditions of join query builder with root {} need a join query,graph levels are not aggregated as JSON", queryBuilder.getRootObject());
+        }
+        List<T> rootEntities = query(dynamicQueryGenerator, queryBuilder, rootType, params);
+        if (recordFanOut) {
+            recordFanOut(dynamicQueryGenerator, queryBuilder, rootType, rootEntities);
+        }
+        return rootEntities;
+    }
+
+    /**
+     * Generates the select query of a single table and returns the entities
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link SimpleQueryBuilder}
+     * @param rootType              entity class of the graph level of the query
+     * @param params                values of the query parameters(?) without values in the query builder,in the order they appear in the query
+     */
+    public <T> List<T> query(DynamicQueryGenerator dynamicQueryGenerator, SimpleQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        if (isLookupChunked(queryBuilder)) {
+            return queryLookupChunks(queryBuilder, queryBuilder::withLookupKeys,
+                    chunk -> query(dynamicQueryGenerator, chunk, rootType, params));
+        }
+        String sql = dynamicQueryGenerator.getSelectQuery(queryBuilder);
+        return query(sql, rootType, () -> dynamicQueryGenerator.getKeyColumns(queryBuilder), withBuilderParams(queryBuilder, params));
+    }
+
+    /**
+     * Fetches a page of entities of the select query paged using {@link SimpleQueryBuilder.Builder#addKeysetCondition(String, String...)}
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link SimpleQueryBuilder} paged on keys
+     * @param rootType              entity class of the graph level of the query
+     * @param pageSize              maximum number of entities in the page
+     * @param params                values of the parameters(?) of the where conditions,values of the cursor and the page size are set after them
+     * @return entities of the page with the cursor of the next page
+     */
+    public <T> KeysetPage<T> queryPage(DynamicQueryGenerator dynamicQueryGenerator, SimpleQueryBuilder queryBuilder, Class<T> rootType,
+                                       int pageSize, Object... params) {
+        List<String> keysetFields = dynamicQueryGenerator.getKeysetFields(queryBuilder);
+        List<T> entities = query(dynamicQueryGenerator, queryBuilder, rootType, getKeysetParams(queryBuilder, keysetFields, pageSize, params));
+        return toKeysetPage(entities, keysetFields, pageSize);
+    }
+
+    /**
+     * Fetches a page of root entities of the join query paged using {@link JoinQueryBuilder.Builder#addKeysetCondition(String, String...)},
+     * along with their child graph levels
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link JoinQueryBuilder} paged on keys
+     * @param rootType              entity class of the root graph level of the query
+     * @param pageSize              maximum number of root entities in the page
+     * @param params                values of the parameters(?) of the where conditions,values of the cursor and the page size are set after them
+     * @return root entities of the page with the cursor of the next page
+     */
+    public <T> KeysetPage<T> queryPage(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType,
+                                       int pageSize, Object... params) {
+        return queryPage(dynamicQueryGenerator, queryBuilder, rootType, QueryStrategy.JOIN, pageSize, params);
+    }
+
+    /**
+     * Fetches a page of root entities of the join query paged on keys using the strategy passed,see
+     * {@link DynamicQueryExecutor#queryPage(DynamicQueryGenerator, JoinQueryBuilder, Class, int, Object...)}
+     */
+    public <T> KeysetPage<T> queryPage(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType,
+                                       QueryStrategy queryStrategy, int pageSize, Object... params) {
+        List<String> keysetFields = dynamicQueryGenerator.getKeysetFields(queryBuilder);
+        List<T> rootEntities = query(dynamicQueryGenerator, queryBuilder, rootType, queryStrategy,
+                getKeysetParams(queryBuilder, keysetFields, pageSize, params));
+        return toKeysetPage(rootEntities, keysetFields, pageSize);
+    }
+
+    /**
+     * Resolves a Relay style connection of the select query paged using {@link SimpleQueryBuilder.Builder#addConnectionCondition(ConnectionRequest, String...)}.
+     * One entity more than the page size is fetched for hasNextPage(hasPreviousPage when paging backward),the other of them and
+     * totalCount are queried only when selected in the request.
+     * <pre>
+     *     DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getConnectionInstance(env);
+     *     SimpleQueryBuilder queryBuilder = new SimpleQueryBuilder.Builder().setGraphKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+     *             .addConnectionCondition(dynamicQueryGenerator.getConnectionRequest(), "city").build();
+     *     return dynamicQueryExecutor.queryConnection(dynamicQueryGenerator, queryBuilder, Hospital.class);
+     * </pre>
+     *
+     * @param dynamicQueryGenerator created using {@link DynamicQueryGenerator#getConnectionInstance(io.leangen.graphql.execution.ResolutionEnvironment)}
+     * @param queryBuilder          instance of {@link SimpleQueryBuilder} paged on keys
+     * @param rootType              entity class of the nodes
+     * @param params                values of the parameters(?) of the where conditions
+     */
+    public <T> KeysetConnection<T> queryConnection(DynamicQueryGenerator dynamicQueryGenerator, SimpleQueryBuilder queryBuilder, Class<T> rootType,
+                                                   Object... params) {
+        return queryConnection(dynamicQueryGenerator.getConnectionRequest(), queryBuilder, dynamicQueryGenerator.getKeysetFields(queryBuilder),
+                SimpleQueryBuilder::withKeysetCursor, (pageQueryBuilder, pageParams) -> query(dynamicQueryGenerator, pageQueryBuilder, rootType, pageParams),
+                dynamicQueryGenerator::getExistsQuery, () -> dynamicQueryGenerator.getCountQuery(queryBuilder), params);
+    }
+
+    /**
+     * Resolves a Relay style connection of the root entities of the join query paged using {@link JoinQueryBuilder.Builder#addConnectionCondition(ConnectionRequest, String...)},
+     * along with their child graph levels,see {@link DynamicQueryExecutor#queryConnection(DynamicQueryGenerator, SimpleQueryBuilder, Class, Object...)}
+     *
+     * @param dynamicQueryGenerator created using {@link DynamicQueryGenerator#getConnectionInstance(io.leangen.graphql.execution.ResolutionEnvironment)}
+     * @param queryBuilder          instance of {@link JoinQueryBuilder} paged on keys
+     * @param rootType              entity class of the nodes
+     * @param params                values of the parameters(?) of the where conditions
+     */
+    public <T> KeysetConnection<T> queryConnection(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType,
+                                                   Object... params) {
+        return queryConnection(dynamicQueryGenerator.getConnectionRequest(), queryBuilder, dynamicQueryGenerator.getKeysetFields(queryBuilder),
+                JoinQueryBuilder::withKeysetCursor, (pageQueryBuilder, pageParams) -> query(dynamicQueryGenerator, pageQueryBuilder, rootType, pageParams),
+                dynamicQueryGenerator::getExistsQuery, () -> dynamicQueryGenerator.getCountQuery(queryBuilder), params);
+    }
+
+    /**
+     * Generates the native query and returns the entities
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link NativeQueryBuilder}
+     * @param rootType              entity class of the graph key/root key of the query
+     * @param params                values of the query parameters(?) in the order they appear in the query template
+     */
+    public <T> List<T> query(DynamicQueryGenerator dynamicQueryGenerator, NativeQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        String sql = dynamicQueryGenerator.getNativeQuery(queryBuilder);
+        return query(sql, rootType, () -> dynamicQueryGenerator.getKeyColumns(queryBuilder), params);
+    }
+
+    /**
+     * Streams the root entities of the join query with their child graph levels set.Rows are read from an open cursor fetching
+     * {@link DynamicQueryExecutor#getFetchSize()} rows at a time and a root entity is returned as soon as rows of the next root
+     * entity start,so only a single root entity with its child graph levels is held in memory.
+     * <p>
+     * Drivers eg.. PostgreSQL read the whole result unless the query runs in a transaction,so auto commit is turned off for the stream
+     * when it does not run in a transaction of the caller.MySQL Connector/J streams the rows one at a time,during which the connection
+     * can not run other queries,unless useCursorFetch=true is set in the URL to fetch them using a server side cursor.
+     * <p>
+     * The stream holds a database connection until it is closed,so it must be closed after use
+     * <pre>
+     *     try (Stream&lt;Hospital&gt; hospitals = dynamicQueryExecutor.stream(dynamicQueryGenerator, joinQueryBuilder, Hospital.class)) {
+     *         hospitals.forEach(writer::write);
+     *     }
+     * </pre>
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link JoinQueryBuilder},its order by conditions must be on the root graph level
+     * @param rootType              entity class of the root graph level of the query
+     * @param params                values of the query parameters(?) without values in the query builder,in the order they appear in the query
+     */
+    public <T> Stream<T> stream(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        verifyNotChunked(queryBuilder);
+        String sql = dynamicQueryGenerator.getStreamingJoinQuery(queryBuilder);
+        return stream(sql, rootType, () -> dynamicQueryGenerator.getKeyColumns(queryBuilder), withBuilderParams(queryBuilder, params));
+    }
+
+    /**
+     * Streams the entities of the select query of a single table,see {@link DynamicQueryExecutor#stream(DynamicQueryGenerator, JoinQueryBuilder, Class, Object...)}.
+     * The stream holds a database connection until it is closed.
+     *
+     * @param dynamicQueryGenerator created for the GraphQL request
+     * @param queryBuilder          instance of {@link SimpleQueryBuilder}
+     * @param rootType              entity class of the graph level of the query
+     * @param params                values of the query parameters(?) without values in the query builder,in the order they appear in the query
+     */
+    public <T> Stream<T> stream(DynamicQueryGenerator dynamicQueryGenerator, SimpleQueryBuilder queryBuilder, Class<T> rootType, Object... params) {
+        verifyNotChunked(queryBuilder);
+        String sql = dynamicQueryGenerator.getSelectQuery(queryBuilder);
+        return stream(sql, rootType, () -> dynamicQueryGenerator.getKeyColumns(queryBuilder), withBuilderParams(queryBuilder, params));
+    }
+
+    /**
+     * Returns number of ResultSetExtractors cached
+     */
+    public int getExtractorCount() {
+        return extractorCache.size();
+    }
+
+    public void clear() {
+        extractorCache.clear();
+        mapperCache.clear();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets maximum number of parent join column values used in a single query of a child graph level for {@link QueryStrategy#SPLIT}
+     */
+    @Value("${sidh.split-query.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets number of rows fetched from the database at a time by the streams,0 uses the default of the JDBC driver which may read the
+     * whole result
+     */
+    @Value("${sidh.stream.fetch-size:" + DEFAULT_FETCH_SIZE + "}")
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = Math.max(0, fetchSize);
+    }
+
+    public int getLookupChunkSize() {
+        return lookupChunkSize;
+    }
+
+    /**
+     * Sets maximum number of lookup keys fetched by a single query,see {@link JoinQueryBuilder.Builder#addLookupKeys(String, Collection)}.
+     * Parameters of a chunk are the keys along with the values of the other conditions,so it needs to be below the parameter limit of the driver.
+     */
+    @Value("${sidh.lookup.chunk-size:" + DEFAULT_LOOKUP_CHUNK_SIZE + "}")
+    public void setLookupChunkSize(int lookupChunkSize) {
+        this.lookupChunkSize = Math.max(1, lookupChunkSize);
+    }
+
+    public int getLookupParallelism() {
+        return lookupThreadPool.getParallelism();
+    }
+
+    /**
+     * Sets number of chunks of the lookup keys fetched in parallel by the thread pool of the executor,1 fetches the chunks one after
+     * the other on the thread of the caller
+     */
+    @Value("${sidh.lookup.parallelism:" + DEFAULT_LOOKUP_PARALLELISM + "}")
+    public void setLookupParallelism(int lookupParallelism) {
+        lookupThreadPool.setParallelism(lookupParallelism);
+    }
+
+    /**
+     * Sets executor fetching the chunks of the lookup keys in parallel instead of the thread pool of ${sidh.lookup.parallelism} threads
+     */
+    public void setLookupExecutor(Executor lookupExecutor) {
+        lookupThreadPool.setExecutor(lookupExecutor);
+    }
+
+    /**
+     * Shuts down the thread pool fetching the chunks of the lookup keys when the application context is closed
+     */
+    @Override
+    public void destroy() {
+        lookupThreadPool.shutdown();
+    }
+
+    /**
+     * Returns values of the lookup keys of the query builder,values of its predicates and then the params passed,as the keys are the
+     * first parameters of the query and the predicates are the conditions of the query builder having parameters
+     */
+    private static Object[] withBuilderParams(QueryBuilder queryBuilder, Object[] params) {
+        List<Object> lookupValues = queryBuilder.getLookupBindValues();
+        List<Object> bindValues = queryBuilder.getBindValues();
+        if (lookupValues.isEmpty() && bindValues.isEmpty()) {
+            return params;
+        }
+        List<Object> queryParams = new ArrayList<>(lookupValues.size() + bindValues.size() + params.length);
+        queryParams.addAll(lookupValues);
+        queryParams.addAll(bindValues);
+        queryParams.addAll(Arrays.asList(params));
+        return queryParams.toArray();
+    }
+
+    private boolean isLookupChunked(QueryBuilder queryBuilder) {
+        return queryBuilder.getLookupKeys().size() > lookupChunkSize;
+    }
+
+    private void verifyNotChunked(QueryBuilder queryBuilder) {
+        if (isLookupChunked(queryBuilder)) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_STREAMED, queryBuilder.getLookupKeys().size(), lookupChunkSize));
+        }
+    }
+
+    /**
+     * Rows of a chunk are sorted and grouped only within the chunk,so chunks can not be merged when the query builder sorts,groups or
+     * aggregates the rows
+     */
+    private static void verifyLookupChunks(QueryBuilder queryBuilder) {
+        if (!queryBuilder.getOrderByCondition().isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_SUPPORTED, "order by"));
+        }
+        if (!queryBuilder.getGroupByCondition().isEmpty() || !queryBuilder.getHavingCondition().isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_SUPPORTED, "group by/having"));
+        }
+        if (!queryBuilder.getAggregateSelectCols().isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_SUPPORTED, "aggregate select columns"));
+        }
+    }
+
+    /**
+     * Fetches the lookup keys of the query builder a chunk at a time and merges the entities of the chunks in the order of the chunks
+     *
+     * @param chunkBuilder creates copy of the query builder for a chunk of the keys
+     * @param chunkQuery   fetches the entities of a chunk
+     */
+    private <T, B extends QueryBuilder> List<T> queryLookupChunks(B queryBuilder, Function<List<Object>, B> chunkBuilder, Function<B, List<T>> chunkQuery) {
+        verifyLookupChunks(queryBuilder);
+        List<Object> lookupKeys = queryBuilder.getLookupKeys();
+        List<B> chunks = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < lookupKeys.size(); fromIndex += lookupChunkSize) {
+            chunks.add(chunkBuilder.apply(lookupKeys.subList(fromIndex, Math.min(fromIndex + lookupChunkSize, lookupKeys.size()))));
+        }
+        LOGGER.debug("Looking up {} keys of column {} in {} chunks", lookupKeys.size(), queryBuilder.getLookupColumn(), chunks.size());
+        List<T> entities = new ArrayList<>();
+        if (lookupThreadPool.getParallelism() == 1 && !lookupThreadPool.hasExecutor()) {
+            for (B chunk : chunks) {
+                entities.addAll(chunkQuery.apply(chunk));
+            }
+            return entities;
+        }
+        Executor executor = lookupThreadPool.getExecutor();
+        List<CompletableFuture<List<T>>> chunkResults = new ArrayList<>();
+        for (B chunk : chunks) {
+            chunkResults.add(CompletableFuture.supplyAsync(() -> chunkQuery.apply(chunk), executor));
+        }
+        try {
+            for (CompletableFuture<List<T>> chunkResult : chunkResults) {
+                entities.addAll(chunkResult.join());
+            }
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e);
+        }
+        return entities;
+    }
+
+    private <T> List<T> query(String sql, Class<T> rootType, Supplier<List<String>> keyColumns, Object... params) {
+        if (sql == null || sql.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (jdbcTemplate == null) {
+            throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+        }
+        LOGGER.debug("Executing Query :: {}", sql);
+        return jdbcTemplate.query(sql, getResultSetExtractor(sql, rootType, keyColumns), params);
+    }
+
+    private <T> Stream<T> stream(String sql, Class<T> rootType, Supplier<List<String>> keyColumns, Object... params) {
+        if (sql == null || sql.isEmpty()) {
+            return Stream.empty();
+        }
+        if (jdbcTemplate == null) {
+            throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+        }
+        JdbcMapper<T> jdbcMapper = getJdbcMapper(sql, rootType, keyColumns);
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        boolean autoCommitReset = false;
+        try {
+            LOGGER.debug("Streaming Query :: {}", sql);
+            if (!DataSourceUtils.isConnectionTransactional(connection, dataSource) && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                autoCommitReset = true;
+            }
+            preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(getStreamFetchSize(connection));
+            new ArgumentPreparedStatementSetter(params).setValues(preparedStatement);
+            resultSet = preparedStatement.executeQuery();
+            PreparedStatement streamStatement = preparedStatement;
+            ResultSet streamResultSet = resultSet;
+            boolean streamAutoCommitReset = autoCommitReset;
+            return jdbcMapper.stream(resultSet).onClose(() ->
+                    closeStream(streamResultSet, streamStatement, connection, dataSource, streamAutoCommitReset));
+        } catch (SQLException e) {
+            closeStream(resultSet, preparedStatement, connection, dataSource, autoCommitReset);
+            throw jdbcTemplate.getExceptionTranslator().translate("Streaming Query", sql, e);
+        }
+    }
+
+    /**
+     * Returns fetch size of the streams for the driver of the connection.MySQL Connector/J ignores the fetch size and reads the whole
+     * result,unless it is Integer.MIN_VALUE streaming the rows one at a time or useCursorFetch=true is set in the URL.
+     */
+    private int getStreamFetchSize(Connection connection) throws SQLException {
+        if (fetchSize == 0) {
+            return 0;
+        }
+        DatabaseMetaData metaData = connection.getMetaData();
+        if ("MySQL".equalsIgnoreCase(metaData.getDatabaseProductName()) && !String.valueOf(metaData.getURL()).contains("useCursorFetch=true")) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    private void closeStream(ResultSet resultSet, PreparedStatement preparedStatement, Connection connection, DataSource dataSource,
+                             boolean autoCommitReset) {
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(preparedStatement);
+        if (autoCommitReset) {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.debug("Could not turn auto commit back on after streaming", e);
+            }
+        }
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+
+    /**
+     * Fetches root level first and then every child level for the join column values of all its parents.Children are set into
+     * their parents starting from the deepest level,so parents having no children for an inner joined level are dropped
+     * before they are set into their own parents.
+     *
+     * @param recordFanOut true to record the rows fetched per level into {@link FanOutStatistics}
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> querySplit(List<SplitQueryLevel> splitQueries, Class<T> rootType, boolean recordFanOut, Object... params) {
+        if (jdbcTemplate == null) {
+            throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+        }
+        Map<String, List<Object>> levelEntityMap = new HashMap<>();
+        Map<String, Class<?>> levelTypeMap = new HashMap<>();
+        SplitQueryLevel rootLevel = splitQueries.get(0);
+        LOGGER.debug("Executing Query :: {}", rootLevel.getQuery());
+        levelEntityMap.put(rootLevel.getGraphKey(), new ArrayList<>(jdbcTemplate.query(rootLevel.getQuery(),
+                getResultSetExtractor(rootLevel.getQuery(), rootType, rootLevel::getKeyColumns), params)));
+        levelTypeMap.put(rootLevel.getGraphKey(), rootType);
+        if (recordFanOut) {
+            FanOutStatistics.getInstance().record(rootType.getSimpleName(), 1, levelEntityMap.get(rootLevel.getGraphKey()).size());
+        }
+
+        for (SplitQueryLevel level : splitQueries.subList(1, splitQueries.size())) {
+            Class<?> parentType = levelTypeMap.get(level.getParentGraphKey());
+            Class<?> entityType = getReferencedType(parentType, level.getReferenceName());
+            List<Object> parents = levelEntityMap.get(level.getParentGraphKey());
+            levelTypeMap.put(level.getGraphKey(), entityType);
+            levelEntityMap.put(level.getGraphKey(), fetchChildren(level, entityType, parents));
+            if (recordFanOut) {
+                FanOutStatistics.getInstance().record(FanOutStatistics.getAssociationKey(parentType.getSimpleName(), level.getReferenceName()),
+                        parents.size(), levelEntityMap.get(level.getGraphKey()).size());
+            }
+        }
+
+        for (int index = splitQueries.size() - 1; index > 0; index--) {
+            SplitQueryLevel level = splitQueries.get(index);
+            levelEntityMap.put(level.getParentGraphKey(), setChildren(level, levelTypeMap.get(level.getParentGraphKey()),
+                    levelEntityMap.get(level.getParentGraphKey()), levelEntityMap.get(level.getGraphKey())));
+        }
+        return (List<T>) levelEntityMap.get(rootLevel.getGraphKey());
+    }
+
+    /**
+     * Decodes the JSON document of every row into a root entity with its child graph levels,reading the document from the column as a stream
+     */
+    private <T> List<T> queryJson(String sql, Class<T> rootType, Object... params) {
+        if (jdbcTemplate == null) {
+            throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+        }
+        LOGGER.debug("Executing Query :: {}", sql);
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> JsonGraphDecoder.decode(resultSet.getCharacterStream(1), rootType), params);
+    }
+
+    /**
+     * Records root rows and the fan out of every child graph level joined by the join query into {@link FanOutStatistics}
+     */
+    private void recordFanOut(DynamicQueryGenerator dynamicQueryGenerator, JoinQueryBuilder queryBuilder, Class<?> rootType, List<?> rootEntities) {
+        FanOutStatistics.getInstance().record(rootType.getSimpleName(), 1, rootEntities.size());
+        List<String> childGraphKeys = new ArrayList<>();
+        for (String graphKey : queryBuilder.getGraphJoinType().keySet()) {
+            if (dynamicQueryGenerator.getGraphLevels().contains(graphKey)) {
+                childGraphKeys.add(graphKey);
+            }
+        }
+        childGraphKeys.sort(Comparator.comparingInt((String graphKey) -> graphKey.split("_").length));
+
+        Map<String, List<?>> levelEntityMap = new HashMap<>();
+        Map<String, Class<?>> levelTypeMap = new HashMap<>();
+        levelEntityMap.put(queryBuilder.getRootObject(), rootEntities);
+        levelTypeMap.put(queryBuilder.getRootObject(), rootType);
+        for (String graphKey : childGraphKeys) {
+            String parentGraphKey = (graphKey.contains("_") ? graphKey.substring(0, graphKey.lastIndexOf('_')) : queryBuilder.getRootObject());
+            List<?> parents = levelEntityMap.get(parentGraphKey);
+            if (parents == null) {
+                continue;
+            }
+            String referenceName = graphKey.substring(graphKey.lastIndexOf('_') + 1);
+            Field referenceField = getEntityField(levelTypeMap.get(parentGraphKey), referenceName);
+            List<Object> children = new ArrayList<>();
+            for (Object parent : parents) {
+                Object reference = getFieldValue(parent, referenceField);
+                if (reference instanceof Collection) {
+                    children.addAll((Collection<?>) reference);
+                } else if (reference != null) {
+                    children.add(reference);
+                }
+            }
+            FanOutStatistics.getInstance().record(FanOutStatistics.getAssociationKey(levelTypeMap.get(parentGraphKey).getSimpleName(), referenceName),
+                    parents.size(), children.size());
+            levelEntityMap.put(graphKey, children);
+            levelTypeMap.put(graphKey, getReferencedType(levelTypeMap.get(parentGraphKey), referenceName));
+        }
+    }
+
+    private List<Object> fetchChildren(SplitQueryLevel level, Class<?> entityType, List<Object> parents) {
+        //distinct join column values of the parents
+        Map<Object, List<Object>> parentJoinValueMap = new LinkedHashMap<>();
+        for (Object parent : parents) {
+            List<Object> joinValues = getJoinValues(parent, level.getParentJoinFields());
+            if (joinValues != null) {
+                parentJoinValueMap.putIfAbsent(toJoinKey(joinValues), joinValues);
+            }
+        }
+        List<Object> children = new ArrayList<>();
+        List<List<Object>> batchJoinValues = new ArrayList<>();
+        for (List<Object> joinValues : parentJoinValueMap.values()) {
+            batchJoinValues.add(joinValues);
+            if (batchJoinValues.size() == batchSize) {
+                children.addAll(fetchBatch(level, entityType, batchJoinValues));
+                batchJoinValues.clear();
+            }
+        }
+        if (!batchJoinValues.isEmpty()) {
+            children.addAll(fetchBatch(level, entityType, batchJoinValues));
+        }
+        return children;
+    }
+
+    private List<?> fetchBatch(SplitQueryLevel level, Class<?> entityType, List<List<Object>> batchJoinValues) {
+        StringBuilder joinCondition = new StringBuilder(" where ");
+        List<Object> args = new ArrayList<>();
+        InListExpansion inListExpansion = InListExpansion.getInstance();
+        if (level.getJoinColumns().size() == 1) {
+            List<Object> joinValues = new ArrayList<>(batchJoinValues.size());
+            for (List<Object> values : batchJoinValues) {
+                joinValues.add(values.get(0));
+            }
+            joinCondition.append(level.getJoinColumns().get(0)).append(inListExpansion.getCondition(joinValues.size()).getCondition());
+            args.addAll(inListExpansion.getValues(joinValues));
+        } else {
+            //join values of the last parent are repeated so that batches of different sizes share the same query
+            int bucketSize = inListExpansion.getBucketSize(batchJoinValues.size());
+            for (int index = 0; index < bucketSize; index++) {
+                joinCondition.append(index == 0 ? "(" : " or (");
+                for (int colIndex = 0; colIndex < level.getJoinColumns().size(); colIndex++) {
+                    joinCondition.append(colIndex == 0 ? "" : " and ").append(level.getJoinColumns().get(colIndex)).append(" = ?");
+                    args.add(batchJoinValues.get(Math.min(index, batchJoinValues.size() - 1)).get(colIndex));
+                }
+                joinCondition.append(")");
+            }
+        }
+        String query = level.getQuery() + joinCondition;
+        LOGGER.debug("Executing Query :: {}", query);
+        //extractor is same for every batch,so it is cached against the query without the join condition
+        return jdbcTemplate.query(query, getResultSetExtractor(level.getQuery(), entityType, level::getKeyColumns), args.toArray());
+    }
+
+    private List<Object> setChildren(SplitQueryLevel level, Class<?> parentType, List<Object> parents, List<Object> children) {
+        Map<Object, List<Object>> joinKeyChildMap = new HashMap<>();
+        for (Object child : children) {
+            List<Object> joinValues = getJoinValues(child, level.getChildJoinFields());
+            if (joinValues != null) {
+                joinKeyChildMap.computeIfAbsent(toJoinKey(joinValues), joinKey -> new ArrayList<>()).add(child);
+            }
+        }
+        Field referenceField = getEntityField(parentType, level.getReferenceName());
+        List<Object> joinedParents = new ArrayList<>(parents.size());
+        for (Object parent : parents) {
+            List<Object> joinValues = getJoinValues(parent, level.getParentJoinFields());
+            List<Object> parentChildren = (joinValues == null ? Collections.emptyList()
+                    : joinKeyChildMap.getOrDefault(toJoinKey(joinValues), Collections.emptyList()));
+            setReference(parent, referenceField, parentChildren);
+            if (!level.isInnerJoin() || !parentChildren.isEmpty()) {
+                joinedParents.add(parent);
+            }
+        }
+        return joinedParents;
+    }
+
+    /**
+     * Returns parameters of the query followed by the values of the cursor and the page size.One entity more than the page size is
+     * fetched to know if there is a next page.
+     */
+    private Object[] getKeysetParams(QueryBuilder queryBuilder, List<String> keysetFields, int pageSize, Object... params) {
+        if (!queryBuilder.isKeysetPaged()) {
+            throw new DynamicQueryException(ErrorConstants.KEYSET_NOT_ADDED);
+        }
+        List<Object> keysetValues = queryBuilder.getKeysetValues();
+        if (!keysetValues.isEmpty() && keysetValues.size() != keysetFields.size()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.INVALID_KEYSET_CURSOR, KeysetCursor.encode(keysetValues)));
+        }
+        Object[] keysetParams = Arrays.copyOf(params, params.length + keysetValues.size() + 1);
+        for (int i = 0; i < keysetValues.size(); i++) {
+            keysetParams[params.length + i] = keysetValues.get(i);
+        }
+        keysetParams[keysetParams.length - 1] = pageSize + 1;
+        return keysetParams;
+    }
+
+    /**
+     * Returns the entities up to the page size along with the cursor created from the key values of the last of them,cursor is null
+     * when there are no more entities
+     */
+    private <T> KeysetPage<T> toKeysetPage(List<T> entities, List<String> keysetFields, int pageSize) {
+        if (entities.size() <= pageSize) {
+            return new KeysetPage<>(entities, null);
+        }
+        List<T> items = new ArrayList<>(entities.subList(0, pageSize));
+        T lastEntity = items.get(items.size() - 1);
+        List<Object> keyValues = new ArrayList<>(keysetFields.size());
+        for (String keysetField : keysetFields) {
+            keyValues.add(getFieldValue(lastEntity, getEntityField(lastEntity.getClass(), keysetField)));
+        }
+        return new KeysetPage<>(items, KeysetCursor.encode(keyValues));
+    }
+
+    /**
+     * Fetches the page of the connection request and checks for pages on the other side of its cursor only when selected
+     *
+     * @param withKeysetCursor creates copy of the query builder paged from another cursor
+     * @param pageQuery        fetches entities of the query builder with the parameters passed
+     * @param existsQuery      query checking for a root row on the cursor side of the query builder passed
+     * @param countQuery       query counting the entities of all the pages
+     */
+    private <T, B extends QueryBuilder> KeysetConnection<T> queryConnection(ConnectionRequest connectionRequest, B queryBuilder, List<String> keysetFields,
+                                                                            KeysetCursorFunction<B> withKeysetCursor,
+                                                                            BiFunction<B, Object[], List<T>> pageQuery, Function<B, String> existsQuery,
+                                                                            Supplier<String> countQuery, Object... params) {
+        if (connectionRequest == null) {
+            throw new DynamicQueryException(ErrorConstants.CONNECTION_REQUEST_NOT_FOUND);
+        }
+        int pageSize = connectionRequest.getPageSize();
+        List<T> entities = pageQuery.apply(queryBuilder, getKeysetParams(queryBuilder, keysetFields, pageSize, params));
+        boolean hasMore = entities.size() > pageSize;
+        List<T> nodes = new ArrayList<>(hasMore ? entities.subList(0, pageSize) : entities);
+        if (connectionRequest.isBackward()) {
+            //rows before the cursor are fetched nearest first
+            Collections.reverse(nodes);
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(nodes.size());
+        for (T node : nodes) {
+            List<Object> keyValues = new ArrayList<>(keysetFields.size());
+            for (String keysetField : keysetFields) {
+                keyValues.add(getFieldValue(node, getEntityField(node.getClass(), keysetField)));
+            }
+            edges.add(new DefaultEdge<>(node, new KeysetConnection.Cursor(keyValues)));
+        }
+        ConnectionCursor startCursor = (edges.isEmpty() ? null : edges.get(0).getCursor());
+        ConnectionCursor endCursor = (edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor());
+
+        //other side of the page is checked from its first node(last node when paging backward),the cursor row itself is on that side
+        boolean hasPreviousPage;
+        boolean hasNextPage;
+        if (connectionRequest.isBackward()) {
+            hasPreviousPage = hasMore;
+            hasNextPage = connectionRequest.isPageInfoSelected(ConnectionRequest.HAS_NEXT_PAGE) && connectionRequest.getBefore() != null
+                    && hasEntities(withKeysetCursor.apply(queryBuilder, (endCursor == null ? connectionRequest.getBefore() : endCursor.getValue()), false),
+                    keysetFields, pageQuery, existsQuery, params);
+        } else {
+            hasNextPage = hasMore;
+            hasPreviousPage = connectionRequest.isPageInfoSelected(ConnectionRequest.HAS_PREVIOUS_PAGE) && connectionRequest.getAfter() != null
+                    && hasEntities(withKeysetCursor.apply(queryBuilder, (startCursor == null ? connectionRequest.getAfter() : startCursor.getValue()), true),
+                    keysetFields, pageQuery, existsQuery, params);
+        }
+
+        Long totalCount = null;
+        if (connectionRequest.isTotalCountSelected()) {
+            if (jdbcTemplate == null) {
+                throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+            }
+            String sql = countQuery.get();
+            LOGGER.debug("Executing Query :: {}", sql);
+            totalCount = jdbcTemplate.queryForObject(sql, Long.class, withBuilderParams(queryBuilder, params));
+        }
+        return new KeysetConnection<>(edges, new DefaultPageInfo(startCursor, endCursor, hasPreviousPage, hasNextPage), totalCount);
+    }
+
+    /**
+     * Checks for a root row on the cursor side of the query builder without fetching the entities,chunked lookup keys are checked
+     * by fetching a single entity of the chunks instead
+     */
+    private <T, B extends QueryBuilder> boolean hasEntities(B queryBuilder, List<String> keysetFields, BiFunction<B, Object[], List<T>> pageQuery,
+                                                            Function<B, String> existsQuery, Object... params) {
+        //page size 0 limits the rows to 1
+        Object[] keysetParams = getKeysetParams(queryBuilder, keysetFields, 0, params);
+        if (isLookupChunked(queryBuilder)) {
+            return !pageQuery.apply(queryBuilder, keysetParams).isEmpty();
+        }
+        if (jdbcTemplate == null) {
+            throw new DynamicQueryException(ErrorConstants.JDBC_TEMPLATE_NOT_FOUND);
+        }
+        String sql = existsQuery.apply(queryBuilder);
+        LOGGER.debug("Executing Query :: {}", sql);
+        return Boolean.TRUE.equals(jdbcTemplate.query(sql, (ResultSetExtractor<Boolean>) ResultSet::next, withBuilderParams(queryBuilder, keysetParams)));
+    }
+
+    /**
+     * Returns values of the fields passed,null if any of the value is null as it can not be joined
+     */
+    private List<Object> getJoinValues(Object entity, List<String> joinFields) {
+        List<Object> joinValues = new ArrayList<>(joinFields.size());
+        for (String joinField : joinFields) {
+            Object joinValue = getFieldValue(entity, getEntityField(entity.getClass(), joinField));
+            if (joinValue == null) {
+                return null;
+            }
+            joinValues.add(joinValue);
+        }
+        return joinValues;
+    }
+
+    /**
+     * Returns hash key of the values of the join fields of the entity,null if any of the value is null
+     */
+    Object getJoinKey(Object entity, List<String> joinFields) {
+        List<Object> joinValues = getJoinValues(entity, joinFields);
+        return (joinValues == null ? null : toJoinKey(joinValues));
+    }
+
+    /**
+     * Returns hash key of the join values,integral values are compared as long as parent and child fields may have different integral types
+     */
+    Object toJoinKey(List<Object> joinValues) {
+        if (joinValues.size() == 1) {
+            return toJoinKey(joinValues.get(0));
+        }
+        List<Object> joinKey = new ArrayList<>(joinValues.size());
+        for (Object joinValue : joinValues) {
+            joinKey.add(toJoinKey(joinValue));
+        }
+        return joinKey;
+    }
+
+    private Object toJoinKey(Object joinValue) {
+        if (joinValue instanceof Integer || joinValue instanceof Long || joinValue instanceof Short || joinValue instanceof Byte) {
+            return ((Number) joinValue).longValue();
+        }
+        return joinValue;
+    }
+
+    private Class<?> getReferencedType(Class<?> parentType, String referenceName) {
+        Field referenceField = getEntityField(parentType, referenceName);
+        if (Collection.class.isAssignableFrom(referenceField.getType()) && referenceField.getGenericType() instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) referenceField.getGenericType()).getActualTypeArguments()[0];
+        }
+        return referenceField.getType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setReference(Object parent, Field referenceField, List<Object> children) {
+        try {
+            if (Collection.class.isAssignableFrom(referenceField.getType())) {
+                Collection<Object> referenceCollection;
+                if (referenceField.getType().isAssignableFrom(ArrayList.class)) {
+                    referenceCollection = new ArrayList<>(children);
+                } else if (referenceField.getType().isAssignableFrom(LinkedHashSet.class)) {
+                    referenceCollection = new LinkedHashSet<>(children);
+                } else {
+                    referenceCollection = (Collection<Object>) referenceField.getType().getDeclaredConstructor().newInstance();
+                    referenceCollection.addAll(children);
+                }
+                referenceField.set(parent, referenceCollection);
+            } else {
+                referenceField.set(parent, children.isEmpty() ? null : children.get(0));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new DynamicQueryException(String.format(ErrorConstants.ENTITY_FIELD_NOT_ACCESSIBLE, referenceField.getName(), parent.getClass().getName()));
+        }
+    }
+
+    private Object getFieldValue(Object entity, Field field) {
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new DynamicQueryException(String.format(ErrorConstants.ENTITY_FIELD_NOT_ACCESSIBLE, field.getName(), entity.getClass().getName()));
+        }
+    }
+
+    /**
+     * Returns field of the entity or of its super classes
+     */
+    private Field getEntityField(Class<?> entityType, String fieldName) {
+        return entityFieldCache.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>()).computeIfAbsent(fieldName, name -> {
+            for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (field.getName().equals(name)) {
+                        field.setAccessible(true);
+                        return field;
+                    }
+                }
+            }
+            throw new DynamicQueryException(String.format(ErrorConstants.ENTITY_FIELD_NOT_ACCESSIBLE, name, entityType.getName()));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResultSetExtractor<List<T>> getResultSetExtractor(String sql, Class<T> rootType, Supplier<List<String>> keyColumns) {
+        ExtractorKey extractorKey = new ExtractorKey(MetadataRegistry.getInstance().getVersion(), rootType, sql);
+        ResultSetExtractor<?> resultSetExtractor = extractorCache.get(extractorKey);
+        if (resultSetExtractor == null) {
+            List<String> keys = keyColumns.get();
+            LOGGER.debug("Creating ResultSetExtractor of {} with keys {} for query :: {}", rootType.getSimpleName(), keys, sql);
+            //created outside the lock of the cache,extractor of a concurrent call for the same query wins
+            ResultSetExtractor<?> newExtractor = JdbcTemplateMapperFactory
+                    .newInstance()
+                    .addKeys(keys.toArray(new String[0]))
+                    .newResultSetExtractor(rootType);
+            resultSetExtractor = extractorCache.putIfAbsent(extractorKey, newExtractor);
+            if (resultSetExtractor == null) {
+                resultSetExtractor = newExtractor;
+            }
+        }
+        return (ResultSetExtractor<List<T>>) resultSetExtractor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JdbcMapper<T> getJdbcMapper(String sql, Class<T> rootType, Supplier<List<String>> keyColumns) {
+        ExtractorKey extractorKey = new ExtractorKey(MetadataRegistry.getInstance().getVersion(), rootType, sql);
+        JdbcMapper<?> jdbcMapper = mapperCache.get(extractorKey);
+        if (jdbcMapper == null) {
+            List<String> keys = keyColumns.get();
+            LOGGER.debug("Creating JdbcMapper of {} with keys {} for query :: {}", rootType.getSimpleName(), keys, sql);
+            JdbcMapper<?> newMapper = JdbcMapperFactory
+                    .newInstance()
+                    .addKeys(keys.toArray(new String[0]))
+                    .newMapper(rootType);
+            jdbcMapper = mapperCache.putIfAbsent(extractorKey, newMapper);
+            if (jdbcMapper == null) {
+                jdbcMapper = newMapper;
+            }
+        }
+        return (JdbcMapper<T>) jdbcMapper;
+    }
+
+    /**
+     * Creates copy of the query builder paged from the cursor passed,see {@link SimpleQueryBuilder#withKeysetCursor(String, boolean)}
+     */
+    @FunctionalInterface
+    private interface KeysetCursorFunction<B extends QueryBuilder> {
+        B apply(B queryBuilder, String cursor, boolean backward);
+    }
+
+    /**
+     * Access ordered map evicting the least recently used entry once it holds more than the maximum size
+     */
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static final class ExtractorKey {
+        private final long metadataVersion;
+        private final Class<?> rootType;
+        private final String sql;
+
+        private ExtractorKey(long metadataVersion, Class<?> rootType, String sql) {
+            this.metadataVersion = metadataVersion;
+            this.rootType = rootType;
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExtractorKey)) {
+                return false;
+            }
+            ExtractorKey that = (ExtractorKey) o;
+            return metadataVersion == that.metadataVersion && rootType == that.rootType && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metadataVersion, rootType, sql);
+        }
+    }
+}
@@ -14,15 +14,23 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.QueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan.PreparedQuery;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan.SplitQueryLevel;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.DynamicQueryGenerationHelper;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.ResolutionEnvToSimpleObjectConvertor;
 import io.leangen.graphql.execution.ResolutionEnvironment;
 import org.springframework.context.annotation.ComponentScan;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -35,12 +43,22 @@ public class DynamicQueryGenerator {
 
     private DynamicQueryGenerationHelper queryGenerationHelper = null;
     private SimpleGraphObject simpleGraphObject = null;
+    private ConnectionRequest connectionRequest = null;
 
     public DynamicQueryGenerator(SimpleGraphObject simpleGraphObject) {
         this.simpleGraphObject = simpleGraphObject;
         queryGenerationHelper = new DynamicQueryGenerationHelper(simpleGraphObject);
     }
 
+    /**
+     * @param simpleGraphObject of the nodes of the connection
+     * @param connectionRequest paging arguments and connection fields selected
+     */
+    public DynamicQueryGenerator(SimpleGraphObject simpleGraphObject, ConnectionRequest connectionRequest) {
+        this(simpleGraphObject);
+        this.connectionRequest = connectionRequest;
+    }
+
     /**
      * Instantiates {@link DynamicQueryGenerator} with {@link ResolutionEnvironment} object
      *
@@ -50,6 +68,18 @@ public static DynamicQueryGenerator getInstance(ResolutionEnvironment resEnv) {
         return ResolutionEnvToSimpleObjectConvertor.gqlRequestToSimpleGraphObject(resEnv);
     }
 
+    /**
+     * Instantiates {@link DynamicQueryGenerator} for the nodes of a Relay style connection,ie.. resolver returning
+     * {@link io.leangen.graphql.execution.relay.Page} and taking first/after or last/before arguments.Fields under edges.node are
+     * the root graph level and the paging arguments are available from {@link DynamicQueryGenerator#getConnectionRequest()}.
+     * Connection is resolved using {@link DynamicQueryExecutor#queryConnection(DynamicQueryGenerator, SimpleQueryBuilder, Class, Object...)}
+     *
+     * @param resEnv injected by SPQR into GraphQL query resolver using @GraphQLEnvironment ResolutionEnvironment env
+     */
+    public static DynamicQueryGenerator getConnectionInstance(ResolutionEnvironment resEnv) {
+        return ResolutionEnvToSimpleObjectConvertor.gqlConnectionRequestToSimpleGraphObject(resEnv);
+    }
+
     /**
      * Returns graph levels/object references present in the graphql request.
      * <p>
@@ -77,6 +107,20 @@ public Set<String> getGraphLevels() {
         return simpleGraphObject.getGqlGraphReqFieldMap().keySet();
     }
 
+    /**
+     * Returns the GraphQL request in the simple form queries are generated from,see {@link SimpleGraphObject}
+     */
+    public SimpleGraphObject getSimpleGraphObject() {
+        return simpleGraphObject;
+    }
+
+    /**
+     * Returns paging arguments and connection fields selected,null if not instantiated using {@link DynamicQueryGenerator#getConnectionInstance(ResolutionEnvironment)}
+     */
+    public ConnectionRequest getConnectionRequest() {
+        return connectionRequest;
+    }
+
 
     /**
      * Generate a SQL Native query using native Query builder object
@@ -109,5 +153,164 @@ public String getJoinQuery(JoinQueryBuilder queryBuilder) {
         return queryGenerationHelper.getJoinQuery(queryBuilder);
     }
 
+    /**
+     * Creates the select query of {@link DynamicQueryGenerator#getSelectQuery(SimpleQueryBuilder)} along with the values of its parameters
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder} having where/having conditions added as predicates
+     * @param params       values of the parameters after the where/having conditions eg.. limit/offset
+     */
+    public PreparedQuery getPreparedQuery(SimpleQueryBuilder queryBuilder, Object... params) {
+        return new PreparedQuery(getSelectQuery(queryBuilder), getParams(queryBuilder, params));
+    }
+
+    /**
+     * Creates the join query of {@link DynamicQueryGenerator#getJoinQuery(JoinQueryBuilder)} along with the values of its parameters
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder} having where/having conditions added as predicates
+     * @param params       values of the parameters after the where/having conditions eg.. offset/limit
+     */
+    public PreparedQuery getPreparedQuery(JoinQueryBuilder queryBuilder, Object... params) {
+        return new PreparedQuery(getJoinQuery(queryBuilder), getParams(queryBuilder, params));
+    }
+
+    /**
+     * Returns values of the lookup keys followed by values of the predicates and the params passed
+     */
+    private static List<Object> getParams(QueryBuilder queryBuilder, Object[] params) {
+        List<Object> queryParams = new ArrayList<>(queryBuilder.getLookupBindValues());
+        queryParams.addAll(queryBuilder.getBindValues());
+        queryParams.addAll(Arrays.asList(params));
+        return queryParams;
+    }
+
+    /**
+     * Returns the join query ordered by the primary keys of every graph level,used by {@link DynamicQueryExecutor} to stream
+     * the root entities with their child graph levels
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     */
+    public String getStreamingJoinQuery(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getStreamingJoinQuery(queryBuilder);
+    }
+
+    /**
+     * Creates queries to fetch the graph levels of the join query builder level by level,used by {@link DynamicQueryExecutor}
+     * for {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy#SPLIT}
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return queries of the graph levels with root level first,empty if the query builder can only be executed as a single join query
+     */
+    public List<SplitQueryLevel> getSplitQueries(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getSplitQueries(queryBuilder);
+    }
+
+    /**
+     * Creates query returning every root entity of the join query builder as a single row of JSON with its child graph levels nested,
+     * used by {@link DynamicQueryExecutor} for {@link QueryStrategy#JSON}
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return query selecting a JSON column,empty if the query builder can only be executed as a single join query
+     */
+    public String getJsonQuery(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getJsonQuery(queryBuilder);
+    }
+
+    /**
+     * Returns {@link QueryStrategy#SPLIT} if fetching graph levels of the join query builder level by level is estimated to be cheaper
+     * than a single join query,otherwise {@link QueryStrategy#JOIN}
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     */
+    public QueryStrategy getQueryStrategy(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getQueryStrategy(queryBuilder);
+    }
+
+    /**
+     * Returns primary key column aliases selected by the join query,which can be used as keys of SimpleFlatMapper.
+     * Must be called after {@link DynamicQueryGenerator#getJoinQuery(JoinQueryBuilder)}
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return key column aliases,root level first
+     */
+    public List<String> getKeyColumns(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getKeyColumns(queryBuilder);
+    }
+
+    /**
+     * Returns primary key columns selected by the query
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder}
+     */
+    public List<String> getKeyColumns(SimpleQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getKeyColumns(queryBuilder);
+    }
+
+    /**
+     * Returns fields of the entity whose values in the last entity of a page are the cursor of the next page,when the query builder
+     * is paged using {@link SimpleQueryBuilder.Builder#addKeysetCondition(String, String...)}
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder}
+     */
+    public List<String> getKeysetFields(SimpleQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getKeysetFields(queryBuilder);
+    }
+
+    /**
+     * Returns fields of the root entity whose values in the last root entity of a page are the cursor of the next page,when the query
+     * builder is paged using {@link JoinQueryBuilder.Builder#addKeysetCondition(String, String...)}
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     */
+    public List<String> getKeysetFields(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getKeysetFields(queryBuilder);
+    }
+
+    /**
+     * Creates SQL query counting the rows of all the pages of the keyset paged query builder
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder} with keyset condition
+     */
+    public String getCountQuery(SimpleQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getCountQuery(queryBuilder);
+    }
+
+    /**
+     * Creates SQL query counting the root entities of all the pages of the keyset paged query builder
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder} with keyset condition
+     */
+    public String getCountQuery(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getCountQuery(queryBuilder);
+    }
+
+    /**
+     * Creates SQL query checking for a row on the cursor side of the keyset paged query builder,limited to the parameter(?) set
+     * after the values of the cursor
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder} with keyset condition
+     */
+    public String getExistsQuery(SimpleQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getExistsQuery(queryBuilder);
+    }
+
+    /**
+     * Creates SQL query checking for a root row on the cursor side of the keyset paged join query builder,without the child graph levels
+     * unless any of them is inner joined
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder} with keyset condition
+     */
+    public String getExistsQuery(JoinQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getExistsQuery(queryBuilder);
+    }
+
+    /**
+     * Returns primary key column aliases selected by the native query
+     *
+     * @param queryBuilder instance of {@link NativeQueryBuilder}
+     */
+    public List<String> getKeyColumns(NativeQueryBuilder queryBuilder) {
+        return queryGenerationHelper.getKeyColumns(queryBuilder);
+    }
+
 
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pool running the queries of {@link DynamicQueryExecutor} and {@link DocumentQueryPlanner} concurrently.Pool of daemon threads
+ * is created when first used,unless an executor is set,and is shut down when the parallelism is changed or the bean is destroyed.
+ */
+final class QueryThreadPool {
+
+    private final String threadPrefix;
+    private volatile int parallelism;
+    private volatile Executor executor;
+    private ExecutorService threadPool;
+
+    QueryThreadPool(String threadPrefix, int parallelism) {
+        this.threadPrefix = threadPrefix;
+        this.parallelism = parallelism;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    synchronized void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        shutdown();
+    }
+
+    /**
+     * Sets executor used instead of the thread pool,the executor is not shut down by the pool
+     */
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    boolean hasExecutor() {
+        return executor != null;
+    }
+
+    synchronized Executor getExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+        if (threadPool == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            threadPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, threadPrefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return threadPool;
+    }
+
+    /**
+     * Shuts down the thread pool letting the queries submitted finish,a new pool is created if used again
+     */
+    synchronized void shutdown() {
+        if (threadPool != null) {
+            threadPool.shutdown();
+            threadPool = null;
+        }
+    }
+
+}
@@ -15,7 +15,6 @@
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations;
 
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
-import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.ElementType;
@@ -29,6 +28,6 @@
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@Import({DynamicQueryGenerator.class, SimpleGraphObject.class})
+@Import({DynamicQueryGenerator.class})
 public @interface EnableDynamicQuery {
 }
\ No newline at end of file
@@ -28,7 +28,31 @@ public class ErrorConstants {
             + "\n1. Make Sure you have added @RootEntity/@ChildEntity for this entity."
             + "\n2. Entity Base classes are available at location mentioned in application-{env}.yml file attribute ${sidh.entity-location}."
             + "\n3. SpringBoot main class is annotated with @EnableDynamicQuery.";
+    public static final String JDBC_TEMPLATE_NOT_FOUND = "No JdbcTemplate found for DynamicQueryExecutor.Add a JdbcTemplate bean or create DynamicQueryExecutor with a JdbcTemplate.";
+    public static final String ENTITY_FIELD_NOT_ACCESSIBLE = "Field %s not found or not accessible in entity %s.";
     public static final String AGG_COLUMN_NOT_FOUND = "Column %s added for aggregation not found.Please check entity %s if the column is missing";
+    public static final String INVALID_KEYSET_CURSOR = "Cursor %s is not a valid keyset pagination cursor.Pass the cursor returned with the previous page as received";
+    public static final String KEYSET_VALUE_NOT_SUPPORTED = "Values of type %s are not supported as keyset pagination keys";
+    public static final String KEYSET_COLUMN_NOT_FOUND = "Column %s added for keyset pagination not found in entity %s";
+    public static final String KEYSET_CONDITION_NOT_SUPPORTED = "Keyset pagination orders and limits the rows by the key columns,it can not be used along with %s of the query builder";
+    public static final String KEYSET_NOT_ADDED = "Query builder is not paged on keys.Add keyset condition to the query builder to fetch a page";
+    public static final String STREAMING_CHILD_ORDER_BY = "Order by column %s is not on the root graph level.Rows of a streamed join query are merged into their parent in the order of the keys of the graph levels,so it can only be ordered by columns of the root graph level";
+    public static final String KEYSET_CHILD_CONDITION = "Where condition %s is not on the root graph level.Join query builder with keyset pagination pages the root graph level,so its where conditions can only be on the root graph level";
+    public static final String INVALID_CONNECTION_ARGUMENTS = "Connection requested with first %s and last %s.Pass either first along with after cursor or last along with before cursor,greater than 0";
+    public static final String CONNECTION_REQUEST_NOT_FOUND = "DynamicQueryGenerator has no connection request.Create it using DynamicQueryGenerator.getConnectionInstance to resolve a connection";
+    public static final String NOT_A_CONNECTION = "Type %s is not a connection type.Resolver needs to return a Page having edges with node to be resolved as a connection";
+    public static final String INVALID_GRAPH_LIMIT = "Limit %s of graph level %s is not valid.Rows joined per parent need to be limited to a number greater than 0";
+    public static final String GRAPH_LIMIT_COLUMN_NOT_FOUND = "Order by column %s of the graph level limit not found in entity %s.Pass column name optionally followed by asc/desc";
+    public static final String GRAPH_LIMIT_CONDITION = "Where condition %s is on graph level %s whose rows are limited per parent.Rows are limited before the where conditions,so conditions can not be added on a limited graph level";
+    public static final String BIND_VALUES_MISMATCH = "Condition %s has %s parameters(?) but %s values are passed.Pass a value for every parameter of the condition";
+    public static final String EMPTY_PREDICATE = "%s has no %s.Pass at least one to create the predicate";
+    public static final String BIND_VALUES_NOT_ADDED = "Conditions having parameters(?) are added without values along with predicates.Add all the where/having conditions having parameters as predicates to get the values of the parameters";
+    public static final String LOOKUP_KEYS_NOT_SUPPORTED = "Lookup keys are fetched in chunks which are not paged,sorted or grouped together,they can not be used along with %s of the query builder";
+    public static final String LOOKUP_KEYS_NOT_STREAMED = "%s lookup keys are more than the lookup chunk size %s.Streams fetch a single query,so the lookup keys need to be queried in chunks instead";
+    public static final String LOOKUP_COLUMN_NOT_ROOT = "Lookup column %s is not on the root graph level %s.Pass the column of the root graph level as {rootKey}.{columnName}";
+    public static final String DATA_LOADER_NOT_REGISTERED = "Data loader %s is not registered for the request.Register the DyDaQBatchLoader beans using DyDaQDataLoaderRegistryFactory as the DataLoaderRegistryFactory of SPQR";
+    public static final String BATCH_LOADER_GRAPH_KEY_NOT_FOUND = "Graph level %s of the batch loader is not a child graph level of root entity %s";
+    public static final String JSON_NOT_DECODED = "JSON document could not be decoded into entity %s : %s.Values of the entity fields need to be JSON values or ISO dates";
 
     private ErrorConstants() {
     }
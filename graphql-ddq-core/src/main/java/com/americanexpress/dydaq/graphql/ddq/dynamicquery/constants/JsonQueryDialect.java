@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants;
+
+/**
+ * SQL functions used to build the JSON documents of {@link QueryStrategy#JSON},set using ${sidh.json-query.dialect}
+ */
+public enum JsonQueryDialect {
+
+    /**
+     * MySQL 5.7.22+ and MariaDB
+     */
+    MYSQL("json_object(%s)", "'%s',%s", "json_arrayagg(%s)"),
+    /**
+     * SQL:2016 syntax supported by H2,Oracle and PostgreSQL 16+
+     */
+    STANDARD("json_object(%s)", "'%s' value %s", "json_arrayagg(%s)"),
+    /**
+     * PostgreSQL before 16
+     */
+    POSTGRESQL("json_build_object(%s)", "'%s',%s", "json_agg(%s)");
+
+    private final String objectFunction;
+    private final String keyValue;
+    private final String arrayAggregateFunction;
+
+    JsonQueryDialect(String objectFunction, String keyValue, String arrayAggregateFunction) {
+        this.objectFunction = objectFunction;
+        this.keyValue = keyValue;
+        this.arrayAggregateFunction = arrayAggregateFunction;
+    }
+
+    /**
+     * @param keyValues key values created using {@link JsonQueryDialect#getKeyValue(String, String)},comma separated
+     */
+    public String getObject(String keyValues) {
+        return String.format(objectFunction, keyValues);
+    }
+
+    public String getKeyValue(String key, String value) {
+        return String.format(keyValue, key, value);
+    }
+
+    public String getArrayAggregate(String value) {
+        return String.format(arrayAggregateFunction, value);
+    }
+
+}
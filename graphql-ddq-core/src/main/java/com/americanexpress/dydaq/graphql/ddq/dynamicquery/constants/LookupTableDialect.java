@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants;
+
+/**
+ * SQL of the table of the lookup keys added using addLookupKeys of the query builders,set using ${sidh.lookup.table-dialect}
+ */
+public enum LookupTableDialect {
+
+    /**
+     * Root table is filtered by an in list of the keys in a derived table,supported by every database
+     */
+    IN_LIST,
+    /**
+     * Root table is joined to a standard values table of the keys,supported by H2,PostgreSQL,SQL Server and Oracle 23c+
+     */
+    VALUES,
+    /**
+     * Root table is joined to a values table of rows of the keys,supported by MySQL 8.0.19+
+     */
+    MYSQL
+
+}
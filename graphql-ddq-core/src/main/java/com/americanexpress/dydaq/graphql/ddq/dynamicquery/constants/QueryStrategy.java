@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants;
+
+/**
+ * Strategy used by {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor} to fetch the graph levels
+ * joined using {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder}
+ */
+public enum QueryStrategy {
+
+    /**
+     * All the graph levels are fetched by a single joined query
+     */
+    JOIN,
+    /**
+     * Root graph level is fetched first,then every child graph level is fetched by a batched "where join column in (...)"
+     * query and set into its parents.Falls back to {@link QueryStrategy#JOIN} when the query builder has conditions which
+     * can not be applied level by level.
+     */
+    SPLIT,
+    /**
+     * {@link QueryStrategy#JOIN} or {@link QueryStrategy#SPLIT} is chosen for every request based on the estimated number
+     * of cells fetched by both,see {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.DynamicQueryGenerationHelper#getQueryStrategy}
+     */
+    AUTO,
+    /**
+     * Every root entity is fetched as a single row of JSON having its child graph levels nested as JSON arrays,built by correlated
+     * subqueries,see {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.DynamicQueryGenerationHelper#getJsonQuery}.
+     * Falls back to {@link QueryStrategy#JOIN} when the query builder has conditions which can not be applied level by level.
+     */
+    JSON
+
+}
@@ -31,6 +31,7 @@ public class SqlCondition {
     public static final SqlCondition equal;
     public static final SqlCondition isNull;
     public static final SqlCondition notNull;
+    public static final SqlCondition any;
 
     static {
         /**
@@ -73,6 +74,10 @@ public class SqlCondition {
          * adds snippet " is not null " into the resulting SQL query
          * */
         notNull = new SqlCondition(" is not null ");
+        /**
+         * adds snippet " = any(?)" into the resulting SQL query,value of the parameter is an array
+         * */
+        any = new SqlCondition(" = any(?)");
     }
 
     private String condition;
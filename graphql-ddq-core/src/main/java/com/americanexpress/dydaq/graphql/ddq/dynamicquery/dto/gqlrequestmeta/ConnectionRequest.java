@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Paging arguments and the fields selected of a Relay style GraphQL connection ie.. a resolver returning
+ * {@link io.leangen.graphql.execution.relay.Page} and taking first/after or last/before arguments.
+ * <pre>
+ *    {
+ *      hospitalConnection(first : 10, after : "SzQ6MTAwMQ"){
+ *        totalCount
+ *        edges{
+ *          cursor
+ *          node{        # fields of node are the fields of the root graph level of the DynamicQueryGenerator
+ *            hospitalName
+ *          }
+ *        }
+ *        pageInfo{
+ *          hasNextPage
+ *          endCursor
+ *        }
+ *      }
+ *    }
+ * </pre>
+ * Counting the rows and checking for a previous page need additional queries,so they are executed only when totalCount and
+ * pageInfo.hasPreviousPage(pageInfo.hasNextPage when paging backward) are selected.
+ */
+public final class ConnectionRequest {
+
+    public static final String EDGES = "edges";
+    public static final String NODE = "node";
+    public static final String CURSOR = "cursor";
+    public static final String PAGE_INFO = "pageInfo";
+    public static final String TOTAL_COUNT = "totalCount";
+    public static final String HAS_NEXT_PAGE = "hasNextPage";
+    public static final String HAS_PREVIOUS_PAGE = "hasPreviousPage";
+
+    private final Integer first;
+    private final String after;
+    private final Integer last;
+    private final String before;
+    private final boolean totalCountSelected;
+    private final Set<String> pageInfoFields;
+
+    /**
+     * @param first              number of nodes after the after cursor,null when paging backward
+     * @param after              cursor of the node after which nodes are fetched,null for the first page
+     * @param last               number of nodes before the before cursor,null when paging forward
+     * @param before             cursor of the node before which nodes are fetched,null for the last page
+     * @param totalCountSelected true if totalCount of the connection is selected
+     * @param pageInfoFields     fields of pageInfo selected
+     * @throws DynamicQueryException if neither or both of first and last are passed or the one passed is not greater than 0
+     */
+    public ConnectionRequest(Integer first, String after, Integer last, String before, boolean totalCountSelected, Set<String> pageInfoFields) {
+        if ((first == null) == (last == null) || (first != null && first <= 0) || (last != null && last <= 0)) {
+            throw new DynamicQueryException(String.format(ErrorConstants.INVALID_CONNECTION_ARGUMENTS, first, last));
+        }
+        this.first = first;
+        this.after = after;
+        this.last = last;
+        this.before = before;
+        this.totalCountSelected = totalCountSelected;
+        this.pageInfoFields = (pageInfoFields == null ? Collections.emptySet() : pageInfoFields);
+    }
+
+    public Integer getFirst() {
+        return first;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public Integer getLast() {
+        return last;
+    }
+
+    public String getBefore() {
+        return before;
+    }
+
+    /**
+     * Returns true when last is passed ie.. nodes before the before cursor are requested
+     */
+    public boolean isBackward() {
+        return last != null;
+    }
+
+    /**
+     * Returns first when paging forward,last when paging backward
+     */
+    public int getPageSize() {
+        return (isBackward() ? last : first);
+    }
+
+    /**
+     * Returns after cursor when paging forward,before cursor when paging backward
+     */
+    public String getCursor() {
+        return (isBackward() ? before : after);
+    }
+
+    public boolean isTotalCountSelected() {
+        return totalCountSelected;
+    }
+
+    /**
+     * @param pageInfoField field of pageInfo eg.. hasNextPage
+     */
+    public boolean isPageInfoSelected(String pageInfoField) {
+        return pageInfoFields.contains(pageInfoField);
+    }
+
+}
@@ -16,12 +16,17 @@
 
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.ResolutionEnvToSimpleObjectConvertor;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Holds GraphQL request in Simpler form with there Entity class name.
  * <p>
+ * It is immutable,use {@link Builder} to create it and {@link #withFields(Map)} to get a copy with additional fields selected,
+ * so a single instance can be shared by all the queries and threads of requests having the same shape.
+ * <p>
  * /**
  * Converting SPQR provided graphql query object into simple objects as below :
  * Map<String, Set<String>> tableColMap => level/graph of of field requested as
@@ -136,12 +141,33 @@
  * rootObject is the variable name for the root entity/final return type of resolver.
  * Also rootObject will be alias for Hospital,surgeon will be alias for Surgeon,surgeon_department will be alias for table fetching department of surgeon.
  */
-public class SimpleGraphObject {
+public final class SimpleGraphObject {
+
+    /**
+     * Maximum number of distinct request shapes kept by {@link #intern()},the oldest shape is evicted when it is full
+     */
+    private static final int MAX_INTERNED_SHAPES = 1024;
+    private static final ConcurrentMap<SimpleGraphObject, SimpleGraphObject> INTERNED_SHAPES = new ConcurrentHashMap<>();
+    private static final Queue<SimpleGraphObject> INTERNING_ORDER = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, String> gqlGraphEntityMap;
+    private final Map<String, Set<String>> gqlGraphReqFieldMap;
+    private final String rootKey;
+    private final String rootEntity;
+    private final int hashCode;
+    private volatile String shapeKey;
+    private volatile Map.Entry<String, SimpleGraphObject> subGraph;
 
-    Map<String, String> gqlGraphEntityMap;
-    Map<String, Set<String>> gqlGraphReqFieldMap;
-    String rootKey;
-    String rootEntity;
+    private SimpleGraphObject(String rootKey, String rootEntity, Map<String, String> gqlGraphEntityMap,
+                              Map<String, ? extends Collection<String>> gqlGraphReqFieldMap) {
+        this.rootKey = rootKey;
+        this.rootEntity = rootEntity;
+        this.gqlGraphEntityMap = (gqlGraphEntityMap == null ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(gqlGraphEntityMap)));
+        Map<String, Set<String>> reqFieldMap = new LinkedHashMap<>();
+        (gqlGraphReqFieldMap == null ? Collections.<String, Collection<String>>emptyMap() : gqlGraphReqFieldMap).forEach((graphKey, fields) -> reqFieldMap.put(graphKey, Collections.unmodifiableSet(new LinkedHashSet<>(fields))));
+        this.gqlGraphReqFieldMap = Collections.unmodifiableMap(reqFieldMap);
+        this.hashCode = Objects.hash(rootKey, rootEntity, this.gqlGraphEntityMap, this.gqlGraphReqFieldMap);
+    }
 
     /**
      * RootEntity is the top level entity of the graphQL request,in other words the final return entity of the resolver.
@@ -150,10 +176,6 @@ public String getRootEntity() {
         return rootEntity;
     }
 
-    public void setRootEntity(String rootEntity) {
-        this.rootEntity = rootEntity;
-    }
-
     /**
      * RootKey is the top level entity of the graphQL request,in other words the final return object graph level of the resolver.
      * Its value is always set as "rootObject"
@@ -162,31 +184,196 @@ public String getRootKey() {
         return rootKey;
     }
 
-    public void setRootKey(String rootKey) {
-        this.rootKey = rootKey;
-    }
-
     /**
-     * Returns a Map of Graph level and the corresponding entity.For more details and example see the class level comment of this class
+     * Returns an unmodifiable Map of Graph level and the corresponding entity.For more details and example see the class level comment of this class
      */
     public Map<String, String> getGqlGraphEntityMap() {
         return gqlGraphEntityMap;
     }
 
-    public void setGqlGraphEntityMap(Map<String, String> gqlGraphEntityMap) {
-        this.gqlGraphEntityMap = gqlGraphEntityMap;
-    }
-
     /**
-     * Returns a Map of Graph level and correponding fields selected from the graph level.
+     * Returns an unmodifiable Map of Graph level and correponding fields selected from the graph level.
      * For more details and example see the class level comment of this class
      */
     public Map<String, Set<String>> getGqlGraphReqFieldMap() {
         return gqlGraphReqFieldMap;
     }
 
-    public void setGqlGraphReqFieldMap(Map<String, Set<String>> gqlGraphReqFieldMap) {
-        this.gqlGraphReqFieldMap = gqlGraphReqFieldMap;
+    /**
+     * Returns a SimpleGraphObject having the fields passed selected along with the fields of this object,this object is returned
+     * when all of them are already selected.Used to add the columns a query needs(eg group by columns/primary keys) without
+     * changing the request shape shared by other queries.
+     *
+     * @param additionalFieldMap graph level as key and fields to be selected from the graph level as value
+     */
+    public SimpleGraphObject withFields(Map<String, ? extends Collection<String>> additionalFieldMap) {
+        boolean allSelected = true;
+        for (Map.Entry<String, ? extends Collection<String>> additionalFields : additionalFieldMap.entrySet()) {
+            Set<String> fields = gqlGraphReqFieldMap.get(additionalFields.getKey());
+            if (fields == null || !fields.containsAll(additionalFields.getValue())) {
+                allSelected = false;
+                break;
+            }
+        }
+        if (allSelected) {
+            return this;
+        }
+        Map<String, Set<String>> reqFieldMap = new LinkedHashMap<>();
+        gqlGraphReqFieldMap.forEach((graphKey, fields) -> reqFieldMap.put(graphKey, new LinkedHashSet<>(fields)));
+        additionalFieldMap.forEach((graphKey, fields) -> reqFieldMap.computeIfAbsent(graphKey, key -> new LinkedHashSet<>()).addAll(fields));
+        return new SimpleGraphObject(rootKey, rootEntity, gqlGraphEntityMap, reqFieldMap);
+    }
+
+    /**
+     * Returns a SimpleGraphObject having the graph level passed as its root level and the graph levels under it as its child levels
+     * eg.. for graph level edges_node,edges_node is the root level and edges_node_surgeon becomes surgeon.Graph levels not under it
+     * are dropped.Used to query the nodes of a GraphQL connection whose graph levels are below the connection type.
+     * <p>
+     * Sub graph is kept with this object,so an interned object re-roots its graph levels only the first time.
+     *
+     * @param graphKey   graph level to become the root level
+     * @param rootEntity entity of the graph level,used when none of its fields is requested
+     */
+    public SimpleGraphObject getSubGraph(String graphKey, String rootEntity) {
+        String subGraphKey = graphKey + '#' + rootEntity;
+        Map.Entry<String, SimpleGraphObject> cachedSubGraph = subGraph;
+        if (cachedSubGraph != null && cachedSubGraph.getKey().equals(subGraphKey)) {
+            return cachedSubGraph.getValue();
+        }
+        Map<String, String> subGraphEntityMap = new LinkedHashMap<>();
+        subGraphEntityMap.put(rootKey, rootEntity);
+        gqlGraphEntityMap.forEach((key, entity) -> {
+            if (key.startsWith(graphKey + "_")) {
+                subGraphEntityMap.put(key.substring(graphKey.length() + 1), entity);
+            }
+        });
+        Map<String, Set<String>> subGraphReqFieldMap = new LinkedHashMap<>();
+        gqlGraphReqFieldMap.forEach((key, fields) -> {
+            if (key.equals(graphKey)) {
+                subGraphReqFieldMap.put(rootKey, fields);
+            } else if (key.startsWith(graphKey + "_")) {
+                subGraphReqFieldMap.put(key.substring(graphKey.length() + 1), fields);
+            }
+        });
+        SimpleGraphObject graph = new SimpleGraphObject(rootKey, rootEntity, subGraphEntityMap, subGraphReqFieldMap).intern();
+        subGraph = new AbstractMap.SimpleImmutableEntry<>(subGraphKey, graph);
+        return graph;
+    }
+
+    /**
+     * Returns the canonical instance of the request shape of this object,so requests having the same shape share a single instance
+     * and its shape key is computed only once.This object is returned when it is the first of its shape,the oldest shape is evicted
+     * once {@link #MAX_INTERNED_SHAPES} shapes are interned.
+     * <p>
+     * Intern only the shapes of the requests,shapes built for a single query eg.. merged selections of a batch are not repeated.
+     */
+    public SimpleGraphObject intern() {
+        SimpleGraphObject interned = INTERNED_SHAPES.get(this);
+        if (interned != null) {
+            return interned;
+        }
+        interned = INTERNED_SHAPES.putIfAbsent(this, this);
+        if (interned != null) {
+            return interned;
+        }
+        INTERNING_ORDER.add(this);
+        while (INTERNED_SHAPES.size() > MAX_INTERNED_SHAPES) {
+            SimpleGraphObject eldestShape = INTERNING_ORDER.poll();
+            if (eldestShape == null) {
+                break;
+            }
+            INTERNED_SHAPES.remove(eldestShape, eldestShape);
+        }
+        return this;
+    }
+
+    /**
+     * Returns fingerprint of the root entity,graph levels and the fields selected from each graph level.Order in which
+     * graph levels and fields were requested in the GraphQL query does not change the fingerprint.
+     */
+    public String getShapeKey() {
+        String key = shapeKey;
+        if (key == null) {
+            key = computeShapeKey();
+            shapeKey = key;
+        }
+        return key;
+    }
+
+    private String computeShapeKey() {
+        Set<String> graphKeys = new TreeSet<>(gqlGraphEntityMap.keySet());
+        graphKeys.addAll(gqlGraphReqFieldMap.keySet());
+        StringBuilder key = new StringBuilder().append(rootEntity).append(';').append(rootKey);
+        for (String graphKey : graphKeys) {
+            key.append(';').append(graphKey).append('=').append(gqlGraphEntityMap.get(graphKey));
+            Set<String> fields = gqlGraphReqFieldMap.get(graphKey);
+            if (fields != null) {
+                key.append(new TreeSet<>(fields));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Objects are equal when they have the same request shape,order of graph levels and fields is ignored
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SimpleGraphObject that = (SimpleGraphObject) o;
+        return hashCode == that.hashCode && Objects.equals(rootKey, that.rootKey) && Objects.equals(rootEntity, that.rootEntity)
+                && gqlGraphEntityMap.equals(that.gqlGraphEntityMap) && gqlGraphReqFieldMap.equals(that.gqlGraphReqFieldMap);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleGraphObject{rootKey=" + rootKey + ",rootEntity=" + rootEntity + ",gqlGraphEntityMap=" + gqlGraphEntityMap
+                + ",gqlGraphReqFieldMap=" + gqlGraphReqFieldMap + "}";
+    }
+
+    public static class Builder {
+
+        private String rootKey;
+        private String rootEntity;
+        private Map<String, String> gqlGraphEntityMap = Collections.emptyMap();
+        private Map<String, ? extends Collection<String>> gqlGraphReqFieldMap = Collections.emptyMap();
+
+        public Builder setRootKey(String rootKey) {
+            this.rootKey = rootKey;
+            return this;
+        }
+
+        public Builder setRootEntity(String rootEntity) {
+            this.rootEntity = rootEntity;
+            return this;
+        }
+
+        public Builder setGqlGraphEntityMap(Map<String, String> gqlGraphEntityMap) {
+            this.gqlGraphEntityMap = gqlGraphEntityMap;
+            return this;
+        }
+
+        public Builder setGqlGraphReqFieldMap(Map<String, ? extends Collection<String>> gqlGraphReqFieldMap) {
+            this.gqlGraphReqFieldMap = gqlGraphReqFieldMap;
+            return this;
+        }
+
+        /**
+         * Maps passed to the builder are copied,so changing them later does not change the SimpleGraphObject built
+         */
+        public SimpleGraphObject build() {
+            return new SimpleGraphObject(rootKey, rootEntity, gqlGraphEntityMap, gqlGraphReqFieldMap);
+        }
     }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import java.util.List;
+
+/**
+ * Predicate true when a column is between two values,both included,see {@link Predicate#between(String, Object, Object)}
+ */
+public final class BetweenPredicate extends Predicate {
+
+    private final String column;
+    private final Object from;
+    private final Object to;
+
+    BetweenPredicate(String column, Object from, Object to) {
+        this.column = column;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Object getFrom() {
+        return from;
+    }
+
+    public Object getTo() {
+        return to;
+    }
+
+    @Override
+    void appendTo(List<String> conditions, List<Object> values) {
+        conditions.add(column + " between ? and ?");
+        values.add(from);
+        values.add(to);
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+
+import java.util.List;
+
+/**
+ * Predicate comparing a column using {@link SqlCondition},see {@link Predicate#compare(String, SqlCondition, Object...)}
+ */
+public final class ComparePredicate extends Predicate {
+
+    private final String column;
+    private final SqlCondition condition;
+    private final List<Object> values;
+
+    ComparePredicate(String column, SqlCondition condition, List<Object> values) {
+        this.column = column;
+        this.condition = condition;
+        this.values = values;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public SqlCondition getCondition() {
+        return condition;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    void appendTo(List<String> conditions, List<Object> values) {
+        conditions.add(column + condition.getCondition());
+        values.addAll(this.values);
+    }
+
+}
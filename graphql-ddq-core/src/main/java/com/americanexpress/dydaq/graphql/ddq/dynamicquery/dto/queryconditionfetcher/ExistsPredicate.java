@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import java.util.List;
+
+/**
+ * Predicate true when a sub query returns a row,see {@link Predicate#exists(String, Object...)}
+ */
+public final class ExistsPredicate extends Predicate {
+
+    private final String subQuery;
+    private final List<Object> values;
+
+    ExistsPredicate(String subQuery, List<Object> values) {
+        this.subQuery = subQuery;
+        this.values = values;
+    }
+
+    public String getSubQuery() {
+        return subQuery;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    void appendTo(List<String> conditions, List<Object> values) {
+        conditions.add("exists (" + subQuery + ")");
+        values.addAll(this.values);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.InListExpansion;
+
+import java.util.List;
+
+/**
+ * Predicate true when a column is equal to any of the values,see {@link Predicate#in(String, java.util.Collection)}.Values are
+ * expanded using {@link InListExpansion},so lists of different sizes add the same condition.
+ */
+public final class InPredicate extends Predicate {
+
+    private final String column;
+    private final List<Object> values;
+
+    InPredicate(String column, List<Object> values) {
+        this.column = column;
+        this.values = values;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    void appendTo(List<String> conditions, List<Object> values) {
+        InListExpansion inListExpansion = InListExpansion.getInstance();
+        conditions.add(column + inListExpansion.getCondition(this.values.size()).getCondition());
+        values.addAll(inListExpansion.getValues(this.values));
+    }
+
+}
@@ -14,14 +14,21 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlSubQueryCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
 import org.springframework.lang.NonNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +40,8 @@ public class JoinQueryBuilder extends QueryBuilder {
 
     private String rootObject;
     private Map<String, String> graphJoinType;
+    private Map<String, Integer> graphLimit = new LinkedHashMap<>();
+    private Map<String, List<String>> graphLimitOrder = new LinkedHashMap<>();
 
     public JoinQueryBuilder(@NonNull String rootObject, Map<String, String> graphJoinType, List<String> whereCondition, List<String> orderByCondition, List<String> groupByCondition, String limit, String offsetWithLimit, List<String> havingCondition, Map<String, SqlAggregationType> aggregateSelectCols) {
         this.rootObject = rootObject;
@@ -85,26 +94,116 @@ public Map<String, String> getGraphJoinType() {
         return graphJoinType;
     }
 
+    /**
+     * Returns maximum number of rows joined per parent against the graph levels limited using {@link Builder#addGraphLimitCondition(String, int, String...)}
+     */
+    public Map<String, Integer> getGraphLimit() {
+        return graphLimit;
+    }
+
+    /**
+     * Returns order by columns deciding the rows kept per parent against the limited graph levels
+     */
+    public Map<String, List<String>> getGraphLimitOrder() {
+        return graphLimitOrder;
+    }
+
+    void setGraphLimits(Map<String, Integer> graphLimit, Map<String, List<String>> graphLimitOrder) {
+        this.graphLimit = graphLimit;
+        this.graphLimitOrder = graphLimitOrder;
+    }
+
     @Override
     public List<String> getWhereCondition() {
         return whereCondition;
     }
 
+    @Override
+    public String getShapeKey() {
+        StringBuilder shapeKey = new StringBuilder(super.getShapeKey());
+        appendShapePart(shapeKey, rootObject);
+        appendShapePart(shapeKey, graphJoinType);
+        appendShapePart(shapeKey, graphLimit);
+        appendShapePart(shapeKey, graphLimitOrder);
+        return shapeKey.toString();
+    }
+
+    /**
+     * Returns copy of the query builder paged on the same key columns from the cursor passed
+     *
+     * @param cursor   of the row to page from
+     * @param backward true to fetch rows before the cursor,false for rows after it
+     */
+    public JoinQueryBuilder withKeysetCursor(String cursor, boolean backward) {
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder(rootObject, graphJoinType, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+        joinQueryBuilder.setKeyset(keysetColumns, cursor, backward);
+        joinQueryBuilder.setGraphLimits(graphLimit, graphLimitOrder);
+        joinQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+        return joinQueryBuilder;
+    }
+
+    /**
+     * Returns copy of the query builder looking up the keys passed instead of its lookup keys,used to fetch the lookup keys in chunks
+     *
+     * @param keys chunk of the lookup keys
+     */
+    public JoinQueryBuilder withLookupKeys(List<?> keys) {
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder(rootObject, graphJoinType, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+        joinQueryBuilder.setGraphLimits(graphLimit, graphLimitOrder);
+        joinQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+        joinQueryBuilder.setLookupKeys(lookupColumn, Collections.unmodifiableList(new ArrayList<>(keys)));
+        return joinQueryBuilder;
+    }
+
     public static class Builder {
 
         private String rootObject;
         private Map<String, String> graphJoinType = new LinkedHashMap<>();
-        private List<String> whereCondition = new LinkedList<>();
-        private List<String> orderByCondition = new LinkedList<>();
-        private List<String> groupByCondition = new LinkedList<>();
+        private Map<String, Integer> graphLimit = new LinkedHashMap<>();
+        private Map<String, List<String>> graphLimitOrder = new LinkedHashMap<>();
+        private List<String> whereCondition = new ArrayList<>();
+        private List<String> orderByCondition = new ArrayList<>();
+        private List<String> groupByCondition = new ArrayList<>();
         private String limit;
         private String offsetWithLimit;
-        private List<String> havingCondition = new LinkedList<>();
+        private List<String> havingCondition = new ArrayList<>();
+        private List<Object> whereValues = new ArrayList<>();
+        private List<Object> havingValues = new ArrayList<>();
+        private boolean unboundParams;
         private Map<String, SqlAggregationType> aggregateSelectCols = new LinkedHashMap<>();
+        private List<String> keysetColumns;
+        private String keysetCursor;
+        private boolean keysetBackward;
+        private String lookupColumn;
+        private List<Object> lookupKeys;
 
         public Builder() {
         }
 
+        /**
+         * Looks up the root rows whose column is equal to any of the keys,eg.. the keys batched by a DataLoader.Root table is filtered
+         * by a bucketed in list of the keys ie.. <strong>from (select * from root_tbl rootObject where rootObject.col in (?,?)) rootObject</strong>,
+         * or joined to an inline table of the keys ie.. <strong>from (select distinct key_value from (values (?),(?)) lookup_keys(key_value))
+         * lookup_keys inner join root_tbl rootObject on rootObject.col = lookup_keys.key_value</strong> when ${sidh.lookup.table-dialect}
+         * is a dialect having values tables,see {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.LookupTableDialect}.
+         * <p>
+         * Keys are the first parameters of the query,{@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor} sets
+         * them before the parameters passed to it.More keys than ${sidh.lookup.chunk-size} are fetched in chunks,in parallel,and the root
+         * entities of the chunks are merged in the order of the chunks,so limit/keyset pagination can not be added and chunked keys can
+         * not be sorted,grouped or streamed.
+         *
+         * @param columnName column of the root graph level with the graph key ie.. {rootKey}.{columnName}
+         * @param keys       values of the column to look up,duplicates are removed
+         */
+        public Builder addLookupKeys(String columnName, @NonNull Collection<?> keys) {
+            if (keys.isEmpty()) {
+                throw new DynamicQueryException(String.format(ErrorConstants.EMPTY_PREDICATE, "Lookup on " + columnName, "key"));
+            }
+            this.lookupColumn = columnName;
+            this.lookupKeys = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(keys)));
+            return this;
+        }
+
         public List<String> getHavingCondition() {
             return havingCondition;
         }
@@ -139,6 +238,28 @@ public Builder joinWithGraph(String graphKey, SqlJoinType joinType) {
             return this;
         }
 
+        /**
+         * Limits the rows of the graph level joined per parent row ie.. top N children of every parent,eg.. 5 most recent surgeons of
+         * every hospital.Rows are ranked within their parent in the database,so the rows not kept are neither joined nor sent over the wire.
+         * It internally replaces the table of the graph level with the snippet
+         * <strong>(select * from (select t.*,row_number() over (partition by {join columns} order by {orderByColumns}) as graph_row_number
+         * from {table} t) ranked where graph_row_number &lt;= {limit}) {graphKey}</strong>
+         * <p>
+         * Primary keys of the entity are ordered after the columns passed,so the rows kept are the same for every request.
+         * Where conditions can not be added on the limited graph level as they would filter the rows after they are limited.
+         * <p>
+         * Eg : Builder().addGraphLimitCondition("surgeon", 5, "joining_date desc")
+         *
+         * @param graphKey       graph level joined using {@link Builder#joinWithGraph(String, SqlJoinType)}
+         * @param limit          maximum number of rows per parent,greater than 0
+         * @param orderByColumns columns of the entity of the graph level optionally followed by asc/desc
+         */
+        public Builder addGraphLimitCondition(String graphKey, int limit, String... orderByColumns) {
+            graphLimit.put(graphKey, limit);
+            graphLimitOrder.put(graphKey, Arrays.asList(orderByColumns));
+            return this;
+        }
+
         /**
          * condition type can be "=",">" or "<"
          * Eg :for conditionType = ">" the addWhereCondition will be transformed to  {graphKey}.{columnName} > ?
@@ -156,6 +277,27 @@ public Builder addWhereCondition(String graphKey, String columnName, @NonNull Sq
             }
 
             whereCondition.add((!graphKey.trim().equals("") ? graphKey + "." : "") + columnName + conditionType.getCondition());
+            unboundParams |= hasParams(conditionType.getCondition());
+            return this;
+        }
+
+        /**
+         * Adds the predicate and the values of its parameters,it is and-ed with the conditions added before it same as
+         * the other where conditions.See {@link Predicate} for the predicates.
+         * <p>
+         * Values of all the predicates are returned by {@link QueryBuilder#getBindValues()},so either all or none of the
+         * where/having conditions having parameters(?) need to be predicates.
+         */
+        public Builder addWhereCondition(@NonNull Predicate predicate) {
+            predicate.appendAsAndCondition(whereCondition, whereValues);
+            return this;
+        }
+
+        /**
+         * Adds the predicate and the values of its parameters in the having clause,see {@link Builder#addWhereCondition(Predicate)}
+         */
+        public Builder addHavingCondition(@NonNull Predicate predicate) {
+            predicate.appendAsAndCondition(havingCondition, havingValues);
             return this;
         }
 
@@ -171,6 +313,7 @@ public Builder addWhereWithSubQuery(@NonNull String graphKey, String columnName,
 
             whereCondition.add((!graphKey.trim().equals("") ? graphKey + "." : "") + columnName
                     + String.format(sqlCondition.getCondition(), subQuery));
+            unboundParams |= hasParams(subQuery);
             return this;
         }
 
@@ -250,6 +393,7 @@ public Builder addHavingCondition(String graphKey, String columnName, SqlConditi
                 graphKey = "";
             }
             havingCondition.add((!graphKey.trim().equals("") ? graphKey + "." : "") + columnName + " " + conditiontype.getCondition());
+            unboundParams |= hasParams(conditiontype.getCondition());
             return this;
         }
 
@@ -269,6 +413,7 @@ public Builder addHavingConditionWithSubQuery(String graphKey, String columnName
                 graphKey = "";
             }
             havingCondition.add((!graphKey.trim().equals("") ? graphKey + "." : "") + columnName + String.format(sqlCondition.getCondition(), subQuery));
+            unboundParams |= hasParams(subQuery);
             return this;
         }
 
@@ -311,11 +456,70 @@ public Builder addaggregateSelectCols(SqlAggregationType aggregateFunc, String g
             return this;
         }
 
+        /**
+         * Pages the root graph level on its key columns instead of an offset,so a page has the page size number of root entities
+         * irrespective of the rows of the child graph levels joined.Primary keys of the root entity are the key columns when no column
+         * is passed,otherwise they are added after the columns passed to break ties.
+         * <p>
+         * Root table is replaced by the page of root rows ie.. <strong>(select root.* from root_tbl root where .. and (root.k1,root.k2) &gt; (?,?)
+         * Order By root.k1,root.k2 limit ?) root</strong> and the child graph levels are joined to it,so where conditions can only be
+         * on the root graph level.Values of the cursor and the page size are set after the parameters of the where conditions.
+         *
+         * @param cursor      returned with the previous page,null or empty for the first page
+         * @param columnNames columns of the root entity to page on
+         */
+        public Builder addKeysetCondition(String cursor, String... columnNames) {
+            this.keysetColumns = Arrays.asList(columnNames);
+            this.keysetCursor = cursor;
+            this.keysetBackward = false;
+            return this;
+        }
+
+        /**
+         * Pages backwards on the key columns ie.. rows before the cursor are fetched in descending order of the key columns.It internally
+         * results in the sql snippet <strong> where (k1,k2) &lt; (?,?) Order By k1 desc,k2 desc limit ? </strong>,see
+         * {@link Builder#addKeysetCondition(String, String...)}
+         *
+         * @param cursor      of the first row of the page after the rows to be fetched,null or empty for the last page
+         * @param columnNames columns to page on
+         */
+        public Builder addKeysetConditionBefore(String cursor, String... columnNames) {
+            addKeysetCondition(cursor, columnNames);
+            this.keysetBackward = true;
+            return this;
+        }
+
+        /**
+         * Pages on the key columns as requested by the arguments of the GraphQL connection ie.. forward from after cursor for first
+         * and backward from before cursor for last
+         *
+         * @param connectionRequest obtained from {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator#getConnectionRequest()}
+         * @param columnNames       columns to page on
+         */
+        public Builder addConnectionCondition(ConnectionRequest connectionRequest, String... columnNames) {
+            if (connectionRequest.isBackward()) {
+                return addKeysetConditionBefore(connectionRequest.getBefore(), columnNames);
+            }
+            return addKeysetCondition(connectionRequest.getAfter(), columnNames);
+        }
+
         /**
          * used to build the query after all the conditions have been added
          */
         public JoinQueryBuilder build() {
-            return new JoinQueryBuilder(rootObject, graphJoinType, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+            JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder(rootObject, graphJoinType, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+            if (keysetColumns != null) {
+                joinQueryBuilder.setKeyset(keysetColumns, keysetCursor, keysetBackward);
+            }
+            joinQueryBuilder.setGraphLimits(graphLimit, graphLimitOrder);
+            joinQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+            if (lookupColumn != null) {
+                if (!lookupColumn.startsWith(rootObject + ".")) {
+                    throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_COLUMN_NOT_ROOT, lookupColumn, rootObject));
+                }
+                joinQueryBuilder.setLookupKeys(lookupColumn, lookupKeys);
+            }
+            return joinQueryBuilder;
         }
 
     }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import graphql.relay.ConnectionCursor;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import io.leangen.graphql.execution.relay.Page;
+
+import java.util.List;
+
+/**
+ * Relay style connection of the nodes fetched using keyset pagination.SPQR maps it to a connection type having edges,pageInfo
+ * and totalCount fields.Cursor of an edge holds the values of the key columns of its node,see {@link KeysetCursor}.
+ */
+public class KeysetConnection<T> implements Page<T> {
+
+    private final List<Edge<T>> edges;
+    private final PageInfo pageInfo;
+    private final Long totalCount;
+
+    /**
+     * @param totalCount nodes of all the pages,null when not selected in the request
+     */
+    public KeysetConnection(List<Edge<T>> edges, PageInfo pageInfo, Long totalCount) {
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+        this.totalCount = totalCount;
+    }
+
+    @Override
+    public List<Edge<T>> getEdges() {
+        return edges;
+    }
+
+    @Override
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Cursor of the key values of a node,encoded only when it is read as most requests do not select cursors of all the edges
+     */
+    public static final class Cursor implements ConnectionCursor {
+
+        private final List<Object> keyValues;
+        private String value;
+
+        public Cursor(List<Object> keyValues) {
+            this.keyValues = keyValues;
+        }
+
+        @Override
+        public String getValue() {
+            if (value == null) {
+                value = KeysetCursor.encode(keyValues);
+            }
+            return value;
+        }
+
+        /**
+         * GraphQL String scalar serializes the cursor using toString
+         */
+        @Override
+        public String toString() {
+            return getValue();
+        }
+    }
+
+}
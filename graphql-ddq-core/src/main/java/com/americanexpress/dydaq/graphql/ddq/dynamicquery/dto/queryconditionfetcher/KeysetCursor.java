@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque cursor of keyset pagination holding values of the key columns of the last row of a page.Next page is fetched
+ * with rows whose key columns are greater than these values,see {@link SimpleQueryBuilder.Builder#addKeysetCondition(String, String...)}.
+ * <p>
+ * Every value is written with its type so it is set into the query with the type it was read from the entity.Cursor is
+ * url safe Base64,clients must pass it back as received.Only the types below are supported as key values,Java serialization
+ * is not used as cursors come from clients.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param values values of the key columns of the last row,in the order of the key columns
+     * @return cursor to be returned to the client
+     */
+    public static String encode(List<?> values) {
+        StringBuilder cursor = new StringBuilder();
+        for (Object value : values) {
+            char type = getType(value);
+            String text = (value == null ? "" : toText(value));
+            cursor.append(type).append(text.length()).append(':').append(text);
+        }
+        return ENCODER.encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor returned by {@link KeysetCursor#encode(List)},null or empty for the first page
+     * @return values of the key columns,empty list for the first page
+     * @throws DynamicQueryException if the cursor was not created by {@link KeysetCursor#encode(List)}
+     */
+    public static List<Object> decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            List<Object> values = new ArrayList<>();
+            int index = 0;
+            while (index < decoded.length()) {
+                char type = decoded.charAt(index);
+                int separator = decoded.indexOf(':', index);
+                int length = Integer.parseInt(decoded.substring(index + 1, separator));
+                values.add(fromText(type, decoded.substring(separator + 1, separator + 1 + length)));
+                index = separator + 1 + length;
+            }
+            return values;
+        } catch (RuntimeException e) {
+            throw new DynamicQueryException(String.format(ErrorConstants.INVALID_KEYSET_CURSOR, cursor));
+        }
+    }
+
+    private static char getType(Object value) {
+        if (value == null) {
+            return 'N';
+        } else if (value instanceof String) {
+            return 'S';
+        } else if (value instanceof Integer) {
+            return 'I';
+        } else if (value instanceof Long) {
+            return 'L';
+        } else if (value instanceof Short) {
+            return 'H';
+        } else if (value instanceof BigDecimal) {
+            return 'B';
+        } else if (value instanceof BigInteger) {
+            return 'G';
+        } else if (value instanceof Double) {
+            return 'D';
+        } else if (value instanceof Float) {
+            return 'F';
+        } else if (value instanceof Boolean) {
+            return 'Z';
+        } else if (value instanceof java.sql.Date) {
+            return 'd';
+        } else if (value instanceof Timestamp) {
+            return 't';
+        } else if (value instanceof java.util.Date) {
+            return 'u';
+        } else if (value instanceof LocalDate) {
+            return 'l';
+        } else if (value instanceof LocalDateTime) {
+            return 'm';
+        }
+        throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_VALUE_NOT_SUPPORTED, value.getClass().getName()));
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof java.util.Date && !(value instanceof java.sql.Date) && !(value instanceof Timestamp)) {
+            return String.valueOf(((java.util.Date) value).getTime());
+        }
+        return value.toString();
+    }
+
+    private static Object fromText(char type, String text) {
+        switch (type) {
+            case 'N':
+                return null;
+            case 'S':
+                return text;
+            case 'I':
+                return Integer.valueOf(text);
+            case 'L':
+                return Long.valueOf(text);
+            case 'H':
+                return Short.valueOf(text);
+            case 'B':
+                return new BigDecimal(text);
+            case 'G':
+                return new BigInteger(text);
+            case 'D':
+                return Double.valueOf(text);
+            case 'F':
+                return Float.valueOf(text);
+            case 'Z':
+                return Boolean.valueOf(text);
+            case 'd':
+                return java.sql.Date.valueOf(text);
+            case 't':
+                return Timestamp.valueOf(text);
+            case 'u':
+                return new java.util.Date(Long.parseLong(text));
+            case 'l':
+                return LocalDate.parse(text);
+            case 'm':
+                return LocalDateTime.parse(text);
+            default:
+                throw new IllegalArgumentException(String.valueOf(type));
+        }
+    }
+
+}
@@ -72,6 +72,20 @@ public Map<String, SqlAggregationType> getAggregateSelectCols() {
         return aggregateSelectCols;
     }
 
+    /**
+     * Returns fingerprint of the query template and aliases of the native query builder.Two native query builders having
+     * same fingerprint generate same SQL query for a given GraphQL request.
+     */
+    public String getShapeKey() {
+        StringBuilder shapeKey = new StringBuilder(getClass().getSimpleName());
+        QueryBuilder.appendShapePart(shapeKey, graphKey);
+        QueryBuilder.appendShapePart(shapeKey, rootKey);
+        QueryBuilder.appendShapePart(shapeKey, queryTemplate);
+        QueryBuilder.appendShapePart(shapeKey, aliasToGraphMap);
+        QueryBuilder.appendShapePart(shapeKey, aggregateSelectCols);
+        return shapeKey.toString();
+    }
+
     public static class SimpleBuilder {
 
         private String graphKey;
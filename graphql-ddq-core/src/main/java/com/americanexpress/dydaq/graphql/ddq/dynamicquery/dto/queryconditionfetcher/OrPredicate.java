@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import java.util.List;
+
+/**
+ * Predicate true when any of its predicates is true,see {@link Predicate#or(Predicate...)}
+ */
+public final class OrPredicate extends Predicate {
+
+    private final List<Predicate> predicates;
+
+    OrPredicate(List<Predicate> predicates) {
+        this.predicates = predicates;
+    }
+
+    public List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * And conditions are evaluated before or,so predicates are separated by or without brackets
+     */
+    @Override
+    void appendTo(List<String> conditions, List<Object> values) {
+        for (int index = 0; index < predicates.size(); index++) {
+            if (index > 0) {
+                conditions.add("or");
+            }
+            predicates.get(index).appendTo(conditions, values);
+        }
+    }
+
+    @Override
+    void appendAsAndCondition(List<String> conditions, List<Object> values) {
+        if (predicates.size() == 1) {
+            appendTo(conditions, values);
+            return;
+        }
+        conditions.add("(");
+        appendTo(conditions, values);
+        conditions.add(")");
+    }
+
+}
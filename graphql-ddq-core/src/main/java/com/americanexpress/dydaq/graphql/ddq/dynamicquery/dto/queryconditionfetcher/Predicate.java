@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable where/having condition carrying the values of its parameters(?).Predicates are added to the query builders using
+ * addWhereCondition/addHavingCondition,which collect the values in the order of the parameters in the query,see
+ * {@link QueryBuilder#getBindValues()}.As values are not part of the query,queries of predicates differing only in values are same
+ * and are generated once.
+ * <p>
+ * Eg : Predicate.and(Predicate.compare("surgeon.dept_id", SqlCondition.equal, 901), Predicate.or(Predicate.in("rootObject.city", cities),
+ * Predicate.between("rootObject.hospital_id", 1001, 1003))) adds snippet
+ * <strong>surgeon.dept_id = ? and ( rootObject.city in (?,?) or rootObject.hospital_id between ? and ? )</strong>
+ * <p>
+ * Columns are passed as they are added in the query ie.. {graphKey}.{columnName} for {@link JoinQueryBuilder} and {columnName}
+ * for {@link SimpleQueryBuilder}.
+ */
+public abstract class Predicate {
+
+    Predicate() {
+    }
+
+    /**
+     * Returns predicate true when all the predicates passed are true
+     */
+    public static Predicate and(Predicate... predicates) {
+        return new AndPredicate(toList("and", predicates));
+    }
+
+    /**
+     * Returns predicate true when any of the predicates passed is true
+     */
+    public static Predicate or(Predicate... predicates) {
+        return new OrPredicate(toList("or", predicates));
+    }
+
+    /**
+     * Eg : Predicate.compare("rootObject.hospital_id", SqlCondition.greaterThan, 1001) adds snippet <strong>rootObject.hospital_id &gt; ?</strong>
+     *
+     * @param values values of the parameters of the condition,none for {@link SqlCondition#isNull}/{@link SqlCondition#notNull}
+     */
+    public static Predicate compare(String column, SqlCondition condition, Object... values) {
+        return new ComparePredicate(column, condition, toValues(column + condition.getCondition(), values));
+    }
+
+    /**
+     * Eg : Predicate.in("rootObject.city", Arrays.asList("Phoenix", "Austin", "Austin")) adds snippet <strong>rootObject.city in (?,?,?,?)</strong>,
+     * values are padded to the bucket size of {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.InListExpansion}
+     */
+    public static Predicate in(String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.EMPTY_PREDICATE, "In predicate on " + column, "value"));
+        }
+        return new InPredicate(column, Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    /**
+     * Eg : Predicate.between("rootObject.hospital_id", 1001, 1003) adds snippet <strong>rootObject.hospital_id between ? and ?</strong>
+     */
+    public static Predicate between(String column, Object from, Object to) {
+        return new BetweenPredicate(column, from, to);
+    }
+
+    /**
+     * Eg : Predicate.exists("select 1 from surgeon_tbl s where s.hospital_id = rootObject.hospital_id and s.dept_id = ?", 901) adds snippet
+     * <strong>exists (select 1 from surgeon_tbl s where s.hospital_id = rootObject.hospital_id and s.dept_id = ?)</strong>
+     *
+     * @param values values of the parameters of the sub query
+     */
+    public static Predicate exists(String subQuery, Object... values) {
+        return new ExistsPredicate(subQuery, toValues(subQuery, values));
+    }
+
+    /**
+     * Appends the conditions of the predicate in the form stored by the query builders ie.. conditions along with "or","(" and ")",
+     * and the values of their parameters
+     */
+    abstract void appendTo(List<String> conditions, List<Object> values);
+
+    /**
+     * Appends the predicate as one of the conditions and-ed together,or predicates are put in brackets
+     */
+    void appendAsAndCondition(List<String> conditions, List<Object> values) {
+        appendTo(conditions, values);
+    }
+
+    private static List<Predicate> toList(String type, Predicate[] predicates) {
+        if (predicates.length == 0) {
+            throw new DynamicQueryException(String.format(ErrorConstants.EMPTY_PREDICATE, type + " predicate", "predicate"));
+        }
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(predicates)));
+    }
+
+    private static List<Object> toValues(String condition, Object[] values) {
+        int paramCount = 0;
+        for (int index = condition.indexOf('?'); index >= 0; index = condition.indexOf('?', index + 1)) {
+            paramCount++;
+        }
+        if (paramCount != values.length) {
+            throw new DynamicQueryException(String.format(ErrorConstants.BIND_VALUES_MISMATCH, condition.trim(), paramCount, values.length));
+        }
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(values)));
+    }
+
+}
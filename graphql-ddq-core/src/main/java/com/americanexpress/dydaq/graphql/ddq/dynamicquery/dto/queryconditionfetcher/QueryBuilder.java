@@ -14,10 +14,14 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.InListExpansion;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -27,14 +31,25 @@
  */
 public class QueryBuilder {
 
-    protected List<String> whereCondition = new LinkedList<>();
-    protected List<String> orderByCondition = new LinkedList<>();
-    protected List<String> groupByCondition = new LinkedList<>();
+    protected List<String> whereCondition = new ArrayList<>();
+    protected List<String> orderByCondition = new ArrayList<>();
+    protected List<String> groupByCondition = new ArrayList<>();
     protected String limit = "";
     protected String offsetWithLimit = "";
     protected Map<String, SqlAggregationType> aggregateSelectCols = new HashMap<>();
 
-    protected List<String> havingCondition = new LinkedList<>();
+    protected List<String> havingCondition = new ArrayList<>();
+
+    protected List<Object> whereValues = Collections.emptyList();
+    protected List<Object> havingValues = Collections.emptyList();
+    protected boolean unboundParams;
+
+    protected List<String> keysetColumns;
+    protected List<Object> keysetValues = Collections.emptyList();
+    protected boolean keysetBackward;
+
+    protected String lookupColumn;
+    protected List<Object> lookupKeys = Collections.emptyList();
 
     public List<String> getHavingCondition() {
         return havingCondition;
@@ -64,4 +79,171 @@ public Map<String, SqlAggregationType> getAggregateSelectCols() {
         return aggregateSelectCols;
     }
 
+    /**
+     * @return columns the query is paged on,empty list when paged on primary keys and null when keyset pagination is not used
+     */
+    public List<String> getKeysetColumns() {
+        return keysetColumns;
+    }
+
+    /**
+     * @return values of the key columns decoded from the cursor,empty list for the first page
+     */
+    public List<Object> getKeysetValues() {
+        return keysetValues;
+    }
+
+    public boolean isKeysetPaged() {
+        return keysetColumns != null;
+    }
+
+    /**
+     * @return true when rows before the cursor are fetched in descending order of the key columns
+     */
+    public boolean isKeysetBackward() {
+        return keysetBackward;
+    }
+
+    void setKeyset(List<String> keysetColumns, String cursor, boolean keysetBackward) {
+        this.keysetColumns = keysetColumns;
+        this.keysetValues = KeysetCursor.decode(cursor);
+        this.keysetBackward = keysetBackward;
+    }
+
+    /**
+     * @return column the rows are looked up on,null when no lookup keys are added
+     */
+    public String getLookupColumn() {
+        return lookupColumn;
+    }
+
+    /**
+     * @return keys the rows are looked up for,empty list when no lookup keys are added
+     */
+    public List<Object> getLookupKeys() {
+        return lookupKeys;
+    }
+
+    /**
+     * Returns values of the parameters(?) of the inline table of the lookup keys,which are the first parameters of the query.Keys are
+     * padded to the bucket size of {@link InListExpansion} by repeating the last key,so chunks of different sizes have the same query.
+     *
+     * @return values of the parameters,empty when no lookup keys are added
+     */
+    public List<Object> getLookupBindValues() {
+        if (lookupKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> lookupValues = new ArrayList<>(lookupKeys);
+        Object lastKey = lookupKeys.get(lookupKeys.size() - 1);
+        for (int index = lookupKeys.size(); index < InListExpansion.getInstance().getBucketSize(lookupKeys.size()); index++) {
+            lookupValues.add(lastKey);
+        }
+        return Collections.unmodifiableList(lookupValues);
+    }
+
+    void setLookupKeys(String lookupColumn, List<Object> lookupKeys) {
+        verifyLookupKeys();
+        this.lookupColumn = lookupColumn;
+        this.lookupKeys = lookupKeys;
+    }
+
+    private void verifyLookupKeys() {
+        if (isKeysetPaged()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_SUPPORTED, "keyset pagination"));
+        }
+        if ((limit != null && !limit.isEmpty()) || (offsetWithLimit != null && !offsetWithLimit.isEmpty())) {
+            throw new DynamicQueryException(String.format(ErrorConstants.LOOKUP_KEYS_NOT_SUPPORTED, "limit"));
+        }
+    }
+
+    /**
+     * Returns values of the parameters(?) of the where conditions followed by the having conditions added as {@link Predicate},in the
+     * order of the parameters in the query.Values of the limit/offset and of the keyset pagination are set after them and values of
+     * the lookup keys before them,see {@link QueryBuilder#getLookupBindValues()}.
+     *
+     * @return values of the parameters,empty when no predicate is added
+     * @throws DynamicQueryException if conditions having parameters are added without values along with the predicates
+     */
+    public List<Object> getBindValues() {
+        if (whereValues.isEmpty() && havingValues.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (unboundParams) {
+            throw new DynamicQueryException(ErrorConstants.BIND_VALUES_NOT_ADDED);
+        }
+        List<Object> bindValues = new ArrayList<>(whereValues);
+        bindValues.addAll(havingValues);
+        return Collections.unmodifiableList(bindValues);
+    }
+
+    void setBindValues(List<Object> whereValues, List<Object> havingValues, boolean unboundParams) {
+        this.whereValues = whereValues;
+        this.havingValues = havingValues;
+        this.unboundParams = unboundParams;
+    }
+
+    /**
+     * Returns true if the condition has a parameter(?),used by the builders to know the conditions added without values
+     */
+    static boolean hasParams(String condition) {
+        return condition.indexOf('?') >= 0;
+    }
+
+    /**
+     * Returns fingerprint of the conditions added in the query builder.Two query builders having same fingerprint
+     * generate same SQL query for a given GraphQL request.
+     */
+    public String getShapeKey() {
+        StringBuilder shapeKey = new StringBuilder(getClass().getSimpleName());
+        appendShapePart(shapeKey, whereCondition);
+        appendShapePart(shapeKey, orderByCondition);
+        appendShapePart(shapeKey, groupByCondition);
+        appendShapePart(shapeKey, havingCondition);
+        appendShapePart(shapeKey, limit);
+        appendShapePart(shapeKey, offsetWithLimit);
+        appendShapePart(shapeKey, aggregateSelectCols);
+        //only presence of the cursor changes the query,its values are query parameters
+        appendShapePart(shapeKey, keysetColumns);
+        appendShapePart(shapeKey, (keysetValues.isEmpty() ? "" : "cursor") + (keysetBackward ? "#backward" : ""));
+        //only number of parameters of the lookup keys changes the query
+        appendShapePart(shapeKey, lookupColumn == null ? null : lookupColumn + "#" + getLookupBindValues().size());
+        return shapeKey.toString();
+    }
+
+    /**
+     * Appends the value passed into the shape key prefixed with its length so that values of adjacent parts can never
+     * be mistaken for each other
+     */
+    protected static void appendShapePart(StringBuilder shapeKey, String part) {
+        if (part == null) {
+            shapeKey.append('~');
+        } else {
+            shapeKey.append(part.length()).append(':').append(part);
+        }
+    }
+
+    protected static void appendShapePart(StringBuilder shapeKey, List<String> parts) {
+        if (parts == null) {
+            shapeKey.append('~');
+            return;
+        }
+        shapeKey.append('[').append(parts.size());
+        for (String part : parts) {
+            appendShapePart(shapeKey, part);
+        }
+    }
+
+    protected static void appendShapePart(StringBuilder shapeKey, Map<String, ?> parts) {
+        if (parts == null) {
+            shapeKey.append('~');
+            return;
+        }
+        shapeKey.append('{').append(parts.size());
+        for (Map.Entry<String, ?> part : parts.entrySet()) {
+            appendShapePart(shapeKey, part.getKey());
+            appendShapePart(shapeKey, String.valueOf(part.getValue()));
+        }
+    }
+
 }
@@ -14,14 +14,21 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlSubQueryCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
 import org.springframework.lang.NonNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -85,20 +92,76 @@ public String getGraphKey() {
         return graphKey;
     }
 
+    @Override
+    public String getShapeKey() {
+        StringBuilder shapeKey = new StringBuilder(super.getShapeKey());
+        appendShapePart(shapeKey, graphKey);
+        return shapeKey.toString();
+    }
+
+    /**
+     * Returns copy of the query builder paged on the same key columns from the cursor passed
+     *
+     * @param cursor   of the row to page from
+     * @param backward true to fetch rows before the cursor,false for rows after it
+     */
+    public SimpleQueryBuilder withKeysetCursor(String cursor, boolean backward) {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder(graphKey, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+        simpleQueryBuilder.setKeyset(keysetColumns, cursor, backward);
+        simpleQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+        return simpleQueryBuilder;
+    }
+
+    /**
+     * Returns copy of the query builder looking up the keys passed instead of its lookup keys,used to fetch the lookup keys in chunks
+     *
+     * @param keys chunk of the lookup keys
+     */
+    public SimpleQueryBuilder withLookupKeys(List<?> keys) {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder(graphKey, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+        simpleQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+        simpleQueryBuilder.setLookupKeys(lookupColumn, Collections.unmodifiableList(new ArrayList<>(keys)));
+        return simpleQueryBuilder;
+    }
+
     public static class Builder {
 
         private String graphKey;
-        private List<String> whereCondition = new LinkedList<>();
-        private List<String> orderByCondition = new LinkedList<>();
-        private List<String> groupByCondition = new LinkedList<>();
+        private List<String> whereCondition = new ArrayList<>();
+        private List<String> orderByCondition = new ArrayList<>();
+        private List<String> groupByCondition = new ArrayList<>();
         private String limit;
         private String offsetWithLimit;
-        private List<String> havingCondition = new LinkedList<>();
+        private List<String> havingCondition = new ArrayList<>();
+        private List<Object> whereValues = new ArrayList<>();
+        private List<Object> havingValues = new ArrayList<>();
+        private boolean unboundParams;
         private Map<String, SqlAggregationType> aggregateSelectCols = new LinkedHashMap<>();
+        private List<String> keysetColumns;
+        private String keysetCursor;
+        private boolean keysetBackward;
+        private String lookupColumn;
+        private List<Object> lookupKeys;
 
         public Builder() {
         }
 
+        /**
+         * Looks up the rows whose column is equal to any of the keys,eg.. the keys batched by a DataLoader.Table is joined to an inline
+         * table of the keys,see {@link JoinQueryBuilder.Builder#addLookupKeys(String, Collection)}
+         *
+         * @param columnName column to look up
+         * @param keys       values of the column to look up,duplicates are removed
+         */
+        public Builder addLookupKeys(String columnName, @NonNull Collection<?> keys) {
+            if (keys.isEmpty()) {
+                throw new DynamicQueryException(String.format(ErrorConstants.EMPTY_PREDICATE, "Lookup on " + columnName, "key"));
+            }
+            this.lookupColumn = columnName;
+            this.lookupKeys = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(keys)));
+            return this;
+        }
+
         /**
          * @param graphKey is obtained from {@link SimpleGraphObject} and is used for aliasing the table by the DynamicQuery framework.
          */
@@ -114,6 +177,27 @@ public Builder setGraphKey(String graphKey) {
          */
         public Builder addWhereCondition(String columnName, SqlCondition conditionType) {
             whereCondition.add(columnName + " " + conditionType.getCondition());
+            unboundParams |= hasParams(conditionType.getCondition());
+            return this;
+        }
+
+        /**
+         * Adds the predicate and the values of its parameters,it is and-ed with the conditions added before it same as
+         * the other where conditions.See {@link Predicate} for the predicates.
+         * <p>
+         * Values of all the predicates are returned by {@link QueryBuilder#getBindValues()},so either all or none of the
+         * where/having conditions having parameters(?) need to be predicates.
+         */
+        public Builder addWhereCondition(@NonNull Predicate predicate) {
+            predicate.appendAsAndCondition(whereCondition, whereValues);
+            return this;
+        }
+
+        /**
+         * Adds the predicate and the values of its parameters in the having clause,see {@link Builder#addWhereCondition(Predicate)}
+         */
+        public Builder addHavingCondition(@NonNull Predicate predicate) {
+            predicate.appendAsAndCondition(havingCondition, havingValues);
             return this;
         }
 
@@ -126,6 +210,7 @@ public Builder addWhereCondition(String columnName, SqlCondition conditionType)
          */
         public Builder addWhereWithSubQuery(String columnName, String subQuery, @NonNull SqlSubQueryCondition conditiontype) {
             whereCondition.add(columnName + String.format(conditiontype.getCondition(), subQuery));
+            unboundParams |= hasParams(subQuery);
             return this;
         }
 
@@ -178,6 +263,7 @@ public Builder addGroupByCondition(String columnName) {
          */
         public Builder addHavingCondition(String columnName, SqlCondition conditionType) {
             havingCondition.add(columnName + " " + conditionType.getCondition());
+            unboundParams |= hasParams(conditionType.getCondition());
             return this;
         }
 
@@ -196,6 +282,7 @@ public Builder addHavingConditionWithSubQuery(String columnName, SqlSubQueryCond
                 graphKey = "";
             }
             havingCondition.add(columnName + String.format(sqlCondition.getCondition(), subQuery));
+            unboundParams |= hasParams(subQuery);
             return this;
         }
 
@@ -265,11 +352,66 @@ public Builder addOffsetWithLimitCondition() {
             return this;
         }
 
+        /**
+         * Pages the query on the key columns instead of an offset,so rows of the previous pages are not read and discarded by the database.
+         * Primary keys of the entity are the key columns when no column is passed,otherwise they are added after the columns passed
+         * to break ties.It internally results in the sql snippet <strong> where (k1,k2) &gt; (?,?) Order By k1,k2 limit ? </strong>,
+         * where condition on the keys is added only when a cursor is passed.
+         * <p>
+         * Values of the cursor and the page size are set after the parameters of the where conditions.
+         * {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor#queryPage} sets them and returns the cursor of the next page.
+         *
+         * @param cursor      returned with the previous page,null or empty for the first page
+         * @param columnNames columns of the entity to page on
+         */
+        public Builder addKeysetCondition(String cursor, String... columnNames) {
+            this.keysetColumns = Arrays.asList(columnNames);
+            this.keysetCursor = cursor;
+            this.keysetBackward = false;
+            return this;
+        }
+
+        /**
+         * Pages backwards on the key columns ie.. rows before the cursor are fetched in descending order of the key columns.It internally
+         * results in the sql snippet <strong> where (k1,k2) &lt; (?,?) Order By k1 desc,k2 desc limit ? </strong>,see
+         * {@link Builder#addKeysetCondition(String, String...)}
+         *
+         * @param cursor      of the first row of the page after the rows to be fetched,null or empty for the last page
+         * @param columnNames columns to page on
+         */
+        public Builder addKeysetConditionBefore(String cursor, String... columnNames) {
+            addKeysetCondition(cursor, columnNames);
+            this.keysetBackward = true;
+            return this;
+        }
+
+        /**
+         * Pages on the key columns as requested by the arguments of the GraphQL connection ie.. forward from after cursor for first
+         * and backward from before cursor for last
+         *
+         * @param connectionRequest obtained from {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator#getConnectionRequest()}
+         * @param columnNames       columns to page on
+         */
+        public Builder addConnectionCondition(ConnectionRequest connectionRequest, String... columnNames) {
+            if (connectionRequest.isBackward()) {
+                return addKeysetConditionBefore(connectionRequest.getBefore(), columnNames);
+            }
+            return addKeysetCondition(connectionRequest.getAfter(), columnNames);
+        }
+
         /**
          * used to build the query after all the conditions have been added
          */
         public SimpleQueryBuilder build() {
-            return new SimpleQueryBuilder(graphKey, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+            SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder(graphKey, whereCondition, orderByCondition, groupByCondition, limit, offsetWithLimit, havingCondition, aggregateSelectCols);
+            if (keysetColumns != null) {
+                simpleQueryBuilder.setKeyset(keysetColumns, keysetCursor, keysetBackward);
+            }
+            simpleQueryBuilder.setBindValues(whereValues, havingValues, unboundParams);
+            if (lookupColumn != null) {
+                simpleQueryBuilder.setLookupKeys(lookupColumn, lookupKeys);
+            }
+            return simpleQueryBuilder;
         }
 
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL query along with the values of its parameters(?) in the order they appear in the query
+ */
+public class PreparedQuery {
+
+    private final String sql;
+    private final List<Object> params;
+
+    public PreparedQuery(String sql, List<Object> params) {
+        this.sql = sql;
+        this.params = Collections.unmodifiableList(params);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParams() {
+        return params;
+    }
+
+    /**
+     * Returns values of the parameters as an array to be passed to jdbc template/{@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor}
+     */
+    public Object[] getParamArray() {
+        return params.toArray();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan;
+
+import java.util.List;
+
+/**
+ * Query of a single graph level when a {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder}
+ * is executed level by level.
+ * <p>
+ * Query of the root level is complete along with the where/order by conditions of the query builder.Query of a child level
+ * has no where clause,it is completed by appending condition on {@link SplitQueryLevel#getJoinColumns()} for the join column
+ * values of the parents fetched.
+ */
+public class SplitQueryLevel {
+
+    private final String graphKey;
+    private final String parentGraphKey;
+    private final String referenceName;
+    private final boolean innerJoin;
+    private final String query;
+    private final List<String> joinColumns;
+    private final List<String> parentJoinFields;
+    private final List<String> childJoinFields;
+    private final List<String> keyColumns;
+
+    public SplitQueryLevel(String graphKey, String parentGraphKey, String referenceName, boolean innerJoin, String query,
+                           List<String> joinColumns, List<String> parentJoinFields, List<String> childJoinFields, List<String> keyColumns) {
+        this.graphKey = graphKey;
+        this.parentGraphKey = parentGraphKey;
+        this.referenceName = referenceName;
+        this.innerJoin = innerJoin;
+        this.query = query;
+        this.joinColumns = joinColumns;
+        this.parentJoinFields = parentJoinFields;
+        this.childJoinFields = childJoinFields;
+        this.keyColumns = keyColumns;
+    }
+
+    public String getGraphKey() {
+        return graphKey;
+    }
+
+    /**
+     * Returns graph level of the parent,null for the root level
+     */
+    public String getParentGraphKey() {
+        return parentGraphKey;
+    }
+
+    /**
+     * Returns name of the field in the parent entity referring to the entity of this level ie.. surgeon for graph level surgeon_docSpeciality is docSpeciality
+     */
+    public String getReferenceName() {
+        return referenceName;
+    }
+
+    /**
+     * Returns true if the level is inner joined with its parent,parents having no child are then not returned
+     */
+    public boolean isInnerJoin() {
+        return innerJoin;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns columns of this level,prefixed with the graph level,that are matched with the parent join column values
+     */
+    public List<String> getJoinColumns() {
+        return joinColumns;
+    }
+
+    /**
+     * Returns fields of the parent entity holding the join column values,in the order of {@link SplitQueryLevel#getJoinColumns()}
+     */
+    public List<String> getParentJoinFields() {
+        return parentJoinFields;
+    }
+
+    /**
+     * Returns fields of the entity of this level holding the join column values,in the order of {@link SplitQueryLevel#getJoinColumns()}
+     */
+    public List<String> getChildJoinFields() {
+        return childJoinFields;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    public boolean isRoot() {
+        return parentGraphKey == null;
+    }
+
+}
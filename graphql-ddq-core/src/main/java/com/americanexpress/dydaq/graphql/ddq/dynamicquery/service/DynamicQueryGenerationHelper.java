@@ -15,13 +15,19 @@
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
 
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.JsonQueryDialect;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.LookupTableDialect;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.QueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan.SplitQueryLevel;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
 import org.apache.commons.text.StrSubstitutor;
 import org.apache.logging.log4j.LogManager;
@@ -34,11 +40,57 @@
 public class DynamicQueryGenerationHelper {
 
     private static final Logger LOGGER = LogManager.getLogger(DynamicQueryGenerationHelper.class);
+    /**
+     * Alias of the page of root keys joined by the query of a join query builder paged on keys
+     */
+    private static final String KEYSET_PAGE_ALIAS = "keysetPage";
+    /**
+     * Column numbering the rows of a limited graph level within their parent
+     */
+    private static final String GRAPH_ROW_NUMBER = "graph_row_number";
+    /**
+     * Start of the exists conditions replacing the joins of graph levels used only to filter their parents
+     */
+    private static final String EXISTS_SNIPPET = "exists (select 1 from ";
+    /**
+     * Alias and column of the inline table of the lookup keys joined to the root table
+     */
+    private static final String LOOKUP_ALIAS = "lookup_keys";
+    private static final String LOOKUP_COLUMN = "key_value";
+    //column of a MySQL values statement,which can not be named by a column list of the derived table
+    private static final String MYSQL_VALUES_COLUMN = "column_0";
 
-    private SimpleGraphObject simpleGraphObject;
+    /**
+     * Fields requested by the GraphQL request along with the fields added for the query being generated,see {@link #withGraphObject(SimpleGraphObject)}
+     */
+    private final SimpleGraphObject simpleGraphObject;
+    /**
+     * Request shape used as part of the keys of {@link QueryShapeCache},fields added for a query are derived from it and the query builder
+     */
+    private final SimpleGraphObject requestGraphObject;
+    /**
+     * Metadata snapshot used for all queries generated by this instance,so that a reload of metadata does not change the
+     * metadata in the middle of query generation
+     */
+    private final MetadataRegistry metadataRegistry;
 
     public DynamicQueryGenerationHelper(SimpleGraphObject simpleGraphObject) {
+        this(simpleGraphObject, simpleGraphObject, MetadataRegistry.getInstance());
+    }
+
+    private DynamicQueryGenerationHelper(SimpleGraphObject simpleGraphObject, SimpleGraphObject requestGraphObject, MetadataRegistry metadataRegistry) {
         this.simpleGraphObject = simpleGraphObject;
+        this.requestGraphObject = requestGraphObject;
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    /**
+     * Returns helper generating queries for the SimpleGraphObject passed,which is the request shape of this helper with the fields
+     * a query needs added.This helper and its SimpleGraphObject are not changed,so queries generated do not depend on the order
+     * in which they are generated.
+     */
+    private DynamicQueryGenerationHelper withGraphObject(SimpleGraphObject querySimpleGraphObject) {
+        return (querySimpleGraphObject == simpleGraphObject ? this : new DynamicQueryGenerationHelper(querySimpleGraphObject, requestGraphObject, metadataRegistry));
     }
 
     /**
@@ -46,8 +98,6 @@ public DynamicQueryGenerationHelper(SimpleGraphObject simpleGraphObject) {
      * specific to the entity for which the NativeQueryBuilderObject is created.
      */
     public String nativeQueryBuilder(NativeQueryBuilder queryBuilder) {
-        StrSubstitutor sub = new StrSubstitutor(queryBuilder.getAliasToGraphMap());
-
         if (queryBuilder.getQueryTemplate() == null) {
             throw new DynamicQueryException(ErrorConstants.EMPTY_QUERY);
         }
@@ -56,6 +106,12 @@ public String nativeQueryBuilder(NativeQueryBuilder queryBuilder) {
             throw new DynamicQueryException(ErrorConstants.EMPTY_QUERY);
         }
 
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey()), () -> generateNativeQuery(queryBuilder));
+    }
+
+    private String generateNativeQuery(NativeQueryBuilder queryBuilder) {
+        StrSubstitutor sub = new StrSubstitutor(queryBuilder.getAliasToGraphMap());
+
         //Transforming Aggregate map in native form to dydaqJPA understandable format.eg ${alias}.{columnNmae} will be converted to graphKey.columnName
         Map<String, SqlAggregationType> aggregateColumnMap = transformAggSelectColMap(sub, queryBuilder.getAggregateSelectCols());
 
@@ -119,10 +175,10 @@ private String selectColumnsFromSimpleGraphObject(String graphKey, String graphR
 
         Map<String, Set<String>> tableColMap = simpleGraphObject.getGqlGraphReqFieldMap();
         StringBuilder columnSelect = new StringBuilder();
-        Set<String> gqlFieldNames = new HashSet<>();
+        Set<String> gqlFieldNames = new LinkedHashSet<>();
         Map<String, String> graphEntityMap;
         if (graphKey.length() < graphRootKey.length() && !graphRootKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL)) {
-            graphEntityMap = EntityMetaDataProvider.GRAPH_ENTITY_MAP.get(simpleGraphObject.getRootEntity());
+            graphEntityMap = metadataRegistry.getGraphEntityMap(simpleGraphObject.getRootEntity());
             throw new DynamicQueryException(String.format(ErrorConstants.GRAPH_KEY_NOT_CHILD_OF_ROOT, graphEntityMap.get(graphRootKey) + " having graph level " + graphRootKey, graphEntityMap.get(graphKey) + " having graph level " + graphKey + " ", graphEntityMap.get(graphRootKey)));
         }
 
@@ -141,39 +197,158 @@ private String selectColumnsFromSimpleGraphObject(String graphKey, String graphR
         if (tableColMap.get(graphKey) != null) {
             gqlFieldNames.addAll(tableColMap.get(graphKey));
         }
-        int graphRootKeyLen = (graphRootKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL) ? 0 : graphKey.indexOf(graphRootKey) + graphRootKey.length() + 1);
-        String columnAlias = (graphKey.equals(graphRootKey)) ? "" : graphKey.substring(graphRootKeyLen) + "_";
-        for (String gqlField : gqlFieldNames) {
-            String columnName = getColumnNameFromGraphKeyAndGQLField(graphKey, gqlField);
-
-            if (aggregateSelectCols.containsKey(graphKey + "." + columnName)) {
+        String columnAlias = getColumnAlias(graphKey, graphRootKey);
+        Map<String, String> selectFragmentMap = getGraphSelectFragments(graphKey, graphRootKey);
+        for (String columnName : getSelectColumnNames(graphKey, gqlFieldNames)) {
+            if (!aggregateSelectCols.isEmpty() && aggregateSelectCols.containsKey(graphKey + "." + columnName)) {
                 String aggregatedColumn = String.format(aggregateSelectCols.get(graphKey + "." + columnName).getAggregateType(), graphKey + "." + columnName);
                 columnSelect = columnSelect.append(", " + aggregatedColumn).append(" as ")
                         .append(columnAlias).append(columnName);
             } else {
-                columnSelect = columnSelect.append(", " + graphKey + ".").append(columnName).append(" as ")
-                        .append(columnAlias).append(columnName);
+                String selectFragment = selectFragmentMap.get(columnName);
+                columnSelect.append(selectFragment != null ? selectFragment : MetadataRegistry.getSelectFragment(graphKey, columnAlias, columnName));
             }
         }
         return (columnSelect.length() > 0 ? columnSelect.toString() : "");
     }
 
+    /**
+     * Returns prefix of the column aliases of the graph level,it is the graph level relative to the root of the query followed by "_".
+     * SimpleFlatMapper uses this prefix to set the columns into the nested entities.
+     */
+    private String getColumnAlias(String graphKey, String graphRootKey) {
+        int graphRootKeyLen = (graphRootKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL) ? 0 : graphKey.indexOf(graphRootKey) + graphRootKey.length() + 1);
+        return (graphKey.equals(graphRootKey)) ? "" : graphKey.substring(graphRootKeyLen) + "_";
+    }
+
+    /**
+     * Returns aliases of the primary key columns selected by the join query of the query builder.These are the keys
+     * SimpleFlatMapper needs to group the rows of the joined tables into nested entities.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return primary key column aliases of all the graph levels selected,root level first
+     */
+    public List<String> getKeyColumns(JoinQueryBuilder queryBuilder) {
+        DynamicQueryGenerationHelper queryHelper = withGraphObject(getJoinQueryGraphObject(queryBuilder));
+        return queryHelper.getKeyColumns(queryHelper.getJoinedGraphKeys(queryBuilder), queryBuilder.getRootObject(), queryBuilder.getAggregateSelectCols().isEmpty());
+    }
+
+    /**
+     * Returns graph levels selected by the join query of the query builder,root level first
+     */
+    private List<String> getJoinedGraphKeys(JoinQueryBuilder queryBuilder) {
+        Set<String> whereGraphKeys = new HashSet<>();
+        for (String whereCol : queryBuilder.getWhereCondition()) {
+            if (whereCol.contains(".")) {
+                whereGraphKeys.add(whereCol.split("\\.")[0]);
+            }
+        }
+        Set<String> semiJoinedGraphKeys = new HashSet<>();
+        getSemiJoinGraphKeys(queryBuilder).values().forEach(semiJoinedGraphKeys::addAll);
+        List<String> graphKeys = new ArrayList<>();
+        graphKeys.add(queryBuilder.getRootObject());
+        for (String graphKey : queryBuilder.getGraphJoinType().keySet()) {
+            if ((simpleGraphObject.getGqlGraphReqFieldMap().containsKey(graphKey) || whereGraphKeys.contains(graphKey))
+                    && !semiJoinedGraphKeys.contains(graphKey)) {
+                graphKeys.add(graphKey);
+            }
+        }
+        return graphKeys;
+    }
+
+    /**
+     * Returns primary key columns selected by the query of the query builder
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder}
+     */
+    public List<String> getKeyColumns(SimpleQueryBuilder queryBuilder) {
+        return withGraphObject(getSelectQueryGraphObject(queryBuilder)).getKeyColumns(Collections.singletonList(queryBuilder.getGraphKey()), queryBuilder.getGraphKey(), queryBuilder.getAggregateSelectCols().isEmpty());
+    }
+
+    /**
+     * Returns fields of the entity of the graph level of the query builder whose values in the last entity of a page are the
+     * cursor of the next page,see {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetCursor}
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder}
+     * @return field names in the order of the key columns,empty list if the query builder is not paged on keys
+     */
+    public List<String> getKeysetFields(SimpleQueryBuilder queryBuilder) {
+        return getKeysetFields(queryBuilder, queryBuilder.getGraphKey());
+    }
+
+    /**
+     * Returns fields of the root entity of the join query builder whose values in the last root entity of a page are the cursor of the next page
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return field names in the order of the key columns,empty list if the query builder is not paged on keys
+     */
+    public List<String> getKeysetFields(JoinQueryBuilder queryBuilder) {
+        return getKeysetFields(queryBuilder, queryBuilder.getRootObject());
+    }
+
+    /**
+     * Returns primary key column aliases selected by the native query of the query builder
+     *
+     * @param queryBuilder instance of {@link NativeQueryBuilder}
+     */
+    public List<String> getKeyColumns(NativeQueryBuilder queryBuilder) {
+        boolean selectsPrimaryKeys = queryBuilder.getAggregateSelectCols().isEmpty();
+        if (queryBuilder.getGraphKey() != null) {
+            return getKeyColumns(Collections.singletonList(queryBuilder.getGraphKey()), queryBuilder.getGraphKey(), selectsPrimaryKeys);
+        }
+        if (queryBuilder.getRootKey() == null) {
+            return Collections.emptyList();
+        }
+        List<String> graphKeys = new ArrayList<>();
+        for (String graphKey : queryBuilder.getAliasToGraphMap().values()) {
+            if (simpleGraphObject.getGqlGraphEntityMap().containsKey(graphKey)) {
+                graphKeys.add(graphKey);
+            }
+        }
+        return getKeyColumns(graphKeys, queryBuilder.getRootKey(), selectsPrimaryKeys);
+    }
+
+    /**
+     * @param graphKeys          graph levels selected in the query
+     * @param graphRootKey       is the root level of the query
+     * @param selectsPrimaryKeys is true when primary keys of every graph level are selected ie.. no aggregate columns are
+     *                           selected,otherwise only primary keys requested as fields are selected
+     */
+    private List<String> getKeyColumns(Collection<String> graphKeys, String graphRootKey, boolean selectsPrimaryKeys) {
+        List<String> keyColumns = new ArrayList<>();
+        for (String graphKey : graphKeys) {
+            String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
+            List<String> pkFields = metadataRegistry.getPkFields(entityName);
+            if (pkFields == null) {
+                continue;
+            }
+            Set<String> requestedFields = simpleGraphObject.getGqlGraphReqFieldMap().getOrDefault(graphKey, Collections.emptySet());
+            String columnAlias = getColumnAlias(graphKey, graphRootKey);
+            for (String pkField : pkFields) {
+                if (selectsPrimaryKeys || requestedFields.contains(pkField)) {
+                    keyColumns.add(columnAlias + metadataRegistry.getFieldColumnMap(entityName).get(pkField));
+                }
+            }
+        }
+        return keyColumns;
+    }
+
     /**
      * It takes Aggregate columns added via Query builders and Graph Root Key.Using GraphRoot Key it determines the Root entity
      * and then fetches graphEntityMap.From GraphEntityMap it determines the EnittyFieldColumnMap and checks if the column added in the aggregate map
      * are present in entity field column map
      */
     private void verifyAggregateSelectCols(Map<String, SqlAggregationType> aggregateSelectCols, String graphRootEntity, String graphKey) {
-        Map<String, String> graphEntityMap = EntityMetaDataProvider.GRAPH_ENTITY_MAP.get(graphRootEntity);
+        Map<String, String> graphEntityMap = metadataRegistry.getGraphEntityMap(graphRootEntity);
         for (String graphKeyWithAggColumnName : aggregateSelectCols.keySet()) {
             if (graphKeyWithAggColumnName.contains(".")) {
                 String entityName = graphEntityMap.get(graphKeyWithAggColumnName.split("\\.")[0]);
-                if (!EntityMetaDataProvider.ENTITY_COL_FIELD_MAP.get(entityName).containsKey(graphKeyWithAggColumnName.split("\\.")[1])) {
+                if (!metadataRegistry.getColumnFieldMap(entityName).containsKey(graphKeyWithAggColumnName.split("\\.")[1])) {
                     throw new DynamicQueryException(String.format(ErrorConstants.AGG_COLUMN_NOT_FOUND, graphKeyWithAggColumnName.split("\\.")[1], entityName));
                 }
             } else {
                 String entityName = graphEntityMap.get(graphKey);
-                if (!EntityMetaDataProvider.ENTITY_COL_FIELD_MAP.get(entityName).containsKey(graphKeyWithAggColumnName)) {
+                if (!metadataRegistry.getColumnFieldMap(entityName).containsKey(graphKeyWithAggColumnName)) {
                     throw new DynamicQueryException(String.format(ErrorConstants.AGG_COLUMN_NOT_FOUND, graphKeyWithAggColumnName, entityName));
                 }
             }
@@ -189,28 +364,176 @@ private void verifyAggregateSelectCols(Map<String, SqlAggregationType> aggregate
      * @return SQL query for the table having alias as graphKey name
      */
     public String getSelectQuery(SimpleQueryBuilder queryBuilder) {
-        if (!queryBuilder.getGroupByCondition().isEmpty()) {
-            //adding field names for groupby columns into SimpleGraphObject against graphKey specified in querybuilder.This field name will be added into the select query
-            addColumnsInSimpleGraphObject(queryBuilder);
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey()),
+                () -> withGraphObject(getSelectQueryGraphObject(queryBuilder)).generateSelectQuery(queryBuilder));
+    }
+
+    /**
+     * Returns SimpleGraphObject with field names of the group by columns of the query builder added against its graphKey,so they are selected by the query
+     */
+    private SimpleGraphObject getSelectQueryGraphObject(SimpleQueryBuilder queryBuilder) {
+        Map<String, Set<String>> additionalFieldMap = new LinkedHashMap<>();
+        for (String columnName : queryBuilder.getGroupByCondition()) {
+            addFieldNameForColumn(additionalFieldMap, queryBuilder.getGraphKey(), columnName);
         }
+        addKeysetFields(additionalFieldMap, queryBuilder, queryBuilder.getGraphKey());
+        return simpleGraphObject.withFields(additionalFieldMap);
+    }
 
+    private String generateSelectQuery(SimpleQueryBuilder queryBuilder) {
         //Verifying if all the columns which needs to be aggregated are actually valid SQL columns and are present in respective entity
         verifyAggregateSelectCols(queryBuilder.getAggregateSelectCols(), simpleGraphObject.getRootEntity(), queryBuilder.getGraphKey());
         //gets select columns for the graphKey.
         String colSelects = selectColumnsFromSimpleGraphObject(queryBuilder.getGraphKey(), queryBuilder.getAggregateSelectCols());
-        String fromTable = EntityMetaDataProvider.ENTITY_TABLE_MAP.get(simpleGraphObject.getGqlGraphEntityMap().get(queryBuilder.getGraphKey()));
+        String fromTable = getLookupTableReference(queryBuilder,
+                metadataRegistry.getTableName(simpleGraphObject.getGqlGraphEntityMap().get(queryBuilder.getGraphKey())));
+        if (queryBuilder.isKeysetPaged()) {
+            verifyKeysetConditions(queryBuilder);
+            List<String> keyColumns = getKeysetColumnNames(queryBuilder, queryBuilder.getGraphKey(), "");
+            return buildQuery(queryBuilder, colSelects, fromTable, getKeysetWhereCondition(queryBuilder, buildWhereCondition(queryBuilder), keyColumns),
+                    getKeysetOrderColumns(queryBuilder, keyColumns), "?");
+        }
         return buildQuery(queryBuilder, colSelects, fromTable);
     }
 
+    /**
+     * Creates SQL query counting the rows of the keyset paged query builder,ignoring its cursor ie.. total rows of all the pages.
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder} with keyset condition
+     * @return SQL query selecting only the count
+     */
+    public String getCountQuery(SimpleQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#count"), () -> {
+            verifyKeysetPaged(queryBuilder);
+            String fromTable = metadataRegistry.getTableName(simpleGraphObject.getGqlGraphEntityMap().get(queryBuilder.getGraphKey()));
+            return buildQuery(queryBuilder, ",count(*)", fromTable, buildWhereCondition(queryBuilder), Collections.emptyList(), "");
+        });
+    }
+
+    /**
+     * Creates SQL query checking for a row on the cursor side of the keyset paged query builder ie.. select 1 of the rows after the
+     * cursor(before the cursor when paging backward) limited to the parameter(?) passed after the values of the cursor.
+     *
+     * @param queryBuilder instance of {@link SimpleQueryBuilder} with keyset condition
+     * @return SQL query selecting 1 for the rows found
+     */
+    public String getExistsQuery(SimpleQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#exists"), () -> {
+            verifyKeysetPaged(queryBuilder);
+            verifyKeysetConditions(queryBuilder);
+            String fromTable = getLookupTableReference(queryBuilder,
+                    metadataRegistry.getTableName(simpleGraphObject.getGqlGraphEntityMap().get(queryBuilder.getGraphKey())));
+            List<String> keyColumns = getKeysetColumnNames(queryBuilder, queryBuilder.getGraphKey(), "");
+            return buildQuery(queryBuilder, ",1", fromTable, getKeysetWhereCondition(queryBuilder, buildWhereCondition(queryBuilder), keyColumns),
+                    Collections.emptyList(), "?");
+        });
+    }
+
     /**
      * Creates a joined SQL query whose parameters(?) can be set using Spring jdbc template/Java jdbc
-     * The SQL query generated has select columns obtained from {@link SimpleGraphObject#gqlGraphReqFieldMap}
+     * The SQL query generated has select columns obtained from {@link SimpleGraphObject#getGqlGraphReqFieldMap()}
      * specific to the entities for which the JoinQueryBuilder object is created
      *
      * @param queryBuilder instance of {@link JoinQueryBuilder}
      * @return Complete SQL query with for the tables having alias as graphKeys
      */
     public String getJoinQuery(JoinQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey()),
+                () -> withGraphObject(getJoinQueryGraphObject(queryBuilder)).generateJoinQuery(queryBuilder, Collections.emptyList(), KeysetQuery.PAGE));
+    }
+
+    /**
+     * Creates SQL query counting the root entities of the keyset paged join query builder,ignoring its cursor ie.. total root entities
+     * of all the pages.Inner joined graph levels requested are joined,so roots without children are not counted same as the pages.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder} with keyset condition
+     * @return SQL query selecting only the count
+     */
+    public String getCountQuery(JoinQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#count"), () -> {
+            verifyKeysetPaged(queryBuilder);
+            return withGraphObject(getJoinQueryGraphObject(queryBuilder)).generateJoinQuery(queryBuilder, Collections.emptyList(), KeysetQuery.COUNT);
+        });
+    }
+
+    /**
+     * Creates SQL query checking for a root row on the cursor side of the keyset paged join query builder,see
+     * {@link DynamicQueryGenerationHelper#getExistsQuery(SimpleQueryBuilder)}.Only the root table is queried,along with the graph
+     * levels joined when any of them is inner joined as roots without children are not in the pages.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder} with keyset condition
+     * @return SQL query selecting 1 for the root rows found
+     */
+    public String getExistsQuery(JoinQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#exists"), () -> {
+            verifyKeysetPaged(queryBuilder);
+            return withGraphObject(getJoinQueryGraphObject(queryBuilder)).generateJoinQuery(queryBuilder, Collections.emptyList(), KeysetQuery.EXISTS);
+        });
+    }
+
+    /**
+     * Creates the joined SQL query of {@link DynamicQueryGenerationHelper#getJoinQuery(JoinQueryBuilder)} ordered by the primary keys
+     * of every graph level after the order by conditions of the query builder.Rows of a parent are then consecutive,so they can be
+     * merged into the parent while reading the result set and the parent can be released as soon as rows of the next parent start.
+     * Ordering by columns of child graph levels in the query builder breaks the rows of a parent,so they are rejected.
+     * No key order is added when the query builder has group by conditions or aggregate columns.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return joined SQL query ordered by the primary keys of the graph levels
+     * @throws DynamicQueryException if the query builder is ordered by a column of a child graph level
+     */
+    public String getStreamingJoinQuery(JoinQueryBuilder queryBuilder) {
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#stream"), () -> {
+            DynamicQueryGenerationHelper queryHelper = withGraphObject(getJoinQueryGraphObject(queryBuilder));
+            List<String> keyOrderColumns = new ArrayList<>();
+            if (queryBuilder.getGroupByCondition().isEmpty() && queryBuilder.getAggregateSelectCols().isEmpty()) {
+                String childOrderBy = getChildOrderBy(queryBuilder);
+                if (childOrderBy != null) {
+                    throw new DynamicQueryException(String.format(ErrorConstants.STREAMING_CHILD_ORDER_BY, childOrderBy));
+                }
+                //levels not joined have at most one row per parent,so ordering by keys of their parents is enough
+                Set<String> eliminatedGraphKeys = queryHelper.getEliminatedGraphKeys(queryBuilder);
+                for (String graphKey : queryHelper.getJoinedGraphKeys(queryBuilder)) {
+                    if (eliminatedGraphKeys.contains(graphKey)) {
+                        continue;
+                    }
+                    String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
+                    List<String> pkFields = metadataRegistry.getPkFields(entityName);
+                    for (String pkField : (pkFields == null ? Collections.<String>emptyList() : pkFields)) {
+                        keyOrderColumns.add(graphKey + "." + metadataRegistry.getFieldColumnMap(entityName).get(pkField));
+                    }
+                }
+            }
+            return queryHelper.generateJoinQuery(queryBuilder, keyOrderColumns, KeysetQuery.PAGE);
+        });
+    }
+
+    /**
+     * Returns SimpleGraphObject with field names of the group by columns and primary keys of the root level,when none of its field is requested,added
+     */
+    private SimpleGraphObject getJoinQueryGraphObject(JoinQueryBuilder queryBuilder) {
+        String rootGraph = queryBuilder.getRootObject();
+        Map<String, Set<String>> additionalFieldMap = new LinkedHashMap<>();
+
+        for (String columnWithTableAlias : queryBuilder.getGroupByCondition()) {
+            String graphKey = (columnWithTableAlias.contains(".") ? columnWithTableAlias.split("\\.")[0] : "");
+            String colName = (columnWithTableAlias.contains(".") ? columnWithTableAlias.split("\\.")[1] : columnWithTableAlias);
+            addFieldNameForColumn(additionalFieldMap, graphKey, colName);
+        }
+
+        //fixing in case user has not queried fields from root object,it will not be in Request field map.Adding its primary keys
+        if (!simpleGraphObject.getGqlGraphReqFieldMap().containsKey(rootGraph) && !additionalFieldMap.containsKey(rootGraph)
+                && simpleGraphObject.getGqlGraphEntityMap().containsKey(rootGraph)) {
+            addPkFields(additionalFieldMap, rootGraph);
+        }
+        addKeysetFields(additionalFieldMap, queryBuilder, rootGraph);
+        return simpleGraphObject.withFields(additionalFieldMap);
+    }
+
+    /**
+     * @param keysetQuery query created when the query builder is keyset paged
+     */
+    private String generateJoinQuery(JoinQueryBuilder queryBuilder, List<String> keyOrderColumns, KeysetQuery keysetQuery) {
         StringBuilder colSelects = new StringBuilder();
         String rootGraph = queryBuilder.getRootObject();
         String fromTables = "";
@@ -231,6 +554,19 @@ public String getJoinQuery(JoinQueryBuilder queryBuilder) {
                 inputGraphKeySet.add(wherekey);
             }
         }
+        //graph levels used only to filter their parents are added as exists conditions instead of being joined
+        Map<String, List<String>> semiJoinGraphKeys = getSemiJoinGraphKeys(queryBuilder);
+        List<String> whereConditions = getSemiJoinWhereConditions(queryBuilder, semiJoinGraphKeys);
+        semiJoinGraphKeys.values().forEach(inputGraphKeySet::removeAll);
+        //graph levels selecting only their join columns are read from the join columns of their parents instead of being joined
+        Set<String> eliminatedGraphKeys = getEliminatedGraphKeys(queryBuilder);
+        for (String graphKey : eliminatedGraphKeys) {
+            if (SqlJoinType.INNER_JOIN.getJoinType().equals(queryBuilder.getGraphJoinType().get(graphKey))) {
+                for (Pair<String, String> joinCols : getGraphJoinColumns(graphKey)) {
+                    whereConditions.add(getParentGraphKey(graphKey) + "." + joinCols.getFirst() + " is not null");
+                }
+            }
+        }
         //Validating parent graph key are present or not as table respective to the graph level will be joined with its parent
         for (String graphKey : queryBuilder.getGraphJoinType().keySet()) {
             boolean parentgraphPresent = false;
@@ -245,32 +581,24 @@ public String getJoinQuery(JoinQueryBuilder queryBuilder) {
 
         }
 
-        if (!queryBuilder.getGroupByCondition().isEmpty()) {
-            for (String columnWithTableAlias : queryBuilder.getGroupByCondition()) {
-                String graphKey = (columnWithTableAlias.contains(".") ? columnWithTableAlias.split("\\.")[0] : "");
-                String colName = (columnWithTableAlias.contains(".") ? columnWithTableAlias.split("\\.")[1] : columnWithTableAlias);
-                addFieldNameForColumnInSGO(graphKey, colName);
-            }
-        }
-
+        String rootTableWithAlias = null;
         if (simpleGraphObject.getGqlGraphReqFieldMap().containsKey(rootGraph)) {
             colSelects.append(selectColumnsFromSimpleGraphObject(rootGraph, rootGraph, queryBuilder.getAggregateSelectCols()));
             String rootTable = simpleGraphObject.getGqlGraphEntityMap().get(rootGraph);
-            String rootTableWithAlias = EntityMetaDataProvider.ENTITY_TABLE_MAP.get(rootTable) + " " + rootGraph;
+            rootTableWithAlias = getLookupTableReference(queryBuilder, metadataRegistry.getTableName(rootTable) + " " + rootGraph);
             fromTables += rootTableWithAlias;
-        } else if (simpleGraphObject.getGqlGraphEntityMap().containsKey(rootGraph)) {//fixing in case user has not queried fields from root object,it will not be in Request field map.Check in Graph Entity Map
+        } else if (simpleGraphObject.getGqlGraphEntityMap().containsKey(rootGraph)) {//root entity without primary keys and without fields queried
             String entityName = simpleGraphObject.getGqlGraphEntityMap().get(rootGraph);
-            String tableWithAlias = EntityMetaDataProvider.ENTITY_TABLE_MAP.get(entityName) + " " + rootGraph;
-            fromTables += tableWithAlias;
-            addPkFieldToSGOForGraphsWithoutFields(rootGraph, EntityMetaDataProvider.ENTITY_PK_MAP.get(entityName));
-
+            rootTableWithAlias = getLookupTableReference(queryBuilder, metadataRegistry.getTableName(entityName) + " " + rootGraph);
+            fromTables += rootTableWithAlias;
             colSelects.append(selectColumnsFromSimpleGraphObject(rootGraph, rootGraph, queryBuilder.getAggregateSelectCols()));
-
         }
 
         //Adding all the table for the graph key requested in graphQL request and also keys added in where condition in JoinQueryBuilder
         for (String graphKey : queryBuilder.getGraphJoinType().keySet()) {
-            if (inputGraphKeySet.contains(graphKey)) {
+            if (eliminatedGraphKeys.contains(graphKey)) {
+                colSelects.append(selectJoinColumnsOfParent(graphKey, rootGraph));
+            } else if (inputGraphKeySet.contains(graphKey)) {
                 colSelects.append(selectColumnsFromSimpleGraphObject(graphKey, rootGraph, queryBuilder.getAggregateSelectCols()));
                 boolean parentgraphPresent = false;
 
@@ -290,21 +618,648 @@ public String getJoinQuery(JoinQueryBuilder queryBuilder) {
             }
 
         }
-        return buildQuery(queryBuilder, colSelects.toString(), fromTables);
+        if (queryBuilder.isKeysetPaged() && rootTableWithAlias != null) {
+            return generateKeysetJoinQuery(queryBuilder, colSelects.toString(), fromTables.substring(rootTableWithAlias.length()),
+                    rootTableWithAlias, whereConditions, keyOrderColumns, keysetQuery);
+        }
+        return buildQuery(queryBuilder, colSelects.toString(), fromTables, buildWhereCondition(whereConditions), keyOrderColumns, getLimitCondition(queryBuilder));
+    }
+
+    /**
+     * Joins the root table and the child graph levels to a page of the keys of the root rows,so the page size limits the root entities
+     * and not the joined rows.Inner joined graph levels drop the root rows without children,so they are joined in the page as well
+     * and distinct keys are paged.Rows are ordered by the key columns of the root graph level followed by the key order columns.
+     *
+     * @param joinedTables    tables of the child graph levels along with their join conditions
+     * @param whereConditions where conditions of the query builder with the graph levels used only to filter replaced by exists conditions
+     * @param keysetQuery     {@link KeysetQuery#COUNT} counts the distinct keys of the root rows of all the pages instead,
+     *                        {@link KeysetQuery#EXISTS} selects 1 for the root rows on the cursor side
+     */
+    private String generateKeysetJoinQuery(JoinQueryBuilder queryBuilder, String colSelects, String joinedTables, String rootTableWithAlias,
+                                           List<String> whereConditions, List<String> keyOrderColumns, KeysetQuery keysetQuery) {
+        String rootGraph = queryBuilder.getRootObject();
+        verifyKeysetConditions(queryBuilder);
+        if (queryBuilder.getGraphJoinType().containsValue(SqlJoinType.RIGHT_OUTER_JOIN.getJoinType())) {
+            throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_CONDITION_NOT_SUPPORTED, "right outer joins"));
+        }
+        for (String whereCond : whereConditions) {
+            if (!whereCond.equals("or") && !whereCond.equals("(") && !whereCond.equals(")") && !whereCond.startsWith(rootGraph + ".")
+                    && !whereCond.startsWith(EXISTS_SNIPPET)) {
+                throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_CHILD_CONDITION, whereCond));
+            }
+        }
+        List<String> keyColumns = getKeysetColumnNames(queryBuilder, rootGraph, "");
+        List<String> rootKeyColumns = getKeysetColumnNames(queryBuilder, rootGraph, rootGraph + ".");
+        boolean innerJoined = joinedTables.contains(SqlJoinType.INNER_JOIN.getJoinType());
+        String whereCondition = buildWhereCondition(whereConditions);
+        if (keysetQuery == KeysetQuery.EXISTS) {
+            return buildQuery(queryBuilder, ",1", rootTableWithAlias + (innerJoined ? joinedTables : ""),
+                    getKeysetWhereCondition(queryBuilder, whereCondition, rootKeyColumns), Collections.emptyList(), "?");
+        }
+        if (keysetQuery == KeysetQuery.COUNT) {
+            if (!innerJoined) {
+                return buildQuery(queryBuilder, ",count(*)", rootTableWithAlias, whereCondition, Collections.emptyList(), "");
+            }
+            String rootKeys = buildQuery(queryBuilder, ",distinct " + String.join(",", rootKeyColumns), rootTableWithAlias + joinedTables,
+                    whereCondition, Collections.emptyList(), "");
+            return buildQuery(queryBuilder, ",count(*)", "(" + rootKeys.trim() + ") " + KEYSET_PAGE_ALIAS, "", Collections.emptyList(), "");
+        }
+        List<String> rootOrderColumns = getKeysetOrderColumns(queryBuilder, rootKeyColumns);
+        String rootPage = buildQuery(queryBuilder, "," + (innerJoined ? "distinct " : "") + String.join(",", rootKeyColumns),
+                rootTableWithAlias + (innerJoined ? joinedTables : ""), getKeysetWhereCondition(queryBuilder, whereCondition, rootKeyColumns), rootOrderColumns, "?");
+
+        StringBuilder pageJoinCondition = new StringBuilder();
+        for (String keyColumn : keyColumns) {
+            pageJoinCondition.append(pageJoinCondition.length() == 0 ? "" : " and ")
+                    .append(rootGraph).append('.').append(keyColumn).append(" = ").append(KEYSET_PAGE_ALIAS).append('.').append(keyColumn);
+        }
+        List<String> orderColumns = new ArrayList<>(rootOrderColumns);
+        for (String keyOrderColumn : keyOrderColumns) {
+            if (!rootKeyColumns.contains(keyOrderColumn)) {
+                orderColumns.add(keyOrderColumn);
+            }
+        }
+        String fromTables = "(" + rootPage.trim() + ") " + KEYSET_PAGE_ALIAS + SqlJoinType.INNER_JOIN.getJoinType() + rootTableWithAlias
+                + " on " + pageJoinCondition + joinedTables;
+        return buildQuery(queryBuilder, colSelects, fromTables, "", orderColumns, "");
+    }
+
+    /**
+     * Creates queries to fetch the graph levels of the join query builder level by level instead of joining them in a single query.
+     * Root level query has the where/order by conditions of the query builder,child level queries are completed at execution
+     * with condition on the join columns for the values fetched in their parents.
+     * <p>
+     * Empty list is returned when the query builder can not be executed level by level ie.. it has conditions on child graph levels,
+     * group by/having/aggregate columns,limit,right outer joins or a joined graph level whose parent is not requested.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return queries of the graph levels,parents before children.Root level query is always first.
+     */
+    public List<SplitQueryLevel> getSplitQueries(JoinQueryBuilder queryBuilder) {
+        String rootGraph = queryBuilder.getRootObject();
+        List<String> childGraphKeys = getSplitChildGraphKeys(queryBuilder);
+        if (childGraphKeys == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Set<String>> additionalFieldMap = new LinkedHashMap<>();
+        if (!simpleGraphObject.getGqlGraphReqFieldMap().containsKey(rootGraph)) {
+            addPkFields(additionalFieldMap, rootGraph);
+        }
+        addKeysetFields(additionalFieldMap, queryBuilder, rootGraph);
+
+        //join columns must be selected to match the children with their parents,so they are added before any query is generated
+        Map<String, List<Pair<String, String>>> levelJoinColMap = new HashMap<>();
+        for (String graphKey : childGraphKeys) {
+            String parentGraphKey = getParentGraphKey(graphKey);
+            List<Pair<String, String>> joinColumns = getGraphJoinColumns(graphKey);
+            for (Pair<String, String> joinCols : joinColumns) {
+                addFieldNameForColumn(additionalFieldMap, parentGraphKey, joinCols.getFirst());
+                addFieldNameForColumn(additionalFieldMap, graphKey, joinCols.getSecond());
+            }
+            levelJoinColMap.put(graphKey, joinColumns);
+        }
+        return withGraphObject(simpleGraphObject.withFields(additionalFieldMap)).generateSplitQueries(queryBuilder, childGraphKeys, levelJoinColMap);
+    }
+
+    private List<SplitQueryLevel> generateSplitQueries(JoinQueryBuilder queryBuilder, List<String> childGraphKeys,
+                                                       Map<String, List<Pair<String, String>>> levelJoinColMap) {
+        String rootGraph = queryBuilder.getRootObject();
+        List<SplitQueryLevel> splitQueries = new ArrayList<>();
+        String rootEntity = simpleGraphObject.getGqlGraphEntityMap().get(rootGraph);
+        String rootQuery = QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#split#" + rootGraph), () -> {
+            String colSelects = selectColumnsFromSimpleGraphObject(rootGraph, rootGraph, Collections.emptyMap());
+            String rootTableWithAlias = getLookupTableReference(queryBuilder, metadataRegistry.getTableName(rootEntity) + " " + rootGraph);
+            if (queryBuilder.isKeysetPaged()) {
+                verifyKeysetConditions(queryBuilder);
+                List<String> keyColumns = getKeysetColumnNames(queryBuilder, rootGraph, rootGraph + ".");
+                return buildQuery(queryBuilder, colSelects, rootTableWithAlias, getKeysetWhereCondition(queryBuilder, buildWhereCondition(queryBuilder), keyColumns),
+                        getKeysetOrderColumns(queryBuilder, keyColumns), "?");
+            }
+            return buildQuery(queryBuilder, colSelects, rootTableWithAlias);
+        });
+        splitQueries.add(new SplitQueryLevel(rootGraph, null, null, false, rootQuery, Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), getKeyColumns(Collections.singletonList(rootGraph), rootGraph, true)));
+
+        for (String graphKey : childGraphKeys) {
+            String parentGraphKey = getParentGraphKey(graphKey);
+            String parentEntity = simpleGraphObject.getGqlGraphEntityMap().get(parentGraphKey);
+            String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
+            List<String> joinColumns = new ArrayList<>();
+            List<String> parentJoinFields = new ArrayList<>();
+            List<String> childJoinFields = new ArrayList<>();
+            for (Pair<String, String> joinCols : levelJoinColMap.get(graphKey)) {
+                joinColumns.add(graphKey + "." + joinCols.getSecond());
+                parentJoinFields.add(metadataRegistry.getColumnFieldMap(parentEntity).get(joinCols.getFirst()));
+                childJoinFields.add(metadataRegistry.getColumnFieldMap(entityName).get(joinCols.getSecond()));
+            }
+            String query = QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#split#" + graphKey), () ->
+                    ServiceConstants.SELECT_SNIPPET + selectColumnsFromSimpleGraphObject(graphKey, graphKey, Collections.emptyMap()).substring(1)
+                            + " from " + getGraphTableReference(queryBuilder, graphKey, entityName, levelJoinColMap.get(graphKey)) + " " + graphKey);
+            splitQueries.add(new SplitQueryLevel(graphKey, parentGraphKey, graphKey.substring(graphKey.lastIndexOf('_') + 1),
+                    SqlJoinType.INNER_JOIN.getJoinType().equals(queryBuilder.getGraphJoinType().get(graphKey)), query,
+                    joinColumns, parentJoinFields, childJoinFields, getKeyColumns(Collections.singletonList(graphKey), graphKey, true)));
+        }
+        return splitQueries;
+    }
+
+    /**
+     * Creates query returning every root entity of the join query builder as a single row,a JSON document of the root entity having
+     * its child graph levels nested as JSON arrays(JSON object for a reference which is not a List) built by correlated subqueries.
+     * Root rows are not repeated for their children,so limit and keyset page size limit the root entities.Inner joined graph levels
+     * are added as exists conditions,so a parent without children is dropped same as the join.
+     * <p>
+     * Keys of the JSON documents are the entity field names and the functions used are set by ${sidh.json-query.dialect},see
+     * {@link JsonQueryDialect}.Empty string is returned when the query builder can not be executed this way ie.. it has conditions
+     * on child graph levels,group by/having/aggregate columns,right outer joins or a joined graph level whose parent is not requested.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return query selecting a single JSON column,empty if the query builder can only be executed as a single join query
+     */
+    public String getJsonQuery(JoinQueryBuilder queryBuilder) {
+        String rootGraph = queryBuilder.getRootObject();
+        List<String> childGraphKeys = getRequestedChildGraphKeys(queryBuilder);
+        if (childGraphKeys == null || !queryBuilder.getGroupByCondition().isEmpty() || !queryBuilder.getHavingCondition().isEmpty()
+                || !queryBuilder.getAggregateSelectCols().isEmpty()
+                || queryBuilder.getGraphJoinType().containsValue(SqlJoinType.RIGHT_OUTER_JOIN.getJoinType())
+                || !hasRootConditionsOnly(queryBuilder)) {
+            return "";
+        }
+        JsonQueryDialect jsonQueryDialect = EntityMetaDataProvider.jsonQueryDialect;
+        return QueryShapeCache.getInstance().get(getShapeKey(queryBuilder.getShapeKey() + "#json#" + jsonQueryDialect), () -> {
+            Map<String, Set<String>> additionalFieldMap = new LinkedHashMap<>();
+            addKeysetFields(additionalFieldMap, queryBuilder, rootGraph);
+            return withGraphObject(simpleGraphObject.withFields(additionalFieldMap)).generateJsonQuery(queryBuilder, childGraphKeys, jsonQueryDialect);
+        });
+    }
+
+    private String generateJsonQuery(JoinQueryBuilder queryBuilder, List<String> childGraphKeys, JsonQueryDialect jsonQueryDialect) {
+        String rootGraph = queryBuilder.getRootObject();
+        String rootTableWithAlias = getLookupTableReference(queryBuilder,
+                metadataRegistry.getTableName(simpleGraphObject.getGqlGraphEntityMap().get(rootGraph)) + " " + rootGraph);
+        String colSelects = "," + getJsonObject(queryBuilder, rootGraph, childGraphKeys, jsonQueryDialect) + " as " + rootGraph;
+        String whereCondition = buildWhereCondition(queryBuilder);
+        List<String> keyOrderColumns = Collections.emptyList();
+        String limitCondition = getLimitCondition(queryBuilder);
+        if (queryBuilder.isKeysetPaged()) {
+            verifyKeysetConditions(queryBuilder);
+            List<String> keyColumns = getKeysetColumnNames(queryBuilder, rootGraph, rootGraph + ".");
+            whereCondition = getKeysetWhereCondition(queryBuilder, whereCondition, keyColumns);
+            keyOrderColumns = getKeysetOrderColumns(queryBuilder, keyColumns);
+            limitCondition = "?";
+        }
+        List<String> conditions = getInnerJoinConditions(queryBuilder, rootGraph, childGraphKeys);
+        if (!conditions.isEmpty()) {
+            whereCondition = (whereCondition.equals("") ? "" : "(" + whereCondition + ") and ") + String.join(" and ", conditions);
+        }
+        return buildQuery(queryBuilder, colSelects, rootTableWithAlias, whereCondition, keyOrderColumns, limitCondition);
     }
 
     /**
-     * This method needs to be used to add primary keys into the SimpleGraphObject for those graph for which no
-     * fields have been selected.Adding PK is nescessary as it is used by ResultSetExecutor for setting object in
-     * nested way with primary key for creating complete object.Check open source SimpleFlatMapper for role of primary keys in parsing
-     * result set into pojos/entities
+     * Returns JSON object of the graph level having its requested fields along with primary keys/dynamic join columns,and the
+     * JSON of every requested child graph level against its reference name
      */
-    private void addPkFieldToSGOForGraphsWithoutFields(String graphKey, List<String> pkList) {
+    private String getJsonObject(JoinQueryBuilder queryBuilder, String graphKey, List<String> childGraphKeys, JsonQueryDialect jsonQueryDialect) {
         String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
-        for (String pkField : pkList) {
-            addFieldNameForColumnInSGO(graphKey, EntityMetaDataProvider.ENTITY_FIELD_COL_MAP.get(entityName).get(pkField));
+        Set<String> gqlFields = new LinkedHashSet<>(simpleGraphObject.getGqlGraphReqFieldMap().getOrDefault(graphKey, Collections.emptySet()));
+        gqlFields.addAll(getPkFkColumnVariableNames(entityName));
+        Map<String, String> columnFieldMap = metadataRegistry.getColumnFieldMap(entityName);
+        List<String> keyValues = new ArrayList<>();
+        for (String columnName : getSelectColumnNames(graphKey, gqlFields)) {
+            keyValues.add(jsonQueryDialect.getKeyValue(columnFieldMap.get(columnName), graphKey + "." + columnName));
+        }
+        Set<String> collectionGraphLevels = metadataRegistry.getCollectionGraphLevels(simpleGraphObject.getRootEntity());
+        for (String childGraphKey : childGraphKeys) {
+            if (getParentGraphKey(childGraphKey).equals(graphKey)) {
+                String childJson = getJsonObject(queryBuilder, childGraphKey, childGraphKeys, jsonQueryDialect);
+                String childEntity = simpleGraphObject.getGqlGraphEntityMap().get(childGraphKey);
+                String childQuery = ServiceConstants.SELECT_SNIPPET
+                        + (collectionGraphLevels.contains(childGraphKey) ? jsonQueryDialect.getArrayAggregate(childJson) : childJson)
+                        + " from " + getGraphTableReference(queryBuilder, childGraphKey, childEntity, getGraphJoinColumns(childGraphKey)) + " " + childGraphKey
+                        + " where " + getJsonGraphCondition(queryBuilder, childGraphKey, childGraphKeys);
+                keyValues.add(jsonQueryDialect.getKeyValue(childGraphKey.substring(childGraphKey.lastIndexOf('_') + 1), "(" + childQuery + ")"));
+            }
+        }
+        return jsonQueryDialect.getObject(String.join(",", keyValues));
+    }
+
+    /**
+     * Returns condition correlating rows of the graph level with its parent row,along with exists conditions of its inner joined children
+     */
+    private String getJsonGraphCondition(JoinQueryBuilder queryBuilder, String graphKey, List<String> childGraphKeys) {
+        List<String> conditions = getParentJoinConditions(graphKey);
+        conditions.addAll(getInnerJoinConditions(queryBuilder, graphKey, childGraphKeys));
+        return String.join(" and ", conditions);
+    }
+
+    /**
+     * Returns exists conditions dropping the rows of the graph level having no rows for its inner joined children
+     */
+    private List<String> getInnerJoinConditions(JoinQueryBuilder queryBuilder, String graphKey, List<String> childGraphKeys) {
+        List<String> conditions = new ArrayList<>();
+        for (String childGraphKey : childGraphKeys) {
+            if (getParentGraphKey(childGraphKey).equals(graphKey)
+                    && SqlJoinType.INNER_JOIN.getJoinType().equals(queryBuilder.getGraphJoinType().get(childGraphKey))) {
+                String childEntity = simpleGraphObject.getGqlGraphEntityMap().get(childGraphKey);
+                conditions.add(EXISTS_SNIPPET + getGraphTableReference(queryBuilder, childGraphKey, childEntity, getGraphJoinColumns(childGraphKey))
+                        + " " + childGraphKey + " where " + getJsonGraphCondition(queryBuilder, childGraphKey, childGraphKeys) + ")");
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * Returns conditions equating the join columns of the graph level with the join columns of its parent graph level
+     */
+    private List<String> getParentJoinConditions(String graphKey) {
+        String parentGraphKey = getParentGraphKey(graphKey);
+        List<String> conditions = new ArrayList<>();
+        for (Pair<String, String> joinCols : getGraphJoinColumns(graphKey)) {
+            conditions.add(parentGraphKey + "." + joinCols.getFirst() + " = " + graphKey + "." + joinCols.getSecond());
+        }
+        return conditions;
+    }
+
+    /**
+     * Returns graph levels of the join query builder used only to filter their parents ie.. inner joined levels having where conditions
+     * which are neither requested nor referred by order by/group by/having/aggregate columns,along with such levels joined below them.
+     * Joining them would repeat the parent row for every matching row,so they are added as exists conditions instead and the database
+     * can stop at the first matching row.
+     * <p>
+     * Where conditions are rewritten only when they have no or,and the conditions of a level and of the levels below it are consecutive,
+     * so neither the meaning of the conditions nor the order of their parameters changes.
+     *
+     * @return levels joined below every level used only to filter,including the level itself,parents before children
+     */
+    private Map<String, List<String>> getSemiJoinGraphKeys(JoinQueryBuilder queryBuilder) {
+        List<String> whereConditions = queryBuilder.getWhereCondition();
+        if (whereConditions.contains("or")) {
+            return Collections.emptyMap();
+        }
+        Set<String> whereGraphKeys = new HashSet<>();
+        for (String whereCond : whereConditions) {
+            if (whereCond.contains(".")) {
+                whereGraphKeys.add(whereCond.split("\\.")[0]);
+            }
+        }
+        Set<String> requestedGraphKeys = simpleGraphObject.getGqlGraphReqFieldMap().keySet();
+        List<String> otherReferences = new ArrayList<>(queryBuilder.getOrderByCondition());
+        otherReferences.addAll(queryBuilder.getGroupByCondition());
+        otherReferences.addAll(queryBuilder.getHavingCondition());
+        otherReferences.addAll(queryBuilder.getAggregateSelectCols().keySet());
+        String otherReference = String.join(",", otherReferences);
+
+        List<String> graphKeys = new ArrayList<>(queryBuilder.getGraphJoinType().keySet());
+        graphKeys.sort(Comparator.comparingInt((String graphKey) -> graphKey.split("_").length));
+        Map<String, List<String>> semiJoinGraphKeys = new LinkedHashMap<>();
+        for (String graphKey : graphKeys) {
+            String parentGraphKey = getParentGraphKey(graphKey);
+            if (!whereGraphKeys.contains(graphKey) || !SqlJoinType.INNER_JOIN.getJoinType().equals(queryBuilder.getGraphJoinType().get(graphKey))
+                    || (!parentGraphKey.equals(queryBuilder.getRootObject()) && !requestedGraphKeys.contains(parentGraphKey) && !whereGraphKeys.contains(parentGraphKey))
+                    || isSemiJoined(semiJoinGraphKeys, graphKey)) {
+                continue;
+            }
+            List<String> levels = new ArrayList<>();
+            levels.add(graphKey);
+            for (String childGraphKey : graphKeys) {
+                if (childGraphKey.startsWith(graphKey + "_") && (requestedGraphKeys.contains(childGraphKey) || whereGraphKeys.contains(childGraphKey))) {
+                    levels.add(childGraphKey);
+                }
+            }
+            boolean filterOnly = true;
+            for (String level : levels) {
+                filterOnly &= !requestedGraphKeys.contains(level) && !otherReference.contains(level + ".")
+                        && (level.equals(graphKey) || levels.contains(getParentGraphKey(level)));
+            }
+            if (filterOnly && isConsecutive(whereConditions, levels)) {
+                semiJoinGraphKeys.put(graphKey, levels);
+            }
+        }
+        return semiJoinGraphKeys;
+    }
+
+    private boolean isSemiJoined(Map<String, List<String>> semiJoinGraphKeys, String graphKey) {
+        for (List<String> levels : semiJoinGraphKeys.values()) {
+            if (levels.contains(graphKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if where conditions on the graph levels passed follow each other
+     */
+    private boolean isConsecutive(List<String> whereConditions, List<String> graphKeys) {
+        int first = -1;
+        int last = -1;
+        int count = 0;
+        for (int index = 0; index < whereConditions.size(); index++) {
+            if (graphKeys.contains(whereConditions.get(index).split("\\.")[0])) {
+                first = (first == -1 ? index : first);
+                last = index;
+                count++;
+            }
+        }
+        return count > 0 && last - first + 1 == count;
+    }
+
+    /**
+     * Returns where conditions of the query builder with the conditions of every graph level used only to filter,and of the levels joined below
+     * it,replaced by a single exists condition <strong>exists (select 1 from child_tbl child where parent.pk = child.fk and child.col = ?)</strong>
+     *
+     * @param semiJoinGraphKeys returned by {@link DynamicQueryGenerationHelper#getSemiJoinGraphKeys(JoinQueryBuilder)}
+     */
+    private List<String> getSemiJoinWhereConditions(JoinQueryBuilder queryBuilder, Map<String, List<String>> semiJoinGraphKeys) {
+        List<String> whereConditions = new ArrayList<>(queryBuilder.getWhereCondition());
+        for (Map.Entry<String, List<String>> semiJoin : semiJoinGraphKeys.entrySet()) {
+            String graphKey = semiJoin.getKey();
+            List<String> levelConditions = new ArrayList<>();
+            int first = -1;
+            for (int index = 0; index < whereConditions.size(); index++) {
+                if (semiJoin.getValue().contains(whereConditions.get(index).split("\\.")[0])) {
+                    first = (first == -1 ? index : first);
+                    levelConditions.add(whereConditions.get(index));
+                }
+            }
+            String fromTables = getGraphTableReference(queryBuilder, graphKey, simpleGraphObject.getGqlGraphEntityMap().get(graphKey),
+                    getGraphJoinColumns(graphKey)) + " " + graphKey;
+            for (String childGraphKey : semiJoin.getValue().subList(1, semiJoin.getValue().size())) {
+                fromTables = getFromTables(queryBuilder, fromTables, childGraphKey);
+            }
+            List<String> conditions = getParentJoinConditions(graphKey);
+            conditions.add(buildWhereCondition(levelConditions));
+            whereConditions.subList(first, first + levelConditions.size()).clear();
+            whereConditions.add(first, EXISTS_SNIPPET + fromTables + " where " + String.join(" and ", conditions) + ")");
+        }
+        return whereConditions;
+    }
+
+    /**
+     * Returns requested graph levels of the join query builder whose selected columns are all their own join columns,eg.. speciality
+     * selecting only speciality_id joined on docSpeciality.speciality_id = speciality.speciality_id.Values of these columns are the
+     * values of the join columns of the parent,so the level is selected from the parent and its table is not joined.
+     * <p>
+     * Primary keys of the level must be among its join columns,so at most one row is joined per parent.Levels having children joined,
+     * limited levels and levels referred by where/order by/group by/having conditions are still joined.Inner joins are eliminated only
+     * when where conditions have no or and rows are not keyset paged,as the join is replaced by not null conditions on the parent join
+     * columns.Rows of the parent whose join columns refer to no row of the level are assumed not to exist ie.. foreign keys are enforced.
+     */
+    private Set<String> getEliminatedGraphKeys(JoinQueryBuilder queryBuilder) {
+        if (!queryBuilder.getAggregateSelectCols().isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> referredGraphKeys = new HashSet<>();
+        List<String> references = new ArrayList<>(queryBuilder.getWhereCondition());
+        references.addAll(queryBuilder.getOrderByCondition());
+        references.addAll(queryBuilder.getGroupByCondition());
+        references.addAll(queryBuilder.getHavingCondition());
+        for (String reference : references) {
+            if (reference.contains(".")) {
+                referredGraphKeys.add(reference.split("\\.")[0]);
+            }
+        }
+        Map<String, Set<String>> requestedFieldMap = simpleGraphObject.getGqlGraphReqFieldMap();
+        Set<String> eliminatedGraphKeys = new HashSet<>();
+        for (Map.Entry<String, String> graphJoinType : queryBuilder.getGraphJoinType().entrySet()) {
+            String graphKey = graphJoinType.getKey();
+            String parentGraphKey = getParentGraphKey(graphKey);
+            boolean innerJoined = SqlJoinType.INNER_JOIN.getJoinType().equals(graphJoinType.getValue());
+            if (!requestedFieldMap.containsKey(graphKey) || referredGraphKeys.contains(graphKey) || queryBuilder.getGraphLimit().containsKey(graphKey)
+                    || (!innerJoined && !SqlJoinType.LEFT_OUTER_JOIN.getJoinType().equals(graphJoinType.getValue()))
+                    || (innerJoined && (queryBuilder.isKeysetPaged() || queryBuilder.getWhereCondition().contains("or")))
+                    || (!parentGraphKey.equals(queryBuilder.getRootObject()) && !requestedFieldMap.containsKey(parentGraphKey))
+                    || hasJoinedChild(queryBuilder, graphKey, referredGraphKeys)) {
+                continue;
+            }
+            String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
+            Set<String> childJoinColumns = new HashSet<>();
+            for (Pair<String, String> joinCols : getGraphJoinColumns(graphKey)) {
+                childJoinColumns.add(joinCols.getSecond());
+            }
+            List<String> pkFields = metadataRegistry.getPkFields(entityName);
+            Set<String> selectedFields = new HashSet<>(requestedFieldMap.get(graphKey));
+            selectedFields.addAll(pkFields == null ? Collections.emptyList() : getPkFkColumnVariableNames(entityName));
+            boolean joinColumnsOnly = pkFields != null && !pkFields.isEmpty();
+            for (String columnName : getSelectColumnNames(graphKey, selectedFields)) {
+                joinColumnsOnly &= childJoinColumns.contains(columnName);
+            }
+            for (String pkField : (pkFields == null ? Collections.<String>emptyList() : pkFields)) {
+                joinColumnsOnly &= childJoinColumns.contains(metadataRegistry.getFieldColumnMap(entityName).get(pkField));
+            }
+            if (joinColumnsOnly) {
+                eliminatedGraphKeys.add(graphKey);
+            }
+        }
+        return eliminatedGraphKeys;
+    }
+
+    /**
+     * Returns true if any graph level below the graph level is requested or referred by the conditions of the join query builder
+     */
+    private boolean hasJoinedChild(JoinQueryBuilder queryBuilder, String graphKey, Set<String> referredGraphKeys) {
+        for (String childGraphKey : queryBuilder.getGraphJoinType().keySet()) {
+            if (childGraphKey.startsWith(graphKey + "_")
+                    && (simpleGraphObject.getGqlGraphReqFieldMap().containsKey(childGraphKey) || referredGraphKeys.contains(childGraphKey))) {
+                return true;
+            }
         }
+        return false;
+    }
 
+    /**
+     * Selects the join columns of the parent of the graph level with the aliases of the join columns of the graph level
+     */
+    private String selectJoinColumnsOfParent(String graphKey, String graphRootKey) {
+        String parentGraphKey = getParentGraphKey(graphKey);
+        String columnAlias = getColumnAlias(graphKey, graphRootKey);
+        StringBuilder columnSelect = new StringBuilder();
+        for (Pair<String, String> joinCols : getGraphJoinColumns(graphKey)) {
+            columnSelect.append(", ").append(parentGraphKey).append(".").append(joinCols.getFirst())
+                    .append(" as ").append(columnAlias).append(joinCols.getSecond());
+        }
+        return columnSelect.toString();
+    }
+
+    /**
+     * Returns parent and child columns joining the graph level with its parent graph level
+     */
+    private List<Pair<String, String>> getGraphJoinColumns(String graphKey) {
+        String referenceName = graphKey.substring(graphKey.lastIndexOf('_') + 1);
+        String parentEntity = simpleGraphObject.getGqlGraphEntityMap().get(getParentGraphKey(graphKey));
+        Map<String, List<Pair<String, String>>> graphJoinColMap = metadataRegistry.getGraphJoinColumns(parentEntity);
+        if (graphJoinColMap == null || graphJoinColMap.get(referenceName) == null) {
+            throw new DynamicQueryException(String.format(ErrorConstants.ASSOCIATION_NOT_DEFINED, parentEntity,
+                    simpleGraphObject.getGqlGraphEntityMap().get(graphKey), referenceName));
+        }
+        return graphJoinColMap.get(referenceName);
+    }
+
+    /**
+     * Chooses between a single join query and split queries for the join query builder by comparing the estimated number of
+     * cells fetched by both.
+     * <p>
+     * A join repeats the columns of every graph level for each row of the joined result,rows of the join are the root rows multiplied
+     * by the fan out of every List association joined.Split queries fetch every graph level once but pay a round trip per child level,
+     * see {@link FanOutStatistics}.Fan out of a single valued reference is taken as 1,fan out of a List association and root rows per
+     * query are taken from {@link FanOutStatistics} when recorded.
+     *
+     * @param queryBuilder instance of {@link JoinQueryBuilder}
+     * @return {@link QueryStrategy#SPLIT} if split queries are estimated to be cheaper,otherwise {@link QueryStrategy#JOIN}
+     */
+    public QueryStrategy getQueryStrategy(JoinQueryBuilder queryBuilder) {
+        List<String> childGraphKeys = getSplitChildGraphKeys(queryBuilder);
+        if (childGraphKeys == null || childGraphKeys.isEmpty()) {
+            return QueryStrategy.JOIN;
+        }
+        FanOutStatistics fanOutStatistics = FanOutStatistics.getInstance();
+        Set<String> collectionGraphLevels = metadataRegistry.getCollectionGraphLevels(simpleGraphObject.getRootEntity());
+        String rootGraph = queryBuilder.getRootObject();
+        Double recordedRootRows = fanOutStatistics.getFanOut(simpleGraphObject.getGqlGraphEntityMap().get(rootGraph));
+        double rootRows = (recordedRootRows == null ? 1 : Math.max(1, recordedRootRows));
+
+        //rows fetched for every graph level when fetched separately,ie.. root rows multiplied by the fan out of the path to the level
+        Map<String, Double> levelRowMap = new HashMap<>();
+        levelRowMap.put(rootGraph, rootRows);
+        double joinRows = rootRows;
+        int joinColumnCount = getSelectColumnCount(rootGraph);
+        double splitCost = rootRows * joinColumnCount;
+        for (String graphKey : childGraphKeys) {
+            String parentGraphKey = getParentGraphKey(graphKey);
+            double fanOut = 1;
+            if (collectionGraphLevels.contains(graphKey)) {
+                Double recordedFanOut = fanOutStatistics.getFanOut(FanOutStatistics.getAssociationKey(
+                        simpleGraphObject.getGqlGraphEntityMap().get(parentGraphKey), graphKey.substring(graphKey.lastIndexOf('_') + 1)));
+                fanOut = (recordedFanOut == null ? fanOutStatistics.getDefaultFanOut() : recordedFanOut);
+            }
+            //a parent without children still returns a row when outer joined
+            joinRows *= (SqlJoinType.INNER_JOIN.getJoinType().equals(queryBuilder.getGraphJoinType().get(graphKey)) ? fanOut : Math.max(1, fanOut));
+            double levelRows = levelRowMap.get(parentGraphKey) * fanOut;
+            levelRowMap.put(graphKey, levelRows);
+            int columnCount = getSelectColumnCount(graphKey);
+            joinColumnCount += columnCount;
+            splitCost += levelRows * columnCount + fanOutStatistics.getRoundTripCost();
+        }
+        double joinCost = joinRows * joinColumnCount;
+        QueryStrategy queryStrategy = (splitCost < joinCost ? QueryStrategy.SPLIT : QueryStrategy.JOIN);
+        LOGGER.debug("Query strategy {} chosen for join query builder with root {} and graph levels {} :: join cost {},split cost {}",
+                queryStrategy, rootGraph, childGraphKeys, joinCost, splitCost);
+        return queryStrategy;
+    }
+
+    /**
+     * Returns number of columns selected for the graph level ie.. requested fields along with primary keys/dynamic join columns
+     */
+    private int getSelectColumnCount(String graphKey) {
+        Set<String> fields = new HashSet<>(simpleGraphObject.getGqlGraphReqFieldMap().getOrDefault(graphKey, Collections.emptySet()));
+        fields.addAll(getPkFkColumnVariableNames(simpleGraphObject.getGqlGraphEntityMap().get(graphKey)));
+        return fields.size();
+    }
+
+    /**
+     * Returns child graph levels of the join query builder requested in SimpleGraphObject sorted so that parents are before their
+     * children,null if the graph levels can not be fetched level by level
+     */
+    private List<String> getSplitChildGraphKeys(JoinQueryBuilder queryBuilder) {
+        return (isSplittable(queryBuilder) ? getRequestedChildGraphKeys(queryBuilder) : null);
+    }
+
+    /**
+     * Returns child graph levels of the join query builder requested in SimpleGraphObject sorted so that parents are before their
+     * children,null if the root graph level or the parent of a requested graph level is not requested
+     */
+    private List<String> getRequestedChildGraphKeys(JoinQueryBuilder queryBuilder) {
+        String rootGraph = queryBuilder.getRootObject();
+        if (!simpleGraphObject.getGqlGraphEntityMap().containsKey(rootGraph)) {
+            return null;
+        }
+        List<String> childGraphKeys = new ArrayList<>();
+        for (String graphKey : queryBuilder.getGraphJoinType().keySet()) {
+            if (simpleGraphObject.getGqlGraphReqFieldMap().containsKey(graphKey)) {
+                childGraphKeys.add(graphKey);
+            }
+        }
+        for (String graphKey : childGraphKeys) {
+            if (!getParentGraphKey(graphKey).equals(rootGraph) && !childGraphKeys.contains(getParentGraphKey(graphKey))) {
+                return null;
+            }
+        }
+        //parents are fetched before children
+        childGraphKeys.sort(Comparator.comparingInt((String graphKey) -> graphKey.split("_").length));
+        return childGraphKeys;
+    }
+
+    /**
+     * Returns false if conditions of the query builder need all the graph levels joined,ie.. conditions refer columns of child graph levels or
+     * aggregate rows/limit the joined rows,or inner joins would drop roots of a keyset page
+     */
+    private boolean isSplittable(JoinQueryBuilder queryBuilder) {
+        if (!queryBuilder.getGroupByCondition().isEmpty() || !queryBuilder.getHavingCondition().isEmpty()
+                || !queryBuilder.getAggregateSelectCols().isEmpty()
+                || (queryBuilder.getLimit() != null && !queryBuilder.getLimit().equals(""))
+                || (queryBuilder.getOffsetWithLimit() != null && !queryBuilder.getOffsetWithLimit().equals(""))
+                || queryBuilder.getGraphJoinType().containsValue(SqlJoinType.RIGHT_OUTER_JOIN.getJoinType())) {
+            return false;
+        }
+        //inner joined child levels drop roots after the root level query has limited them to the page size
+        if (queryBuilder.isKeysetPaged() && queryBuilder.getGraphJoinType().containsValue(SqlJoinType.INNER_JOIN.getJoinType())) {
+            return false;
+        }
+        return hasRootConditionsOnly(queryBuilder);
+    }
+
+    /**
+     * Returns false if where or order by conditions of the query builder refer columns of child graph levels
+     */
+    private boolean hasRootConditionsOnly(JoinQueryBuilder queryBuilder) {
+        String rootColumnPrefix = queryBuilder.getRootObject() + ".";
+        for (String whereCond : queryBuilder.getWhereCondition()) {
+            if (!whereCond.equals("or") && !whereCond.equals("(") && !whereCond.equals(")") && !whereCond.startsWith(rootColumnPrefix)) {
+                return false;
+            }
+        }
+        return getChildOrderBy(queryBuilder) == null;
+    }
+
+    /**
+     * Returns the first order by column of the join query builder which is not on the root graph level,null if all of them are on it
+     */
+    private String getChildOrderBy(JoinQueryBuilder queryBuilder) {
+        String rootColumnPrefix = queryBuilder.getRootObject() + ".";
+        //columns of order by conditions are not prefixed with graph level by the builder,they are ordered on root level if the root entity has them
+        Map<String, String> rootColumnFieldMap = metadataRegistry.getColumnFieldMap(simpleGraphObject.getGqlGraphEntityMap().get(queryBuilder.getRootObject()));
+        for (String orderBy : queryBuilder.getOrderByCondition()) {
+            if (!orderBy.equals("asc") && !orderBy.equals("desc") && !orderBy.startsWith(rootColumnPrefix)
+                    && (orderBy.contains(".") || rootColumnFieldMap == null || !rootColumnFieldMap.containsKey(orderBy.trim()))) {
+                return orderBy;
+            }
+        }
+        return null;
+    }
+
+    private String getParentGraphKey(String graphKey) {
+        return (graphKey.contains("_") ? graphKey.substring(0, graphKey.lastIndexOf('_')) : ServiceConstants.ROOT_GRAPH_LEVEL);
+    }
+
+    /**
+     * Returns the key against which query generated for the query builder shape passed is cached in {@link QueryShapeCache}.
+     * Key starts with version of the metadata snapshot,so query generated using metadata before a reload is never reused.
+     */
+    private String getShapeKey(String queryBuilderShapeKey) {
+        return metadataRegistry.getVersion() + "#" + requestGraphObject.getShapeKey() + '#' + queryBuilderShapeKey;
+    }
+
+    /**
+     * This method needs to be used to add primary keys for those graph for which no fields have been selected.Adding PK is nescessary
+     * as it is used by ResultSetExecutor for setting object in nested way with primary key for creating complete object.Check open source
+     * SimpleFlatMapper for role of primary keys in parsing result set into pojos/entities
+     *
+     * @param additionalFieldMap fields added for the query against their graph level
+     */
+    private void addPkFields(Map<String, Set<String>> additionalFieldMap, String graphKey) {
+        List<String> pkFields = metadataRegistry.getPkFields(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
+        if (pkFields != null && !pkFields.isEmpty()) {
+            additionalFieldMap.computeIfAbsent(graphKey, key -> new LinkedHashSet<>()).addAll(pkFields);
+        }
     }
 
     /**
@@ -326,26 +1281,67 @@ private String selectColumnsFromSimpleGraphObject(String graphKey, Map<String, S
         if (aggregateSelectCols.isEmpty()) {
             primaryColumnVarNames = getPkFkColumnVariableNames(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
         }
-        Set<String> gqlFields = new HashSet<>();
+        Set<String> gqlFields = new LinkedHashSet<>();
         if (null != tableColMap.get(graphKey)) {
             gqlFields.addAll(tableColMap.get(graphKey));
         }
         if (null != primaryColumnVarNames) {
             gqlFields.addAll(primaryColumnVarNames);
         }
-        for (String gqlField : gqlFields) {
-
-            String columnName = getColumnNameFromGraphKeyAndGQLField(graphKey, gqlField);
+        Map<String, String> selectFragmentMap = metadataRegistry.getSelectFragments(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
+        for (String columnName : getSelectColumnNames(graphKey, gqlFields)) {
             if (aggregateSelectCols.containsKey(columnName)) {
                 String aggregatedColumn = String.format(aggregateSelectCols.get(columnName).getAggregateType(), columnName);
                 columnSelect = columnSelect.append(", ").append(aggregatedColumn + " as " + columnName);
             } else {
-                columnSelect = columnSelect.append(", ").append(columnName);
+                String selectFragment = selectFragmentMap.get(columnName);
+                columnSelect.append(selectFragment != null ? selectFragment : ", " + columnName);
             }
         }
         return columnSelect.substring(1);
     }
 
+    /**
+     * Returns select fragments precomputed by {@link MetadataRegistry} for the columns of the graph level when the graph
+     * level belongs to the root entity of the SimpleGraphObject.Empty map is returned otherwise and the fragments are
+     * created while generating the query.
+     *
+     * @param graphKey     is the graph level for which columns needs to be selected
+     * @param graphRootKey is the graph level which is root of the query
+     * @return Map of column name and its select fragment
+     */
+    private Map<String, String> getGraphSelectFragments(String graphKey, String graphRootKey) {
+        Map<String, String> graphEntityMap = metadataRegistry.getGraphEntityMap(simpleGraphObject.getRootEntity());
+        if (graphEntityMap == null || !Objects.equals(graphEntityMap.get(graphKey), simpleGraphObject.getGqlGraphEntityMap().get(graphKey))) {
+            return Collections.emptyMap();
+        }
+        return metadataRegistry.getGraphSelectFragments(simpleGraphObject.getRootEntity(), graphKey, graphRootKey);
+    }
+
+    /**
+     * Resolves the GraphQL fields of the graph level into database column names.When canonical SQL is enabled,the columns are
+     * returned in the order they are present in the entity so that the select column list does not depend on the order
+     * of fields in the GraphQL request.
+     *
+     * @param graphKey  is the graph level/key for which columns needs to be selected
+     * @param gqlFields fields of the graph level selected in GraphQL request along with primary keys/dynamic join columns
+     * @return distinct column names to be selected for the graph level
+     */
+    private Collection<String> getSelectColumnNames(String graphKey, Collection<String> gqlFields) {
+        Set<String> columnNames = new LinkedHashSet<>();
+        for (String gqlField : gqlFields) {
+            columnNames.add(getColumnNameFromGraphKeyAndGQLField(graphKey, gqlField));
+        }
+        if (!EntityMetaDataProvider.canonicalSql || columnNames.size() < 2) {
+            return columnNames;
+        }
+        Map<String, Integer> columnOrderMap = metadataRegistry.getColumnOrderMap(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
+        List<String> orderedColumnNames = new ArrayList<>(columnNames);
+        orderedColumnNames.sort(Comparator.comparing((String columnName) -> columnOrderMap.getOrDefault(columnName, Integer.MAX_VALUE))
+                .thenComparing(Comparator.naturalOrder()));
+        return orderedColumnNames;
+    }
+
     /**
      * @param graphKey is the graph level/key/(reference variables pointing to another entity) for which scalar fields needs to be selected from database
      * @param gqlfield is the field of the graphKey whose respective column name needs to be selected from database.
@@ -362,7 +1358,7 @@ public String getColumnNameFromGraphKeyAndGQLField(String graphKey, String gqlfi
                 columnName = getColumnName(simpleGraphObject.getGqlGraphEntityMap().get(graphKey), fieldName);
             } else {
                 //in case the developer is giving a name using @GraphQLQuery(name = ?) for giving name to a field,checking the field name for such custom names
-                String fieldName = EntityMetaDataProvider.ENTITY_GQL_FIELD_TO_ENTITY_FIELD_MAP.get(simpleGraphObject.getGqlGraphEntityMap().get(graphKey)).get(gqlfield);
+                String fieldName = metadataRegistry.getGqlFieldToEntityFieldMap(simpleGraphObject.getGqlGraphEntityMap().get(graphKey)).get(gqlfield);
                 if (fieldName != null) {
                     columnName = getColumnName(simpleGraphObject.getGqlGraphEntityMap().get(graphKey), fieldName);
                 }
@@ -379,7 +1375,7 @@ public String getColumnNameFromGraphKeyAndGQLField(String graphKey, String gqlfi
      * @return primary key/foreign key field variable from entity name provided as list of values
      */
     private List<String> getPkFkColumnVariableNames(String className) {
-        return EntityMetaDataProvider.ENTITY_PK_FK_FIELD_MAP.get(className);
+        return metadataRegistry.getPkFkFields(className);
     }
 
     /**
@@ -390,7 +1386,7 @@ private List<String> getPkFkColumnVariableNames(String className) {
     private String getColumnName(String className, String fieldName) {
         String colName;
         try {
-            colName = EntityMetaDataProvider.ENTITY_FIELD_COL_MAP.get(className).get(fieldName);
+            colName = metadataRegistry.getFieldColumnMap(className).get(fieldName);
         } catch (Exception nex) {
             throw new DynamicQueryException(String.format(ErrorConstants.ENTITY_NOT_READ, className));
         }
@@ -398,15 +1394,21 @@ private String getColumnName(String className, String fieldName) {
     }
 
     public String buildQuery(QueryBuilder queryBuilder, String colSelects, String fromTable) {
+        return buildQuery(queryBuilder, colSelects, fromTable, buildWhereCondition(queryBuilder), Collections.emptyList(), getLimitCondition(queryBuilder));
+    }
+
+    /**
+     * @param whereCondition  where clause of the query without the where keyword
+     * @param keyOrderColumns columns ordered after the order by conditions of the query builder
+     * @param limitCondition  limit clause of the query without the limit keyword
+     */
+    private String buildQuery(QueryBuilder queryBuilder, String colSelects, String fromTable, String whereCondition, List<String> keyOrderColumns,
+                              String limitCondition) {
 
         String finalQuery = "";
-        String whereCondition;
         StringBuilder groupByCondition = new StringBuilder();
         String havingCondition;
         String orderByCondition;
-        String limitCondition = "";
-
-        whereCondition = buildWhereCondition(queryBuilder);
 
         for (String groupBy : queryBuilder.getGroupByCondition()) {
             groupByCondition.append(",").append(groupBy);
@@ -415,13 +1417,8 @@ public String buildQuery(QueryBuilder queryBuilder, String colSelects, String fr
         havingCondition = buildHavingCondition(queryBuilder);
 
         orderByCondition = buildOrderByCondition(queryBuilder);
-
-        if (queryBuilder.getLimit() != null && !queryBuilder.getLimit().equals("")) {
-            limitCondition = queryBuilder.getLimit();
-        }
-
-        if (queryBuilder.getOffsetWithLimit() != null && !queryBuilder.getOffsetWithLimit().equals("")) {
-            limitCondition = queryBuilder.getOffsetWithLimit();
+        for (String keyOrderColumn : keyOrderColumns) {
+            orderByCondition += "," + keyOrderColumn;
         }
 
         if (!colSelects.equals("")) {
@@ -437,6 +1434,131 @@ public String buildQuery(QueryBuilder queryBuilder, String colSelects, String fr
         return finalQuery;
     }
 
+    private String getLimitCondition(QueryBuilder queryBuilder) {
+        String limitCondition = "";
+        if (queryBuilder.getLimit() != null && !queryBuilder.getLimit().equals("")) {
+            limitCondition = queryBuilder.getLimit();
+        }
+        if (queryBuilder.getOffsetWithLimit() != null && !queryBuilder.getOffsetWithLimit().equals("")) {
+            limitCondition = queryBuilder.getOffsetWithLimit();
+        }
+        return limitCondition;
+    }
+
+    /**
+     * Returns where condition of the query builder along with condition for rows after the cursor ie.. (k1,k2) &gt; (?,?),or
+     * rows before the cursor ie.. (k1,k2) &lt; (?,?) when paging backward.
+     * Row value comparison orders the rows on the first key and breaks its ties on the next keys,same as the order by of the keys.
+     *
+     * @param whereCondition where condition of the query builder
+     * @param keyColumns     key columns of the keyset pagination
+     */
+    private String getKeysetWhereCondition(QueryBuilder queryBuilder, String whereCondition, List<String> keyColumns) {
+        if (queryBuilder.getKeysetValues().isEmpty()) {
+            return whereCondition;
+        }
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            parameters.append(i == 0 ? "?" : ",?");
+        }
+        String keysetCondition = "(" + String.join(",", keyColumns) + (queryBuilder.isKeysetBackward() ? ") < (" : ") > (") + parameters + ")";
+        return (whereCondition.equals("") ? keysetCondition : "(" + whereCondition + ") and " + keysetCondition);
+    }
+
+    /**
+     * Returns the key columns to order the page by,in descending order when paging backward so the limit keeps the rows nearest to the cursor
+     */
+    private List<String> getKeysetOrderColumns(QueryBuilder queryBuilder, List<String> keyColumns) {
+        if (!queryBuilder.isKeysetBackward()) {
+            return keyColumns;
+        }
+        List<String> orderColumns = new ArrayList<>(keyColumns.size());
+        for (String keyColumn : keyColumns) {
+            orderColumns.add(keyColumn + " desc");
+        }
+        return orderColumns;
+    }
+
+    private void verifyKeysetPaged(QueryBuilder queryBuilder) {
+        if (!queryBuilder.isKeysetPaged()) {
+            throw new DynamicQueryException(ErrorConstants.KEYSET_NOT_ADDED);
+        }
+    }
+
+    /**
+     * Keyset pagination orders and limits the rows by the key columns,so conditions which order,limit or aggregate the rows can not be added along with it
+     */
+    private void verifyKeysetConditions(QueryBuilder queryBuilder) {
+        if (!queryBuilder.getOrderByCondition().isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_CONDITION_NOT_SUPPORTED, "order by conditions"));
+        }
+        if (!getLimitCondition(queryBuilder).equals("")) {
+            throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_CONDITION_NOT_SUPPORTED, "limit"));
+        }
+        if (!queryBuilder.getGroupByCondition().isEmpty() || !queryBuilder.getHavingCondition().isEmpty() || !queryBuilder.getAggregateSelectCols().isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_CONDITION_NOT_SUPPORTED, "group by,having or aggregate columns"));
+        }
+    }
+
+    /**
+     * Returns key columns of the keyset pagination of the graph level ie.. columns of the query builder followed by the primary keys
+     * not already added.Primary keys make the keys unique,so rows having same values for the columns of the query builder are
+     * neither repeated nor skipped between pages.
+     *
+     * @param columnPrefix prefix added to the column names,eg graph level alias
+     */
+    private List<String> getKeysetColumnNames(QueryBuilder queryBuilder, String graphKey, String columnPrefix) {
+        String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
+        Map<String, String> columnFieldMap = metadataRegistry.getColumnFieldMap(entityName);
+        if (columnFieldMap == null) {
+            throw new DynamicQueryException(String.format(ErrorConstants.ENTITY_NOT_READ, entityName));
+        }
+        Set<String> keyColumns = new LinkedHashSet<>();
+        for (String columnName : queryBuilder.getKeysetColumns()) {
+            if (!columnFieldMap.containsKey(columnName)) {
+                throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_COLUMN_NOT_FOUND, columnName, entityName));
+            }
+            keyColumns.add(columnName);
+        }
+        List<String> pkFields = metadataRegistry.getPkFields(entityName);
+        for (String pkField : (pkFields == null ? Collections.<String>emptyList() : pkFields)) {
+            keyColumns.add(metadataRegistry.getFieldColumnMap(entityName).get(pkField));
+        }
+        if (keyColumns.isEmpty()) {
+            throw new DynamicQueryException(String.format(ErrorConstants.KEYSET_COLUMN_NOT_FOUND, "primary key", entityName));
+        }
+        List<String> prefixedKeyColumns = new ArrayList<>(keyColumns.size());
+        for (String keyColumn : keyColumns) {
+            prefixedKeyColumns.add(columnPrefix + keyColumn);
+        }
+        return prefixedKeyColumns;
+    }
+
+    /**
+     * Returns fields of the entity of the graph level for the key columns of the keyset pagination of the query builder,empty list
+     * if it is not paged.Values of these fields in the last entity of a page are the cursor of the next page.
+     */
+    private List<String> getKeysetFields(QueryBuilder queryBuilder, String graphKey) {
+        if (!queryBuilder.isKeysetPaged()) {
+            return Collections.emptyList();
+        }
+        Map<String, String> columnFieldMap = metadataRegistry.getColumnFieldMap(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
+        List<String> keysetFields = new ArrayList<>();
+        for (String keyColumn : getKeysetColumnNames(queryBuilder, graphKey, "")) {
+            keysetFields.add(columnFieldMap.get(keyColumn));
+        }
+        return keysetFields;
+    }
+
+    /**
+     * Adds fields of the key columns of the keyset pagination against the graph level,so they are selected by the query and can be read for the next cursor
+     */
+    private void addKeysetFields(Map<String, Set<String>> additionalFieldMap, QueryBuilder queryBuilder, String graphKey) {
+        for (String keysetField : getKeysetFields(queryBuilder, graphKey)) {
+            additionalFieldMap.computeIfAbsent(graphKey, key -> new LinkedHashSet<>()).add(keysetField);
+        }
+    }
+
     private String buildOrderByCondition(QueryBuilder queryBuilder) {
         StringBuilder orderByCondition = new StringBuilder();
         for (String orderBy : queryBuilder.getOrderByCondition()) {
@@ -451,98 +1573,171 @@ private String buildOrderByCondition(QueryBuilder queryBuilder) {
     }
 
     private String buildHavingCondition(QueryBuilder queryBuilder) {
-        int havingCondCount = 0;
-        StringBuilder havingCondition = new StringBuilder();
-        for (String havingCond : queryBuilder.getHavingCondition()) {
-
-            havingCondCount++;
-
-            if (havingCondCount != queryBuilder.getHavingCondition().size()) {
-                if (!havingCond.equals("or") && !havingCond.equals("(") && !havingCond.equals(")")) {
-                    String nextCondition = queryBuilder.getHavingCondition().get(havingCondCount);
-                    havingCondition.append(havingCond).append((!nextCondition.equals("or") && nextCondition.equals("(") && nextCondition.equals(")") ? " and " : ""));
-                } else {
-                    havingCondition.append(" ").append(havingCond).append(" ");
-                }
-            } else {
-                havingCondition.append(havingCond);
-            }
-        }
-        return havingCondition.toString();
+        return buildConditions(queryBuilder.getHavingCondition());
     }
 
     private String buildWhereCondition(QueryBuilder queryBuilder) {
-        int whereCondCount = 0;
-        StringBuilder whereCondition = new StringBuilder();
-        for (String whereCond : queryBuilder.getWhereCondition()) {
+        return buildWhereCondition(queryBuilder.getWhereCondition());
+    }
 
-            whereCondCount++;
+    private String buildWhereCondition(List<String> whereConditions) {
+        return buildConditions(whereConditions);
+    }
 
-            if (whereCondCount != queryBuilder.getWhereCondition().size()) {
-                if (!whereCond.equals("or") && !whereCond.equals("(") && !whereCond.equals(")")) {
-                    String nextCondition = queryBuilder.getWhereCondition().get(whereCondCount);
-                    whereCondition.append(whereCond).append((!nextCondition.equals("or") && !nextCondition.equals("(") && !nextCondition.equals(")") ? " and " : ""));
-                } else {
-                    whereCondition.append(" ").append(whereCond).append(" ");
-                }
+    /**
+     * Joins the where/having conditions of the query builder along with "or","(" and ")" added between them.Conditions not separated by or
+     * are and-ed ie.. a condition or ")" followed by a condition or "(" is separated by and.Conditions are read once in order,so time taken
+     * is linear in the number of conditions.
+     */
+    private String buildConditions(List<String> conditions) {
+        StringBuilder sqlCondition = new StringBuilder();
+        Iterator<String> iterator = conditions.iterator();
+        String condition = (iterator.hasNext() ? iterator.next() : null);
+        while (condition != null) {
+            String nextCondition = (iterator.hasNext() ? iterator.next() : null);
+            boolean andNext = nextCondition != null && !nextCondition.equals("or") && !nextCondition.equals(")");
+            if (nextCondition == null) {
+                sqlCondition.append(condition);
+            } else if (!condition.equals("or") && !condition.equals("(") && !condition.equals(")")) {
+                sqlCondition.append(condition).append(andNext ? " and " : "");
             } else {
-                whereCondition.append(whereCond);
+                sqlCondition.append(" ").append(condition).append(" ").append(condition.equals(")") && andNext ? "and " : "");
             }
+            condition = nextCondition;
         }
-        return whereCondition.toString();
+        return sqlCondition.toString();
     }
 
 
     /**
-     * Appends groupBy columns into against the graphKey in the {@link SimpleGraphObject}
-     * Takes instance of SimpleGraphObject and SimpleQueryBuilder and
+     * Appends field name of the table column passed (also must be present in JPA entity) against the graphKey,which is used later to select column for table with alias as graphKey.
+     *
+     * @param additionalFieldMap fields added for the query against their graph level,merged with {@link SimpleGraphObject#getGqlGraphReqFieldMap()} by {@link SimpleGraphObject#withFields(Map)}
+     * @param graphKey           is the graph level/table alias
+     * @param columnName         table column name which needs to be added into the table with alias as graphKey
      */
-    public void addColumnsInSimpleGraphObject(SimpleQueryBuilder queryBuilder) {
-        for (String columnName : queryBuilder.getGroupByCondition()) {
-            addFieldNameForColumnInSGO(queryBuilder.getGraphKey(), columnName);
+    private void addFieldNameForColumn(Map<String, Set<String>> additionalFieldMap, String graphKey, String columnName) {
+        Map<String, String> columnFieldMap = metadataRegistry.getColumnFieldMap(simpleGraphObject.getGqlGraphEntityMap().get(graphKey));
+        String fieldName = (columnFieldMap == null ? null : columnFieldMap.get(columnName));
+        if (fieldName != null) {
+            additionalFieldMap.computeIfAbsent(graphKey, key -> new LinkedHashSet<>()).add(fieldName);
         }
+    }
 
+    /**
+     * Returns table of the entity of the graph level,or the rows of the table ranked within their parent and limited when the graph level
+     * is limited using {@link JoinQueryBuilder.Builder#addGraphLimitCondition(String, int, String...)}.Join columns of the child are the
+     * parent key,so the rows are partitioned by them and numbered in the order of the columns of the query builder followed by the primary keys.
+     *
+     * @param joinColumns parent and child columns joining the graph level with its parent
+     */
+    private String getGraphTableReference(JoinQueryBuilder queryBuilder, String graphKey, String entityName, List<Pair<String, String>> joinColumns) {
+        String tableName = metadataRegistry.getTableName(entityName);
+        Integer limit = queryBuilder.getGraphLimit().get(graphKey);
+        if (limit == null) {
+            return tableName;
+        }
+        if (limit <= 0) {
+            throw new DynamicQueryException(String.format(ErrorConstants.INVALID_GRAPH_LIMIT, limit, graphKey));
+        }
+        for (String whereCond : queryBuilder.getWhereCondition()) {
+            if (whereCond.startsWith(graphKey + ".")) {
+                throw new DynamicQueryException(String.format(ErrorConstants.GRAPH_LIMIT_CONDITION, whereCond, graphKey));
+            }
+        }
+        Map<String, String> columnFieldMap = metadataRegistry.getColumnFieldMap(entityName);
+        Set<String> orderColumns = new LinkedHashSet<>();
+        List<String> orderBy = new ArrayList<>();
+        for (String orderByColumn : queryBuilder.getGraphLimitOrder().get(graphKey)) {
+            String[] columnWithOrder = orderByColumn.trim().split("\\s+");
+            if (!columnFieldMap.containsKey(columnWithOrder[0]) || columnWithOrder.length > 2
+                    || (columnWithOrder.length == 2 && !columnWithOrder[1].equalsIgnoreCase("asc") && !columnWithOrder[1].equalsIgnoreCase("desc"))) {
+                throw new DynamicQueryException(String.format(ErrorConstants.GRAPH_LIMIT_COLUMN_NOT_FOUND, orderByColumn, entityName));
+            }
+            if (orderColumns.add(columnWithOrder[0])) {
+                orderBy.add("ranked." + columnWithOrder[0] + (columnWithOrder.length == 2 ? " " + columnWithOrder[1] : ""));
+            }
+        }
+        List<String> pkFields = metadataRegistry.getPkFields(entityName);
+        for (String pkField : (pkFields == null ? Collections.<String>emptyList() : pkFields)) {
+            String pkColumn = metadataRegistry.getFieldColumnMap(entityName).get(pkField);
+            if (orderColumns.add(pkColumn)) {
+                orderBy.add("ranked." + pkColumn);
+            }
+        }
+        StringBuilder partitionBy = new StringBuilder();
+        for (Pair<String, String> joinCols : joinColumns) {
+            partitionBy.append(partitionBy.length() == 0 ? "" : ",").append("ranked.").append(joinCols.getSecond());
+        }
+        return "(select * from (select ranked.*,row_number() over (partition by " + partitionBy
+                + (orderBy.isEmpty() ? "" : " order by " + String.join(",", orderBy)) + ") as " + GRAPH_ROW_NUMBER + " from " + tableName
+                + " ranked) " + graphKey + "_ranked where " + GRAPH_ROW_NUMBER + " <= " + limit + ")";
     }
 
     /**
-     * Appends table column name passed (also must be present in JPA entity) against the graphKey in the {@link SimpleGraphObject} which is used later to select column for table with alias as graphKey.
+     * Returns the table filtered by the lookup keys of the query builder as per {@link LookupTableDialect},the table itself when it has
+     * no lookup keys.Keys come first in the from clause,so they are the first parameters of the query.Duplicate keys padding the keys to
+     * their bucket size are removed by distinct/in,so they do not repeat the rows of the table.
      *
-     * @param graphKey   is the graph level/table alias which is key in the map returned by {@link SimpleGraphObject#getGqlGraphReqFieldMap()}
-     * @param columnName table column name which needs to be added into the table with alias as graphKey
+     * @param tableWithAlias root table of the query builder along with its alias
      */
-    private void addFieldNameForColumnInSGO(String graphKey, String columnName) {
-        String entityName = simpleGraphObject.getGqlGraphEntityMap().get(graphKey);
-        Map<String, String> fieldColMap = EntityMetaDataProvider.ENTITY_FIELD_COL_MAP.get(entityName);
-        for (String fieldName : fieldColMap.keySet()) {
-            if (fieldColMap.get(fieldName).contains(columnName)) {
-                EntityMetaDataProvider.ENTITY_COL_FIELD_MAP.get(entityName);
-                if (null == simpleGraphObject.getGqlGraphReqFieldMap().get(graphKey)) {
-                    simpleGraphObject.getGqlGraphReqFieldMap().put(graphKey, new HashSet<>());
-                }
-                simpleGraphObject.getGqlGraphReqFieldMap().get(graphKey).add(EntityMetaDataProvider.ENTITY_COL_FIELD_MAP.get(entityName).get(columnName));
+    private String getLookupTableReference(QueryBuilder queryBuilder, String tableWithAlias) {
+        if (queryBuilder.getLookupColumn() == null) {
+            return tableWithAlias;
+        }
+        int keyCount = queryBuilder.getLookupBindValues().size();
+        LookupTableDialect lookupTableDialect = EntityMetaDataProvider.lookupTableDialect;
+        if (lookupTableDialect == LookupTableDialect.IN_LIST) {
+            String tableAlias = tableWithAlias.substring(Math.max(tableWithAlias.lastIndexOf(' '), tableWithAlias.lastIndexOf('.')) + 1);
+            return "(select * from " + tableWithAlias + " where " + queryBuilder.getLookupColumn() + SqlCondition.in(keyCount).getCondition()
+                    + ") " + tableAlias;
+        }
+        StringBuilder lookupTable = new StringBuilder("(select distinct ");
+        if (lookupTableDialect == LookupTableDialect.MYSQL) {
+            lookupTable.append(MYSQL_VALUES_COLUMN).append(" as ").append(LOOKUP_COLUMN).append(" from (values ");
+            for (int index = 0; index < keyCount; index++) {
+                lookupTable.append(index == 0 ? "row(?)" : ",row(?)");
+            }
+            lookupTable.append(") ").append(LOOKUP_ALIAS);
+        } else {
+            lookupTable.append(LOOKUP_COLUMN).append(" from (values ");
+            for (int index = 0; index < keyCount; index++) {
+                lookupTable.append(index == 0 ? "(?)" : ",(?)");
             }
+            lookupTable.append(") ").append(LOOKUP_ALIAS).append('(').append(LOOKUP_COLUMN).append(')');
         }
+        return lookupTable.append(") ").append(LOOKUP_ALIAS)
+                .append(SqlJoinType.INNER_JOIN.getJoinType()).append(tableWithAlias)
+                .append(" on ").append(queryBuilder.getLookupColumn()).append(" = ").append(LOOKUP_ALIAS).append('.').append(LOOKUP_COLUMN).toString();
     }
 
     private String getFromTables(JoinQueryBuilder queryBuilder, String fromTables, String graphKey) {
         String rootEntity = simpleGraphObject.getRootEntity();
-        String entityName = EntityMetaDataProvider.GRAPH_ENTITY_MAP.get(rootEntity).get(graphKey);
-        String tableWithAlias = EntityMetaDataProvider.ENTITY_TABLE_MAP.get(entityName) + " " + graphKey;
+        String entityName = metadataRegistry.getGraphEntityMap(rootEntity).get(graphKey);
         String parentTableAlias = (graphKey.contains("_") ? graphKey.substring(0, graphKey.lastIndexOf('_')) : ServiceConstants.ROOT_GRAPH_LEVEL);
         String childTableReference = graphKey.substring(graphKey.lastIndexOf('_') + 1);
         String parentTable = simpleGraphObject.getGqlGraphEntityMap().get(parentTableAlias);
         String joinCondition = "";
         try {
-            for (Pair joinCols : EntityMetaDataProvider.TABLE_GRAPH_JOIN_COL_MAP.get(parentTable).get(childTableReference)) {
+            for (Pair joinCols : metadataRegistry.getGraphJoinColumns(parentTable).get(childTableReference)) {
                 joinCondition = " and " + parentTableAlias + "." + joinCols.getFirst() + " = " + graphKey + "." + joinCols.getSecond();
             }
         } catch (NullPointerException nex) {
-            Map<String, String> graphEntityMap = EntityMetaDataProvider.GRAPH_ENTITY_MAP.get(rootEntity);
+            Map<String, String> graphEntityMap = metadataRegistry.getGraphEntityMap(rootEntity);
             throw new DynamicQueryException(String.format(ErrorConstants.ASSOCIATION_NOT_DEFINED, graphEntityMap.get(parentTableAlias), graphEntityMap.get(graphKey), childTableReference));
         }
+        String tableWithAlias = getGraphTableReference(queryBuilder, graphKey, entityName,
+                metadataRegistry.getGraphJoinColumns(parentTable).get(childTableReference)) + " " + graphKey;
 
         fromTables += "  " + queryBuilder.getGraphJoinType().get(graphKey) + " " + tableWithAlias + " on " + joinCondition.substring(4) + " ";
         return fromTables;
     }
 
+    /**
+     * Query created for a keyset paged join query builder
+     */
+    private enum KeysetQuery {
+        PAGE, COUNT, EXISTS
+    }
+
 }
@@ -15,24 +15,18 @@
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
 
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.ChildEntity;
-import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.DynamicJoinColumn;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.RootEntity;
-import io.leangen.graphql.annotations.GraphQLQuery;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.JsonQueryDialect;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.LookupTableDialect;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.reflections.Reflections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.util.Pair;
 
 import javax.annotation.PostConstruct;
-import javax.persistence.*;
-import java.beans.Introspector;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.*;
 
 /**
  * This class contains common methods which helps to implement dynamic query generation.To use this class location of
@@ -42,194 +36,171 @@
 @Configuration
 public class EntityMetaDataProvider {
 
+    private static final Logger LOGGER = LogManager.getLogger(EntityMetaDataProvider.class);
+    private static String entityLocation;
     /**
-     * Map holds Root Entity Name as key value as a Map which holds graph Key/level as key and Entity Name as value
+     * When true,columns of each graph level are selected in the order of the entity columns so that same GraphQL request
+     * shape always generates same SQL text irrespective of the order in which fields are requested
      */
-    protected static final Map<String, Map<String, String>> GRAPH_ENTITY_MAP = new HashMap<>();
+    protected static boolean canonicalSql = true;
+    private static boolean metadataIndexEnabled = true;
     /**
-     * A Map which holds Entity name,the GQL field name given using @GraphQLQuery(name = ?),
-     * and the respective field name generated from its getter
+     * SQL functions used to build the JSON documents of {@link QueryStrategy#JSON}
      */
-    protected static final Map<String, Map<String, String>> ENTITY_GQL_FIELD_TO_ENTITY_FIELD_MAP = new HashMap<>();
+    protected static JsonQueryDialect jsonQueryDialect = JsonQueryDialect.MYSQL;
     /**
-     * A Map which holds Entity class name as key,Value is another map with key as field
-     * name and value as column name of the entity
+     * SQL of the table of the lookup keys of the query builders
      */
-    protected static final Map<String, Map<String, String>> ENTITY_FIELD_COL_MAP = new HashMap<>();
+    protected static LookupTableDialect lookupTableDialect = LookupTableDialect.IN_LIST;
+    @Autowired
+    GraphEntityMapGenerator graphTblMapGenerator;
+
+    @Value("${sidh.entity-location}")
+    public void setEntityLocation(String entityLocation) {
+        EntityMetaDataProvider.entityLocation = entityLocation;
+    }
+
     /**
-     * A Map which holds Entity class name as key,Value is another map with key as db column name
-     * name and value as field name of the entity
+     * Enables or disables canonical SQL generation.Default is true.
      */
-    protected static final Map<String, Map<String, String>> ENTITY_COL_FIELD_MAP = new HashMap<>();
+    @Value("${sidh.canonical-sql:true}")
+    public void setCanonicalSql(boolean canonicalSql) {
+        EntityMetaDataProvider.canonicalSql = canonicalSql;
+    }
+
     /**
-     * A Map which holds Entity class name as Key and primary key/foreign key field variable from entity name as list of values.
+     * Sets the SQL functions used to build the JSON documents of {@link QueryStrategy#JSON}.Default is {@link JsonQueryDialect#MYSQL}.
      */
-    protected static final Map<String, List<String>> ENTITY_PK_FK_FIELD_MAP = new HashMap<>();
+    @Value("${sidh.json-query.dialect:MYSQL}")
+    public void setJsonQueryDialect(JsonQueryDialect jsonQueryDialect) {
+        EntityMetaDataProvider.jsonQueryDialect = jsonQueryDialect;
+    }
+
     /**
-     * A Map which holds Entity class name as Key and primary key field variable from entity name as list of values.
+     * Sets the SQL of the table of the lookup keys of the query builders.Default is {@link LookupTableDialect#IN_LIST},which every
+     * database supports.Queries already generated are cleared,as they have the table of the previous dialect.
      */
-    protected static final Map<String, List<String>> ENTITY_PK_MAP = new HashMap<>();
+    @Value("${sidh.lookup.table-dialect:IN_LIST}")
+    public void setLookupTableDialect(LookupTableDialect lookupTableDialect) {
+        EntityMetaDataProvider.lookupTableDialect = lookupTableDialect;
+        QueryShapeCache.getInstance().clear();
+    }
+
     /**
-     * A Map which holds ENtity Name as Key and its table name as value
+     * Enables or disables loading of entity metadata from {@link MetadataIndex} created at build time.Default is true,
+     * entities are scanned when disabled or when no index is found.
      */
-    protected static final Map<String, String> ENTITY_TABLE_MAP = new HashMap<>();
+    @Value("${sidh.metadata-index.enabled:true}")
+    public void setMetadataIndexEnabled(boolean metadataIndexEnabled) {
+        EntityMetaDataProvider.metadataIndexEnabled = metadataIndexEnabled;
+    }
+
     /**
-     * A Map which holds Entity class Name as Key and its value as a Map.
-     * This value map in turn holds variable/graph name as key,Value is List of join columns names.These join column
-     * names are the columns of the parent entity and child entity based on which join will happen.First value in the pair/tuple
-     * is from parent entity and second value in the pair is column of the child table.
+     * Sets maximum number of query shapes for which generated SQL is cached.Default is {@link QueryShapeCache#DEFAULT_MAX_SIZE},
+     * 0 disables the cache.
      */
-    protected static final Map<String, Map<String, List<Pair<String, String>>>> TABLE_GRAPH_JOIN_COL_MAP = new HashMap<>();
-    private static final Logger LOGGER = LogManager.getLogger(EntityMetaDataProvider.class);
-    private static String entityLocation;
-    @Autowired
-    GraphEntityMapGenerator graphTblMapGenerator;
-
-    @Value("${sidh.entity-location}")
-    public void setEntityLocation(String entityLocation) {
-        EntityMetaDataProvider.entityLocation = entityLocation;
+    @Value("${sidh.query-cache.max-size:" + QueryShapeCache.DEFAULT_MAX_SIZE + "}")
+    public void setQueryCacheMaxSize(int queryCacheMaxSize) {
+        QueryShapeCache.getInstance().setMaxSize(queryCacheMaxSize);
     }
 
     /**
-     * This method reads Entity classes by annotation {@link ChildEntity} and sets below class variables :
-     * <p>
-     * 1.{@link EntityMetaDataProvider#ENTITY_FIELD_COL_MAP}
-     * 2.{@link EntityMetaDataProvider#ENTITY_PK_FK_FIELD_MAP}
-     * 3.{@link EntityMetaDataProvider#ENTITY_TABLE_MAP}
-     * 4.{@link EntityMetaDataProvider#TABLE_GRAPH_JOIN_COL_MAP}
-     * 5.{@link EntityMetaDataProvider#ENTITY_GQL_FIELD_TO_ENTITY_FIELD_MAP}
-     * 6.{@link EntityMetaDataProvider#ENTITY_COL_FIELD_MAP}
-     * 7.{@linkEntityMetaDataProvider#graphEntityMap}
-     *
-     * @throws Exception
+     * Sets maximum number of GraphQL documents for which SimpleGraphObjects converted from the selection sets are cached.
+     * Default is 0,which disables the cache,as it only hits when the parsed documents are reused,see {@link SelectionSetCache}.
      */
-    @PostConstruct
-    public void getEntityMetaData() {
+    @Value("${sidh.selection-cache.max-size:" + SelectionSetCache.DEFAULT_MAX_SIZE + "}")
+    public void setSelectionCacheMaxSize(int selectionCacheMaxSize) {
+        SelectionSetCache.getInstance().setMaxSize(selectionCacheMaxSize);
+    }
 
-        Reflections reflections = new Reflections(entityLocation);
-        Set<Class<? extends Object>> allClasses = reflections.getTypesAnnotatedWith(RootEntity.class);
-
-        if (allClasses != null) allClasses.addAll(reflections.getTypesAnnotatedWith(ChildEntity.class));
-
-        for (Class<?> entityClass : allClasses) {
-            try {
-
-                addEntityGqlFieldToEntityFieldMap(entityClass);
-
-                addTableGraphJoinColMap(entityClass);
-
-                Field[] fields = entityClass
-                        .getSuperclass()
-                        .getDeclaredFields();
-
-                Map<String, String> fieldColumnMap = new HashMap<>();
-                Map<String, String> columnFieldMap = new HashMap<>();
-                List<String> pkFkFieldList = new ArrayList<>();
-                List<String> pkFieldList = new ArrayList<>();
-                for (Field field : fields) {
-                    if (!field.isSynthetic() && !Modifier.isTransient(field.getModifiers())) {
-                        columnFieldMap.put(field.getAnnotation(Column.class).name(), field.getName());
-                        fieldColumnMap.put(field.getName(), field.getAnnotation(Column.class).name());
-                        if (field.isAnnotationPresent(Id.class)) {
-                            pkFieldList.add(field.getName());
-                            pkFkFieldList.add(field.getName());
-                        }
-                        if (field.isAnnotationPresent(DynamicJoinColumn.class) && !pkFkFieldList.contains(field.getName())) {
-                            pkFkFieldList.add(field.getName());
-                        }
-                    }
-                }
-                ENTITY_COL_FIELD_MAP.put(entityClass.getSimpleName(), columnFieldMap);
-                ENTITY_FIELD_COL_MAP.put(entityClass.getSimpleName(), fieldColumnMap);
-                ENTITY_PK_FK_FIELD_MAP.put(entityClass.getSimpleName(), pkFkFieldList);
-                ENTITY_PK_MAP.put(entityClass.getSimpleName(), pkFieldList);
-                ENTITY_TABLE_MAP.put(entityClass.getSimpleName(), entityClass.getAnnotation(Table.class).name());
-
-            } catch (SecurityException e) {
-                LOGGER.error("Exception while Creating metadata for GraphQL JPA : {}", e);
-            }
-        }
+    /**
+     * Enables or disables rounding up the number of parameters of in conditions to power of two buckets,see {@link InListExpansion}.
+     * Default is true.
+     */
+    @Value("${sidh.in-list.bucketed:true}")
+    public void setInListBucketed(boolean inListBucketed) {
+        InListExpansion.getInstance().setBucketed(inListBucketed);
+    }
 
-        Set<Class<? extends Object>> rootClasses = reflections.getTypesAnnotatedWith(RootEntity.class);
+    /**
+     * Sets the largest bucket of in conditions,larger lists are not padded.Default is {@link InListExpansion#DEFAULT_MAX_BUCKET_SIZE}.
+     */
+    @Value("${sidh.in-list.max-bucket-size:" + InListExpansion.DEFAULT_MAX_BUCKET_SIZE + "}")
+    public void setInListMaxBucketSize(int inListMaxBucketSize) {
+        InListExpansion.getInstance().setMaxBucketSize(inListMaxBucketSize);
+    }
 
-        for (Class<?> entityClass : rootClasses) {
-            //Setting Root Entity as Key and Graph Entity Map(for nested graphs and entities inside it) as its value
-            GRAPH_ENTITY_MAP.put(entityClass.getSimpleName(), graphTblMapGenerator.createGraphEntityMap(entityClass.getSimpleName(), "", entityClass, false));
-        }
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Map<EntityName,Map<fieldName,CorrespondingColumnName>> entityFieldColumnMap : {}", ENTITY_FIELD_COL_MAP);
-            LOGGER.debug("Map<EntityName,Map<ColumnName,CorrespondingfieldName>> entityColumnFieldMap : {}", ENTITY_COL_FIELD_MAP);
-            LOGGER.debug("EntityPkFkFieldMap entityPkFkFieldMap : {}", ENTITY_PK_FK_FIELD_MAP);
-            LOGGER.debug("EntityPkFieldMap entityPkMap : {}", ENTITY_PK_MAP);
-            LOGGER.debug("Map<EntityName, EntityTableName> : {}", ENTITY_TABLE_MAP);
-            LOGGER.debug("Map<EntityName,Map<GraphKey/Field Variables,List<Pair<joinColCurrentEntity,joinColumnReferencedEntity>>>> tableGraphJoinColMap : {}", TABLE_GRAPH_JOIN_COL_MAP);
-            LOGGER.debug("Map<GraphKey,Table> graphEntityMap : {}", GRAPH_ENTITY_MAP);
-        }
+    /**
+     * Sets number of values of in conditions above which values are bound as an array using = any(?).Default is 0,values are never
+     * bound as an array.
+     */
+    @Value("${sidh.in-list.array-threshold:0}")
+    public void setInListArrayThreshold(int inListArrayThreshold) {
+        InListExpansion.getInstance().setArrayThreshold(inListArrayThreshold);
+    }
 
+    /**
+     * Sets the average number of child rows per parent row assumed for a List association until its fan out is recorded.
+     * Default is {@link FanOutStatistics#DEFAULT_FAN_OUT}.
+     */
+    @Value("${sidh.query-planner.default-fan-out:" + FanOutStatistics.DEFAULT_FAN_OUT + "}")
+    public void setDefaultFanOut(double defaultFanOut) {
+        FanOutStatistics.getInstance().setDefaultFanOut(defaultFanOut);
+    }
 
+    /**
+     * Sets the cost of an additional query,as number of selected cells,used to choose between join and split queries.
+     * Default is {@link FanOutStatistics#DEFAULT_ROUND_TRIP_COST}.
+     */
+    @Value("${sidh.query-planner.round-trip-cost:" + FanOutStatistics.DEFAULT_ROUND_TRIP_COST + "}")
+    public void setRoundTripCost(double roundTripCost) {
+        FanOutStatistics.getInstance().setRoundTripCost(roundTripCost);
     }
 
     /**
-     * Creates a Map of GraphQL field to Entity Field Naames from the Entities MappedSuperClass.Map is added only when GraphQL
-     * schema name is different from the getter name(by stripping get/is from getter)
-     * Eg :
-     * A getter getGQLFldName annotated with @GraphQLQuery("SampleName") may be present in GraphQL schema as SampleName
-     * <p>
-     * So the Map will hold Key value as {SampleName,GQLFldName}
-     *
-     * @param entityClass for which Map needs to be generated
-     */
-    private void addEntityGqlFieldToEntityFieldMap(Class<?> entityClass) {
-        Method[] methods = entityClass.getSuperclass().getDeclaredMethods();
-        Map<String, String> gqlFieldToEntityFieldMap = new HashMap<>();
-        for (Method method : methods) {
-            if (!method.isSynthetic() && !Modifier.isTransient(method.getModifiers())) {
-                String fieldName;
-                if (method.isAnnotationPresent(GraphQLQuery.class) && !method.getAnnotation(GraphQLQuery.class).name().equals("")) {
-                    //if name is provided inside @GraphQLQuery annotation
-                    //if the method starts with get /is,strip it and generate field name else keep getter name as field name
-                    if (method.getName().startsWith("get") || method.getName().startsWith("is")) {
-                        fieldName = Introspector.decapitalize(method.getName().substring(method.getName().startsWith("is") ? 2 : 3));
-                    } else {
-                        fieldName = method.getName();
-                    }
-                    //store GQL field name and respective entity field name
-                    gqlFieldToEntityFieldMap.put(method.getAnnotation(GraphQLQuery.class).name(), fieldName);
-                }
-            }
-        }
-        ENTITY_GQL_FIELD_TO_ENTITY_FIELD_MAP.put(entityClass.getSimpleName(), gqlFieldToEntityFieldMap);
+     * Enables or disables recording of the rows fetched per association in {@link FanOutStatistics} by the queries of
+     * {@link QueryStrategy#AUTO}.Default is true.
+     */
+    @Value("${sidh.query-planner.fan-out-statistics:true}")
+    public void setFanOutStatisticsEnabled(boolean fanOutStatisticsEnabled) {
+        FanOutStatistics.getInstance().setEnabled(fanOutStatisticsEnabled);
     }
 
     /**
-     * Creates  Map<EntityName,List<Pair<JoinColumnName,ReferenceJoinColumnName>> from EntityClass
-     * annotated with @DynamicQueryEntity.
-     *
-     * @param entityClass
-     */
-    private void addTableGraphJoinColMap(Class<?> entityClass) {
-        Field[] fields = entityClass.getDeclaredFields();
-        Map<String, List<Pair<String, String>>> graphKeyJoinColsMap = new HashMap<>();
-        for (Field field : fields) {
-            if (!field.isSynthetic() && !Modifier.isTransient(field.getModifiers())) {
-                List<Pair<String, String>> joinColList = new ArrayList<>();
-                if (field.isAnnotationPresent(JoinColumns.class)) {
-                    for (JoinColumn joinCol : field.getAnnotation(JoinColumns.class).value()) {
-                        Pair<String, String> joinCols = Pair.of(joinCol.name(), joinCol.referencedColumnName());
-                        joinColList.add(joinCols);
-                    }
-                } else if (field.isAnnotationPresent(JoinColumn.class)) {
-                    JoinColumn joinCol = field.getAnnotation(JoinColumn.class);
-                    Pair<String, String> joinCols = Pair.of(joinCol.name(), joinCol.referencedColumnName());
-                    joinColList.add(joinCols);
-                }
-                if (!joinColList.isEmpty()) {
-                    graphKeyJoinColsMap.put(field.getName(), joinColList);
-                }
+     * This method loads entity metadata from {@link MetadataIndex} packaged with the application,or when no index is found
+     * reads Entity classes by annotation {@link RootEntity} and {@link ChildEntity} using {@link EntityMetaDataReader}.
+     * It builds a {@link MetadataRegistry} holding below metadata and publishes it using {@link MetadataRegistry#publish(MetadataRegistry)} :
+     * <p>
+     * 1.Field name and column name of every entity
+     * 2.Primary key/dynamic join column field names
+     * 3.Table names
+     * 4.Join columns for the references to other entities
+     * 5.GQL field names given using @GraphQLQuery(name = ?)
+     * 6.Graph levels and entity names for every root entity
+     * <p>
+     * Calling this method again reads the entities again and replaces the published metadata without affecting the queries
+     * being generated.
+     */
+    @PostConstruct
+    public void getEntityMetaData() {
+
+        MetadataRegistry.Builder registryBuilder = null;
+        if (metadataIndexEnabled) {
+            MetadataIndex metadataIndex = MetadataIndex.load(EntityMetaDataProvider.class.getClassLoader(), entityLocation);
+            if (metadataIndex != null) {
+                LOGGER.info("Entity metadata loaded from index {} for {} entities", MetadataIndex.INDEX_LOCATION, metadataIndex.getEntityNames().size());
+                registryBuilder = metadataIndex.toRegistryBuilder();
             }
         }
-        if (graphKeyJoinColsMap.size() > 0) {
-            TABLE_GRAPH_JOIN_COL_MAP.put(entityClass.getSimpleName(), graphKeyJoinColsMap);
+        if (registryBuilder == null) {
+            //no index packaged for the entity location,reading entities from classpath
+            registryBuilder = new EntityMetaDataReader(graphTblMapGenerator).read(new Reflections(entityLocation));
+        }
+
+        MetadataRegistry metadataRegistry = registryBuilder.build();
+        MetadataRegistry.publish(metadataRegistry);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Entity metadata published : {}", metadataRegistry);
         }
 
     }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.ChildEntity;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.DynamicJoinColumn;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.RootEntity;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reflections.Reflections;
+import org.springframework.data.util.Pair;
+
+import javax.persistence.*;
+import java.beans.Introspector;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Reads metadata of the entities annotated with {@link RootEntity} and {@link ChildEntity} using reflection.Used by
+ * {@link EntityMetaDataProvider} when no {@link MetadataIndex} is found and by the build plugin to create the index.
+ */
+public class EntityMetaDataReader {
+
+    private static final Logger LOGGER = LogManager.getLogger(EntityMetaDataReader.class);
+
+    private final GraphEntityMapGenerator graphTblMapGenerator;
+
+    public EntityMetaDataReader(GraphEntityMapGenerator graphTblMapGenerator) {
+        this.graphTblMapGenerator = graphTblMapGenerator;
+    }
+
+    /**
+     * Reads table names,field and column names,primary keys,dynamic join columns,join columns,GQL field names and graph levels
+     * of all the entities found by the reflections passed.
+     *
+     * @param reflections scanning the entity package
+     * @return builder holding metadata of the entities read
+     */
+    public MetadataRegistry.Builder read(Reflections reflections) {
+
+        Set<Class<? extends Object>> allClasses = reflections.getTypesAnnotatedWith(RootEntity.class);
+
+        if (allClasses != null) allClasses.addAll(reflections.getTypesAnnotatedWith(ChildEntity.class));
+
+        MetadataRegistry.Builder registryBuilder = new MetadataRegistry.Builder();
+        for (Class<?> entityClass : allClasses) {
+            try {
+
+                registryBuilder.addGqlFieldToEntityFieldMap(entityClass.getSimpleName(), getEntityGqlFieldToEntityFieldMap(entityClass));
+
+                Map<String, List<Pair<String, String>>> graphKeyJoinColsMap = getGraphJoinColMap(entityClass);
+                if (graphKeyJoinColsMap.size() > 0) {
+                    registryBuilder.addGraphJoinColumns(entityClass.getSimpleName(), graphKeyJoinColsMap);
+                }
+
+                Field[] fields = entityClass
+                        .getSuperclass()
+                        .getDeclaredFields();
+
+                Map<String, String> fieldColumnMap = new LinkedHashMap<>();
+                List<String> pkFkFieldList = new ArrayList<>();
+                List<String> pkFieldList = new ArrayList<>();
+                for (Field field : fields) {
+                    if (!field.isSynthetic() && !Modifier.isTransient(field.getModifiers())) {
+                        fieldColumnMap.put(field.getName(), field.getAnnotation(Column.class).name());
+                        if (field.isAnnotationPresent(Id.class)) {
+                            pkFieldList.add(field.getName());
+                            pkFkFieldList.add(field.getName());
+                        }
+                        if (field.isAnnotationPresent(DynamicJoinColumn.class) && !pkFkFieldList.contains(field.getName())) {
+                            pkFkFieldList.add(field.getName());
+                        }
+                    }
+                }
+                registryBuilder.addFieldColumnMap(entityClass.getSimpleName(), fieldColumnMap)
+                        .addPkFkFields(entityClass.getSimpleName(), pkFkFieldList)
+                        .addPkFields(entityClass.getSimpleName(), pkFieldList)
+                        .addTableName(entityClass.getSimpleName(), entityClass.getAnnotation(Table.class).name());
+
+            } catch (SecurityException e) {
+                LOGGER.error("Exception while Creating metadata for GraphQL JPA : {}", e);
+            }
+        }
+
+        Set<Class<? extends Object>> rootClasses = reflections.getTypesAnnotatedWith(RootEntity.class);
+
+        for (Class<?> entityClass : rootClasses) {
+            //Setting Root Entity as Key and Graph Entity Map(for nested graphs and entities inside it) as its value
+            registryBuilder.addGraphEntityMap(entityClass.getSimpleName(), graphTblMapGenerator.createGraphEntityMap(entityClass))
+                    .addCollectionGraphLevels(entityClass.getSimpleName(), graphTblMapGenerator.createCollectionGraphLevels(entityClass));
+        }
+
+        return registryBuilder;
+    }
+
+    /**
+     * Creates a Map of GraphQL field to Entity Field Naames from the Entities MappedSuperClass.Map is added only when GraphQL
+     * schema name is different from the getter name(by stripping get/is from getter)
+     * Eg :
+     * A getter getGQLFldName annotated with @GraphQLQuery("SampleName") may be present in GraphQL schema as SampleName
+     * <p>
+     * So the Map will hold Key value as {SampleName,GQLFldName}
+     *
+     * @param entityClass for which Map needs to be generated
+     */
+    private Map<String, String> getEntityGqlFieldToEntityFieldMap(Class<?> entityClass) {
+        Method[] methods = entityClass.getSuperclass().getDeclaredMethods();
+        Map<String, String> gqlFieldToEntityFieldMap = new HashMap<>();
+        for (Method method : methods) {
+            if (!method.isSynthetic() && !Modifier.isTransient(method.getModifiers())) {
+                String fieldName;
+                if (method.isAnnotationPresent(GraphQLQuery.class) && !method.getAnnotation(GraphQLQuery.class).name().equals("")) {
+                    //if name is provided inside @GraphQLQuery annotation
+                    //if the method starts with get /is,strip it and generate field name else keep getter name as field name
+                    if (method.getName().startsWith("get") || method.getName().startsWith("is")) {
+                        fieldName = Introspector.decapitalize(method.getName().substring(method.getName().startsWith("is") ? 2 : 3));
+                    } else {
+                        fieldName = method.getName();
+                    }
+                    //store GQL field name and respective entity field name
+                    gqlFieldToEntityFieldMap.put(method.getAnnotation(GraphQLQuery.class).name(), fieldName);
+                }
+            }
+        }
+        return gqlFieldToEntityFieldMap;
+    }
+
+    /**
+     * Creates  Map<GraphName,List<Pair<JoinColumnName,ReferenceJoinColumnName>> from EntityClass
+     * annotated with @DynamicQueryEntity.
+     *
+     * @param entityClass
+     */
+    private Map<String, List<Pair<String, String>>> getGraphJoinColMap(Class<?> entityClass) {
+        Field[] fields = entityClass.getDeclaredFields();
+        Map<String, List<Pair<String, String>>> graphKeyJoinColsMap = new HashMap<>();
+        for (Field field : fields) {
+            if (!field.isSynthetic() && !Modifier.isTransient(field.getModifiers())) {
+                List<Pair<String, String>> joinColList = new ArrayList<>();
+                if (field.isAnnotationPresent(JoinColumns.class)) {
+                    for (JoinColumn joinCol : field.getAnnotation(JoinColumns.class).value()) {
+                        Pair<String, String> joinCols = Pair.of(joinCol.name(), joinCol.referencedColumnName());
+                        joinColList.add(joinCols);
+                    }
+                } else if (field.isAnnotationPresent(JoinColumn.class)) {
+                    JoinColumn joinCol = field.getAnnotation(JoinColumn.class);
+                    Pair<String, String> joinCols = Pair.of(joinCol.name(), joinCol.referencedColumnName());
+                    joinColList.add(joinCols);
+                }
+                if (!joinColList.isEmpty()) {
+                    graphKeyJoinColsMap.put(field.getName(), joinColList);
+                }
+            }
+        }
+        return graphKeyJoinColsMap;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe,running statistics of the rows fetched by {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor}
+ * for the queries of {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy#AUTO},used by {@link DynamicQueryGenerationHelper#getQueryStrategy} to estimate the cost of join and split queries.
+ * <p>
+ * Fan out of an association is the average number of child rows per parent row,keyed by {@link FanOutStatistics#getAssociationKey}.
+ * Rows returned per query for a root entity are kept against the root entity name.Values not recorded yet are estimated using
+ * ${sidh.query-planner.default-fan-out},the cost of an additional query is set using ${sidh.query-planner.round-trip-cost}
+ * as number of selected cells which could be fetched in the time of a database round trip.
+ */
+public class FanOutStatistics {
+
+    public static final double DEFAULT_FAN_OUT = 4;
+    public static final double DEFAULT_ROUND_TRIP_COST = 100;
+
+    private static final FanOutStatistics INSTANCE = new FanOutStatistics();
+
+    private final Map<String, long[]> rowCounts = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile double defaultFanOut = DEFAULT_FAN_OUT;
+    private volatile double roundTripCost = DEFAULT_ROUND_TRIP_COST;
+
+    /**
+     * Returns the statistics shared by all instances of {@link DynamicQueryGenerationHelper}
+     */
+    public static FanOutStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the key of the association from the parent entity to the entity referred by referenceName ie.. Surgeon.docSpeciality
+     */
+    public static String getAssociationKey(String parentEntity, String referenceName) {
+        return parentEntity + "." + referenceName;
+    }
+
+    /**
+     * Adds number of parent rows fetched and number of child rows fetched for them into the running totals of the key.
+     * Nothing is recorded when the statistics are disabled or no parent row is fetched.
+     */
+    public void record(String key, long parentCount, long childCount) {
+        if (!enabled || parentCount <= 0) {
+            return;
+        }
+        //a new array is stored for every record so that readers never see a partially updated pair
+        rowCounts.merge(key, new long[]{parentCount, childCount}, (counts, added) -> new long[]{counts[0] + added[0], counts[1] + added[1]});
+    }
+
+    /**
+     * Returns average number of child rows per parent row recorded for the key,null if nothing is recorded
+     */
+    public Double getFanOut(String key) {
+        long[] counts = rowCounts.get(key);
+        if (counts == null) {
+            return null;
+        }
+        return (double) counts[1] / counts[0];
+    }
+
+    public void clear() {
+        rowCounts.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording of the statistics.Recorded statistics are removed when disabled.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    public double getDefaultFanOut() {
+        return defaultFanOut;
+    }
+
+    public void setDefaultFanOut(double defaultFanOut) {
+        this.defaultFanOut = defaultFanOut;
+    }
+
+    public double getRoundTripCost() {
+        return roundTripCost;
+    }
+
+    public void setRoundTripCost(double roundTripCost) {
+        this.roundTripCost = roundTripCost;
+    }
+
+}
@@ -26,8 +26,10 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Creates a Map of graphLevel and associated entity based on the entiity associations created inside entity-location provided
@@ -37,8 +39,32 @@
 public class GraphEntityMapGenerator {
 
     private static final Logger LOGGER = LogManager.getLogger(GraphEntityMapGenerator.class);
-    Map<String, String> graphEntityMap = new HashMap<>();
-    private String rootEntityName = "";
+
+    /**
+     * Creates Map of graph levels and associated entity names for the root entity passed.A new Map is created for every
+     * call so Maps of different root entities do not share graph levels.
+     *
+     * @param rootEntityClass is entity annotated with @RootEntity
+     * @return a map of graphlevel and associated entity
+     */
+    public Map<String, String> createGraphEntityMap(Class<?> rootEntityClass) {
+        Map<String, String> graphEntityMap = new HashMap<>();
+        addGraphLevels(rootEntityClass.getSimpleName(), "", rootEntityClass, rootEntityClass.getSimpleName(), false, graphEntityMap, new HashSet<>());
+        return graphEntityMap;
+    }
+
+    /**
+     * Returns graph levels of the root entity passed which are referred using a List in their parent entity.Every row of the
+     * parent may have many rows of such graph levels,which is used to estimate the rows returned by the join queries.
+     *
+     * @param rootEntityClass is entity annotated with @RootEntity
+     * @return set of graph levels having one to many association with their parent
+     */
+    public Set<String> createCollectionGraphLevels(Class<?> rootEntityClass) {
+        Set<String> collectionGraphLevels = new HashSet<>();
+        addGraphLevels(rootEntityClass.getSimpleName(), "", rootEntityClass, rootEntityClass.getSimpleName(), false, new HashMap<>(), collectionGraphLevels);
+        return collectionGraphLevels;
+    }
 
     /**
      * Creates Graph Level based on the reference names and then maps the graphl level the respective entity name which has the fields relevent to the graph Key
@@ -46,25 +72,23 @@ public class GraphEntityMapGenerator {
      * @param graphName       is the referenced field names in the entity
      * @param parentGraphName is reference name of the input entity used by its parent class
      * @param entityClass     is the entity for which graph map is being created or passed in the input param
-     * @param isRootEntitySet is true if rootEntity has been set while traversing a complex Entity.
-     *                        Root Entity are top level entity of a complex entity or
+     * @param rootEntityName  is name of top level entity of a complex entity or
      *                        entity returned by graphql resolver and annotated with @RootEntity
-     * @returns a map of graphlevel and associated entity
-     * <p>
-     * Eg Output after all recursive calls for a Root Entity:
-     * Map [{rootObject,E1}         //Root Entity is E1,graph level is set as "rootObject"
-     * {refToE2,E2},           //reference name to E2 in E1 is refToE2,graph level is set as "refToE2"
-     * {refToE2_refToE3,E3}    //reference name to E3 in E2 is refToE3,graph level is set as "refToE2_refToE3"
-     * ...]
-     * <p>
-     * The reason behind setting such naming convention of these naming conventions are needed by SimpleFlatMapper
-     * when for SQL query and setting the result set into the nested entity
+     * @param collection      is true if the entity is referred using a List by its parent
+     * @param graphEntityMap  is the map in which graph levels are added
+     *                        <p>
+     *                        Eg Output after all recursive calls for a Root Entity:
+     *                        Map [{rootObject,E1}         //Root Entity is E1,graph level is set as "rootObject"
+     *                        {refToE2,E2},           //reference name to E2 in E1 is refToE2,graph level is set as "refToE2"
+     *                        {refToE2_refToE3,E3}    //reference name to E3 in E2 is refToE3,graph level is set as "refToE2_refToE3"
+     *                        ...]
+     *                        <p>
+     *                        The reason behind setting such naming convention of these naming conventions are needed by SimpleFlatMapper
+     *                        when for SQL query and setting the result set into the nested entity
+     * @param collectionGraphLevels is the set in which graph levels referred using a List are added
      */
-    public Map<String, String> createGraphEntityMap(String graphName, String parentGraphName, Class<?> entityClass, boolean isRootEntitySet) {
-
-        if (!isRootEntitySet) {
-            rootEntityName = entityClass.getSimpleName();
-        }
+    private void addGraphLevels(String graphName, String parentGraphName, Class<?> entityClass, String rootEntityName, boolean collection,
+                                Map<String, String> graphEntityMap, Set<String> collectionGraphLevels) {
 
         if (entityClass.isAnnotationPresent(ChildEntity.class) || entityClass.isAnnotationPresent(RootEntity.class)) {
 
@@ -75,6 +99,9 @@ public Map<String, String> createGraphEntityMap(String graphName, String parentG
             String graphLevel = getGraphLevel(graphName, parentGraphName);
             graphName = graphLevel.equals(rootEntityName) ? ServiceConstants.ROOT_GRAPH_LEVEL : graphLevel;
             graphEntityMap.put(graphName, entityClass.getSimpleName());
+            if (collection) {
+                collectionGraphLevels.add(graphName);
+            }
             Field[] fields = entityClass.getDeclaredFields();// fields of root
 
             for (Field referenceVar : fields) {
@@ -83,14 +110,14 @@ public Map<String, String> createGraphEntityMap(String graphName, String parentG
                 Class<?> entityChildClass = getReferencedEntityObj(referenceVar);
                 if (null != entityChildClass) {
                     if (entityChildClass.isAnnotationPresent(ChildEntity.class) || entityClass.isAnnotationPresent(RootEntity.class)) {
-                        createGraphEntityMap(graphName, (graphLevel.equals(rootEntityName) ? "" : graphLevel), entityChildClass, true);// calling accountfact
+                        addGraphLevels(graphName, (graphLevel.equals(rootEntityName) ? "" : graphLevel), entityChildClass, rootEntityName,
+                                referenceVar.getType().equals(List.class), graphEntityMap, collectionGraphLevels);
                     } else {
                         LOGGER.warn("@DynamicQueryEntity annotation not found in class :: {}", entityChildClass.getName());
                     }
                 }
             }
         }
-        return graphEntityMap;
 
     }
 
@@ -110,7 +137,7 @@ private Class<?> getReferencedEntityObj(Field referenceVar) {
 
         Class<?> entityChildClass = null;
         try {
-            entityChildClass = Class.forName(referenceEntityName);
+            entityChildClass = Class.forName(referenceEntityName, true, referenceVar.getDeclaringClass().getClassLoader());
         } catch (ClassNotFoundException e1) {
             LOGGER.error("Class Not Found {}", e1);
         }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expands in conditions of a list of values so that lists of different sizes share the same SQL text,keeping the statement cache
+ * of the driver and the plan cache of the database hot.
+ * <p>
+ * Number of parameters is rounded up to the next power of two ie.. 1,2,4,8.. up to ${sidh.in-list.max-bucket-size} and the last value
+ * is repeated to fill the bucket,so an id lookup of 1 to 1000 ids creates 11 queries instead of 1000.Lists larger than the max bucket
+ * size are not padded.When ${sidh.in-list.array-threshold} is greater than 0,lists larger than it are bound as a single array using
+ * <strong>= any(?)</strong>,which needs the driver to bind Java arrays eg.. PostgreSQL and H2.
+ */
+public class InListExpansion {
+
+    public static final int DEFAULT_MAX_BUCKET_SIZE = 1000;
+
+    private static final InListExpansion INSTANCE = new InListExpansion();
+
+    private volatile boolean bucketed = true;
+    private volatile int maxBucketSize = DEFAULT_MAX_BUCKET_SIZE;
+    private volatile int arrayThreshold;
+
+    private final Map<Integer, SqlCondition> bucketConditions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the expansion configured for the application
+     */
+    public static InListExpansion getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns number of parameters of the in condition of the number of values passed,same number of values is returned by
+     * {@link InListExpansion#getValues(Collection)}
+     */
+    public int getBucketSize(int noOfValues) {
+        if (!bucketed || noOfValues <= 1 || noOfValues > maxBucketSize) {
+            return noOfValues;
+        }
+        return Math.min(Integer.highestOneBit(noOfValues - 1) << 1, maxBucketSize);
+    }
+
+    /**
+     * Returns condition for the number of values passed ie.. {@link SqlCondition#in(int)} of the bucket size or {@link SqlCondition#any}
+     * when the values are bound as an array.Conditions of the buckets are shared,lists larger than the max bucket size get a new condition
+     */
+    public SqlCondition getCondition(int noOfValues) {
+        if (isArrayBound(noOfValues)) {
+            return SqlCondition.any;
+        }
+        int bucketSize = getBucketSize(noOfValues);
+        if (!bucketed || bucketSize > maxBucketSize) {
+            return SqlCondition.in(bucketSize);
+        }
+        return bucketConditions.computeIfAbsent(bucketSize, SqlCondition::in);
+    }
+
+    /**
+     * Returns values of the parameters of {@link InListExpansion#getCondition(int)} for the values passed
+     */
+    public List<Object> getValues(Collection<?> values) {
+        if (isArrayBound(values.size())) {
+            return Collections.singletonList(values.toArray());
+        }
+        List<Object> paddedValues = new ArrayList<>(values);
+        Object lastValue = paddedValues.get(paddedValues.size() - 1);
+        for (int index = paddedValues.size(); index < getBucketSize(values.size()); index++) {
+            paddedValues.add(lastValue);
+        }
+        return paddedValues;
+    }
+
+    private boolean isArrayBound(int noOfValues) {
+        return arrayThreshold > 0 && noOfValues > arrayThreshold;
+    }
+
+    public boolean isBucketed() {
+        return bucketed;
+    }
+
+    public void setBucketed(boolean bucketed) {
+        this.bucketed = bucketed;
+    }
+
+    public int getMaxBucketSize() {
+        return maxBucketSize;
+    }
+
+    public void setMaxBucketSize(int maxBucketSize) {
+        this.maxBucketSize = maxBucketSize;
+    }
+
+    public int getArrayThreshold() {
+        return arrayThreshold;
+    }
+
+    /**
+     * @param arrayThreshold number of values above which values are bound as an array,0 to never bind as an array
+     */
+    public void setArrayThreshold(int arrayThreshold) {
+        this.arrayThreshold = arrayThreshold;
+    }
+
+}
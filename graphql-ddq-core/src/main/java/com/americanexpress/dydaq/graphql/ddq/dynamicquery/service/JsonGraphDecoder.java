@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Decodes the JSON documents of {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy#JSON} into the entities.
+ * Document is read from the column as a stream and bound to the entity fields by their names,so child graph levels are set into
+ * their parents without mapping any row.
+ * <p>
+ * Children of an empty List association are aggregated as null,they are decoded as an empty collection same as a join.
+ * Numbers are accepted for booleans and dates are read from their ISO text,as written by the databases.
+ */
+public final class JsonGraphDecoder {
+
+    private static final TextAdapter<Boolean> BOOLEAN_ADAPTER = new TextAdapter<>(text -> text.equals("1") || Boolean.parseBoolean(text));
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new EmptyCollectionAdapterFactory())
+            .registerTypeAdapter(Boolean.class, BOOLEAN_ADAPTER)
+            .registerTypeAdapter(boolean.class, BOOLEAN_ADAPTER)
+            .registerTypeAdapter(java.sql.Date.class, new TextAdapter<>(java.sql.Date::valueOf))
+            .registerTypeAdapter(Timestamp.class, new TextAdapter<>(text -> Timestamp.valueOf(text.replace('T', ' '))))
+            .registerTypeAdapter(LocalDate.class, new TextAdapter<>(LocalDate::parse))
+            .registerTypeAdapter(LocalDateTime.class, new TextAdapter<>(text -> LocalDateTime.parse(text.replace(' ', 'T'))))
+            .create();
+
+    private JsonGraphDecoder() {
+    }
+
+    /**
+     * @param json       JSON document of an entity,closed after it is read
+     * @param entityType entity class of the document
+     * @throws DynamicQueryException if the document can not be bound to the entity
+     */
+    public static <T> T decode(Reader json, Class<T> entityType) {
+        try (Reader reader = json) {
+            return GSON.fromJson(reader, entityType);
+        } catch (JsonParseException | IOException e) {
+            throw new DynamicQueryException(String.format(ErrorConstants.JSON_NOT_DECODED, entityType.getName(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the value from its text,whether written as a JSON string,number or boolean
+     */
+    private static final class TextAdapter<T> extends TypeAdapter<T> {
+
+        private final Function<String, T> textParser;
+
+        private TextAdapter(Function<String, T> textParser) {
+            this.textParser = textParser;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            out.value(value == null ? null : value.toString());
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return textParser.apply(token == JsonToken.BOOLEAN ? String.valueOf(in.nextBoolean()) : in.nextString());
+        }
+    }
+
+    private static final class EmptyCollectionAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!Collection.class.isAssignableFrom(type.getRawType())) {
+                return null;
+            }
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                public T read(JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return delegate.fromJson("[]");
+                    }
+                    return delegate.read(in);
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.util.Pair;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Entity metadata created at build time by the graphql-ddq-plugin goal graphql-ddq-index and packaged in the application
+ * jar at {@link MetadataIndex#INDEX_LOCATION}.When the index is present,{@link EntityMetaDataProvider} loads the metadata
+ * from it instead of scanning the classpath and reading every entity using reflection.
+ * <p>
+ * Index holds the package of the entities it was created for,an index created for a different
+ * ${sidh.entity-location} is ignored.
+ */
+public class MetadataIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/dydaq/metadata-index.json";
+    /**
+     * Version of the index format,index having a different version is ignored and entities are scanned
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final Logger LOGGER = LogManager.getLogger(MetadataIndex.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private int formatVersion;
+    private String entityLocation;
+    private Map<String, EntityIndex> entities = new TreeMap<>();
+    private Map<String, Map<String, String>> graphEntityMaps = new TreeMap<>();
+    private Map<String, Set<String>> collectionGraphLevels = new TreeMap<>();
+
+    /**
+     * Creates index from the metadata of the registry passed
+     *
+     * @param entityLocation   is the package of the entities ie.. ${sidh.entity-location}
+     * @param metadataRegistry holding metadata of the entities
+     */
+    public static MetadataIndex of(String entityLocation, MetadataRegistry metadataRegistry) {
+        MetadataIndex metadataIndex = new MetadataIndex();
+        metadataIndex.formatVersion = FORMAT_VERSION;
+        metadataIndex.entityLocation = entityLocation.trim();
+        for (String entityName : metadataRegistry.getEntityNames()) {
+            EntityIndex entityIndex = new EntityIndex();
+            entityIndex.table = metadataRegistry.getTableName(entityName);
+            entityIndex.fieldColumns = new LinkedHashMap<>(metadataRegistry.getFieldColumnMap(entityName));
+            entityIndex.pkFields = new ArrayList<>(metadataRegistry.getPkFields(entityName));
+            entityIndex.pkFkFields = new ArrayList<>(metadataRegistry.getPkFkFields(entityName));
+            entityIndex.gqlFieldToEntityFields = new TreeMap<>(metadataRegistry.getGqlFieldToEntityFieldMap(entityName));
+            Map<String, List<Pair<String, String>>> graphJoinColumns = metadataRegistry.getGraphJoinColumns(entityName);
+            if (graphJoinColumns != null) {
+                entityIndex.joinColumns = new TreeMap<>();
+                graphJoinColumns.forEach((graphName, joinColumns) -> {
+                    List<List<String>> joinColumnPairs = new ArrayList<>();
+                    joinColumns.forEach(joinColumn -> joinColumnPairs.add(Arrays.asList(joinColumn.getFirst(), joinColumn.getSecond())));
+                    entityIndex.joinColumns.put(graphName, joinColumnPairs);
+                });
+            }
+            metadataIndex.entities.put(entityName, entityIndex);
+        }
+        for (String rootEntity : metadataRegistry.getRootEntityNames()) {
+            metadataIndex.graphEntityMaps.put(rootEntity, new TreeMap<>(metadataRegistry.getGraphEntityMap(rootEntity)));
+            metadataIndex.collectionGraphLevels.put(rootEntity, new TreeSet<>(metadataRegistry.getCollectionGraphLevels(rootEntity)));
+        }
+        return metadataIndex;
+    }
+
+    public static MetadataIndex read(Reader reader) {
+        return GSON.fromJson(reader, MetadataIndex.class);
+    }
+
+    /**
+     * Finds the index created for the entity location passed in the classpath of the class loader.
+     *
+     * @return index for the entity location,null if no such index is found or index can not be read
+     */
+    public static MetadataIndex load(ClassLoader classLoader, String entityLocation) {
+        Enumeration<URL> indexUrls;
+        try {
+            indexUrls = classLoader.getResources(INDEX_LOCATION);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to search entity metadata index : {}", e.getMessage());
+            return null;
+        }
+        while (indexUrls.hasMoreElements()) {
+            URL indexUrl = indexUrls.nextElement();
+            try (Reader reader = new InputStreamReader(indexUrl.openStream(), StandardCharsets.UTF_8)) {
+                MetadataIndex metadataIndex = read(reader);
+                if (metadataIndex != null && metadataIndex.formatVersion == FORMAT_VERSION
+                        && entityLocation.trim().equals(metadataIndex.entityLocation)) {
+                    return metadataIndex;
+                }
+                LOGGER.debug("Skipping entity metadata index {} created for {}", indexUrl, (metadataIndex != null ? metadataIndex.entityLocation : null));
+            } catch (IOException | JsonParseException e) {
+                LOGGER.warn("Unable to read entity metadata index {} : {}", indexUrl, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    public void write(Writer writer) {
+        GSON.toJson(this, writer);
+    }
+
+    /**
+     * Returns builder holding metadata of the index which can be used to build {@link MetadataRegistry}
+     */
+    public MetadataRegistry.Builder toRegistryBuilder() {
+        MetadataRegistry.Builder registryBuilder = new MetadataRegistry.Builder();
+        entities.forEach((entityName, entityIndex) -> {
+            registryBuilder.addTableName(entityName, entityIndex.table)
+                    .addFieldColumnMap(entityName, entityIndex.fieldColumns)
+                    .addPkFields(entityName, entityIndex.pkFields)
+                    .addPkFkFields(entityName, entityIndex.pkFkFields)
+                    .addGqlFieldToEntityFieldMap(entityName, entityIndex.gqlFieldToEntityFields);
+            if (entityIndex.joinColumns != null) {
+                Map<String, List<Pair<String, String>>> graphJoinColumns = new HashMap<>();
+                entityIndex.joinColumns.forEach((graphName, joinColumnPairs) -> {
+                    List<Pair<String, String>> joinColumns = new ArrayList<>();
+                    joinColumnPairs.forEach(joinColumnPair -> joinColumns.add(Pair.of(joinColumnPair.get(0), joinColumnPair.get(1))));
+                    graphJoinColumns.put(graphName, joinColumns);
+                });
+                registryBuilder.addGraphJoinColumns(entityName, graphJoinColumns);
+            }
+        });
+        graphEntityMaps.forEach(registryBuilder::addGraphEntityMap);
+        collectionGraphLevels.forEach(registryBuilder::addCollectionGraphLevels);
+        return registryBuilder;
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public String getEntityLocation() {
+        return entityLocation;
+    }
+
+    public Set<String> getEntityNames() {
+        return entities.keySet();
+    }
+
+    /**
+     * Metadata of a single entity
+     */
+    private static class EntityIndex {
+        private String table;
+        private Map<String, String> fieldColumns;
+        private List<String> pkFields;
+        private List<String> pkFkFields;
+        private Map<String, String> gqlFieldToEntityFields;
+        private Map<String, List<List<String>>> joinColumns;
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import org.springframework.data.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the entity metadata read by {@link EntityMetaDataProvider}.
+ * <p>
+ * A snapshot is created using {@link MetadataRegistry.Builder} and made visible to the request threads by
+ * {@link MetadataRegistry#publish(MetadataRegistry)}.Once published none of the maps held by the snapshot can be changed,
+ * so the snapshot can be read by any number of threads without locking.Metadata can be reloaded at runtime by building
+ * and publishing a new snapshot,queries already being generated keep using the snapshot they started with.
+ */
+public final class MetadataRegistry {
+
+    private static final AtomicLong VERSION_SEQUENCE = new AtomicLong();
+    private static final AtomicReference<MetadataRegistry> CURRENT = new AtomicReference<>(new Builder().build());
+
+    private final long version;
+    /**
+     * Root Entity Name as key,value as a Map which holds graph Key/level as key and Entity Name as value
+     */
+    private final Map<String, Map<String, String>> graphEntityMap;
+    /**
+     * Root Entity Name as key,value is set of graph levels referred by a List in their parent entity ie.. one to many associations
+     */
+    private final Map<String, Set<String>> collectionGraphLevelMap;
+    /**
+     * Entity name as key,value is Map of the GQL field name given using @GraphQLQuery(name = ?) and respective field name
+     */
+    private final Map<String, Map<String, String>> gqlFieldToEntityFieldMap;
+    /**
+     * Entity name as key,value is Map of field name and column name in the order fields are declared in the entity
+     */
+    private final Map<String, Map<String, String>> fieldColumnMap;
+    /**
+     * Entity name as key,value is Map of column name and field name in the order columns are declared in the entity
+     */
+    private final Map<String, Map<String, String>> columnFieldMap;
+    /**
+     * Entity name as key,value is Map of column name and its position in the entity
+     */
+    private final Map<String, Map<String, Integer>> columnOrderMap;
+    /**
+     * Entity name as key,value is list of primary key/dynamic join column field names
+     */
+    private final Map<String, List<String>> pkFkFieldMap;
+    /**
+     * Entity name as key,value is list of primary key field names
+     */
+    private final Map<String, List<String>> pkFieldMap;
+    /**
+     * Entity name as key,value is table name
+     */
+    private final Map<String, String> tableMap;
+    /**
+     * Entity name as key,value is Map of reference variable/graph name and Pair of parent column and child column used for join
+     */
+    private final Map<String, Map<String, List<Pair<String, String>>>> graphJoinColumnMap;
+    /**
+     * Entity name as key,value is Map of column name and the select fragment(", column") used by single table queries
+     */
+    private final Map<String, Map<String, String>> selectFragmentMap;
+    /**
+     * Root Entity name as key,value is Map of graph level to another Map which holds graph level considered as root of
+     * the query as key and Map of column name and select fragment(", graphKey.column as alias_column") as value
+     */
+    private final Map<String, Map<String, Map<String, Map<String, String>>>> graphSelectFragmentMap;
+
+    private MetadataRegistry(Builder builder) {
+        this.version = VERSION_SEQUENCE.incrementAndGet();
+        this.graphEntityMap = freezeNested(builder.graphEntityMap);
+        Map<String, Set<String>> collectionGraphLevels = new HashMap<>(builder.collectionGraphLevelMap.size());
+        builder.collectionGraphLevelMap.forEach((rootEntity, graphLevels) -> collectionGraphLevels.put(rootEntity, Collections.unmodifiableSet(new HashSet<>(graphLevels))));
+        this.collectionGraphLevelMap = Collections.unmodifiableMap(collectionGraphLevels);
+        this.gqlFieldToEntityFieldMap = freezeNested(builder.gqlFieldToEntityFieldMap);
+        this.fieldColumnMap = freezeNested(builder.fieldColumnMap);
+        this.pkFkFieldMap = freezeLists(builder.pkFkFieldMap);
+        this.pkFieldMap = freezeLists(builder.pkFieldMap);
+        this.tableMap = freeze(builder.tableMap);
+
+        Map<String, Map<String, List<Pair<String, String>>>> joinColumnMap = new HashMap<>(builder.graphJoinColumnMap.size());
+        builder.graphJoinColumnMap.forEach((entityName, graphJoinColumns) -> joinColumnMap.put(entityName, freezeLists(graphJoinColumns)));
+        this.graphJoinColumnMap = Collections.unmodifiableMap(joinColumnMap);
+
+        Map<String, Map<String, String>> columnFields = new HashMap<>(fieldColumnMap.size());
+        Map<String, Map<String, Integer>> columnOrders = new HashMap<>(fieldColumnMap.size());
+        Map<String, Map<String, String>> selectFragments = new HashMap<>(fieldColumnMap.size());
+        for (Map.Entry<String, Map<String, String>> entityFieldColumns : fieldColumnMap.entrySet()) {
+            Map<String, String> columnField = new LinkedHashMap<>();
+            Map<String, Integer> columnOrder = new HashMap<>();
+            Map<String, String> selectFragment = new HashMap<>();
+            for (Map.Entry<String, String> fieldColumn : entityFieldColumns.getValue().entrySet()) {
+                columnOrder.putIfAbsent(fieldColumn.getValue(), columnOrder.size());
+                columnField.put(fieldColumn.getValue(), fieldColumn.getKey());
+                selectFragment.put(fieldColumn.getValue(), (", " + fieldColumn.getValue()).intern());
+            }
+            columnFields.put(entityFieldColumns.getKey(), Collections.unmodifiableMap(columnField));
+            columnOrders.put(entityFieldColumns.getKey(), Collections.unmodifiableMap(columnOrder));
+            selectFragments.put(entityFieldColumns.getKey(), Collections.unmodifiableMap(selectFragment));
+        }
+        this.columnFieldMap = Collections.unmodifiableMap(columnFields);
+        this.columnOrderMap = Collections.unmodifiableMap(columnOrders);
+        this.selectFragmentMap = Collections.unmodifiableMap(selectFragments);
+
+        Map<String, Map<String, Map<String, Map<String, String>>>> graphSelectFragments = new HashMap<>(graphEntityMap.size());
+        graphEntityMap.forEach((rootEntity, graphEntities) -> graphSelectFragments.put(rootEntity, createGraphSelectFragments(graphEntities)));
+        this.graphSelectFragmentMap = Collections.unmodifiableMap(graphSelectFragments);
+    }
+
+    /**
+     * Returns the snapshot currently in use.Until {@link EntityMetaDataProvider} publishes metadata,an empty snapshot is returned.
+     */
+    public static MetadataRegistry getInstance() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Replaces the snapshot in use with the one passed.Queries cached in {@link QueryShapeCache} were generated using the
+     * old snapshot and are removed.
+     */
+    public static void publish(MetadataRegistry metadataRegistry) {
+        CURRENT.set(Objects.requireNonNull(metadataRegistry));
+        QueryShapeCache.getInstance().clear();
+    }
+
+    /**
+     * Returns the select fragment for a column of a graph level in joined queries.The alias of the column is the graph level
+     * relative to root of the query followed by column name,which is used by SimpleFlatMapper to set the nested objects.
+     *
+     * @param graphKey    is the graph level and table alias
+     * @param columnAlias is the graph level relative to the root of the query followed by "_",or empty for the root itself
+     * @param columnName  is the db column name
+     */
+    public static String getSelectFragment(String graphKey, String columnAlias, String columnName) {
+        return ", " + graphKey + "." + columnName + " as " + columnAlias + columnName;
+    }
+
+    private static <V> Map<String, V> freeze(Map<String, V> map) {
+        return Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    private static <V> Map<String, Map<String, V>> freezeNested(Map<String, Map<String, V>> map) {
+        Map<String, Map<String, V>> frozenMap = new HashMap<>(map.size());
+        map.forEach((key, value) -> frozenMap.put(key, Collections.unmodifiableMap(new LinkedHashMap<>(value))));
+        return Collections.unmodifiableMap(frozenMap);
+    }
+
+    private static <V> Map<String, List<V>> freezeLists(Map<String, List<V>> map) {
+        Map<String, List<V>> frozenMap = new HashMap<>(map.size());
+        map.forEach((key, value) -> frozenMap.put(key, Collections.unmodifiableList(new ArrayList<>(value))));
+        return Collections.unmodifiableMap(frozenMap);
+    }
+
+    /**
+     * Creates select fragments for all the columns of every graph level of a root entity.Fragments are created for every
+     * graph level which can be root of the query ie.. {@link ServiceConstants#ROOT_GRAPH_LEVEL} and the graph level
+     * itself or any of its parent levels.
+     * <p>
+     * Eg : For graph level refToE2_refToE3 and column col1 of E3
+     * {rootObject,", refToE2_refToE3.col1 as refToE2_refToE3_col1"}
+     * {refToE2,", refToE2_refToE3.col1 as refToE3_col1"}
+     * {refToE2_refToE3,", refToE2_refToE3.col1 as col1"}
+     *
+     * @param graphEntities Map of graph level and its entity name for a root entity
+     */
+    private Map<String, Map<String, Map<String, String>>> createGraphSelectFragments(Map<String, String> graphEntities) {
+        Map<String, Map<String, Map<String, String>>> graphFragmentMap = new HashMap<>();
+        for (Map.Entry<String, String> graphEntity : graphEntities.entrySet()) {
+            String graphKey = graphEntity.getKey();
+            Map<String, String> columnFields = columnFieldMap.get(graphEntity.getValue());
+            if (columnFields == null) {
+                continue;
+            }
+            Map<String, String> queryRootAliasMap = new HashMap<>();
+            queryRootAliasMap.put(ServiceConstants.ROOT_GRAPH_LEVEL, graphKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL) ? "" : graphKey + "_");
+            if (!graphKey.equals(ServiceConstants.ROOT_GRAPH_LEVEL)) {
+                //any parent level of the graph key can be the root of a nested query
+                int separatorIndex = graphKey.indexOf('_');
+                while (separatorIndex > 0) {
+                    String parentGraphKey = graphKey.substring(0, separatorIndex);
+                    if (graphEntities.containsKey(parentGraphKey)) {
+                        queryRootAliasMap.put(parentGraphKey, graphKey.substring(separatorIndex + 1) + "_");
+                    }
+                    separatorIndex = graphKey.indexOf('_', separatorIndex + 1);
+                }
+                queryRootAliasMap.put(graphKey, "");
+            }
+
+            Map<String, Map<String, String>> queryRootFragmentMap = new HashMap<>();
+            for (Map.Entry<String, String> queryRootAlias : queryRootAliasMap.entrySet()) {
+                Map<String, String> fragments = new HashMap<>();
+                for (String columnName : columnFields.keySet()) {
+                    fragments.put(columnName, getSelectFragment(graphKey, queryRootAlias.getValue(), columnName).intern());
+                }
+                queryRootFragmentMap.put(queryRootAlias.getKey(), Collections.unmodifiableMap(fragments));
+            }
+            graphFragmentMap.put(graphKey, Collections.unmodifiableMap(queryRootFragmentMap));
+        }
+        return Collections.unmodifiableMap(graphFragmentMap);
+    }
+
+    /**
+     * Version of the snapshot.Every snapshot built gets a higher version than the snapshots built before it.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<String> getRootEntityNames() {
+        return graphEntityMap.keySet();
+    }
+
+    public Set<String> getEntityNames() {
+        return fieldColumnMap.keySet();
+    }
+
+    /**
+     * @return Map of graph level and entity name for the root entity,null if entity is not a root entity
+     */
+    public Map<String, String> getGraphEntityMap(String rootEntity) {
+        return graphEntityMap.get(rootEntity);
+    }
+
+    /**
+     * @return graph levels of the root entity which are referred by a List in their parent entity,empty if there is none
+     */
+    public Set<String> getCollectionGraphLevels(String rootEntity) {
+        return collectionGraphLevelMap.getOrDefault(rootEntity, Collections.emptySet());
+    }
+
+    /**
+     * @return Map of GQL field name given using @GraphQLQuery(name = ?) and respective field name of the entity
+     */
+    public Map<String, String> getGqlFieldToEntityFieldMap(String entityName) {
+        return gqlFieldToEntityFieldMap.get(entityName);
+    }
+
+    /**
+     * @return Map of field name and column name of the entity,null if entity is not read
+     */
+    public Map<String, String> getFieldColumnMap(String entityName) {
+        return fieldColumnMap.get(entityName);
+    }
+
+    /**
+     * @return Map of column name and field name of the entity,null if entity is not read
+     */
+    public Map<String, String> getColumnFieldMap(String entityName) {
+        return columnFieldMap.get(entityName);
+    }
+
+    /**
+     * @return Map of column name and its position in the entity
+     */
+    public Map<String, Integer> getColumnOrderMap(String entityName) {
+        return columnOrderMap.get(entityName);
+    }
+
+    /**
+     * @return primary key/dynamic join column field names of the entity
+     */
+    public List<String> getPkFkFields(String entityName) {
+        return pkFkFieldMap.get(entityName);
+    }
+
+    /**
+     * @return primary key field names of the entity
+     */
+    public List<String> getPkFields(String entityName) {
+        return pkFieldMap.get(entityName);
+    }
+
+    public String getTableName(String entityName) {
+        return tableMap.get(entityName);
+    }
+
+    /**
+     * @return Map of reference variable/graph name and join columns of the entity,first value of the pair is column of the
+     * entity and second value is column of the referenced entity.
+     */
+    public Map<String, List<Pair<String, String>>> getGraphJoinColumns(String entityName) {
+        return graphJoinColumnMap.get(entityName);
+    }
+
+    /**
+     * @return Map of column name and its select fragment for queries selecting from single table
+     */
+    public Map<String, String> getSelectFragments(String entityName) {
+        return selectFragmentMap.getOrDefault(entityName, Collections.emptyMap());
+    }
+
+    /**
+     * @param rootEntity   is the root entity of the graph
+     * @param graphKey     is the graph level for which columns needs to be selected
+     * @param graphRootKey is the graph level which is root of the query
+     * @return Map of column name and its select fragment,empty map if graph level is not part of the root entity
+     */
+    public Map<String, String> getGraphSelectFragments(String rootEntity, String graphKey, String graphRootKey) {
+        Map<String, Map<String, Map<String, String>>> graphFragmentMap = graphSelectFragmentMap.get(rootEntity);
+        if (graphFragmentMap == null || !graphFragmentMap.containsKey(graphKey)) {
+            return Collections.emptyMap();
+        }
+        return graphFragmentMap.get(graphKey).getOrDefault(graphRootKey, Collections.emptyMap());
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataRegistry{" +
+                "version=" + version +
+                ", graphEntityMap=" + graphEntityMap +
+                ", collectionGraphLevelMap=" + collectionGraphLevelMap +
+                ", fieldColumnMap=" + fieldColumnMap +
+                ", pkFkFieldMap=" + pkFkFieldMap +
+                ", pkFieldMap=" + pkFieldMap +
+                ", tableMap=" + tableMap +
+                ", graphJoinColumnMap=" + graphJoinColumnMap +
+                '}';
+    }
+
+    /**
+     * Collects the metadata of the entities.Maps passed to the builder are copied when {@link Builder#build()} is called,
+     * column to field maps,column positions and select fragments are derived from the field to column maps.
+     */
+    public static class Builder {
+
+        private final Map<String, Map<String, String>> graphEntityMap = new HashMap<>();
+        private final Map<String, Set<String>> collectionGraphLevelMap = new HashMap<>();
+        private final Map<String, Map<String, String>> gqlFieldToEntityFieldMap = new HashMap<>();
+        private final Map<String, Map<String, String>> fieldColumnMap = new HashMap<>();
+        private final Map<String, List<String>> pkFkFieldMap = new HashMap<>();
+        private final Map<String, List<String>> pkFieldMap = new HashMap<>();
+        private final Map<String, String> tableMap = new HashMap<>();
+        private final Map<String, Map<String, List<Pair<String, String>>>> graphJoinColumnMap = new HashMap<>();
+
+        public Builder addGraphEntityMap(String rootEntity, Map<String, String> graphEntities) {
+            graphEntityMap.put(rootEntity, graphEntities);
+            return this;
+        }
+
+        public Builder addCollectionGraphLevels(String rootEntity, Set<String> collectionGraphLevels) {
+            collectionGraphLevelMap.put(rootEntity, collectionGraphLevels);
+            return this;
+        }
+
+        public Builder addGqlFieldToEntityFieldMap(String entityName, Map<String, String> gqlFieldToEntityFields) {
+            gqlFieldToEntityFieldMap.put(entityName, gqlFieldToEntityFields);
+            return this;
+        }
+
+        /**
+         * @param fieldColumns Map of field name and column name,iteration order of the map is used as the order of the columns
+         */
+        public Builder addFieldColumnMap(String entityName, Map<String, String> fieldColumns) {
+            fieldColumnMap.put(entityName, fieldColumns);
+            return this;
+        }
+
+        public Builder addPkFkFields(String entityName, List<String> pkFkFields) {
+            pkFkFieldMap.put(entityName, pkFkFields);
+            return this;
+        }
+
+        public Builder addPkFields(String entityName, List<String> pkFields) {
+            pkFieldMap.put(entityName, pkFields);
+            return this;
+        }
+
+        public Builder addTableName(String entityName, String tableName) {
+            tableMap.put(entityName, tableName);
+            return this;
+        }
+
+        public Builder addGraphJoinColumns(String entityName, Map<String, List<Pair<String, String>>> graphJoinColumns) {
+            graphJoinColumnMap.put(entityName, graphJoinColumns);
+            return this;
+        }
+
+        public MetadataRegistry build() {
+            return new MetadataRegistry(this);
+        }
+    }
+}
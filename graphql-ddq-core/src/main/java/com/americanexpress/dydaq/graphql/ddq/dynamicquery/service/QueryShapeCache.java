@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded,thread safe cache of the SQL generated by {@link DynamicQueryGenerationHelper}.
+ * <p>
+ * Entries are keyed by the query shape ie.. fingerprint of the graph levels and fields requested in the
+ * {@link com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject} plus the structure
+ * of the query builder used.Two resolver calls having same shape always generate the same SQL,so the SQL generated
+ * for the first call is returned for the subsequent ones.
+ * <p>
+ * When the cache is full the oldest entry is evicted.Size of the cache can be set using the field
+ * ${sidh.query-cache.max-size} in application.yml,setting it to 0 disables the cache.
+ */
+public class QueryShapeCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final Logger LOGGER = LogManager.getLogger(QueryShapeCache.class);
+    private static final QueryShapeCache INSTANCE = new QueryShapeCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, String> queryByShape = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile int maxSize;
+
+    public QueryShapeCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cache shared by all instances of {@link DynamicQueryGenerationHelper}
+     */
+    public static QueryShapeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns SQL query cached against the shape key passed.If the shape is not cached yet,the query is generated using
+     * the queryGenerator and cached for subsequent calls.
+     *
+     * @param shapeKey       fingerprint of the SimpleGraphObject and query builder
+     * @param queryGenerator generates the SQL query when no query is cached for the shape
+     * @return SQL query for the shape
+     */
+    public String get(String shapeKey, Supplier<String> queryGenerator) {
+        if (maxSize <= 0) {
+            return queryGenerator.get();
+        }
+
+        String query = queryByShape.get(shapeKey);
+        if (query != null) {
+            hitCount.increment();
+            return query;
+        }
+
+        missCount.increment();
+        query = queryGenerator.get();
+        if (queryByShape.putIfAbsent(shapeKey, query) == null) {
+            insertionOrder.add(shapeKey);
+            evictIfFull();
+        }
+        return query;
+    }
+
+    private void evictIfFull() {
+        while (queryByShape.size() > maxSize) {
+            String eldestShape = insertionOrder.poll();
+            if (eldestShape == null) {
+                return;
+            }
+            if (queryByShape.remove(eldestShape) != null) {
+                evictionCount.increment();
+                LOGGER.debug("Query shape evicted from cache :: {}", eldestShape);
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached queries.Counters are not reset.
+     */
+    public void clear() {
+        queryByShape.clear();
+        insertionOrder.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum number of query shapes held by the cache.0 or negative value disables the cache.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        if (maxSize <= 0) {
+            clear();
+        } else {
+            evictIfFull();
+        }
+    }
+
+    public int size() {
+        return queryByShape.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+}
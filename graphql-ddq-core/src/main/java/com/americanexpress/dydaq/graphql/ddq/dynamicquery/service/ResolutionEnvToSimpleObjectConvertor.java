@@ -15,8 +15,14 @@
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
 
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ErrorConstants;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.ServiceConstants;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import graphql.execution.ConditionalNodes;
+import graphql.execution.ExecutionContext;
+import graphql.language.*;
 import graphql.schema.*;
 import io.leangen.graphql.execution.ResolutionEnvironment;
 import org.apache.logging.log4j.LogManager;
@@ -46,68 +52,70 @@ private ResolutionEnvToSimpleObjectConvertor() {
      * Please check {@link SimpleGraphObject} class documentation for more details
      * <p>
      * Override this method to create SimpleGraphObject if you are upgrading SPQR version.
+     * <p>
+     * SimpleGraphObject converted is cached in {@link SelectionSetCache},when enabled,so the selection set is walked only the first time a reused document is executed.
      */
     public static DynamicQueryGenerator gqlRequestToSimpleGraphObject(ResolutionEnvironment resEnv) {
+        return new DynamicQueryGenerator(SelectionSetCache.getInstance().get(resEnv.dataFetchingEnvironment, () -> toSimpleGraphObject(resEnv)));
+    }
 
-        SimpleGraphObject simpleGraphObject = new SimpleGraphObject();
-
-        // Fetching graphql query in object form
-        Map<String, GraphQLFieldDefinition> graphFieldDetails = resEnv.dataFetchingEnvironment.getSelectionSet()
-                .getDefinitions();
-        Set<String> graphKeys = graphFieldDetails.keySet();
-        Map<String, String> gqlGraphEntityMap = new HashMap<>();
-        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>();
-
-        // separately fetching rootObject is not available in the selection set
-        String rootObjectEntityName;
-
-        //For scenarios where response type of the resolver is Single object
-        if (null != resEnv.dataFetchingEnvironment.getFieldType().getName()) {
-            rootObjectEntityName = resEnv.dataFetchingEnvironment.getFieldType().getName();
-        } else {
-            //for scenarios where resolver is returning object of list type
-            rootObjectEntityName = resEnv.dataFetchingEnvironment.getFieldType().getChildren().get(0).getName();
-        }
+    /**
+     * Takes Resolution Environment of a resolver returning a Relay style connection and returns DynamicQueryGenerator for the nodes
+     * of the connection along with the {@link ConnectionRequest} of the paging arguments and the connection fields selected.
+     * <p>
+     * Graph levels of the connection are converted same as {@link #gqlRequestToSimpleGraphObject(ResolutionEnvironment)} and the
+     * graph level edges_node becomes the root graph level of the DynamicQueryGenerator ie.. edges_node_surgeon becomes surgeon.
+     */
+    public static DynamicQueryGenerator gqlConnectionRequestToSimpleGraphObject(ResolutionEnvironment resEnv) {
+        DataFetchingEnvironment environment = resEnv.dataFetchingEnvironment;
+        SimpleGraphObject connectionGraphObject = SelectionSetCache.getInstance().get(environment, () -> toSimpleGraphObject(resEnv));
+        GraphQLUnmodifiedType connectionType = GraphQLTypeUtil.unwrapAll(environment.getFieldType());
+        String nodeEntityName = getNodeEntityName(connectionType);
+        String nodeGraphKey = ConnectionRequest.EDGES + "_" + ConnectionRequest.NODE;
 
-        gqlGraphEntityMap.put(ServiceConstants.ROOT_GRAPH_LEVEL, rootObjectEntityName);
+        Set<String> connectionFields = connectionGraphObject.getGqlGraphReqFieldMap().get(ServiceConstants.ROOT_GRAPH_LEVEL);
+        Set<String> pageInfoFields = connectionGraphObject.getGqlGraphReqFieldMap().get(ConnectionRequest.PAGE_INFO);
+        Map<String, Object> arguments = environment.getArguments();
+        ConnectionRequest connectionRequest = new ConnectionRequest((Integer) arguments.get("first"), (String) arguments.get("after"),
+                (Integer) arguments.get("last"), (String) arguments.get("before"),
+                connectionFields != null && connectionFields.contains(ConnectionRequest.TOTAL_COUNT), pageInfoFields);
+        return new DynamicQueryGenerator(connectionGraphObject.getSubGraph(nodeGraphKey, nodeEntityName), connectionRequest);
+    }
 
-        graphKeys.forEach(key -> {
-            Class<? extends GraphQLOutputType> objType = graphFieldDetails.get(key).getType().getClass();
-            // Root Entity and their fields are being added ,separate implementation if the
-            // root object itself is list
-            if (!key.contains("/") && objType.equals(GraphQLScalarType.class)) {
-                if (gqlGraphReqFieldMap.get(ServiceConstants.ROOT_GRAPH_LEVEL) != null) {
-                    gqlGraphReqFieldMap.get(ServiceConstants.ROOT_GRAPH_LEVEL).add(key);
-                } else {
-                    Set<String> columnList = new HashSet<>();
-                    columnList.add(key);
-                    gqlGraphReqFieldMap.put(ServiceConstants.ROOT_GRAPH_LEVEL, columnList);
+    /**
+     * Returns name of the type of node of the edges of the connection type
+     */
+    private static String getNodeEntityName(GraphQLUnmodifiedType connectionType) {
+        if (connectionType instanceof GraphQLObjectType) {
+            GraphQLFieldDefinition edgesField = ((GraphQLObjectType) connectionType).getFieldDefinition(ConnectionRequest.EDGES);
+            GraphQLUnmodifiedType edgeType = (edgesField == null ? null : GraphQLTypeUtil.unwrapAll(edgesField.getType()));
+            if (edgeType instanceof GraphQLObjectType) {
+                GraphQLFieldDefinition nodeField = ((GraphQLObjectType) edgeType).getFieldDefinition(ConnectionRequest.NODE);
+                if (nodeField != null) {
+                    return GraphQLTypeUtil.unwrapAll(nodeField.getType()).getName();
                 }
-            } else if (objType.equals(GraphQLObjectType.class)) {// Complex object level/graph added other than root
-                String fieldPathByClass = graphFieldDetails.get(key).getType().getName();
-
-                gqlGraphEntityMap.put(key.replace("/", "_"), fieldPathByClass);
+            }
+        }
+        throw new DynamicQueryException(String.format(ErrorConstants.NOT_A_CONNECTION, connectionType.getName()));
+    }
 
-            } else if (objType.equals(GraphQLList.class)) {// For List object level graph added
-                String fieldPathByClass = graphFieldDetails.get(key).getType().toString().replace("[", "").replace("]", "");
-                gqlGraphEntityMap.put(key.replace("/", "_"), fieldPathByClass);
+    private static SimpleGraphObject toSimpleGraphObject(ResolutionEnvironment resEnv) {
+        DataFetchingEnvironment environment = resEnv.dataFetchingEnvironment;
+        Map<String, String> gqlGraphEntityMap = new LinkedHashMap<>();
+        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>();
 
-            } else {// for fields inside complex object ie GraphQLObjectType or GraphQLList
+        //List and NonNull wrappers of the response type of the resolver are removed to get the root entity
+        GraphQLUnmodifiedType rootType = GraphQLTypeUtil.unwrapAll(environment.getFieldType());
+        String rootObjectEntityName = rootType.getName();
+        gqlGraphEntityMap.put(ServiceConstants.ROOT_GRAPH_LEVEL, rootObjectEntityName);
 
-                String fieldLocationGraph = key.substring(0, key.lastIndexOf('/')).replace("/", "_");
-                addParentGraphObjectIfNotExists(fieldLocationGraph, gqlGraphReqFieldMap);
-                if (gqlGraphReqFieldMap.get(fieldLocationGraph) != null) {
-                    gqlGraphReqFieldMap.get(fieldLocationGraph).add(graphFieldDetails.get(key).getName());
-                } else {
-                    Set<String> columnList = new HashSet<>();
-                    columnList.add(graphFieldDetails.get(key).getName());
-                    gqlGraphReqFieldMap.put(fieldLocationGraph, columnList);
-                }
-            }
+        if (rootType instanceof GraphQLObjectType) {
+            ExecutionContext executionContext = environment.getExecutionContext();
+            SelectionSetWalk selectionSetWalk = new SelectionSetWalk(environment.getGraphQLSchema(), environment.getFragmentsByName(),
+                    executionContext != null ? executionContext.getVariables() : Collections.emptyMap(), gqlGraphEntityMap, gqlGraphReqFieldMap);
+            selectionSetWalk.addSelectedFields(ServiceConstants.ROOT_GRAPH_LEVEL, (GraphQLObjectType) rootType, environment.getFields());
+        }
 
-        });
-        simpleGraphObject.setRootKey(ServiceConstants.ROOT_GRAPH_LEVEL);
-        simpleGraphObject.setRootEntity(rootObjectEntityName);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Root Key :: " + ServiceConstants.ROOT_GRAPH_LEVEL);
             LOGGER.debug("Root Entity Name :: " + rootObjectEntityName);
@@ -115,10 +123,15 @@ public static DynamicQueryGenerator gqlRequestToSimpleGraphObject(ResolutionEnvi
             LOGGER.debug("gqlGraphReqFieldMap :: " + gqlGraphReqFieldMap);
         }
 
-        simpleGraphObject.setGqlGraphEntityMap(gqlGraphEntityMap);
-        simpleGraphObject.setGqlGraphReqFieldMap(gqlGraphReqFieldMap);
+        SimpleGraphObject simpleGraphObject = new SimpleGraphObject.Builder()
+                .setRootKey(ServiceConstants.ROOT_GRAPH_LEVEL)
+                .setRootEntity(rootObjectEntityName)
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build();
 
-        return new DynamicQueryGenerator(simpleGraphObject);
+        //requests of the same shape share the SimpleGraphObject,so its shape key is computed once
+        return simpleGraphObject.intern();
     }
 
     private static Map<String, Set<String>> addParentGraphObjectIfNotExists(String fieldLocationGraph, Map<String, Set<String>> gqlGraphReqFieldMap) {
@@ -132,11 +145,124 @@ private static Map<String, Set<String>> addParentGraphObjectIfNotExists(String f
         if (gqlGraphReqFieldMap.containsKey(parentObjectGraph)) {
             return gqlGraphReqFieldMap;
         } else {
-            gqlGraphReqFieldMap.put(parentObjectGraph, new HashSet<>());
+            gqlGraphReqFieldMap.put(parentObjectGraph, new LinkedHashSet<>());
         }
 
         return addParentGraphObjectIfNotExists(parentObjectGraph, gqlGraphReqFieldMap);
 
     }
 
+
+    /**
+     * Walks the fields selected under the resolver field in a single pass over the query document.Fields of fragments are added to the
+     * graph level the fragment is spread in and fields excluded by @include/@skip directives are skipped.
+     * Fields whose type,after removing List and NonNull wrappers,is an object type become graph levels,scalar and enum fields are
+     * added as fields of their graph level.The same object field selected more than once is merged into a single graph level.
+     */
+    private static final class SelectionSetWalk {
+
+        private static final ConditionalNodes CONDITIONAL_NODES = new ConditionalNodes();
+
+        private final GraphQLSchema schema;
+        private final Map<String, FragmentDefinition> fragmentsByName;
+        private final Map<String, Object> variables;
+        private final Map<String, String> gqlGraphEntityMap;
+        private final Map<String, Set<String>> gqlGraphReqFieldMap;
+
+        SelectionSetWalk(GraphQLSchema schema, Map<String, FragmentDefinition> fragmentsByName, Map<String, Object> variables,
+                         Map<String, String> gqlGraphEntityMap, Map<String, Set<String>> gqlGraphReqFieldMap) {
+            this.schema = schema;
+            this.fragmentsByName = fragmentsByName;
+            this.variables = variables;
+            this.gqlGraphEntityMap = gqlGraphEntityMap;
+            this.gqlGraphReqFieldMap = gqlGraphReqFieldMap;
+        }
+
+        /**
+         * @param graphKey   graph level of the fields passed
+         * @param objectType type of the graph level
+         * @param fields     fields whose selections belong to the graph level,the same field can be selected more than once in a GraphQL query
+         */
+        void addSelectedFields(String graphKey, GraphQLObjectType objectType, List<Field> fields) {
+            for (Field field : fields) {
+                addSelections(graphKey, objectType, field.getSelectionSet());
+            }
+        }
+
+        private void addSelections(String graphKey, GraphQLObjectType objectType, SelectionSet selectionSet) {
+            if (selectionSet == null) {
+                return;
+            }
+            for (Selection<?> selection : selectionSet.getSelections()) {
+                if (selection instanceof Field) {
+                    if (isIncluded(((Field) selection).getDirectives())) {
+                        addField(graphKey, objectType, (Field) selection);
+                    }
+                } else if (selection instanceof InlineFragment) {
+                    InlineFragment inlineFragment = (InlineFragment) selection;
+                    if (isIncluded(inlineFragment.getDirectives()) && isTypeConditionMatched(inlineFragment.getTypeCondition(), objectType)) {
+                        addSelections(graphKey, objectType, inlineFragment.getSelectionSet());
+                    }
+                } else if (selection instanceof FragmentSpread) {
+                    FragmentDefinition fragmentDefinition = fragmentsByName.get(((FragmentSpread) selection).getName());
+                    if (fragmentDefinition != null && isIncluded(((FragmentSpread) selection).getDirectives())
+                            && isTypeConditionMatched(fragmentDefinition.getTypeCondition(), objectType)) {
+                        addSelections(graphKey, objectType, fragmentDefinition.getSelectionSet());
+                    }
+                }
+            }
+        }
+
+        private void addField(String graphKey, GraphQLObjectType objectType, Field field) {
+            String fieldName = field.getName();
+            //introspection fields eg.. __typename are not defined in the object type
+            GraphQLFieldDefinition fieldDefinition = objectType.getFieldDefinition(fieldName);
+            if (fieldDefinition == null) {
+                return;
+            }
+            GraphQLUnmodifiedType fieldType = GraphQLTypeUtil.unwrapAll(fieldDefinition.getType());
+            if (fieldType instanceof GraphQLObjectType) {
+                String childGraphKey = (ServiceConstants.ROOT_GRAPH_LEVEL.equals(graphKey) ? fieldName : graphKey + "_" + fieldName);
+                gqlGraphEntityMap.put(childGraphKey, fieldType.getName());
+                addSelections(childGraphKey, (GraphQLObjectType) fieldType, field.getSelectionSet());
+            } else if (fieldType instanceof GraphQLScalarType || fieldType instanceof GraphQLEnumType) {
+                Set<String> graphFields = gqlGraphReqFieldMap.get(graphKey);
+                if (graphFields == null) {
+                    addParentGraphObjectIfNotExists(graphKey, gqlGraphReqFieldMap);
+                    graphFields = new LinkedHashSet<>();
+                    gqlGraphReqFieldMap.put(graphKey, graphFields);
+                }
+                graphFields.add(fieldName);
+            }
+        }
+
+        private boolean isIncluded(List<Directive> directives) {
+            return directives.isEmpty() || CONDITIONAL_NODES.shouldInclude(variables, directives);
+        }
+
+        /**
+         * Returns true if the fragment type condition is the object type or an interface/union the object type belongs to
+         */
+        private boolean isTypeConditionMatched(TypeName typeCondition, GraphQLObjectType objectType) {
+            if (typeCondition == null || typeCondition.getName().equals(objectType.getName())) {
+                return true;
+            }
+            GraphQLType conditionType = schema.getType(typeCondition.getName());
+            if (conditionType instanceof GraphQLInterfaceType) {
+                for (GraphQLOutputType interfaceType : objectType.getInterfaces()) {
+                    if (interfaceType.getName().equals(conditionType.getName())) {
+                        return true;
+                    }
+                }
+            } else if (conditionType instanceof GraphQLUnionType) {
+                for (GraphQLOutputType memberType : ((GraphQLUnionType) conditionType).getTypes()) {
+                    if (memberType.getName().equals(objectType.getName())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
 }
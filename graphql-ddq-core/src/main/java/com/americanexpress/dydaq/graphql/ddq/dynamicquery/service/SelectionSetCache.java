@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import graphql.execution.ExecutionContext;
+import graphql.language.*;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLType;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread safe cache of the {@link SimpleGraphObject} converted from the selection set of a resolver call,so executing the same
+ * GraphQL document again does not walk the selection set.
+ * <p>
+ * Entries are held per parsed {@link Document} and keyed by the operation name,path of the field resolved without list indices,
+ * parent type and the values of the variables used by @include/@skip directives of the document.Documents are compared by identity
+ * and held weakly,so an entry is removed once its document is no longer used.
+ * <p>
+ * The cache only hits when the same Document instance is executed again,ie.. when the GraphQL instance is built with a
+ * PreparsedDocumentProvider of graphql-java caching the parsed documents of persisted/repeated queries.Otherwise every document is
+ * new and caching it costs more than it saves,so the cache is disabled by default.Maximum number of documents cached is set using
+ * the field ${sidh.selection-cache.max-size} in application.yml,selection sets of further documents are converted on every call.
+ */
+public class SelectionSetCache {
+
+    public static final int DEFAULT_MAX_SIZE = 0;
+
+    private static final SelectionSetCache INSTANCE = new SelectionSetCache(DEFAULT_MAX_SIZE);
+
+    private final Map<DocumentKey, DocumentSelections> selectionsByDocument = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Document> collectedDocuments = new ReferenceQueue<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private volatile int maxSize;
+
+    public SelectionSetCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cache used by {@link ResolutionEnvToSimpleObjectConvertor}
+     */
+    public static SelectionSetCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns SimpleGraphObject cached for the selection set of the field being resolved.If it is not cached yet,it is converted
+     * using the convertor and cached for subsequent calls.
+     *
+     * @param environment data fetching environment of the resolver call
+     * @param convertor   converts the selection set of the environment into SimpleGraphObject
+     */
+    public SimpleGraphObject get(DataFetchingEnvironment environment, Supplier<SimpleGraphObject> convertor) {
+        ExecutionContext executionContext = environment.getExecutionContext();
+        if (maxSize <= 0 || executionContext == null || executionContext.getDocument() == null || environment.getExecutionStepInfo() == null) {
+            return convertor.get();
+        }
+
+        DocumentSelections documentSelections = getDocumentSelections(executionContext.getDocument());
+        if (documentSelections == null) {
+            return convertor.get();
+        }
+        String selectionKey = getSelectionKey(environment, executionContext, documentSelections.directiveVariables);
+        SimpleGraphObject simpleGraphObject = documentSelections.graphObjectBySelection.get(selectionKey);
+        if (simpleGraphObject != null) {
+            hitCount.increment();
+            return simpleGraphObject;
+        }
+
+        missCount.increment();
+        simpleGraphObject = convertor.get();
+        SimpleGraphObject cached = documentSelections.graphObjectBySelection.putIfAbsent(selectionKey, simpleGraphObject);
+        return (cached != null ? cached : simpleGraphObject);
+    }
+
+    /**
+     * Returns selections cached for the document,null when the cache is full and the document is not cached yet
+     */
+    private DocumentSelections getDocumentSelections(Document document) {
+        DocumentSelections documentSelections = selectionsByDocument.get(new DocumentKey(document, null));
+        if (documentSelections != null) {
+            return documentSelections;
+        }
+        removeCollectedDocuments();
+        if (selectionsByDocument.size() >= maxSize) {
+            return null;
+        }
+        documentSelections = new DocumentSelections(getDirectiveVariables(document));
+        DocumentSelections cached = selectionsByDocument.putIfAbsent(new DocumentKey(document, collectedDocuments), documentSelections);
+        return (cached != null ? cached : documentSelections);
+    }
+
+    private void removeCollectedDocuments() {
+        Reference<? extends Document> collectedDocument;
+        while ((collectedDocument = collectedDocuments.poll()) != null) {
+            selectionsByDocument.remove(collectedDocument);
+        }
+    }
+
+    private static String getSelectionKey(DataFetchingEnvironment environment, ExecutionContext executionContext, List<String> directiveVariables) {
+        StringBuilder selectionKey = new StringBuilder();
+        OperationDefinition operationDefinition = executionContext.getOperationDefinition();
+        if (operationDefinition != null && operationDefinition.getName() != null) {
+            selectionKey.append(operationDefinition.getName());
+        }
+        for (Object segment : environment.getExecutionStepInfo().getPath().toList()) {
+            //list indices are skipped,all the elements of a list have the same selection set
+            if (segment instanceof String) {
+                selectionKey.append('/').append(segment);
+            }
+        }
+        GraphQLType parentType = environment.getParentType();
+        selectionKey.append('#').append(parentType != null ? parentType.getName() : null);
+        for (String directiveVariable : directiveVariables) {
+            selectionKey.append('#').append(executionContext.getVariables().get(directiveVariable));
+        }
+        return selectionKey.toString();
+    }
+
+    /**
+     * Returns names of the variables used as condition of @include/@skip directives in the document,sorted by name
+     */
+    private static List<String> getDirectiveVariables(Document document) {
+        Set<String> directiveVariables = new TreeSet<>();
+        addDirectiveVariables(document, directiveVariables);
+        return new ArrayList<>(directiveVariables);
+    }
+
+    private static void addDirectiveVariables(Node<?> node, Set<String> directiveVariables) {
+        if (node instanceof Directive && ("include".equals(((Directive) node).getName()) || "skip".equals(((Directive) node).getName()))) {
+            for (Argument argument : ((Directive) node).getArguments()) {
+                if (argument.getValue() instanceof VariableReference) {
+                    directiveVariables.add(((VariableReference) argument.getValue()).getName());
+                }
+            }
+        }
+        for (Node<?> child : node.getChildren()) {
+            addDirectiveVariables(child, directiveVariables);
+        }
+    }
+
+    /**
+     * Removes all the cached selection sets.Counters are not reset.
+     */
+    public void clear() {
+        selectionsByDocument.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum number of documents whose selection sets are cached.0 or negative value disables the cache.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        if (maxSize <= 0) {
+            clear();
+        }
+    }
+
+    /**
+     * Returns number of documents cached
+     */
+    public int size() {
+        removeCollectedDocuments();
+        return selectionsByDocument.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Weak reference to a document compared by identity of the document,a cleared key is only equal to itself
+     */
+    private static final class DocumentKey extends WeakReference<Document> {
+
+        private final int hashCode;
+
+        DocumentKey(Document document, ReferenceQueue<Document> queue) {
+            super(document, queue);
+            this.hashCode = System.identityHashCode(document);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DocumentKey)) {
+                return false;
+            }
+            Document document = get();
+            return document != null && document == ((DocumentKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * SimpleGraphObjects converted from the selection sets of a document
+     */
+    private static final class DocumentSelections {
+
+        private final List<String> directiveVariables;
+        private final Map<String, SimpleGraphObject> graphObjectBySelection = new ConcurrentHashMap<>();
+
+        DocumentSelections(List<String> directiveVariables) {
+            this.directiveVariables = directiveVariables;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+public class QueryThreadPoolTest {
+
+    @Test
+    public void testPoolIsRecreatedAfterShutdown() {
+        QueryThreadPool queryThreadPool = new QueryThreadPool("dydaq-test-", 2);
+
+        ExecutorService threadPool = (ExecutorService) queryThreadPool.getExecutor();
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, threadPool).join();
+        Assertions.assertSame(threadPool, queryThreadPool.getExecutor());
+        Assertions.assertTrue(thread.getName().startsWith("dydaq-test-"));
+        Assertions.assertTrue(thread.isDaemon());
+
+        queryThreadPool.shutdown();
+        Assertions.assertTrue(threadPool.isShutdown());
+        Assertions.assertNotSame(threadPool, queryThreadPool.getExecutor());
+
+        queryThreadPool.setParallelism(0);
+        Assertions.assertEquals(1, queryThreadPool.getParallelism());
+        queryThreadPool.shutdown();
+    }
+
+    @Test
+    public void testExecutorSetIsNotShutDown() {
+        QueryThreadPool queryThreadPool = new QueryThreadPool("dydaq-test-", 2);
+        Executor executor = Runnable::run;
+
+        queryThreadPool.setExecutor(executor);
+        queryThreadPool.shutdown();
+
+        Assertions.assertTrue(queryThreadPool.hasExecutor());
+        Assertions.assertSame(executor, queryThreadPool.getExecutor());
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void testValuesAreDecodedWithTheirTypes() {
+        List<Object> values = Arrays.asList(1001, 42L, "name:with,separators", new BigDecimal("10.50"), null,
+                Timestamp.valueOf("2020-01-02 03:04:05.6"), LocalDate.of(2020, 1, 2), true);
+
+        String cursor = KeysetCursor.encode(values);
+
+        Assertions.assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        Assertions.assertEquals(values, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    public void testEmptyCursorIsFirstPage() {
+        Assertions.assertEquals(Collections.emptyList(), KeysetCursor.decode(null));
+        Assertions.assertEquals(Collections.emptyList(), KeysetCursor.decode(""));
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        Assertions.assertThrows(DynamicQueryException.class, () -> KeysetCursor.decode("not a cursor"));
+        Assertions.assertThrows(DynamicQueryException.class, () -> KeysetCursor.decode(KeysetCursor.encode(Collections.singletonList(1)) + "QQ"));
+        Assertions.assertThrows(DynamicQueryException.class, () -> new SimpleQueryBuilder.Builder().addKeysetCondition("%%").build());
+    }
+
+    @Test
+    public void testOnlyPresenceOfCursorIsPartOfShape() {
+        SimpleQueryBuilder firstPage = new SimpleQueryBuilder.Builder().setGraphKey("rootObject").addKeysetCondition(null).build();
+        SimpleQueryBuilder secondPage = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addKeysetCondition(KeysetCursor.encode(Collections.singletonList(1002))).build();
+        SimpleQueryBuilder thirdPage = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addKeysetCondition(KeysetCursor.encode(Collections.singletonList(1004))).build();
+
+        Assertions.assertNotEquals(firstPage.getShapeKey(), secondPage.getShapeKey());
+        Assertions.assertEquals(secondPage.getShapeKey(), thirdPage.getShapeKey());
+        Assertions.assertEquals(Collections.singletonList(1004), thirdPage.getKeysetValues());
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class PredicateTest {
+
+    @Test
+    public void testPredicatesAddConditionsWithValuesInOrder() {
+        JoinQueryBuilder jqb = new JoinQueryBuilder
+                .Builder()
+                .addWhereCondition(Predicate.compare("rootObject.city", SqlCondition.equal, "Phoenix"))
+                .addWhereCondition(Predicate.or(
+                        Predicate.and(Predicate.in("surgeon.dept_id", Arrays.asList(901, 902)), Predicate.compare("surgeon.full_name", SqlCondition.notNull)),
+                        Predicate.between("rootObject.hospital_id", 1001, 1003),
+                        Predicate.exists("select 1 from department_tbl d where d.dept_id = surgeon.dept_id and d.name = ?", "Cardiology")))
+                .addHavingCondition(Predicate.compare("count(surgeon.surgeon_id)", SqlCondition.greaterThan, 2))
+                .build();
+
+        Assertions.assertEquals(Arrays.asList("rootObject.city = ?", "(", "surgeon.dept_id in (?,?)", "surgeon.full_name is not null ", "or",
+                "rootObject.hospital_id between ? and ?", "or", "exists (select 1 from department_tbl d where d.dept_id = surgeon.dept_id and d.name = ?)", ")"),
+                jqb.getWhereCondition());
+        Assertions.assertEquals(Collections.singletonList("count(surgeon.surgeon_id) > ?"), jqb.getHavingCondition());
+        Assertions.assertEquals(Arrays.asList("Phoenix", 901, 902, 1001, 1003, "Cardiology", 2), jqb.getBindValues());
+        Assertions.assertEquals(jqb.getBindValues(), jqb.withKeysetCursor(null, false).getBindValues());
+    }
+
+    @Test
+    public void testNestedOrIsBracketedInAnd() {
+        SimpleQueryBuilder sqb = new SimpleQueryBuilder
+                .Builder()
+                .addWhereCondition(Predicate.and(Predicate.or(Predicate.compare("city", SqlCondition.equal, "Austin")),
+                        Predicate.or(Predicate.compare("city", SqlCondition.equal, "Phoenix"), Predicate.compare("name", SqlCondition.like, "%Care%"))))
+                .build();
+
+        Assertions.assertEquals(Arrays.asList("city = ?", "(", "city = ?", "or", "name like ?", ")"), sqb.getWhereCondition());
+        Assertions.assertEquals(Arrays.asList("Austin", "Phoenix", "%Care%"), sqb.getBindValues());
+    }
+
+    @Test
+    public void testBindValuesAreEmptyWithoutPredicates() {
+        SimpleQueryBuilder sqb = new SimpleQueryBuilder
+                .Builder()
+                .addWhereCondition("city", SqlCondition.equal)
+                .addWhereCondition(Predicate.compare("name", SqlCondition.isNull))
+                .build();
+
+        Assertions.assertTrue(sqb.getBindValues().isEmpty());
+    }
+
+    @Test
+    public void testBindValuesNeedAllConditionsAsPredicates() {
+        SimpleQueryBuilder sqb = new SimpleQueryBuilder
+                .Builder()
+                .addWhereCondition("city", SqlCondition.equal)
+                .addWhereCondition(Predicate.compare("name", SqlCondition.equal, "Mayo"))
+                .build();
+
+        Assertions.assertThrows(DynamicQueryException.class, sqb::getBindValues);
+    }
+
+    @Test
+    public void testLookupKeysArePaddedToBuckets() {
+        SimpleQueryBuilder sqb = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition(Predicate.or(Predicate.compare("city", SqlCondition.equal, "Phoenix"),
+                        Predicate.compare("city", SqlCondition.equal, "Austin")))
+                .addLookupKeys("hospital_id", Arrays.asList(1001, 1002, 1003, 1002))
+                .build();
+
+        Assertions.assertEquals(Arrays.asList("(", "city = ?", "or", "city = ?", ")"), sqb.getWhereCondition());
+        Assertions.assertEquals(Arrays.asList("Phoenix", "Austin"), sqb.getBindValues());
+        Assertions.assertEquals(Arrays.asList(1001, 1002, 1003), sqb.getLookupKeys());
+        Assertions.assertEquals(Arrays.asList(1001, 1002, 1003, 1003), sqb.getLookupBindValues());
+
+        SimpleQueryBuilder chunk = sqb.withLookupKeys(Collections.singletonList(1004));
+        Assertions.assertEquals(sqb.getWhereCondition(), chunk.getWhereCondition());
+        Assertions.assertEquals(Collections.singletonList(1004), chunk.getLookupBindValues());
+        Assertions.assertThrows(DynamicQueryException.class, () -> new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addKeysetCondition(null).addLookupKeys("hospital_id", Arrays.asList(1001, 1002)).build());
+        Assertions.assertThrows(DynamicQueryException.class, () -> new JoinQueryBuilder.Builder().setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN).addLookupKeys("surgeon.hospital_id", Arrays.asList(1001, 1002)).build());
+    }
+
+    @Test
+    public void testValuesMustMatchParameters() {
+        Assertions.assertThrows(DynamicQueryException.class, () -> Predicate.compare("city", SqlCondition.between, "A"));
+        Assertions.assertThrows(DynamicQueryException.class, () -> Predicate.exists("select 1 from a_tbl where a = ?"));
+        Assertions.assertThrows(DynamicQueryException.class, () -> Predicate.in("city", Collections.emptyList()));
+        Assertions.assertThrows(DynamicQueryException.class, Predicate::or);
+    }
+
+}
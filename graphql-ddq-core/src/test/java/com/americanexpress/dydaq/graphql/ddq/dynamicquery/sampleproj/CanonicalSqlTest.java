@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.QueryShapeCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.*;
+
+/**
+ * Verifies that same GraphQL request shape always generates byte identical SQL.The expected queries are literals so that
+ * a change in column order between JVM runs fails the test as well.
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityMetaDataProvider.class,
+        GraphEntityMapGenerator.class
+})
+@TestPropertySource(locations = "classpath:application.yml", properties = {
+        "sidh.entity-location=com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto"})
+public class CanonicalSqlTest {
+
+    private static final String JOIN_QUERY = "select  rootObject.hospital_id as hospital_id, rootObject.name as name, "
+            + "rootObject.no_of_employees as no_of_employees, rootObject.city as city, rootObject.contact_no as contact_no, "
+            + "surgeon.surgeon_id as surgeon_surgeon_id, surgeon.hospital_id as surgeon_hospital_id, "
+            + "surgeon.full_name as surgeon_full_name, surgeon.dept_id as surgeon_dept_id, surgeon.contact_no as surgeon_contact_no "
+            + "from hospital_tbl rootObject   inner join  surgeon_tbl surgeon on  rootObject.hospital_id = surgeon.hospital_id  "
+            + "where rootObject.hospital_id = ? ";
+
+    private static final String SELECT_QUERY = "select hospital_id, name, no_of_employees, city, contact_no from hospital_tbl limit ? ";
+
+    @Test
+    public void joinQueryIsSameForAllFieldOrders() {
+        List<String> hospitalFields = Arrays.asList("name", "city", "contactNo", "noOfEmployees");
+        List<String> surgeonFields = Arrays.asList("fullName", "contactNo");
+
+        for (List<String> hospitalFieldOrder : permutations(hospitalFields)) {
+            for (List<String> surgeonFieldOrder : permutations(surgeonFields)) {
+                SimpleGraphObject simpleGraphObject = getHospitalGraphObject(hospitalFieldOrder, surgeonFieldOrder);
+                JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                        .Builder()
+                        .setRootKey("rootObject")
+                        .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                        .addWhereCondition("rootObject", "hospital_id", SqlCondition.equal)
+                        .build();
+
+                QueryShapeCache.getInstance().clear();
+                Assertions.assertEquals(JOIN_QUERY, new DynamicQueryGenerator(simpleGraphObject).getJoinQuery(joinQueryBuilder));
+            }
+        }
+    }
+
+    @Test
+    public void selectQueryIsSameForAllFieldOrders() {
+        for (List<String> hospitalFieldOrder : permutations(Arrays.asList("name", "city", "contactNo", "noOfEmployees"))) {
+            SimpleGraphObject simpleGraphObject = getHospitalGraphObject(hospitalFieldOrder, null);
+            SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                    .Builder()
+                    .setGraphKey("rootObject")
+                    .addLimitCondition()
+                    .build();
+
+            QueryShapeCache.getInstance().clear();
+            Assertions.assertEquals(SELECT_QUERY, new DynamicQueryGenerator(simpleGraphObject).getSelectQuery(simpleQueryBuilder));
+        }
+    }
+
+    @Test
+    public void queriesAreSameInAnyGenerationOrder() {
+        SimpleGraphObject simpleGraphObject = getHospitalGraphObject(Collections.singletonList("name"), Collections.singletonList("fullName"));
+        String shapeKey = simpleGraphObject.getShapeKey();
+        SimpleQueryBuilder groupByQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addGroupByCondition("city")
+                .build();
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addLimitCondition()
+                .build();
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .addWhereCondition("rootObject", "hospital_id", SqlCondition.equal)
+                .build();
+
+        QueryShapeCache.getInstance().clear();
+        String selectQuery = new DynamicQueryGenerator(simpleGraphObject).getSelectQuery(simpleQueryBuilder);
+        String joinQuery = new DynamicQueryGenerator(simpleGraphObject).getJoinQuery(joinQueryBuilder);
+
+        QueryShapeCache.getInstance().clear();
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(simpleGraphObject);
+        Assertions.assertTrue(dynamicQueryGenerator.getSelectQuery(groupByQueryBuilder).contains("city"));
+        Assertions.assertFalse(dynamicQueryGenerator.getSplitQueries(joinQueryBuilder).isEmpty());
+        Assertions.assertEquals(joinQuery, dynamicQueryGenerator.getJoinQuery(joinQueryBuilder));
+        Assertions.assertEquals(selectQuery, dynamicQueryGenerator.getSelectQuery(simpleQueryBuilder));
+        Assertions.assertEquals(shapeKey, simpleGraphObject.getShapeKey());
+        Assertions.assertEquals(Collections.singleton("name"), simpleGraphObject.getGqlGraphReqFieldMap().get("rootObject"));
+    }
+
+    private SimpleGraphObject getHospitalGraphObject(List<String> hospitalFields, List<String> surgeonFields) {
+        Map<String, String> gqlGraphEntityMap = new LinkedHashMap<>();
+        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>();
+        gqlGraphEntityMap.put("rootObject", "Hospital");
+        gqlGraphReqFieldMap.put("rootObject", new LinkedHashSet<>(hospitalFields));
+        if (surgeonFields != null) {
+            gqlGraphEntityMap.put("surgeon", "Surgeon");
+            gqlGraphReqFieldMap.put("surgeon", new LinkedHashSet<>(surgeonFields));
+        }
+
+        return new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build();
+    }
+
+    private List<List<String>> permutations(List<String> values) {
+        List<List<String>> permutations = new ArrayList<>();
+        if (values.size() <= 1) {
+            permutations.add(new ArrayList<>(values));
+            return permutations;
+        }
+        for (int index = 0; index < values.size(); index++) {
+            List<String> remaining = new ArrayList<>(values);
+            String first = remaining.remove(index);
+            for (List<String> permutation : permutations(remaining)) {
+                permutation.add(0, first);
+                permutations.add(permutation);
+            }
+        }
+        return permutations;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DocumentQueryPlanner;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DyDaQDataLoaderRegistryFactory;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.DataSourceCustomBeanProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.TestSchemaGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver.DocumentPlanResolver;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.google.gson.Gson;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityMetaDataProvider.class,
+        GraphEntityMapGenerator.class,
+        DocumentPlanResolver.class,
+        DocumentQueryPlanner.class,
+        DynamicQueryExecutor.class,
+        DataSourceCustomBeanProvider.class
+})
+@TestPropertySource(locations = "classpath:application.yml", properties = {
+        "sidh.entity-location=com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto"})
+public class DocumentQueryPlannerTest {
+
+    private static final String DOCUMENT = "{ names: listHospitalsInCity(city: \"Bangalore\") { hospitalId name }"
+            + " cities: listHospitalsInCity(city: \"Bangalore\") { hospitalId city }"
+            + " other: listHospitalsInCity(city: \"Hosmat\") { hospitalId }"
+            + " fetchHospitalWithSurgeons(hospitalId: 1001) { name surgeon { surgeonId } } }";
+
+    private static final String DATA = "{\"names\":[{\"hospitalId\":1001,\"name\":\"Hospital Name1\"},{\"hospitalId\":1005,\"name\":\"Hospital Name5\"}],"
+            + "\"cities\":[{\"hospitalId\":1001,\"city\":\"Bangalore\"},{\"hospitalId\":1005,\"city\":\"Bangalore\"}],"
+            + "\"other\":[{\"hospitalId\":1002}],"
+            + "\"fetchHospitalWithSurgeons\":{\"name\":\"Hospital Name1\",\"surgeon\":[{\"surgeonId\":4001},{\"surgeonId\":4005},{\"surgeonId\":4006}]}}";
+
+    @Autowired
+    private DocumentPlanResolver resolver;
+
+    @Autowired
+    private DocumentQueryPlanner documentQueryPlanner;
+
+    @Autowired
+    private DynamicQueryExecutor dynamicQueryExecutor;
+
+    @Test
+    public void testRootFieldsOfDocumentArePlannedTogether() {
+        GraphQL exe = GraphQL.newGraphQL(new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate()).build();
+        DataLoaderRegistry dataLoaderRegistry = new DyDaQDataLoaderRegistryFactory(Collections.emptyList(), documentQueryPlanner)
+                .createDataLoaderRegistry();
+        dynamicQueryExecutor.clear();
+
+        ExecutionResult result = exe.execute(ExecutionInput.newExecutionInput()
+                .query(DOCUMENT)
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+
+        Assertions.assertEquals(0, result.getErrors().size(), () -> result.getErrors().toString());
+        Assertions.assertEquals(DATA, new Gson().toJson(result.toSpecification().get("data")));
+        Assertions.assertEquals(1, dataLoaderRegistry.getStatistics().getBatchInvokeCount());
+        Assertions.assertEquals(4, dataLoaderRegistry.getStatistics().getBatchLoadCount());
+        //both the Bangalore fields are fetched by a single query selecting name and city
+        Assertions.assertEquals(3, dynamicQueryExecutor.getExtractorCount());
+    }
+
+    @Test
+    public void testRootFieldsAreQueriedOnTheirOwnWithoutDataLoader() {
+        GraphQL exe = GraphQL.newGraphQL(new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate()).build();
+        dynamicQueryExecutor.clear();
+
+        ExecutionResult result = exe.execute(DOCUMENT);
+
+        Assertions.assertEquals(0, result.getErrors().size(), () -> result.getErrors().toString());
+        Assertions.assertEquals(DATA, new Gson().toJson(result.toSpecification().get("data")));
+        Assertions.assertEquals(4, dynamicQueryExecutor.getExtractorCount());
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DyDaQDataLoaderRegistryFactory;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.DataSourceCustomBeanProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.TestSchemaGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver.BatchLoaderResolver;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.google.gson.Gson;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityMetaDataProvider.class,
+        GraphEntityMapGenerator.class,
+        BatchLoaderResolver.class,
+        DynamicQueryExecutor.class,
+        DataSourceCustomBeanProvider.class
+})
+@TestPropertySource(locations = "classpath:application.yml", properties = {
+        "sidh.entity-location=com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto"})
+public class DyDaQBatchLoaderTest {
+
+    @Autowired
+    private BatchLoaderResolver resolver;
+
+    @Autowired
+    private DynamicQueryExecutor dynamicQueryExecutor;
+
+    @Test
+    public void testSurgeonsOfAllHospitalsAreFetchedInOneBatch() {
+        GraphQL exe = GraphQL.newGraphQL(new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate()).build();
+        DataLoaderRegistry dataLoaderRegistry = new DyDaQDataLoaderRegistryFactory(Collections.singletonList(resolver.getSurgeonLoader()))
+                .createDataLoaderRegistry();
+
+        ExecutionResult result = exe.execute(ExecutionInput.newExecutionInput()
+                .query("{ listHospitals { hospitalId surgeon { surgeonId docSpeciality { id } } } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+
+        Assertions.assertEquals(0, result.getErrors().size(), () -> result.getErrors().toString());
+        Assertions.assertEquals("{\"listHospitals\":[{\"hospitalId\":1001,\"surgeon\":[{\"surgeonId\":4001,\"docSpeciality\":[{\"id\":1},{\"id\":5}]},"
+                        + "{\"surgeonId\":4005,\"docSpeciality\":[]},{\"surgeonId\":4006,\"docSpeciality\":[{\"id\":3}]}]},"
+                        + "{\"hospitalId\":1002,\"surgeon\":[{\"surgeonId\":4002,\"docSpeciality\":[{\"id\":2}]}]},"
+                        + "{\"hospitalId\":1003,\"surgeon\":[{\"surgeonId\":4003,\"docSpeciality\":[]}]},"
+                        + "{\"hospitalId\":1004,\"surgeon\":[]},"
+                        + "{\"hospitalId\":1005,\"surgeon\":[{\"surgeonId\":4004,\"docSpeciality\":[{\"id\":4}]}]}]}",
+                new Gson().toJson(result.toSpecification().get("data")));
+        Assertions.assertEquals(1, dataLoaderRegistry.getStatistics().getBatchInvokeCount());
+        Assertions.assertEquals(5, dataLoaderRegistry.getStatistics().getBatchLoadCount());
+    }
+
+    @Test
+    public void testAliasedSiblingsGetTheFieldsOfBothSelections() {
+        GraphQL exe = GraphQL.newGraphQL(new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate()).build();
+        DataLoaderRegistry dataLoaderRegistry = new DyDaQDataLoaderRegistryFactory(Collections.singletonList(resolver.getSurgeonLoader()))
+                .createDataLoaderRegistry();
+
+        ExecutionResult result = exe.execute(ExecutionInput.newExecutionInput()
+                .query("{ listHospitals { hospitalId a: surgeon { fullName } b: surgeon { surgeonId } } }")
+                .dataLoaderRegistry(dataLoaderRegistry)
+                .build());
+
+        Assertions.assertEquals(0, result.getErrors().size(), () -> result.getErrors().toString());
+        String data = new Gson().toJson(result.toSpecification().get("data"));
+        Assertions.assertTrue(data.startsWith("{\"listHospitals\":[{\"hospitalId\":1001,\"a\":[{\"fullName\":\"Human Name1\"},"
+                + "{\"fullName\":\"Human Name5\"},{\"fullName\":\"Human Name6\"}],\"b\":[{\"surgeonId\":4001},{\"surgeonId\":4005},"
+                + "{\"surgeonId\":4006}]}"), data);
+        Assertions.assertEquals(1, dataLoaderRegistry.getStatistics().getBatchInvokeCount());
+        Assertions.assertEquals(10, dataLoaderRegistry.getStatistics().getBatchLoadCount());
+    }
+
+    @Test
+    public void testBatchesLargerThanLookupChunkSizeAreLookedUp() {
+        GraphQL exe = GraphQL.newGraphQL(new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate()).build();
+        DataLoaderRegistry dataLoaderRegistry = new DyDaQDataLoaderRegistryFactory(Collections.singletonList(resolver.getSurgeonLoader()))
+                .createDataLoaderRegistry();
+        int lookupChunkSize = dynamicQueryExecutor.getLookupChunkSize();
+        dynamicQueryExecutor.setLookupChunkSize(2);
+        ExecutionResult result;
+        try {
+            result = exe.execute(ExecutionInput.newExecutionInput()
+                    .query("{ listHospitals { hospitalId surgeon { surgeonId } } }")
+                    .dataLoaderRegistry(dataLoaderRegistry)
+                    .build());
+        } finally {
+            dynamicQueryExecutor.setLookupChunkSize(lookupChunkSize);
+        }
+
+        Assertions.assertEquals(0, result.getErrors().size(), () -> result.getErrors().toString());
+        Assertions.assertEquals("{\"listHospitals\":[{\"hospitalId\":1001,\"surgeon\":[{\"surgeonId\":4001},{\"surgeonId\":4005},{\"surgeonId\":4006}]},"
+                        + "{\"hospitalId\":1002,\"surgeon\":[{\"surgeonId\":4002}]},{\"hospitalId\":1003,\"surgeon\":[{\"surgeonId\":4003}]},"
+                        + "{\"hospitalId\":1004,\"surgeon\":[]},{\"hospitalId\":1005,\"surgeon\":[{\"surgeonId\":4004}]}]}",
+                new Gson().toJson(result.toSpecification().get("data")));
+    }
+
+}
@@ -0,0 +1,958 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.LookupTableDialect;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.ConnectionRequest;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetConnection;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetCursor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetPage;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.Predicate;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryplan.PreparedQuery;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.exception.DynamicQueryException;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.DocSpeciality;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Hospital;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Surgeon;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.DataSourceCustomBeanProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.RecordingDataSource;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataProvider;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.FanOutStatistics;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.InListExpansion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityMetaDataProvider.class,
+        GraphEntityMapGenerator.class,
+        DynamicQueryExecutor.class,
+        DataSourceCustomBeanProvider.class
+})
+@TestPropertySource(locations = "classpath:application.yml", properties = {
+        "sidh.entity-location=com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto"})
+public class DynamicQueryExecutorTest {
+
+    @Autowired
+    DynamicQueryExecutor dynamicQueryExecutor;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    public void testKeyColumnsAreDerivedForEveryGraphLevel() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = getHospitalJoinQueryBuilder();
+
+        dynamicQueryGenerator.getJoinQuery(joinQueryBuilder);
+
+        Assertions.assertEquals(Arrays.asList("hospital_id", "surgeon_surgeon_id", "surgeon_docSpeciality_id"),
+                dynamicQueryGenerator.getKeyColumns(joinQueryBuilder));
+    }
+
+    @Test
+    public void testKeyColumnsAreRelativeToQueryRoot() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("surgeon")
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon", "hospital_id", SqlCondition.equal)
+                .build();
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("surgeon")
+                .build();
+
+        dynamicQueryGenerator.getJoinQuery(joinQueryBuilder);
+
+        Assertions.assertEquals(Arrays.asList("surgeon_id", "docSpeciality_id"), dynamicQueryGenerator.getKeyColumns(joinQueryBuilder));
+        Assertions.assertEquals(Collections.singletonList("surgeon_id"), dynamicQueryGenerator.getKeyColumns(simpleQueryBuilder));
+    }
+
+    @Test
+    public void testJoinQueryRowsAreMappedIntoNestedEntities() {
+        List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                getHospitalJoinQueryBuilder(), Hospital.class, 1001);
+
+        Assertions.assertEquals(1, hospitals.size());
+        Assertions.assertEquals("Hospital Name1", hospitals.get(0).getName());
+        Map<Integer, Integer> docSpecialityCountMap = new TreeMap<>();
+        for (Surgeon surgeon : hospitals.get(0).getSurgeon()) {
+            docSpecialityCountMap.put(surgeon.getSurgeonId(), surgeon.getDocSpeciality().size());
+        }
+        Assertions.assertEquals("{4001=2, 4006=1}", docSpecialityCountMap.toString());
+    }
+
+    @Test
+    public void testResultSetExtractorIsCachedPerQueryShape() {
+        dynamicQueryExecutor.clear();
+
+        for (int hospitalId : new int[]{1001, 1002, 1005}) {
+            dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()), getHospitalJoinQueryBuilder(), Hospital.class, hospitalId);
+        }
+        Assertions.assertEquals(1, dynamicQueryExecutor.getExtractorCount());
+
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("hospital_id", SqlCondition.equal)
+                .build();
+        List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()), simpleQueryBuilder, Hospital.class, 1002);
+        Assertions.assertEquals("Hospital Name2", hospitals.get(0).getName());
+        Assertions.assertEquals(2, dynamicQueryExecutor.getExtractorCount());
+    }
+
+    @Test
+    public void testSplitQueriesFetchSameGraphAsJoinQuery() {
+        JoinQueryBuilder joinQueryBuilder = getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, false);
+
+        List<Hospital> joinedHospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                joinQueryBuilder, Hospital.class, QueryStrategy.JOIN);
+        List<Hospital> splitHospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                joinQueryBuilder, Hospital.class, QueryStrategy.SPLIT);
+
+        //hospital 1003 has a surgeon without doc speciality and 1004 has no surgeon,so both are dropped by the inner joins
+        Assertions.assertEquals("{1001={4001=[1, 5], 4006=[3]}, 1002={4002=[2]}, 1005={4004=[4]}}", toGraphString(joinedHospitals));
+        Assertions.assertEquals(toGraphString(joinedHospitals), toGraphString(splitHospitals));
+    }
+
+    @Test
+    public void testSplitQueriesKeepParentsOfLeftOuterJoin() {
+        int batchSize = dynamicQueryExecutor.getBatchSize();
+        dynamicQueryExecutor.setBatchSize(2);
+        try {
+            List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                    getHospitalJoinQueryBuilder(SqlJoinType.LEFT_OUTER_JOIN, false), Hospital.class, QueryStrategy.SPLIT);
+
+            Assertions.assertEquals("{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}, 1003={4003=[]}, 1004={}, 1005={4004=[4]}}",
+                    toGraphString(hospitals));
+        } finally {
+            dynamicQueryExecutor.setBatchSize(batchSize);
+        }
+    }
+
+    @Test
+    public void testSplitQueriesAreNotCreatedForConditionsOnChildLevel() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon_docSpeciality", "experience", SqlCondition.greaterThan)
+                .build();
+
+        Assertions.assertTrue(dynamicQueryGenerator.getSplitQueries(joinQueryBuilder).isEmpty());
+        Assertions.assertEquals(QueryStrategy.JOIN, dynamicQueryGenerator.getQueryStrategy(joinQueryBuilder));
+        Assertions.assertEquals("{1001={4001=[1], 4006=[3]}, 1005={4004=[4]}}", toGraphString(dynamicQueryExecutor.query(dynamicQueryGenerator,
+                joinQueryBuilder, Hospital.class, QueryStrategy.SPLIT, 8)));
+    }
+
+    @Test
+    public void testJsonQueryFetchesSameGraphAsJoinQuery() {
+        for (SqlJoinType joinType : new SqlJoinType[]{SqlJoinType.INNER_JOIN, SqlJoinType.LEFT_OUTER_JOIN}) {
+            JoinQueryBuilder joinQueryBuilder = getHospitalJoinQueryBuilder(joinType, false);
+            DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+
+            List<Hospital> joinedHospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                    joinQueryBuilder, Hospital.class, QueryStrategy.JOIN);
+            List<Hospital> jsonHospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, QueryStrategy.JSON);
+
+            Assertions.assertTrue(dynamicQueryGenerator.getJsonQuery(joinQueryBuilder).contains("json_arrayagg"));
+            Assertions.assertEquals(toGraphString(joinedHospitals), toGraphString(jsonHospitals), joinType.name());
+            Assertions.assertEquals(joinedHospitals.get(0).getName(), jsonHospitals.get(0).getName());
+            Assertions.assertEquals(joinedHospitals.get(0).getSurgeon().get(0).getFullName(), jsonHospitals.get(0).getSurgeon().get(0).getFullName());
+        }
+    }
+
+    @Test
+    public void testJsonQueryLimitsRootEntities() {
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .addOrderByCondition("rootObject", "hospital_id")
+                .setLimit(2)
+                .build();
+
+        List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()), joinQueryBuilder,
+                Hospital.class, QueryStrategy.JSON);
+
+        //hospital 1001 has 4 joined rows,limit is on the hospitals and 1004 without surgeons is not counted
+        Assertions.assertEquals("{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}}", toGraphString(hospitals));
+        Assertions.assertEquals("", new DynamicQueryGenerator(getHospitalGraphObject()).getJsonQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon", "full_name", SqlCondition.equal)
+                .build()));
+    }
+
+    @Test
+    public void testGraphLevelUsedOnlyInWhereIsSemiJoined() {
+        SimpleGraphObject hospitalGraphObject = new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(getHospitalGraphObject().getGqlGraphEntityMap())
+                .setGqlGraphReqFieldMap(Collections.singletonMap("rootObject", Collections.singleton("name")))
+                .build();
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("rootObject", "hospital_id", SqlCondition.greaterThanOrEqual)
+                .addWhereCondition("surgeon", "dept_id", SqlCondition.lessThanOrEqual)
+                .addWhereCondition("surgeon_docSpeciality", "experience", SqlCondition.notNull)
+                .addOrderByCondition("rootObject", "hospital_id")
+                .setLimit(2)
+                .build();
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(hospitalGraphObject);
+
+        String joinQuery = dynamicQueryGenerator.getJoinQuery(joinQueryBuilder).replaceAll("\\s+", " ");
+        List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, 1001, 903);
+
+        Assertions.assertTrue(joinQuery.contains("exists (select 1 from surgeon_tbl surgeon inner join doc_speciality_tbl surgeon_docSpeciality"), joinQuery);
+        Assertions.assertFalse(joinQuery.substring(0, joinQuery.indexOf("exists")).contains(" join "), joinQuery);
+        //hospital 1001 has two surgeons of department 901 with doc specialities,it is fetched once and does not use up the limit
+        Assertions.assertEquals(Arrays.asList(1001, 1002), hospitals.stream().map(Hospital::getHospitalId).collect(Collectors.toList()));
+        Assertions.assertTrue(hospitals.get(0).getSurgeon().isEmpty());
+        Assertions.assertEquals(Collections.singletonList("hospital_id"), dynamicQueryGenerator.getKeyColumns(joinQueryBuilder));
+
+        //a level whose conditions are split by conditions of another level stays joined,as moving its conditions reorders the parameters
+        Assertions.assertFalse(dynamicQueryGenerator.getJoinQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon", "dept_id", SqlCondition.lessThanOrEqual)
+                .addWhereCondition("rootObject", "hospital_id", SqlCondition.greaterThanOrEqual)
+                .addWhereCondition("surgeon", "surgeon_id", SqlCondition.greaterThanOrEqual)
+                .build()).contains("exists"));
+    }
+
+    @Test
+    public void testGraphLevelSelectingOnlyJoinColumnsIsNotJoined() {
+        Map<String, String> gqlGraphEntityMap = new LinkedHashMap<>(getHospitalGraphObject().getGqlGraphEntityMap());
+        gqlGraphEntityMap.put("surgeon_docSpeciality_speciality", "Speciality");
+        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>(getHospitalGraphObject().getGqlGraphReqFieldMap());
+        gqlGraphReqFieldMap.put("surgeon_docSpeciality_speciality", Collections.singleton("specialityId"));
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build());
+
+        for (SqlJoinType joinType : Arrays.asList(SqlJoinType.LEFT_OUTER_JOIN, SqlJoinType.INNER_JOIN)) {
+            JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                    .Builder()
+                    .setRootKey("rootObject")
+                    .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                    .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                    .joinWithGraph("surgeon_docSpeciality_speciality", joinType)
+                    .addWhereCondition("rootObject", "hospital_id", SqlCondition.equal)
+                    .build();
+
+            String joinQuery = dynamicQueryGenerator.getJoinQuery(joinQueryBuilder);
+            List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, 1001);
+            List<Hospital> streamedHospitals;
+            try (Stream<Hospital> hospitalStream = dynamicQueryExecutor.stream(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, 1001)) {
+                streamedHospitals = hospitalStream.collect(Collectors.toList());
+            }
+
+            Assertions.assertFalse(joinQuery.contains(" speciality_tbl"), joinQuery);
+            Assertions.assertTrue(joinQuery.contains("surgeon_docSpeciality.speciality_id as surgeon_docSpeciality_speciality_speciality_id"), joinQuery);
+            Assertions.assertFalse(dynamicQueryGenerator.getStreamingJoinQuery(joinQueryBuilder).contains(" speciality_tbl"));
+            for (List<Hospital> result : Arrays.asList(hospitals, streamedHospitals)) {
+                //inner join drops surgeon 4005 without doc specialities,same as joining speciality
+                Assertions.assertEquals(joinType == SqlJoinType.INNER_JOIN ? "{1001={4001=[1, 5], 4006=[3]}}" : "{1001={4001=[1, 5], 4005=[], 4006=[3]}}",
+                        toGraphString(result));
+                Map<Integer, Integer> specialityIds = new TreeMap<>();
+                for (Surgeon surgeon : result.get(0).getSurgeon()) {
+                    surgeon.getDocSpeciality().forEach(docSpeciality -> specialityIds.put(docSpeciality.getId(), docSpeciality.getSpeciality().getSpecialityId()));
+                }
+                Assertions.assertEquals("{1=3001, 3=3002, 5=3004}", specialityIds.toString());
+            }
+        }
+        //speciality name is not a join column,so speciality is joined
+        gqlGraphReqFieldMap.put("surgeon_docSpeciality_speciality", new LinkedHashSet<>(Arrays.asList("specialityId", "speciality")));
+        Assertions.assertTrue(new DynamicQueryGenerator(new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build()).getJoinQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality_speciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .build()).contains(" speciality_tbl"));
+    }
+
+    @Test
+    public void testPredicatesAreQueriedWithTheirValues() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .addWhereCondition(Predicate.or(Predicate.in("rootObject.hospital_id", Arrays.asList(1002, 1004)),
+                        Predicate.between("rootObject.hospital_id", 1005, 1010)))
+                .addWhereCondition(Predicate.compare("rootObject.hospital_id", SqlCondition.notEqual, 1004))
+                .build();
+
+        PreparedQuery preparedQuery = dynamicQueryGenerator.getPreparedQuery(joinQueryBuilder);
+        List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class);
+
+        Assertions.assertEquals(dynamicQueryGenerator.getJoinQuery(joinQueryBuilder), preparedQuery.getSql());
+        Assertions.assertTrue(preparedQuery.getSql().contains("where  ( rootObject.hospital_id in (?,?) or rootObject.hospital_id between ? and ? ) and rootObject.hospital_id != ?"),
+                preparedQuery.getSql());
+        Assertions.assertEquals(Arrays.asList(1002, 1004, 1005, 1010, 1004), preparedQuery.getParams());
+        Assertions.assertEquals("{1002={4002=[2]}, 1005={4004=[4]}}", toGraphString(hospitals));
+    }
+
+    @Test
+    public void testInListsAreExpandedToBuckets() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .addWhereCondition(Predicate.in("rootObject.hospital_id", Arrays.asList(1002, 1004, 1005)))
+                .build();
+
+        PreparedQuery preparedQuery = dynamicQueryGenerator.getPreparedQuery(joinQueryBuilder);
+        List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class);
+
+        Assertions.assertTrue(preparedQuery.getSql().contains("rootObject.hospital_id in (?,?,?,?)"), preparedQuery.getSql());
+        Assertions.assertEquals(Arrays.asList(1002, 1004, 1005, 1005), preparedQuery.getParams());
+        Assertions.assertEquals("{1002={4002=[2]}, 1004={}, 1005={4004=[4]}}", toGraphString(hospitals));
+
+        InListExpansion.getInstance().setArrayThreshold(2);
+        try {
+            joinQueryBuilder = new JoinQueryBuilder
+                    .Builder()
+                    .setRootKey("rootObject")
+                    .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                    .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                    .addWhereCondition(Predicate.in("rootObject.hospital_id", Arrays.asList(1002, 1004, 1005)))
+                    .build();
+            preparedQuery = dynamicQueryGenerator.getPreparedQuery(joinQueryBuilder);
+            hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder, Hospital.class);
+
+            Assertions.assertTrue(preparedQuery.getSql().contains("rootObject.hospital_id = any(?)"), preparedQuery.getSql());
+            Assertions.assertEquals("{1002={4002=[2]}, 1004={}, 1005={4004=[4]}}", toGraphString(hospitals));
+        } finally {
+            InListExpansion.getInstance().setArrayThreshold(0);
+        }
+    }
+
+    @Test
+    public void testLookupKeysAreFetchedInChunks() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .addWhereCondition(Predicate.compare("rootObject.hospital_id", SqlCondition.notEqual, 1003))
+                .addLookupKeys("rootObject.hospital_id", Arrays.asList(1001, 1002, 1003, 1004, 1005, 1009))
+                .build();
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addLookupKeys("hospital_id", Arrays.asList(1002, 1004, 1005))
+                .build();
+        String expectedGraph = "{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}, 1004={}, 1005={4004=[4]}}";
+
+        Assertions.assertEquals(expectedGraph, toGraphString(dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder,
+                Hospital.class)));
+        JoinQueryBuilder chunk = joinQueryBuilder.withLookupKeys(Arrays.asList(1001, 1002, 1003));
+        Assertions.assertTrue(dynamicQueryGenerator.getJoinQuery(chunk).contains("(select * from hospital_tbl rootObject "
+                + "where rootObject.hospital_id in (?,?,?,?)) rootObject"));
+        Assertions.assertEquals(Arrays.asList(1001, 1002, 1003, 1003, 1003),
+                dynamicQueryGenerator.getPreparedQuery(chunk).getParams());
+
+        int lookupChunkSize = dynamicQueryExecutor.getLookupChunkSize();
+        dynamicQueryExecutor.setLookupChunkSize(2);
+        try {
+            Assertions.assertEquals(expectedGraph, toGraphString(dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder,
+                    Hospital.class)));
+            Assertions.assertEquals(expectedGraph, toGraphString(dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuilder,
+                    Hospital.class, QueryStrategy.SPLIT)));
+            List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, simpleQueryBuilder, Hospital.class);
+            Assertions.assertEquals(Arrays.asList(1002, 1004, 1005), hospitals.stream().map(Hospital::getHospitalId).collect(Collectors.toList()));
+        } finally {
+            dynamicQueryExecutor.setLookupChunkSize(lookupChunkSize);
+        }
+    }
+
+    @Test
+    public void testLookupTableDialects() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addLookupKeys("hospital_id", Arrays.asList(1002, 1004, 1005))
+                .build();
+        EntityMetaDataProvider entityMetaDataProvider = new EntityMetaDataProvider();
+        try {
+            entityMetaDataProvider.setLookupTableDialect(LookupTableDialect.VALUES);
+            Assertions.assertTrue(dynamicQueryGenerator.getSelectQuery(simpleQueryBuilder).contains("from (select distinct key_value from "
+                    + "(values (?),(?),(?),(?)) lookup_keys(key_value)) lookup_keys inner join hospital_tbl on hospital_id = lookup_keys.key_value"));
+            List<Hospital> hospitals = dynamicQueryExecutor.query(dynamicQueryGenerator, simpleQueryBuilder, Hospital.class);
+            Assertions.assertEquals(Arrays.asList(1002, 1004, 1005), hospitals.stream().map(Hospital::getHospitalId).sorted().collect(Collectors.toList()));
+
+            entityMetaDataProvider.setLookupTableDialect(LookupTableDialect.MYSQL);
+            Assertions.assertTrue(dynamicQueryGenerator.getSelectQuery(simpleQueryBuilder).contains("from (select distinct column_0 as key_value from "
+                    + "(values row(?),row(?),row(?),row(?)) lookup_keys) lookup_keys inner join hospital_tbl on hospital_id = lookup_keys.key_value"));
+        } finally {
+            entityMetaDataProvider.setLookupTableDialect(LookupTableDialect.IN_LIST);
+        }
+    }
+
+    @Test
+    public void testChunkedLookupKeysAreNotSortedGroupedOrStreamed() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        List<Integer> lookupKeys = Arrays.asList(1001, 1002, 1005);
+        SimpleQueryBuilder orderedQueryBuilder = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addOrderByCondition("hospital_id desc").addLookupKeys("hospital_id", lookupKeys).build();
+        SimpleQueryBuilder groupedQueryBuilder = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addGroupByCondition("city").addLookupKeys("hospital_id", lookupKeys).build();
+        SimpleQueryBuilder aggregatedQueryBuilder = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addaggregateSelectCols(SqlAggregationType.MAX, "hospital_id").addLookupKeys("hospital_id", lookupKeys).build();
+        SimpleQueryBuilder streamedQueryBuilder = new SimpleQueryBuilder.Builder().setGraphKey("rootObject")
+                .addLookupKeys("hospital_id", lookupKeys).build();
+
+        Assertions.assertEquals(Arrays.asList(1005, 1002, 1001), dynamicQueryExecutor.query(dynamicQueryGenerator, orderedQueryBuilder, Hospital.class)
+                .stream().map(Hospital::getHospitalId).collect(Collectors.toList()));
+        int lookupChunkSize = dynamicQueryExecutor.getLookupChunkSize();
+        dynamicQueryExecutor.setLookupChunkSize(2);
+        try {
+            Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.query(dynamicQueryGenerator, orderedQueryBuilder, Hospital.class));
+            Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.query(dynamicQueryGenerator, groupedQueryBuilder, Hospital.class));
+            Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.query(dynamicQueryGenerator, aggregatedQueryBuilder, Hospital.class));
+            Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.stream(dynamicQueryGenerator, streamedQueryBuilder, Hospital.class));
+        } finally {
+            dynamicQueryExecutor.setLookupChunkSize(lookupChunkSize);
+        }
+    }
+
+    @Test
+    public void testHavingConditionsAreAnded() {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addGroupByCondition("city")
+                .addHavingCondition(Predicate.compare("count(*)", SqlCondition.greaterThanOrEqual, 1))
+                .addHavingCondition(Predicate.compare("count(*)", SqlCondition.lessThan, 5))
+                .build();
+
+        String selectQuery = new DynamicQueryGenerator(getHospitalGraphObject()).getPreparedQuery(simpleQueryBuilder).getSql();
+
+        Assertions.assertTrue(selectQuery.contains("count(*) >= ? and count(*) < ?"), selectQuery);
+    }
+
+    @Test
+    public void testStreamedJoinRowsAreMergedIntoParents() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .build();
+
+        List<Hospital> hospitals;
+        try (Stream<Hospital> hospitalStream = dynamicQueryExecutor.stream(dynamicQueryGenerator, joinQueryBuilder, Hospital.class)) {
+            hospitals = hospitalStream.collect(Collectors.toList());
+        }
+
+        Assertions.assertTrue(dynamicQueryGenerator.getStreamingJoinQuery(joinQueryBuilder)
+                .endsWith(" Order By rootObject.hospital_id,surgeon.surgeon_id,surgeon_docSpeciality.id "));
+        Assertions.assertEquals(5, hospitals.size());
+        Assertions.assertEquals("{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}, 1003={4003=[]}, 1004={}, 1005={4004=[4]}}",
+                toGraphString(hospitals));
+    }
+
+    @Test
+    public void testStreamRejectsOrderByOnChildGraphLevel() {
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .addOrderByCondition("surgeon", "full_name")
+                .build();
+
+        //rows of a hospital would not be consecutive when ordered by names of its surgeons
+        Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.stream(new DynamicQueryGenerator(getHospitalGraphObject()),
+                joinQueryBuilder, Hospital.class));
+    }
+
+    @Test
+    public void testStreamReturnsCompleteParentBeforeReadingAllRows() {
+        Optional<Hospital> hospital;
+        try (Stream<Hospital> hospitalStream = dynamicQueryExecutor.stream(new DynamicQueryGenerator(getHospitalGraphObject()),
+                getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, false), Hospital.class)) {
+            hospital = hospitalStream.findFirst();
+        }
+
+        Assertions.assertEquals("{1001={4001=[1, 5], 4006=[3]}}", toGraphString(Collections.singletonList(hospital.get())));
+    }
+
+    @Test
+    public void testStreamReadsRowsOutsideOfAutoCommit() {
+        RecordingDataSource recordingDataSource = new RecordingDataSource(dataSource, null, null);
+        DynamicQueryExecutor streamingQueryExecutor = new DynamicQueryExecutor(new JdbcTemplate(recordingDataSource));
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .build();
+
+        Optional<Hospital> hospital;
+        try (Stream<Hospital> hospitalStream = streamingQueryExecutor.stream(new DynamicQueryGenerator(getHospitalGraphObject()),
+                joinQueryBuilder, Hospital.class)) {
+            hospital = hospitalStream.findFirst();
+            //4 rows of the first hospital and the first row of the next one,out of 8 rows
+            Assertions.assertEquals(5, recordingDataSource.getRowsRead());
+        }
+
+        Assertions.assertEquals(1001, hospital.get().getHospitalId());
+        Assertions.assertEquals(Boolean.FALSE, recordingDataSource.getAutoCommitOnExecute());
+        Assertions.assertEquals(Integer.valueOf(DynamicQueryExecutor.DEFAULT_FETCH_SIZE), recordingDataSource.getFetchSize());
+        Assertions.assertTrue(recordingDataSource.isAutoCommitOnRelease());
+    }
+
+    @Test
+    public void testMySqlRowsAreStreamedUnlessCursorFetchIsSet() {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder.Builder().setGraphKey("rootObject").build();
+        RecordingDataSource mySqlDataSource = new RecordingDataSource(dataSource, "MySQL", "jdbc:mysql://localhost/hospitals");
+        RecordingDataSource cursorFetchDataSource = new RecordingDataSource(dataSource, "MySQL", "jdbc:mysql://localhost/hospitals?useCursorFetch=true");
+
+        for (RecordingDataSource recordingDataSource : Arrays.asList(mySqlDataSource, cursorFetchDataSource)) {
+            try (Stream<Hospital> hospitalStream = new DynamicQueryExecutor(new JdbcTemplate(recordingDataSource))
+                    .stream(new DynamicQueryGenerator(getHospitalGraphObject()), simpleQueryBuilder, Hospital.class)) {
+                Assertions.assertEquals(5, hospitalStream.count());
+            }
+        }
+
+        Assertions.assertEquals(Integer.valueOf(Integer.MIN_VALUE), mySqlDataSource.getFetchSize());
+        Assertions.assertEquals(Integer.valueOf(DynamicQueryExecutor.DEFAULT_FETCH_SIZE), cursorFetchDataSource.getFetchSize());
+    }
+
+    @Test
+    public void testSelectQueryRowsAreStreamed() {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("city", SqlCondition.equal)
+                .build();
+
+        try (Stream<Hospital> hospitalStream = dynamicQueryExecutor.stream(new DynamicQueryGenerator(getHospitalGraphObject()),
+                simpleQueryBuilder, Hospital.class, "Bangalore")) {
+            Assertions.assertEquals(Arrays.asList("Hospital Name1", "Hospital Name5"),
+                    hospitalStream.map(Hospital::getName).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testJoinIsChosenForDefaultFanOut() {
+        FanOutStatistics.getInstance().clear();
+
+        Assertions.assertEquals(QueryStrategy.JOIN, new DynamicQueryGenerator(getHospitalGraphObject())
+                .getQueryStrategy(getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, false)));
+    }
+
+    @Test
+    public void testSplitIsChosenForHighRecordedFanOut() {
+        FanOutStatistics fanOutStatistics = FanOutStatistics.getInstance();
+        fanOutStatistics.clear();
+        try {
+            fanOutStatistics.record("Hospital", 1, 100);
+            fanOutStatistics.record(FanOutStatistics.getAssociationKey("Hospital", "surgeon"), 100, 2000);
+            fanOutStatistics.record(FanOutStatistics.getAssociationKey("Surgeon", "docSpeciality"), 2000, 40000);
+
+            Assertions.assertEquals(QueryStrategy.SPLIT, new DynamicQueryGenerator(getHospitalGraphObject())
+                    .getQueryStrategy(getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, false)));
+        } finally {
+            fanOutStatistics.clear();
+        }
+    }
+
+    @Test
+    public void testAutoStrategyRecordsFanOut() {
+        FanOutStatistics fanOutStatistics = FanOutStatistics.getInstance();
+        fanOutStatistics.clear();
+        try {
+            List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                    getHospitalJoinQueryBuilder(SqlJoinType.LEFT_OUTER_JOIN, false), Hospital.class, QueryStrategy.AUTO);
+
+            Assertions.assertEquals("{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}, 1003={4003=[]}, 1004={}, 1005={4004=[4]}}",
+                    toGraphString(hospitals));
+            Assertions.assertEquals(5.0, fanOutStatistics.getFanOut("Hospital"));
+            Assertions.assertEquals(6.0 / 5, fanOutStatistics.getFanOut(FanOutStatistics.getAssociationKey("Hospital", "surgeon")));
+            Assertions.assertEquals(5.0 / 6, fanOutStatistics.getFanOut(FanOutStatistics.getAssociationKey("Surgeon", "docSpeciality")));
+        } finally {
+            fanOutStatistics.clear();
+        }
+    }
+
+    @Test
+    public void testForcedStrategiesDoNotRecordFanOut() {
+        FanOutStatistics fanOutStatistics = FanOutStatistics.getInstance();
+        fanOutStatistics.clear();
+        for (QueryStrategy queryStrategy : new QueryStrategy[]{QueryStrategy.JOIN, QueryStrategy.SPLIT}) {
+            dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()),
+                    getHospitalJoinQueryBuilder(SqlJoinType.LEFT_OUTER_JOIN, false), Hospital.class, queryStrategy);
+
+            Assertions.assertNull(fanOutStatistics.getFanOut("Hospital"), queryStrategy.name());
+            Assertions.assertNull(fanOutStatistics.getFanOut(FanOutStatistics.getAssociationKey("Hospital", "surgeon")), queryStrategy.name());
+        }
+    }
+
+    @Test
+    public void testGraphLimitKeepsTopChildrenPerParent() {
+        for (QueryStrategy queryStrategy : new QueryStrategy[]{QueryStrategy.JOIN, QueryStrategy.SPLIT, QueryStrategy.JSON}) {
+            JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                    .Builder()
+                    .setRootKey("rootObject")
+                    .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                    .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                    .addGraphLimitCondition("surgeon", 1, "surgeon_id desc")
+                    .addGraphLimitCondition("surgeon_docSpeciality", 1)
+                    .build();
+
+            List<Hospital> hospitals = dynamicQueryExecutor.query(new DynamicQueryGenerator(getHospitalGraphObject()), joinQueryBuilder,
+                    Hospital.class, queryStrategy);
+
+            //latest surgeon of every hospital with its first doc speciality
+            Assertions.assertEquals("{1001={4006=[3]}, 1002={4002=[2]}, 1003={4003=[]}, 1004={}, 1005={4004=[4]}}", toGraphString(hospitals),
+                    queryStrategy.name());
+        }
+        Assertions.assertThrows(DynamicQueryException.class, () -> new DynamicQueryGenerator(getHospitalGraphObject()).getJoinQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon", "full_name", SqlCondition.equal)
+                .addGraphLimitCondition("surgeon", 2, "full_name")
+                .build()));
+        Assertions.assertThrows(DynamicQueryException.class, () -> new DynamicQueryGenerator(getHospitalGraphObject()).getJoinQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .addGraphLimitCondition("surgeon", 2, "no_such_column desc")
+                .build()));
+    }
+
+    @Test
+    public void testKeysetPagesOfSelectQueryBreakTiesOnPrimaryKey() {
+        List<Integer> hospitalIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+            SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                    .Builder()
+                    .setGraphKey("rootObject")
+                    .addKeysetCondition(cursor, "city")
+                    .build();
+            KeysetPage<Hospital> page = dynamicQueryExecutor.queryPage(dynamicQueryGenerator, simpleQueryBuilder, Hospital.class, 2);
+
+            if (cursor != null) {
+                Assertions.assertTrue(dynamicQueryGenerator.getSelectQuery(simpleQueryBuilder).contains("(city,hospital_id) > (?,?)"));
+            }
+            Assertions.assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(hospital -> hospitalIds.add(hospital.getHospitalId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        //two hospitals are in Bangalore,they are ordered by hospital_id and are on the same page
+        Assertions.assertEquals(Arrays.asList(1001, 1005, 1002, 1003, 1004), hospitalIds);
+    }
+
+    @Test
+    public void testPredicateValuesAreBoundForPagesConnectionsAndStreams() {
+        SimpleQueryBuilder pageQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition(Predicate.compare("city", SqlCondition.equal, "Bangalore"))
+                .addKeysetCondition(null)
+                .build();
+        ConnectionRequest connectionRequest = new ConnectionRequest(1, null, null, null, true, Collections.emptySet());
+        SimpleQueryBuilder connectionQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition(Predicate.compare("city", SqlCondition.equal, "Bangalore"))
+                .addConnectionCondition(connectionRequest)
+                .build();
+        SimpleQueryBuilder streamQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition(Predicate.compare("city", SqlCondition.equal, "Bangalore"))
+                .addOrderByCondition("hospital_id")
+                .build();
+
+        KeysetPage<Hospital> page = dynamicQueryExecutor.queryPage(new DynamicQueryGenerator(getHospitalGraphObject()), pageQueryBuilder, Hospital.class, 1);
+        KeysetConnection<Hospital> connection = dynamicQueryExecutor.queryConnection(new DynamicQueryGenerator(getHospitalGraphObject(), connectionRequest),
+                connectionQueryBuilder, Hospital.class);
+        List<Integer> streamedIds;
+        try (Stream<Hospital> hospitalStream = dynamicQueryExecutor.stream(new DynamicQueryGenerator(getHospitalGraphObject()), streamQueryBuilder, Hospital.class)) {
+            streamedIds = hospitalStream.map(Hospital::getHospitalId).collect(Collectors.toList());
+        }
+
+        Assertions.assertEquals(Collections.singletonList(1001), page.getItems().stream().map(Hospital::getHospitalId).collect(Collectors.toList()));
+        Assertions.assertNotNull(page.getNextCursor());
+        Assertions.assertEquals(1, connection.getEdges().size());
+        Assertions.assertEquals(Long.valueOf(2), connection.getTotalCount());
+        Assertions.assertEquals(Arrays.asList(1001, 1005), streamedIds);
+    }
+
+    @Test
+    public void testKeysetPagesOfJoinQueryLimitRootEntities() {
+        List<Hospital> hospitals = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                    .Builder()
+                    .setRootKey("rootObject")
+                    .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                    .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                    .addWhereCondition("rootObject", "hospital_id", SqlCondition.greaterThanOrEqual)
+                    .addKeysetCondition(cursor)
+                    .build();
+            KeysetPage<Hospital> page = dynamicQueryExecutor.queryPage(new DynamicQueryGenerator(getHospitalGraphObject()), joinQueryBuilder,
+                    Hospital.class, 1, 1001);
+
+            Assertions.assertEquals(1, page.getItems().size());
+            hospitals.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        //hospital 1001 has 3 joined rows,page size limits hospitals and not the joined rows
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals("{1001={4001=[1, 5], 4006=[3]}, 1002={4002=[2]}, 1005={4004=[4]}}", toGraphString(hospitals));
+    }
+
+    @Test
+    public void testKeysetPagesOfSplitQueriesAreSameAsJoinQuery() {
+        for (QueryStrategy queryStrategy : new QueryStrategy[]{QueryStrategy.JOIN, QueryStrategy.SPLIT, QueryStrategy.JSON}) {
+            List<Hospital> hospitals = new ArrayList<>();
+            String cursor = null;
+            do {
+                JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                        .Builder()
+                        .setRootKey("rootObject")
+                        .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                        .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                        .addKeysetCondition(cursor, "name")
+                        .build();
+                KeysetPage<Hospital> page = dynamicQueryExecutor.queryPage(new DynamicQueryGenerator(getHospitalGraphObject()),
+                        joinQueryBuilder, Hospital.class, queryStrategy, 2);
+                hospitals.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            Assertions.assertEquals("{1001={4001=[1, 5], 4005=[], 4006=[3]}, 1002={4002=[2]}, 1003={4003=[]}, 1004={}, 1005={4004=[4]}}",
+                    toGraphString(hospitals), queryStrategy.name());
+        }
+    }
+
+    @Test
+    public void testConnectionOfJoinQueryPagesBackwardAndCountsInnerJoinedRoots() {
+        ConnectionRequest connectionRequest = new ConnectionRequest(null, null, 2, null, true,
+                new HashSet<>(Arrays.asList(ConnectionRequest.HAS_NEXT_PAGE, ConnectionRequest.HAS_PREVIOUS_PAGE)));
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject(), connectionRequest);
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("rootObject", "hospital_id", SqlCondition.greaterThanOrEqual)
+                .addConnectionCondition(connectionRequest)
+                .build();
+
+        KeysetConnection<Hospital> connection = dynamicQueryExecutor.queryConnection(dynamicQueryGenerator, joinQueryBuilder, Hospital.class, 1001);
+
+        //last 2 of the hospitals having doc specialities,in ascending order of the keys
+        List<Hospital> hospitals = new ArrayList<>();
+        connection.getEdges().forEach(edge -> hospitals.add(edge.getNode()));
+        Assertions.assertEquals("{1002={4002=[2]}, 1005={4004=[4]}}", toGraphString(hospitals));
+        Assertions.assertEquals(Long.valueOf(3), connection.getTotalCount());
+        Assertions.assertTrue(connection.getPageInfo().isHasPreviousPage());
+        Assertions.assertFalse(connection.getPageInfo().isHasNextPage());
+        Assertions.assertEquals(Collections.singletonList(1002), KeysetCursor.decode(connection.getPageInfo().getStartCursor().getValue()));
+        Assertions.assertThrows(DynamicQueryException.class, () -> new ConnectionRequest(null, null, null, null, false, null));
+    }
+
+    @Test
+    public void testConnectionChecksPreviousPageWithRootOnlyQuery() {
+        String after = KeysetCursor.encode(Collections.singletonList(1002));
+        ConnectionRequest connectionRequest = new ConnectionRequest(2, after, null, null, false,
+                Collections.singleton(ConnectionRequest.HAS_PREVIOUS_PAGE));
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject(), connectionRequest);
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .joinWithGraph("surgeon_docSpeciality", SqlJoinType.LEFT_OUTER_JOIN)
+                .addConnectionCondition(connectionRequest)
+                .build();
+
+        KeysetConnection<Hospital> connection = dynamicQueryExecutor.queryConnection(dynamicQueryGenerator, joinQueryBuilder, Hospital.class);
+
+        List<Hospital> hospitals = new ArrayList<>();
+        connection.getEdges().forEach(edge -> hospitals.add(edge.getNode()));
+        Assertions.assertEquals("{1003={4003=[]}, 1004={}}", toGraphString(hospitals));
+        Assertions.assertTrue(connection.getPageInfo().isHasPreviousPage());
+        Assertions.assertTrue(connection.getPageInfo().isHasNextPage());
+        //other side of the page is checked on the root table alone
+        Assertions.assertEquals("select 1 from hospital_tbl rootObject where (rootObject.hospital_id) < (?)  limit ?",
+                dynamicQueryGenerator.getExistsQuery(joinQueryBuilder.withKeysetCursor(after, true)).trim());
+    }
+
+    @Test
+    public void testKeysetPaginationRejectsConditionsOnRows() {
+        DynamicQueryGenerator dynamicQueryGenerator = new DynamicQueryGenerator(getHospitalGraphObject());
+
+        Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryGenerator.getSelectQuery(new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addOrderByCondition("name")
+                .addKeysetCondition(null)
+                .build()));
+        Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryGenerator.getSelectQuery(new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addKeysetCondition(null, "no_such_column")
+                .build()));
+        Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryGenerator.getJoinQuery(new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.INNER_JOIN)
+                .addWhereCondition("surgeon", "full_name", SqlCondition.equal)
+                .addKeysetCondition(null)
+                .build()));
+        Assertions.assertThrows(DynamicQueryException.class, () -> dynamicQueryExecutor.queryPage(dynamicQueryGenerator,
+                getHospitalJoinQueryBuilder(), Hospital.class, 2, 1001));
+    }
+
+    /**
+     * Chooses the strategy for 20 hospitals having the same number of surgeons and doc specialities per surgeon,as recorded after
+     * fetching them.A join repeats hospital and surgeon columns for every doc speciality,so split queries get cheaper than the
+     * join as fan out grows.Times of both are measured by FanOutBenchmark of graphql-ddq-benchmarks.
+     */
+    @Test
+    public void testStrategyCrossesOverFromJoinToSplitAsFanOutGrows() {
+        FanOutStatistics fanOutStatistics = FanOutStatistics.getInstance();
+        try {
+            for (int fanOut : new int[]{1, 5, 20}) {
+                fanOutStatistics.clear();
+                fanOutStatistics.record("Hospital", 1, 20);
+                fanOutStatistics.record(FanOutStatistics.getAssociationKey("Hospital", "surgeon"), 20, 20 * fanOut);
+                fanOutStatistics.record(FanOutStatistics.getAssociationKey("Surgeon", "docSpeciality"), 20 * fanOut, 20 * fanOut * fanOut);
+
+                Assertions.assertEquals(fanOut == 1 ? QueryStrategy.JOIN : QueryStrategy.SPLIT, new DynamicQueryGenerator(getHospitalGraphObject())
+                        .getQueryStrategy(getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, false)), "fan out " + fanOut);
+            }
+        } finally {
+            fanOutStatistics.clear();
+        }
+    }
+
+    private JoinQueryBuilder getHospitalJoinQueryBuilder() {
+        return getHospitalJoinQueryBuilder(SqlJoinType.INNER_JOIN, true);
+    }
+
+    private JoinQueryBuilder getHospitalJoinQueryBuilder(SqlJoinType joinType, boolean whereHospitalId) {
+        JoinQueryBuilder.Builder builder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", joinType)
+                .joinWithGraph("surgeon_docSpeciality", joinType);
+        if (whereHospitalId) {
+            builder.addWhereCondition("rootObject", "hospital_id", SqlCondition.equal);
+        } else {
+            //SimpleFlatMapper merges only consecutive rows of a parent in a join query
+            builder.addOrderByCondition("rootObject", "hospital_id");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns hospital ids with their surgeon ids and doc speciality ids,sorted as row order is not same for join and split queries
+     */
+    private String toGraphString(List<Hospital> hospitals) {
+        Map<Integer, Map<Integer, Set<Integer>>> hospitalGraph = new TreeMap<>();
+        for (Hospital hospital : hospitals) {
+            Map<Integer, Set<Integer>> surgeonGraph = new TreeMap<>();
+            for (Surgeon surgeon : hospital.getSurgeon()) {
+                Set<Integer> docSpecialityIds = new TreeSet<>();
+                for (DocSpeciality docSpeciality : surgeon.getDocSpeciality()) {
+                    docSpecialityIds.add(docSpeciality.getId());
+                }
+                surgeonGraph.put(surgeon.getSurgeonId(), docSpecialityIds);
+            }
+            hospitalGraph.put(hospital.getHospitalId(), surgeonGraph);
+        }
+        return hospitalGraph.toString();
+    }
+
+    private SimpleGraphObject getHospitalGraphObject() {
+        Map<String, String> gqlGraphEntityMap = new LinkedHashMap<>();
+        Map<String, Set<String>> gqlGraphReqFieldMap = new LinkedHashMap<>();
+        gqlGraphEntityMap.put("rootObject", "Hospital");
+        gqlGraphEntityMap.put("surgeon", "Surgeon");
+        gqlGraphEntityMap.put("surgeon_docSpeciality", "DocSpeciality");
+        gqlGraphReqFieldMap.put("rootObject", new LinkedHashSet<>(Collections.singletonList("name")));
+        gqlGraphReqFieldMap.put("surgeon", new LinkedHashSet<>(Collections.singletonList("fullName")));
+        gqlGraphReqFieldMap.put("surgeon_docSpeciality", new LinkedHashSet<>(Collections.singletonList("experience")));
+
+        return new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build();
+    }
+}
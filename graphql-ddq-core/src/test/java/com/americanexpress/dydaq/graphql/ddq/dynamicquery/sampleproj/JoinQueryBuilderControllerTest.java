@@ -14,6 +14,7 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.DataSourceCustomBeanProvider;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.TestSchemaGenerator;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver.JoinQueryResolver;
@@ -42,6 +43,7 @@
 @ContextConfiguration(classes = {EntityMetaDataProvider.class,
         GraphEntityMapGenerator.class,
         JoinQueryResolver.class,
+        DynamicQueryExecutor.class,
         DataSourceCustomBeanProvider.class
 })
 @TestPropertySource(locations = "classpath:application.yml", properties = {
@@ -14,6 +14,7 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.DataSourceCustomBeanProvider;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper.TestSchemaGenerator;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver.SimpleQueryResolver;
@@ -35,6 +36,7 @@
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Map;
 
 
@@ -43,6 +45,7 @@
 @ContextConfiguration(classes = {EntityMetaDataProvider.class,
         GraphEntityMapGenerator.class,
         SimpleQueryResolver.class,
+        DynamicQueryExecutor.class,
         DataSourceCustomBeanProvider.class
 })
 @TestPropertySource(locations = "classpath:application.yml", properties = {
@@ -156,4 +159,55 @@ public void simpleQueryBuilderCountHospitalByCity() {
         Assertions.assertEquals(0, result.getErrors().size());
     }
 
+    @Test
+    public void simpleQueryBuilderWithConnection() {
+        GraphQLSchema schema = new TestSchemaGenerator().withOperationsFromSingleton(resolver).generate();
+        GraphQL exe = GraphQL.newGraphQL(schema).build();
+        Gson gson = new Gson();
+
+        ExecutionResult result = exe.execute("{ hospitalConnection(first:2) {totalCount edges{cursor node{hospitalId city}} pageInfo{hasNextPage hasPreviousPage endCursor}}}");
+        Assertions.assertEquals(0, result.getErrors().size());
+        Map connection = (Map) ((Map) result.getData()).get("hospitalConnection");
+        LOGGER.debug("Returning execution result:{}", gson.toJson(connection));
+        Assertions.assertEquals(5, ((Number) connection.get("totalCount")).intValue());
+        Assertions.assertEquals("[1001,1005]", getHospitalIds(connection));
+        Map pageInfo = (Map) connection.get("pageInfo");
+        Assertions.assertEquals(true, pageInfo.get("hasNextPage"));
+        Assertions.assertEquals(false, pageInfo.get("hasPreviousPage"));
+
+        result = exe.execute("{ hospitalConnection(first:2, after:\"" + pageInfo.get("endCursor") + "\") {edges{node{hospitalId}} pageInfo{hasNextPage hasPreviousPage startCursor}}}");
+        Assertions.assertEquals(0, result.getErrors().size());
+        connection = (Map) ((Map) result.getData()).get("hospitalConnection");
+        Assertions.assertEquals("[1002,1003]", getHospitalIds(connection));
+        pageInfo = (Map) connection.get("pageInfo");
+        Assertions.assertEquals(true, pageInfo.get("hasNextPage"));
+        Assertions.assertEquals(true, pageInfo.get("hasPreviousPage"));
+
+        //last 2 before the start of the second page are the first page,in the same order
+        result = exe.execute("{ hospitalConnection(last:2, before:\"" + pageInfo.get("startCursor") + "\") {edges{node{hospitalId}} pageInfo{hasNextPage hasPreviousPage}}}");
+        Assertions.assertEquals(0, result.getErrors().size());
+        connection = (Map) ((Map) result.getData()).get("hospitalConnection");
+        Assertions.assertEquals("[1001,1005]", getHospitalIds(connection));
+        pageInfo = (Map) connection.get("pageInfo");
+        Assertions.assertEquals(true, pageInfo.get("hasNextPage"));
+        Assertions.assertEquals(false, pageInfo.get("hasPreviousPage"));
+
+        result = exe.execute("{ hospitalConnection(last:1) {totalCount edges{node{hospitalId}}}}");
+        Assertions.assertEquals(0, result.getErrors().size());
+        connection = (Map) ((Map) result.getData()).get("hospitalConnection");
+        Assertions.assertEquals("[1004]", getHospitalIds(connection));
+        Assertions.assertEquals(5, ((Number) connection.get("totalCount")).intValue());
+
+        result = exe.execute("{ hospitalConnection(first:2, last:2) {edges{node{hospitalId}}}}");
+        Assertions.assertEquals(1, result.getErrors().size());
+    }
+
+    private static String getHospitalIds(Map connection) {
+        StringBuilder hospitalIds = new StringBuilder();
+        for (Object edge : (List) connection.get("edges")) {
+            hospitalIds.append(hospitalIds.length() == 0 ? "" : ",").append(((Map) ((Map) edge).get("node")).get("hospitalId"));
+        }
+        return "[" + hospitalIds + "]";
+    }
+
 }
@@ -17,12 +17,15 @@
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.annotations.ChildEntity;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.base.DocSpecialityBase;
 
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinColumns;
 import javax.persistence.Table;
 
 @ChildEntity
 @Table(name = "doc_speciality_tbl")
 public class DocSpeciality extends DocSpecialityBase {
 
+    @JoinColumns(@JoinColumn(name = "speciality_id", referencedColumnName = "speciality_id"))
     private Speciality speciality;
 
     public Speciality getSpeciality() {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.helper;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource recording how the statements are run and how many rows are read from their results,optionally reporting another
+ * database product and URL
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+
+    private final String databaseProductName;
+    private final String url;
+    private final AtomicInteger rowsRead = new AtomicInteger();
+    private volatile Boolean autoCommitOnExecute;
+    private volatile Integer fetchSize;
+    private volatile boolean autoCommitOnRelease;
+
+    public RecordingDataSource(DataSource dataSource, String databaseProductName, String url) {
+        super(dataSource);
+        this.databaseProductName = databaseProductName;
+        this.url = url;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, connection, (method, args) -> {
+            if (method.getName().equals("close")) {
+                autoCommitOnRelease = connection.getAutoCommit();
+            } else if (method.getName().equals("getMetaData")) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return proxy(DatabaseMetaData.class, metaData, (metaDataMethod, metaDataArgs) -> {
+                    if (metaDataMethod.getName().equals("getDatabaseProductName") && databaseProductName != null) {
+                        return databaseProductName;
+                    }
+                    if (metaDataMethod.getName().equals("getURL") && url != null) {
+                        return url;
+                    }
+                    return metaDataMethod.invoke(metaData, metaDataArgs);
+                });
+            } else if (method.getName().equals("prepareStatement")) {
+                PreparedStatement preparedStatement = (PreparedStatement) method.invoke(connection, args);
+                return proxy(PreparedStatement.class, preparedStatement, (statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().equals("setFetchSize")) {
+                        fetchSize = (Integer) statementArgs[0];
+                        //other drivers reject the MySQL streaming fetch size
+                        return null;
+                    }
+                    if (statementMethod.getName().equals("executeQuery")) {
+                        autoCommitOnExecute = connection.getAutoCommit();
+                        ResultSet resultSet = (ResultSet) statementMethod.invoke(preparedStatement, statementArgs);
+                        return proxy(ResultSet.class, resultSet, (resultSetMethod, resultSetArgs) -> {
+                            Object result = resultSetMethod.invoke(resultSet, resultSetArgs);
+                            if (resultSetMethod.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                                rowsRead.incrementAndGet();
+                            }
+                            return result;
+                        });
+                    }
+                    return statementMethod.invoke(preparedStatement, statementArgs);
+                });
+            }
+            return method.invoke(connection, args);
+        });
+    }
+
+    public int getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public Boolean getAutoCommitOnExecute() {
+        return autoCommitOnExecute;
+    }
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public boolean isAutoCommitOnRelease() {
+        return autoCommitOnRelease;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+}
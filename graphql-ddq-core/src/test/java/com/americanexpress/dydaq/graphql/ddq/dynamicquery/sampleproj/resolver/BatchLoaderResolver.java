@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DyDaQBatchLoader;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Hospital;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Surgeon;
+import io.leangen.graphql.annotations.GraphQLContext;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@GraphQLApi
+public class BatchLoaderResolver {
+
+    private final DynamicQueryExecutor dynamicQueryExecutor;
+    private final DyDaQBatchLoader<Surgeon> surgeonLoader;
+
+    public BatchLoaderResolver(DynamicQueryExecutor dynamicQueryExecutor) {
+        this.dynamicQueryExecutor = dynamicQueryExecutor;
+        this.surgeonLoader = new DyDaQBatchLoader<>(dynamicQueryExecutor, Hospital.class, "surgeon", Surgeon.class);
+    }
+
+    public DyDaQBatchLoader<Surgeon> getSurgeonLoader() {
+        return surgeonLoader;
+    }
+
+    @GraphQLQuery
+    public List<Hospital> listHospitals(@GraphQLEnvironment ResolutionEnvironment env) {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addOrderByCondition("hospital_id")
+                .build();
+        return dynamicQueryExecutor.query(DynamicQueryGenerator.getInstance(env), simpleQueryBuilder, Hospital.class);
+    }
+
+    //surgeons of all the hospitals listed are fetched by a single batch of the DataLoader
+    @GraphQLQuery(name = "surgeon")
+    public CompletableFuture<List<Surgeon>> getSurgeon(@GraphQLContext Hospital hospital, @GraphQLEnvironment ResolutionEnvironment env) {
+        return surgeonLoader.load(env, hospital);
+    }
+
+}
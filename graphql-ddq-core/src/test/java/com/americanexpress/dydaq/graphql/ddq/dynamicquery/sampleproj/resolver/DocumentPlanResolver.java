@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DocumentQueryPlanner;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Hospital;
+import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@GraphQLApi
+public class DocumentPlanResolver {
+
+    private final DocumentQueryPlanner documentQueryPlanner;
+
+    public DocumentPlanResolver(DocumentQueryPlanner documentQueryPlanner) {
+        this.documentQueryPlanner = documentQueryPlanner;
+    }
+
+    @GraphQLQuery
+    public CompletableFuture<List<Hospital>> listHospitalsInCity(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "city") String city) {
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("city", SqlCondition.equal)
+                .addOrderByCondition("hospital_id")
+                .build();
+        return documentQueryPlanner.query(env, simpleQueryBuilder, Hospital.class, city);
+    }
+
+    @GraphQLQuery
+    public CompletableFuture<Hospital> fetchHospitalWithSurgeons(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "hospitalId") int hospitalId) {
+        JoinQueryBuilder joinQueryBuilder = new JoinQueryBuilder
+                .Builder()
+                .setRootKey("rootObject")
+                .joinWithGraph("surgeon", SqlJoinType.LEFT_OUTER_JOIN)
+                .addWhereCondition("rootObject", "hospital_id", SqlCondition.equal)
+                .addOrderByCondition("surgeon", "surgeon_id")
+                .build();
+        return documentQueryPlanner.query(env, joinQueryBuilder, Hospital.class, hospitalId)
+                .thenApply(hospitals -> hospitals.isEmpty() ? null : hospitals.get(0));
+    }
+
+}
@@ -14,10 +14,12 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.resolver;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlSubQueryCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.KeysetConnection;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.Hospital;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto.HospitalCount;
@@ -62,6 +64,9 @@ public class SimpleQueryResolver {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DynamicQueryExecutor dynamicQueryExecutor;
+
     @GraphQLQuery
     public List<Surgeon> listSurgeonWithLimit(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "Limit") int limit) {
         DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getInstance(env);
@@ -159,4 +164,19 @@ public List<HospitalCount> countHospitalByCity(@GraphQLEnvironment ResolutionEnv
         return jdbcTemplate.query(hospitalQuery, resultSetExtractorHospCount);
     }
 
+    @GraphQLQuery
+    public KeysetConnection<Hospital> hospitalConnection(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "first") Integer first,
+                                             @GraphQLArgument(name = "after") String after, @GraphQLArgument(name = "last") Integer last,
+                                             @GraphQLArgument(name = "before") String before) {
+        DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getConnectionInstance(env);
+        SimpleQueryBuilder simpleQueryBuilder = new SimpleQueryBuilder
+                .Builder()
+                .setGraphKey("rootObject")
+                .addConnectionCondition(dynamicQueryGenerator.getConnectionRequest(), "city")
+                .build();
+
+        //Hospital page Generated:: select hospital_id, city, name from hospital_tbl where (city,hospital_id) > (?,?) Order By city,hospital_id limit ?
+        return dynamicQueryExecutor.queryConnection(dynamicQueryGenerator, simpleQueryBuilder, Hospital.class);
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityMetaDataProvider.class,
+        GraphEntityMapGenerator.class
+})
+@TestPropertySource(locations = "classpath:application.yml", properties = {
+        "sidh.entity-location=com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto"})
+public class EntityMetaDataProviderTest {
+
+    @Autowired
+    EntityMetaDataProvider entityMetaDataProvider;
+
+    @Test
+    public void testSelectFragmentsForSingleTable() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+        Map<String, String> selectFragmentMap = metadataRegistry.getSelectFragments("Hospital");
+
+        Assertions.assertEquals(", hospital_id", selectFragmentMap.get("hospital_id"));
+        Assertions.assertEquals(metadataRegistry.getColumnFieldMap("Hospital").keySet(), selectFragmentMap.keySet());
+    }
+
+    @Test
+    public void testSelectFragmentsForEveryQueryRoot() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+
+        Assertions.assertEquals(", surgeon_docSpeciality.surgeon_id as surgeon_docSpeciality_surgeon_id",
+                metadataRegistry.getGraphSelectFragments("Hospital", "surgeon_docSpeciality", "rootObject").get("surgeon_id"));
+        Assertions.assertEquals(", surgeon_docSpeciality.surgeon_id as docSpeciality_surgeon_id",
+                metadataRegistry.getGraphSelectFragments("Hospital", "surgeon_docSpeciality", "surgeon").get("surgeon_id"));
+        Assertions.assertEquals(", surgeon_docSpeciality.surgeon_id as surgeon_id",
+                metadataRegistry.getGraphSelectFragments("Hospital", "surgeon_docSpeciality", "surgeon_docSpeciality").get("surgeon_id"));
+        Assertions.assertTrue(metadataRegistry.getGraphSelectFragments("Hospital", "surgeon_docSpeciality", "docSpeciality").isEmpty());
+    }
+
+    @Test
+    public void testSelectFragmentsAreInterned() {
+        String selectFragment = MetadataRegistry.getInstance().getGraphSelectFragments("Hospital", "rootObject", "rootObject").get("name");
+
+        Assertions.assertEquals(", rootObject.name as name", selectFragment);
+        Assertions.assertSame(selectFragment.intern(), selectFragment);
+    }
+
+    @Test
+    public void testGraphEntityMapIsCreatedPerRootEntity() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+
+        Assertions.assertEquals("Hospital", metadataRegistry.getGraphEntityMap("Hospital").get("rootObject"));
+        Assertions.assertEquals("HospitalCount", metadataRegistry.getGraphEntityMap("HospitalCount").get("rootObject"));
+        Assertions.assertEquals(1, metadataRegistry.getGraphEntityMap("HospitalCount").size());
+    }
+
+    @Test
+    public void testCollectionGraphLevelsAreRead() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("surgeon", "surgeon_docSpeciality")), metadataRegistry.getCollectionGraphLevels("Hospital"));
+        Assertions.assertTrue(metadataRegistry.getCollectionGraphLevels("HospitalCount").isEmpty());
+    }
+
+    @Test
+    public void testPublishedMetadataCannotBeChanged() {
+        MetadataRegistry metadataRegistry = MetadataRegistry.getInstance();
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> metadataRegistry.getFieldColumnMap("Hospital").put("name", "name"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> metadataRegistry.getPkFields("Hospital").add("name"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> metadataRegistry.getGraphEntityMap("Hospital").clear());
+    }
+
+    @Test
+    public void testReloadPublishesNewSnapshot() {
+        MetadataRegistry oldMetadataRegistry = MetadataRegistry.getInstance();
+
+        entityMetaDataProvider.getEntityMetaData();
+        MetadataRegistry newMetadataRegistry = MetadataRegistry.getInstance();
+
+        Assertions.assertNotSame(oldMetadataRegistry, newMetadataRegistry);
+        Assertions.assertTrue(newMetadataRegistry.getVersion() > oldMetadataRegistry.getVersion());
+        Assertions.assertEquals(oldMetadataRegistry.getTableName("Surgeon"), newMetadataRegistry.getTableName("Surgeon"));
+        Assertions.assertEquals("hospital_tbl", oldMetadataRegistry.getTableName("Hospital"));
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class InListExpansionTest {
+
+    @Test
+    public void testBucketSizes() {
+        InListExpansion inListExpansion = new InListExpansion();
+
+        Assertions.assertEquals(1, inListExpansion.getBucketSize(1));
+        Assertions.assertEquals(2, inListExpansion.getBucketSize(2));
+        Assertions.assertEquals(4, inListExpansion.getBucketSize(3));
+        Assertions.assertEquals(8, inListExpansion.getBucketSize(5));
+        Assertions.assertEquals(512, inListExpansion.getBucketSize(512));
+        Assertions.assertEquals(1000, inListExpansion.getBucketSize(513));
+        Assertions.assertEquals(1200, inListExpansion.getBucketSize(1200));
+
+        inListExpansion.setBucketed(false);
+        Assertions.assertEquals(5, inListExpansion.getBucketSize(5));
+    }
+
+    @Test
+    public void testValuesArePaddedWithLastValue() {
+        InListExpansion inListExpansion = new InListExpansion();
+
+        Assertions.assertSame(inListExpansion.getCondition(4), inListExpansion.getCondition(3));
+        Assertions.assertEquals(" in (?,?,?,?)", inListExpansion.getCondition(3).getCondition());
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 3), inListExpansion.getValues(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void testOnlyBucketConditionsAreShared() {
+        InListExpansion inListExpansion = new InListExpansion();
+        inListExpansion.setMaxBucketSize(8);
+
+        Assertions.assertSame(inListExpansion.getCondition(7), inListExpansion.getCondition(5));
+        Assertions.assertNotSame(inListExpansion.getCondition(9), inListExpansion.getCondition(9));
+        Assertions.assertNotSame(SqlCondition.in(4), SqlCondition.in(4));
+
+        inListExpansion.setBucketed(false);
+        Assertions.assertNotSame(inListExpansion.getCondition(4), inListExpansion.getCondition(4));
+    }
+
+    @Test
+    public void testValuesAboveArrayThresholdAreBoundAsArray() {
+        InListExpansion inListExpansion = new InListExpansion();
+        inListExpansion.setArrayThreshold(2);
+
+        Assertions.assertEquals(" in (?,?)", inListExpansion.getCondition(2).getCondition());
+        Assertions.assertSame(SqlCondition.any, inListExpansion.getCondition(3));
+        List<Object> values = inListExpansion.getValues(Arrays.asList(1, 2, 3));
+        Assertions.assertEquals(1, values.size());
+        Assertions.assertArrayEquals(new Object[]{1, 2, 3}, (Object[]) values.get(0));
+    }
+
+}
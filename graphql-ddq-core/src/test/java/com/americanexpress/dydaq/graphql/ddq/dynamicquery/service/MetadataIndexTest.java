@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+public class MetadataIndexTest {
+
+    private static final String ENTITY_LOCATION = "com.americanexpress.dydaq.graphql.ddq.dynamicquery.sampleproj.dto";
+
+    @Test
+    public void testIndexHasSameMetadataAsScan() {
+        MetadataRegistry scannedRegistry = scanEntities();
+
+        MetadataRegistry indexedRegistry = MetadataIndex.read(new StringReader(writeIndex(scannedRegistry))).toRegistryBuilder().build();
+
+        assertSameMetadata(scannedRegistry, indexedRegistry);
+    }
+
+    @Test
+    public void testIndexIsLoadedOnlyForSameEntityLocation() throws IOException {
+        Path classesDir = Files.createTempDirectory("dydaq-index");
+        File indexFile = classesDir.resolve(MetadataIndex.INDEX_LOCATION).toFile();
+        Assertions.assertTrue(indexFile.getParentFile().mkdirs());
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile), StandardCharsets.UTF_8)) {
+            MetadataIndex.of(ENTITY_LOCATION, scanEntities()).write(writer);
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, null)) {
+            MetadataIndex metadataIndex = MetadataIndex.load(classLoader, ENTITY_LOCATION + " ");
+
+            Assertions.assertNotNull(metadataIndex);
+            Assertions.assertEquals(MetadataIndex.FORMAT_VERSION, metadataIndex.getFormatVersion());
+            Assertions.assertTrue(metadataIndex.getEntityNames().contains("Hospital"));
+            Assertions.assertNull(MetadataIndex.load(classLoader, "com.americanexpress.other.dto"));
+        } finally {
+            indexFile.delete();
+            indexFile.getParentFile().delete();
+        }
+    }
+
+    private MetadataRegistry scanEntities() {
+        return new EntityMetaDataReader(new GraphEntityMapGenerator()).read(new Reflections(ENTITY_LOCATION)).build();
+    }
+
+    private String writeIndex(MetadataRegistry metadataRegistry) {
+        StringWriter writer = new StringWriter();
+        MetadataIndex.of(ENTITY_LOCATION, metadataRegistry).write(writer);
+        return writer.toString();
+    }
+
+    private void assertSameMetadata(MetadataRegistry expected, MetadataRegistry actual) {
+        Assertions.assertEquals(expected.getEntityNames(), actual.getEntityNames());
+        Assertions.assertEquals(expected.getRootEntityNames(), actual.getRootEntityNames());
+        for (String entityName : expected.getEntityNames()) {
+            Assertions.assertEquals(expected.getTableName(entityName), actual.getTableName(entityName));
+            //field order decides order of the select columns,so it is compared as list
+            Assertions.assertEquals(new ArrayList<>(expected.getFieldColumnMap(entityName).entrySet()),
+                    new ArrayList<>(actual.getFieldColumnMap(entityName).entrySet()));
+            Assertions.assertEquals(expected.getColumnOrderMap(entityName), actual.getColumnOrderMap(entityName));
+            Assertions.assertEquals(expected.getPkFields(entityName), actual.getPkFields(entityName));
+            Assertions.assertEquals(expected.getPkFkFields(entityName), actual.getPkFkFields(entityName));
+            Assertions.assertEquals(expected.getGqlFieldToEntityFieldMap(entityName), actual.getGqlFieldToEntityFieldMap(entityName));
+            Assertions.assertEquals(expected.getGraphJoinColumns(entityName), actual.getGraphJoinColumns(entityName));
+        }
+        for (String rootEntity : expected.getRootEntityNames()) {
+            Assertions.assertEquals(expected.getGraphEntityMap(rootEntity), actual.getGraphEntityMap(rootEntity));
+            Assertions.assertEquals(expected.getCollectionGraphLevels(rootEntity), actual.getCollectionGraphLevels(rootEntity));
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.SimpleQueryBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class QueryShapeCacheTest {
+
+    @Test
+    public void testHitAndMissCount() {
+        QueryShapeCache cache = new QueryShapeCache(10);
+
+        Assertions.assertEquals("select 1", cache.get("shape1", () -> "select 1"));
+        Assertions.assertEquals("select 1", cache.get("shape1", () -> "select 2"));
+
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEvictionOfEldestShape() {
+        QueryShapeCache cache = new QueryShapeCache(2);
+
+        cache.get("shape1", () -> "select 1");
+        cache.get("shape2", () -> "select 2");
+        cache.get("shape3", () -> "select 3");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        Assertions.assertEquals("select 4", cache.get("shape1", () -> "select 4"));
+    }
+
+    @Test
+    public void testDisabledCache() {
+        QueryShapeCache cache = new QueryShapeCache(0);
+
+        cache.get("shape1", () -> "select 1");
+
+        Assertions.assertEquals("select 2", cache.get("shape1", () -> "select 2"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testShapeKeyIgnoresFieldOrder() {
+        Assertions.assertEquals(getSimpleGraphObject("name", "city").getShapeKey(), getSimpleGraphObject("city", "name").getShapeKey());
+        Assertions.assertNotEquals(getSimpleGraphObject("name", "city").getShapeKey(), getSimpleGraphObject("name").getShapeKey());
+    }
+
+    @Test
+    public void testSameShapeIsInterned() {
+        SimpleGraphObject simpleGraphObject = getSimpleGraphObject("name", "city");
+        SimpleGraphObject sameShape = getSimpleGraphObject("city", "name");
+
+        Assertions.assertEquals(simpleGraphObject, sameShape);
+        Assertions.assertEquals(simpleGraphObject.hashCode(), sameShape.hashCode());
+        Assertions.assertSame(simpleGraphObject.intern(), sameShape.intern());
+        Assertions.assertNotEquals(simpleGraphObject, getSimpleGraphObject("name"));
+    }
+
+    @Test
+    public void testShapesAreInternedAfterInternPoolIsFull() {
+        SimpleGraphObject firstShape = getSimpleGraphObject("evicted").intern();
+        for (int i = 0; i < 2048; i++) {
+            getSimpleGraphObject("field" + i).intern();
+        }
+
+        SimpleGraphObject newShape = getSimpleGraphObject("name", "newShape");
+        Assertions.assertSame(newShape, newShape.intern());
+        Assertions.assertSame(newShape, getSimpleGraphObject("name", "newShape").intern());
+        Assertions.assertNotSame(firstShape, getSimpleGraphObject("evicted").intern());
+    }
+
+    @Test
+    public void testWithFieldsDoesNotChangeShape() {
+        SimpleGraphObject simpleGraphObject = getSimpleGraphObject("name");
+        String shapeKey = simpleGraphObject.getShapeKey();
+
+        SimpleGraphObject withCity = simpleGraphObject.withFields(Collections.singletonMap("rootObject", Collections.singleton("city")));
+
+        Assertions.assertEquals(getSimpleGraphObject("name", "city"), withCity);
+        Assertions.assertEquals(shapeKey, simpleGraphObject.getShapeKey());
+        Assertions.assertSame(simpleGraphObject, simpleGraphObject.withFields(Collections.singletonMap("rootObject", Collections.singleton("name"))));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> simpleGraphObject.getGqlGraphReqFieldMap().get("rootObject").add("city"));
+    }
+
+    @Test
+    public void testShapeKeyOfQueryBuilder() {
+        SimpleQueryBuilder equalQuery = new SimpleQueryBuilder.Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("hospital_id", SqlCondition.equal)
+                .build();
+        SimpleQueryBuilder sameEqualQuery = new SimpleQueryBuilder.Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("hospital_id", SqlCondition.equal)
+                .build();
+        SimpleQueryBuilder inQuery = new SimpleQueryBuilder.Builder()
+                .setGraphKey("rootObject")
+                .addWhereCondition("hospital_id", SqlCondition.in(2))
+                .build();
+
+        Assertions.assertEquals(equalQuery.getShapeKey(), sameEqualQuery.getShapeKey());
+        Assertions.assertNotEquals(equalQuery.getShapeKey(), inQuery.getShapeKey());
+    }
+
+    private SimpleGraphObject getSimpleGraphObject(String... fields) {
+        Map<String, String> gqlGraphEntityMap = new HashMap<>();
+        gqlGraphEntityMap.put("rootObject", "Hospital");
+        Map<String, Set<String>> gqlGraphReqFieldMap = new HashMap<>();
+        gqlGraphReqFieldMap.put("rootObject", new LinkedHashSet<>(Arrays.asList(fields)));
+        return new SimpleGraphObject.Builder()
+                .setRootKey("rootObject")
+                .setRootEntity("Hospital")
+                .setGqlGraphEntityMap(gqlGraphEntityMap)
+                .setGqlGraphReqFieldMap(gqlGraphReqFieldMap)
+                .build();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class ResolutionEnvToSimpleObjectConvertorTest {
+
+    private static final String SCHEMA = "type Query { hospitals : [Hospital!]! }"
+            + " type Hospital { name : String! status : Status surgeon : [Surgeon!] }"
+            + " type Surgeon { fullName : String! docSpeciality : DocSpeciality! }"
+            + " type DocSpeciality { experience : String }"
+            + " enum Status { OPEN CLOSED }";
+
+    private SimpleGraphObject simpleGraphObject;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    public void setUp() {
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", typeWiring -> typeWiring.dataFetcher("hospitals", environment -> {
+                    simpleGraphObject = ResolutionEnvToSimpleObjectConvertor
+                            .gqlRequestToSimpleGraphObject(new ResolutionEnvironment(environment, null, null, null))
+                            .getSimpleGraphObject();
+                    return Collections.emptyList();
+                }))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+        graphQL = GraphQL.newGraphQL(schema).build();
+    }
+
+    @Test
+    public void testWrappedTypesFragmentsAndEnums() {
+        execute("{ hospitals { __typename name ... on Hospital { status } ...surgeonFields } }"
+                + " fragment surgeonFields on Hospital { surgeon { fullName docSpeciality { experience } } }", Collections.emptyMap());
+
+        Assertions.assertEquals("Hospital", simpleGraphObject.getRootEntity());
+        Map<String, String> gqlGraphEntityMap = new LinkedHashMap<>();
+        gqlGraphEntityMap.put("rootObject", "Hospital");
+        gqlGraphEntityMap.put("surgeon", "Surgeon");
+        gqlGraphEntityMap.put("surgeon_docSpeciality", "DocSpeciality");
+        Assertions.assertEquals(gqlGraphEntityMap, simpleGraphObject.getGqlGraphEntityMap());
+        Assertions.assertEquals(Arrays.asList("name", "status"), new ArrayList<>(simpleGraphObject.getGqlGraphReqFieldMap().get("rootObject")));
+        Assertions.assertEquals(Collections.singleton("fullName"), simpleGraphObject.getGqlGraphReqFieldMap().get("surgeon"));
+        Assertions.assertEquals(Collections.singleton("experience"), simpleGraphObject.getGqlGraphReqFieldMap().get("surgeon_docSpeciality"));
+    }
+
+    @Test
+    public void testParentLevelsWithoutFields() {
+        execute("query surgeons($withName : Boolean!) { hospitals { name @include(if : $withName) surgeon { docSpeciality { experience } } } }",
+                Collections.singletonMap("withName", false));
+
+        Assertions.assertFalse(simpleGraphObject.getGqlGraphReqFieldMap().containsKey("rootObject"));
+        Assertions.assertEquals(Collections.emptySet(), simpleGraphObject.getGqlGraphReqFieldMap().get("surgeon"));
+        Assertions.assertEquals(Collections.singleton("experience"), simpleGraphObject.getGqlGraphReqFieldMap().get("surgeon_docSpeciality"));
+    }
+
+    private void execute(String query, Map<String, Object> variables) {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query(query).variables(variables).build());
+        Assertions.assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+    }
+
+}
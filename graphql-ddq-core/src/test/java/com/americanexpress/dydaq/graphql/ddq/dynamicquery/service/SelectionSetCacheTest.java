@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq.dynamicquery.service;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.gqlrequestmeta.SimpleGraphObject;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SelectionSetCacheTest {
+
+    private static final String SCHEMA = "type Query { hospital : Hospital } type Hospital { name : String city : String }";
+    private static final String QUERY = "query hospitalQuery($withCity : Boolean!) { hospital { name city @include(if : $withCity) } }";
+
+    private final SelectionSetCache selectionSetCache = new SelectionSetCache(10);
+    private final List<SimpleGraphObject> resolvedGraphObjects = new ArrayList<>();
+    private int conversionCount;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    public void setUp() {
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", typeWiring -> typeWiring.dataFetcher("hospital", environment -> {
+                    resolvedGraphObjects.add(selectionSetCache.get(environment, () -> {
+                        conversionCount++;
+                        return new SimpleGraphObject.Builder()
+                                .setRootKey("rootObject")
+                                .setRootEntity("Hospital")
+                                .setGqlGraphReqFieldMap(Collections.singletonMap("rootObject", environment.getSelectionSet().getDefinitions().keySet()))
+                                .build();
+                    }));
+                    return Collections.singletonMap("name", "General");
+                }))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), runtimeWiring);
+        //documents are reused as they are when a PreparsedDocumentProvider caches them
+        Map<String, PreparsedDocumentEntry> documents = new ConcurrentHashMap<>();
+        graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider((query, parser) -> documents.computeIfAbsent(query, parser))
+                .build();
+    }
+
+    @Test
+    public void testRepeatedDocumentIsNotConverted() {
+        execute(QUERY, true);
+        execute(QUERY, true);
+
+        Assertions.assertEquals(1, conversionCount);
+        Assertions.assertSame(resolvedGraphObjects.get(0), resolvedGraphObjects.get(1));
+        Assertions.assertEquals(1, selectionSetCache.getHitCount());
+        Assertions.assertEquals(1, selectionSetCache.size());
+    }
+
+    @Test
+    public void testDirectiveVariablesArePartOfKey() {
+        execute(QUERY, true);
+        execute(QUERY, false);
+        execute(QUERY, false);
+
+        Assertions.assertEquals(2, conversionCount);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("name", "city")), resolvedGraphObjects.get(0).getGqlGraphReqFieldMap().get("rootObject"));
+        Assertions.assertEquals(Collections.singleton("name"), resolvedGraphObjects.get(1).getGqlGraphReqFieldMap().get("rootObject"));
+        Assertions.assertSame(resolvedGraphObjects.get(1), resolvedGraphObjects.get(2));
+    }
+
+    @Test
+    public void testDisabledCache() {
+        selectionSetCache.setMaxSize(0);
+
+        execute(QUERY, true);
+        execute(QUERY, true);
+
+        Assertions.assertEquals(2, conversionCount);
+        Assertions.assertEquals(0, selectionSetCache.size());
+    }
+
+    @Test
+    public void testDocumentsBeyondMaxSizeAreNotCached() {
+        selectionSetCache.setMaxSize(1);
+
+        execute(QUERY, true);
+        execute("query otherQuery($withCity : Boolean!) { hospital { city @skip(if : $withCity) name } }", true);
+        execute("query otherQuery($withCity : Boolean!) { hospital { city @skip(if : $withCity) name } }", true);
+        execute(QUERY, true);
+
+        Assertions.assertEquals(3, conversionCount);
+        Assertions.assertSame(resolvedGraphObjects.get(0), resolvedGraphObjects.get(3));
+        Assertions.assertEquals(1, selectionSetCache.size());
+    }
+
+    private void execute(String query, boolean withCity) {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .variables(Collections.singletonMap("withCity", withCity))
+                .build());
+        Assertions.assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+    }
+
+}
@@ -14,7 +14,9 @@
 
 package com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.resolver;
 
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryExecutor;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.DynamicQueryGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.QueryStrategy;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlAggregationType;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlCondition;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.constants.SqlJoinType;
@@ -22,9 +24,7 @@
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.constants.HospitalToSurgeonSimpleRelMeta;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.Hospital;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.HospitalToSurgeonSimpleRel;
-import com.americanexpress.dydaq.graphql.ddq.dynamicquery.demoproj.dto.Surgeon;
 import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.JoinQueryBuilder;
-import com.americanexpress.dydaq.graphql.ddq.dynamicquery.dto.queryconditionfetcher.NativeQueryBuilder;
 import io.leangen.graphql.annotations.GraphQLArgument;
 import io.leangen.graphql.annotations.GraphQLEnvironment;
 import io.leangen.graphql.annotations.GraphQLQuery;
@@ -59,14 +59,12 @@ public class JoinQueryResolver {
                     .addKeys("hospital_id", "surgeon_surgeon_id")
                     .newResultSetExtractor(HospitalToSurgeonSimpleRel.class);
 
-    private ResultSetExtractor<List<Surgeon>> resultSetExtractorSurgeon =
-            JdbcTemplateMapperFactory
-                    .newInstance()
-                    .addKeys("surgeon_id", "docSpeciality_surgeon_id")//or annotate the primary keys in the entity base with @Key annotation of SimpleFlatMapper
-                    .newResultSetExtractor(Surgeon.class);
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DynamicQueryExecutor dynamicQueryExecutor;
+
     @GraphQLQuery
     public Hospital fetchHospitalWithSurgeonSpeciality(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "HospitalId") int hospitalId) {
         DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getInstance(env);
@@ -80,52 +78,32 @@ public Hospital fetchHospitalWithSurgeonSpeciality(@GraphQLEnvironment Resolutio
                 .addWhereCondition(HospitalMeta.GRAPH_LEVEL, HospitalMeta.AllColumns.HOSPITAL_ID, SqlCondition.equal)
                 .build();
 
-        String hospitalQuery = dynamicQueryGenerator.getJoinQuery(joinQueryBuider);
-        LOGGER.info("Hospital Query :: {}", hospitalQuery);
         //Hospital Query Generated:: select  rootObject.hospital_id as hospital_id, rootObject.name as name, surgeon.full_name as surgeon_full_name, surgeon.surgeon_id as surgeon_surgeon_id, surgeon_docSpeciality.id as surgeon_docSpeciality_id, surgeon_docSpeciality.experience as surgeon_docSpeciality_experience from hospital_tbl rootObject   inner join  surgeon_tbl surgeon on  rootObject.hospital_id = surgeon.hospital_id    inner join  doc_speciality_tbl surgeon_docSpeciality on  surgeon.surgeon_id = surgeon_docSpeciality.surgeon_id  where rootObject.hospital_id = ?
-        List<Hospital> hopitalDetails = jdbcTemplate.query(hospitalQuery, new Object[]{hospitalId}, resultSetExtractorHosp);
+        //keys of SimpleFlatMapper are derived from the primary keys of the graph levels selected ie.. hospital_id, surgeon_surgeon_id, surgeon_docSpeciality_id...
+        List<Hospital> hopitalDetails = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuider, Hospital.class, hospitalId);
 
         return !hopitalDetails.isEmpty() ? hopitalDetails.get(0) : null;
     }
 
     @GraphQLQuery
     public Hospital fetchHospitalWithSurgeonSpecialityTwoQuerys(@GraphQLEnvironment ResolutionEnvironment env, @GraphQLArgument(name = "HospitalId") int hospitalId) {
-
         DynamicQueryGenerator dynamicQueryGenerator = DynamicQueryGenerator.getInstance(env);
 
-        String hospitalQueryTemplate = " from hospital_tbl where hospital_id = ?";
-        NativeQueryBuilder nativeQueryBuilderHosp = new NativeQueryBuilder
-                .SimpleBuilder()
-                .setGraphKey(HospitalMeta.GRAPH_LEVEL)
-                .setQueryTemplate(hospitalQueryTemplate)
+        JoinQueryBuilder joinQueryBuider = new JoinQueryBuilder
+                .Builder()
+                .setRootKey(HospitalMeta.GRAPH_LEVEL)
+                .joinWithGraph(HospitalMeta.Surgeon.GRAPH_LEVEL, SqlJoinType.INNER_JOIN)
+                .joinWithGraph(HospitalMeta.Surgeon.DocSpeciality.GRAPH_LEVEL, SqlJoinType.INNER_JOIN)
+                .joinWithGraph(HospitalMeta.Surgeon.DocSpeciality.Speciality.GRAPH_LEVEL, SqlJoinType.INNER_JOIN)
+                .addWhereCondition(HospitalMeta.GRAPH_LEVEL, HospitalMeta.AllColumns.HOSPITAL_ID, SqlCondition.equal)
                 .build();
 
+        //hospital is fetched first,then surgeons of the hospital in one query and doc specialities of all those surgeons in one query
+        //Hospital Query Generated:: select  rootObject.hospital_id as hospital_id, rootObject.name as name from hospital_tbl rootObject where rootObject.hospital_id = ?
+        //Surgeon Query Generated:: select  surgeon.surgeon_id as surgeon_id, surgeon.hospital_id as hospital_id, surgeon.full_name as full_name, surgeon.dept_id as dept_id from surgeon_tbl surgeon where surgeon.hospital_id in (?)
+        List<Hospital> hopitalDetails = dynamicQueryExecutor.query(dynamicQueryGenerator, joinQueryBuider, Hospital.class, QueryStrategy.SPLIT, hospitalId);
 
-        String hospitalQuery = dynamicQueryGenerator.getNativeQuery(nativeQueryBuilderHosp);
-        LOGGER.info("Hospital Query 2 :: {},", hospitalQuery);
-        //Hospital Query 2 Generated:: select  hospital_id, name  from hospital_tbl where hospital_id = ?
-        List<Hospital> hopitalDetails = jdbcTemplate.query(hospitalQuery, new Object[]{hospitalId}, resultSetExtractorHosp);
-
-        Hospital hospitalDet = !hopitalDetails.isEmpty() ? hopitalDetails.get(0) : null;
-
-        if (hospitalDet != null) {
-            JoinQueryBuilder joinQueryBuider = new JoinQueryBuilder
-                    .Builder()
-                    .setRootKey(HospitalMeta.Surgeon.GRAPH_LEVEL)
-                    .joinWithGraph(HospitalMeta.Surgeon.DocSpeciality.GRAPH_LEVEL, SqlJoinType.INNER_JOIN)
-                    .joinWithGraph(HospitalMeta.Surgeon.DocSpeciality.Speciality.GRAPH_LEVEL, SqlJoinType.INNER_JOIN)
-                    .addWhereCondition(HospitalMeta.Surgeon.GRAPH_LEVEL, HospitalMeta.Surgeon.AllColumns.HOSPITAL_ID, SqlCondition.equal)
-                    .addOrderByCondition(HospitalMeta.Surgeon.GRAPH_LEVEL, HospitalMeta.Surgeon.AllColumns.SURGEON_ID)
-                    .build();
-
-            String hospitalQueryPart2 = dynamicQueryGenerator.getJoinQuery(joinQueryBuider);
-            LOGGER.info("Hospital Query Part 2 :: {}", hospitalQuery);
-            //Hospital Query Part 2 Generated:: select  hospital_id, name  from hospital_tbl where hospital_id = ?
-            List<Surgeon> surgeonDet = jdbcTemplate.query(hospitalQueryPart2, new Object[]{hospitalId}, resultSetExtractorSurgeon);
-            hospitalDet.setSurgeon(surgeonDet);
-        }
-
-        return hospitalDet;
+        return !hopitalDetails.isEmpty() ? hopitalDetails.get(0) : null;
     }
 
     @GraphQLQuery
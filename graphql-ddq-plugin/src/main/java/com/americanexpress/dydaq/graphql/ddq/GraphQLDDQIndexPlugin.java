@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 American Express Travel Related Services Company, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.americanexpress.dydaq.graphql.ddq;
+
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.EntityMetaDataReader;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.GraphEntityMapGenerator;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataIndex;
+import com.americanexpress.dydaq.graphql.ddq.dynamicquery.service.MetadataRegistry;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.reflections.Reflections;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the entities of the project after compilation and writes the entity metadata index into the project classes
+ * directory at {@link MetadataIndex#INDEX_LOCATION}.The index gets packaged in the application jar and is loaded at
+ * startup instead of scanning the classpath for entities.
+ *
+ * @since 1.0
+ */
+@Mojo(name = "graphql-ddq-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.COMPILE)
+public class GraphQLDDQIndexPlugin extends AbstractMojo {
+
+    //package of the entities,must be same as ${sidh.entity-location} of the application
+    @Parameter(property = "sourcePackage", required = true, readonly = true)
+    private String sourcePackage;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    @Parameter(defaultValue = "${project}", required = true)
+    private MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+
+        getLog().info("Entity Metadata Index Generation Starts ...");
+        getLog().info("Reading entities from package :: " + sourcePackage.trim());
+
+        MetadataRegistry metadataRegistry;
+        try (URLClassLoader projectClassLoader = new URLClassLoader(getProjectClasspath(), this.getClass().getClassLoader())) {
+            Reflections reflections = GraphQLDDQPlugin.getReflection(sourcePackage.trim(), projectClassLoader);
+            metadataRegistry = new EntityMetaDataReader(new GraphEntityMapGenerator()).read(reflections).build();
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to read project entities:", e);
+        }
+
+        if (metadataRegistry.getEntityNames().isEmpty()) {
+            getLog().warn("No Root/Child Entity found!");
+        }
+
+        File indexFile = new File(outputDirectory, MetadataIndex.INDEX_LOCATION.replace("/", File.separator));
+        if (!indexFile.getParentFile().exists() && !indexFile.getParentFile().mkdirs()) {
+            throw new MojoExecutionException("Failed to create directory " + indexFile.getParentFile());
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile, false), StandardCharsets.UTF_8)) {
+            MetadataIndex.of(sourcePackage, metadataRegistry).write(writer);
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to write entity metadata index", e);
+        }
+
+        getLog().info("Entity Metadata Index of " + metadataRegistry.getEntityNames().size() + " entities generated at :: " + indexFile);
+    }
+
+    /**
+     * Returns compiled classes directory of the project followed by its compile dependencies
+     */
+    private URL[] getProjectClasspath() throws Exception {
+        List<URL> classpathUrls = new ArrayList<>();
+        classpathUrls.add(outputDirectory.toURI().toURL());
+        for (Object classpathElement : project.getCompileClasspathElements()) {
+            classpathUrls.add(new File(classpathElement.toString()).toURI().toURL());
+        }
+        return classpathUrls.toArray(new URL[0]);
+    }
+}